@@ -138,6 +138,11 @@ public interface ConfigurationKeys {
      */
     String STORE_FILE_DIR = STORE_FILE_PREFIX + "dir";
 
+    /**
+     * The constant STORE_FILE_LOCK_ENGINE, the row lock engine of file/raft lock mode: bucket or striped
+     */
+    String STORE_FILE_LOCK_ENGINE = STORE_FILE_PREFIX + "lockEngine";
+
     /**
      * The constant SERVICE_GROUP_MAPPING_PREFIX.
      */
@@ -208,6 +213,21 @@ public interface ConfigurationKeys {
      */
     String CLIENT_SAGA_BRANCH_REGISTER_ENABLE = CLIENT_RM_PREFIX + "sagaBranchRegisterEnable";
 
+    /**
+     * The constant CLIENT_STRUCTURED_LOCK_KEY_ENABLE.
+     */
+    String CLIENT_STRUCTURED_LOCK_KEY_ENABLE = CLIENT_RM_PREFIX + "structuredLockKeyEnable";
+
+    /**
+     * The constant CLIENT_ROLLBACK_BATCH_SIZE.
+     */
+    String CLIENT_ROLLBACK_BATCH_SIZE = CLIENT_RM_PREFIX + "rollbackBatchSize";
+
+    /**
+     * The constant CLIENT_ROLLBACK_PARALLELISM.
+     */
+    String CLIENT_ROLLBACK_PARALLELISM = CLIENT_RM_PREFIX + "rollbackParallelism";
+
     /**
      * The constant CLIENT_SAGA_JSON_PARSER.
      */
@@ -238,6 +258,16 @@ public interface ConfigurationKeys {
      */
     String CLIENT_TABLE_META_CHECKER_INTERVAL = CLIENT_RM_PREFIX + "tableMetaCheckerInterval";
 
+    /**
+     * The constant CLIENT_SQL_RECOGNIZER_CACHE_ENABLE.
+     */
+    String CLIENT_SQL_RECOGNIZER_CACHE_ENABLE = CLIENT_RM_PREFIX + "sqlRecognizerCacheEnable";
+
+    /**
+     * The constant CLIENT_SQL_RECOGNIZER_CACHE_MAX_WEIGHT, the max total length of the cached sql text.
+     */
+    String CLIENT_SQL_RECOGNIZER_CACHE_MAX_WEIGHT = CLIENT_RM_PREFIX + "sqlRecognizerCacheMaxWeight";
+
     /**
      * The constant TCC_ACTION_INTERCEPTOR_ORDER.
      */
@@ -274,6 +304,11 @@ public interface ConfigurationKeys {
      */
     String COMPRESSOR_FOR_RPC = TRANSPORT_PREFIX + "compressor";
 
+    /**
+     * The constant TRANSPORT_CONTEXT_CORE.
+     */
+    String TRANSPORT_CONTEXT_CORE = TRANSPORT_PREFIX + "contextCore";
+
     /**
      * The constant STORE_DB_PREFIX.
      */
@@ -399,6 +434,26 @@ public interface ConfigurationKeys {
      */
     String TIMEOUT_RETRY_PERIOD = RECOVERY_PREFIX + "timeoutRetryPeriod";
 
+    /**
+     * The constant RECOVERY_SHARDS.
+     */
+    String RECOVERY_SHARDS = RECOVERY_PREFIX + "shards";
+
+    /**
+     * The constant RECOVERY_SHARD_BATCH_SIZE.
+     */
+    String RECOVERY_SHARD_BATCH_SIZE = RECOVERY_PREFIX + "shardBatchSize";
+
+    /**
+     * The constant RECOVERY_MAX_RETRY_BACKOFF.
+     */
+    String RECOVERY_MAX_RETRY_BACKOFF = RECOVERY_PREFIX + "maxRetryBackoff";
+
+    /**
+     * The constant RECOVERY_ASYNC_BRANCH_COMMIT.
+     */
+    String RECOVERY_ASYNC_BRANCH_COMMIT = RECOVERY_PREFIX + "asyncBranchCommit";
+
     /**
      * The constant CLIENT_UNDO_PREFIX.
      */
@@ -419,6 +474,16 @@ public interface ConfigurationKeys {
      */
     String TRANSACTION_UNDO_ONLY_CARE_UPDATE_COLUMNS = CLIENT_UNDO_PREFIX + "onlyCareUpdateColumns";
 
+    /**
+     * The constant TRANSACTION_UNDO_BATCH_SIZE.
+     */
+    String TRANSACTION_UNDO_BATCH_SIZE = CLIENT_UNDO_PREFIX + "batchSize";
+
+    /**
+     * The constant TRANSACTION_UNDO_RETURNING_AFTER_IMAGE.
+     */
+    String TRANSACTION_UNDO_RETURNING_AFTER_IMAGE = CLIENT_UNDO_PREFIX + "returningAfterImage";
+
     /**
      * the constant CLIENT_UNDO_COMPRESS_PREFIX
      */
@@ -774,6 +839,16 @@ public interface ConfigurationKeys {
      */
     String CLIENT_DEGRADE_CHECK_ALLOW_TIMES = CLIENT_TM_PREFIX + "degradeCheckAllowTimes";
 
+    /**
+     * The constant CLIENT_TM_XID_LEASE_ENABLE.
+     */
+    String CLIENT_TM_XID_LEASE_ENABLE = CLIENT_TM_PREFIX + "xidLeaseEnable";
+
+    /**
+     * The constant CLIENT_TM_XID_LEASE_SIZE.
+     */
+    String CLIENT_TM_XID_LEASE_SIZE = CLIENT_TM_PREFIX + "xidLeaseSize";
+
     /**
      * The constant GLOBAL_TRANSACTION_INTERCEPTOR_ORDER.
      */
@@ -953,6 +1028,16 @@ public interface ConfigurationKeys {
      */
     String SERVER_RAFT_COMPRESSOR = SERVER_RAFT + "compressor";
 
+    /**
+     * The constant SERVER_RAFT_MAX_PROPOSAL_BATCH.
+     */
+    String SERVER_RAFT_MAX_PROPOSAL_BATCH = SERVER_RAFT + "maxProposalBatch";
+
+    /**
+     * The constant SERVER_RAFT_PROPOSAL_TIMEOUT.
+     */
+    String SERVER_RAFT_PROPOSAL_TIMEOUT = SERVER_RAFT + "proposalTimeout";
+
     /**
      * The constant CLIENT_METADATA_MAX_AGE_MS.
      */
@@ -994,6 +1079,26 @@ public interface ConfigurationKeys {
      */
     String ENABLE_PARALLEL_HANDLE_BRANCH_KEY = SERVER_PREFIX + "enableParallelHandleBranch";
 
+    /**
+     * The constant SERVER_XID_LEASE_TIME
+     */
+    String SERVER_XID_LEASE_TIME = SERVER_PREFIX + "xidLeaseTime";
+
+    /**
+     * The constant BRANCH_DISPATCH_THREADS
+     */
+    String BRANCH_DISPATCH_THREADS = SERVER_PREFIX + "branchDispatchThreads";
+
+    /**
+     * The constant BRANCH_DISPATCH_QUEUE_SIZE
+     */
+    String BRANCH_DISPATCH_QUEUE_SIZE = SERVER_PREFIX + "branchDispatchQueueSize";
+
+    /**
+     * The constant BRANCH_DISPATCH_RESOURCE_CONCURRENCY
+     */
+    String BRANCH_DISPATCH_RESOURCE_CONCURRENCY = SERVER_PREFIX + "branchDispatchResourceConcurrency";
+
     /**
      * The constant RM_APPLICATION_DATA_SIZE_ERROR
      */
@@ -30,8 +30,15 @@ public interface DefaultValues {
     boolean DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE = false;
     boolean DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE = true;
     long DEFAULT_TABLE_META_CHECKER_INTERVAL = 60000L;
+    boolean DEFAULT_CLIENT_SQL_RECOGNIZER_CACHE_ENABLE = true;
+    long DEFAULT_CLIENT_SQL_RECOGNIZER_CACHE_MAX_WEIGHT = 4 * 1024 * 1024L;
     boolean DEFAULT_TM_DEGRADE_CHECK = false;
+    boolean DEFAULT_TM_XID_LEASE_ENABLE = false;
+    int DEFAULT_TM_XID_LEASE_SIZE = 100;
     boolean DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE = false;
+    boolean DEFAULT_CLIENT_STRUCTURED_LOCK_KEY_ENABLE = false;
+    int DEFAULT_CLIENT_ROLLBACK_BATCH_SIZE = 1;
+    int DEFAULT_CLIENT_ROLLBACK_PARALLELISM = 4;
 
     /**
      * The default session store dir
@@ -69,6 +76,8 @@ public interface DefaultValues {
     boolean DEFAULT_TRANSACTION_UNDO_DATA_VALIDATION = true;
     String DEFAULT_TRANSACTION_UNDO_LOG_SERIALIZATION = "jackson";
     boolean DEFAULT_ONLY_CARE_UPDATE_COLUMNS = true;
+    int DEFAULT_TRANSACTION_UNDO_BATCH_SIZE = 1;
+    boolean DEFAULT_TRANSACTION_UNDO_RETURNING_AFTER_IMAGE = false;
     /**
      * The constant  DEFAULT_TRANSACTION_UNDO_LOG_TABLE.
      */
@@ -222,6 +231,18 @@ public interface DefaultValues {
      * the constant DEFAULT_SERVER_RAFT_ELECTION_TIMEOUT_MS
      */
     int DEFAULT_SERVER_RAFT_ELECTION_TIMEOUT_MS = 1000;
+
+    /**
+     * the constant DEFAULT_SERVER_RAFT_MAX_PROPOSAL_BATCH, batching stays off by default because nodes
+     * without the batch codec cannot apply a batched entry during a rolling upgrade
+     */
+    int DEFAULT_SERVER_RAFT_MAX_PROPOSAL_BATCH = 1;
+
+    /**
+     * the constant DEFAULT_SERVER_RAFT_PROPOSAL_TIMEOUT
+     */
+    long DEFAULT_SERVER_RAFT_PROPOSAL_TIMEOUT = 30000L;
+
     /**
      * the constant DEFAULT_COMMITING_RETRY_PERIOD
      */
@@ -242,6 +263,41 @@ public interface DefaultValues {
      */
     int DEFAULT_TIMEOUT_RETRY_PERIOD = 1000;
 
+    /**
+     * the constant DEFAULT_RECOVERY_SHARDS
+     */
+    int DEFAULT_RECOVERY_SHARDS = 4;
+
+    /**
+     * the constant DEFAULT_RECOVERY_SHARD_BATCH_SIZE
+     */
+    int DEFAULT_RECOVERY_SHARD_BATCH_SIZE = 200;
+
+    /**
+     * the constant DEFAULT_RECOVERY_MAX_RETRY_BACKOFF
+     */
+    long DEFAULT_RECOVERY_MAX_RETRY_BACKOFF = 30000L;
+
+    /**
+     * the constant DEFAULT_RECOVERY_ASYNC_BRANCH_COMMIT
+     */
+    boolean DEFAULT_RECOVERY_ASYNC_BRANCH_COMMIT = false;
+
+    /**
+     * the constant DEFAULT_BRANCH_DISPATCH_THREADS
+     */
+    int DEFAULT_BRANCH_DISPATCH_THREADS = 16;
+
+    /**
+     * the constant DEFAULT_BRANCH_DISPATCH_QUEUE_SIZE
+     */
+    int DEFAULT_BRANCH_DISPATCH_QUEUE_SIZE = 1024;
+
+    /**
+     * the constant DEFAULT_BRANCH_DISPATCH_RESOURCE_CONCURRENCY
+     */
+    int DEFAULT_BRANCH_DISPATCH_RESOURCE_CONCURRENCY = 8;
+
     /**
      * the constant DEFAULT_UNDO_LOG_DELETE_PERIOD
      */
@@ -277,6 +333,11 @@ public interface DefaultValues {
      */
     long DEFAULT_MAX_COMMIT_RETRY_TIMEOUT = -1L;
 
+    /**
+     * the const DEFAULT_SERVER_XID_LEASE_TIME
+     */
+    long DEFAULT_SERVER_XID_LEASE_TIME = Duration.ofMinutes(5).toMillis();
+
     /**
      * the const DEFAULT_MAX_ROLLBACK_RETRY_TIMEOUT
      */
@@ -297,6 +358,11 @@ public interface DefaultValues {
      */
     boolean DEFAULT_ENABLE_BRANCH_ASYNC_REMOVE = false;
 
+    /**
+     * DEFAULT_STORE_FILE_LOCK_ENGINE
+     */
+    String DEFAULT_STORE_FILE_LOCK_ENGINE = "bucket";
+
     int DEFAULT_DB_MAX_CONN = 100;
 
     int DEFAULT_DB_MIN_CONN = 10;
@@ -18,7 +18,13 @@ package org.apache.seata.core.context;
 
 import java.util.Optional;
 
+import org.apache.seata.common.ConfigurationKeys;
 import org.apache.seata.common.loader.EnhancedServiceLoader;
+import org.apache.seata.common.loader.EnhancedServiceNotFoundException;
+import org.apache.seata.common.util.StringUtils;
+import org.apache.seata.config.ConfigurationFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * The type Context core loader.
@@ -26,12 +32,31 @@ import org.apache.seata.common.loader.EnhancedServiceLoader;
  */
 public class ContextCoreLoader {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContextCoreLoader.class);
+
     private ContextCoreLoader() {
 
     }
 
     private static class ContextCoreHolder {
-        private static final ContextCore INSTANCE = Optional.ofNullable(EnhancedServiceLoader.load(ContextCore.class)).orElse(new ThreadLocalContextCore());
+        private static final ContextCore INSTANCE = Optional.ofNullable(loadContextCore()).orElse(new ThreadLocalContextCore());
+    }
+
+    private static ContextCore loadContextCore() {
+        String name = null;
+        try {
+            name = ConfigurationFactory.getInstance().getConfig(ConfigurationKeys.TRANSPORT_CONTEXT_CORE);
+        } catch (Exception e) {
+            LOGGER.warn("failed to read the configured context core, use the default one: {}", e.getMessage());
+        }
+        if (StringUtils.isNotBlank(name)) {
+            try {
+                return EnhancedServiceLoader.load(ContextCore.class, name);
+            } catch (EnhancedServiceNotFoundException e) {
+                LOGGER.warn("context core [{}] not found, use the default one", name);
+            }
+        }
+        return EnhancedServiceLoader.load(ContextCore.class);
     }
 
     /**
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.context;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * Hands the context of the submitting thread to tasks run on other threads, which is needed whenever a branch
+ * of a global transaction is executed by a pool or by virtual threads started per task.
+ * <p>
+ * The context is captured when a task is wrapped and bound only while the task runs, the context of the thread
+ * running the task is restored afterwards. With the {@link ScopedContextCore} capturing shares the immutable
+ * snapshot of the submitting thread, other context cores copy their entries.
+ *
+ */
+public final class ContextPropagation {
+
+    private ContextPropagation() {
+    }
+
+    /**
+     * Wrap a runnable to run with the context of the current thread.
+     *
+     * @param task the task
+     * @return the wrapped task
+     */
+    public static Runnable wrap(Runnable task) {
+        Map<String, Object> captured = capture();
+        return () -> {
+            Map<String, Object> previous = bind(captured);
+            try {
+                task.run();
+            } finally {
+                bind(previous);
+            }
+        };
+    }
+
+    /**
+     * Wrap a callable to run with the context of the current thread.
+     *
+     * @param <V>  the result type
+     * @param task the task
+     * @return the wrapped task
+     */
+    public static <V> Callable<V> wrap(Callable<V> task) {
+        Map<String, Object> captured = capture();
+        return () -> {
+            Map<String, Object> previous = bind(captured);
+            try {
+                return task.call();
+            } finally {
+                bind(previous);
+            }
+        };
+    }
+
+    /**
+     * Wrap an executor so every task runs with the context of the thread submitting it.
+     *
+     * @param executor the executor
+     * @return the wrapped executor
+     */
+    public static Executor wrap(Executor executor) {
+        return command -> executor.execute(wrap(command));
+    }
+
+    /**
+     * Capture the context of the current thread.
+     *
+     * @return the captured entries
+     */
+    static Map<String, Object> capture() {
+        ContextCore core = ContextCoreLoader.load();
+        Map<String, Object> entries = core.entries();
+        if (entries.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return core instanceof ScopedContextCore ? entries : new HashMap<>(entries);
+    }
+
+    /**
+     * Replace the context of the current thread.
+     *
+     * @param entries the entries to bind
+     * @return the entries bound before
+     */
+    static Map<String, Object> bind(Map<String, Object> entries) {
+        ContextCore core = ContextCoreLoader.load();
+        if (core instanceof ScopedContextCore) {
+            return ((ScopedContextCore)core).bind(entries);
+        }
+        Map<String, Object> current = core.entries();
+        Map<String, Object> previous = current.isEmpty() ? Collections.emptyMap() : new HashMap<>(current);
+        for (String key : previous.keySet()) {
+            core.remove(key);
+        }
+        entries.forEach(core::put);
+        return previous;
+    }
+}
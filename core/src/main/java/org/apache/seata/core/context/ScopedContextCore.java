@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.context;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.apache.seata.common.loader.LoadLevel;
+
+/**
+ * The type Scoped context core.
+ * <p>
+ * Binds an immutable snapshot to the current thread instead of a mutable map per thread, so a thread holds at most
+ * one small snapshot and removing its last key drops the thread local entry again. Reading goes through
+ * {@link ThreadLocal#get()}, which leaves an entry holding null on a thread that never bound a context, but no
+ * snapshot. This keeps the per task footprint small when running very many short lived (virtual) threads, and lets
+ * {@link ContextPropagation} hand the context of one task to another by sharing the snapshot without copying it.
+ *
+ */
+@LoadLevel(name = "ScopedContextCore", order = Integer.MIN_VALUE)
+public class ScopedContextCore implements ContextCore {
+
+    private final ThreadLocal<Snapshot> current = new ThreadLocal<>();
+
+    @Override
+    public Object put(String key, Object value) {
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            current.set(new Snapshot(new String[] {key}, new Object[] {value}));
+            return null;
+        }
+        int index = snapshot.indexOf(key);
+        Object previous = index < 0 ? null : snapshot.values[index];
+        current.set(snapshot.with(index, key, value));
+        return previous;
+    }
+
+    @Override
+    public Object get(String key) {
+        Snapshot snapshot = current.get();
+        return snapshot == null ? null : snapshot.get(key);
+    }
+
+    @Override
+    public Object remove(String key) {
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            return null;
+        }
+        int index = snapshot.indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        if (snapshot.size() == 1) {
+            current.remove();
+        } else {
+            current.set(snapshot.without(index));
+        }
+        return snapshot.values[index];
+    }
+
+    /**
+     * The returned map is an immutable snapshot, later changes of the context are not visible through it.
+     *
+     * @return the key-value map
+     */
+    @Override
+    public Map<String, Object> entries() {
+        Snapshot snapshot = current.get();
+        return snapshot == null ? Collections.emptyMap() : snapshot;
+    }
+
+    /**
+     * Binds the entries of a snapshot returned by {@link #entries()} to the current thread.
+     *
+     * @param entries the entries, empty to unbind the context
+     * @return the entries bound before
+     */
+    Map<String, Object> bind(Map<String, Object> entries) {
+        Map<String, Object> previous = entries();
+        if (entries instanceof Snapshot) {
+            current.set((Snapshot)entries);
+        } else if (entries.isEmpty()) {
+            current.remove();
+        } else {
+            current.set(Snapshot.copyOf(entries));
+        }
+        return previous;
+    }
+
+    /**
+     * An immutable map over parallel key and value arrays, the context only ever holds a handful of keys.
+     */
+    static final class Snapshot extends AbstractMap<String, Object> {
+
+        private final String[] keys;
+
+        private final Object[] values;
+
+        private Snapshot(String[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        static Snapshot copyOf(Map<String, Object> entries) {
+            String[] keys = new String[entries.size()];
+            Object[] values = new Object[keys.length];
+            int i = 0;
+            for (Map.Entry<String, Object> entry : entries.entrySet()) {
+                keys[i] = entry.getKey();
+                values[i++] = entry.getValue();
+            }
+            return new Snapshot(keys, values);
+        }
+
+        int indexOf(Object key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key || keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        Snapshot with(int index, String key, Object value) {
+            if (index >= 0) {
+                Object[] newValues = values.clone();
+                newValues[index] = value;
+                return new Snapshot(keys, newValues);
+            }
+            int size = keys.length;
+            String[] newKeys = new String[size + 1];
+            Object[] newValues = new Object[size + 1];
+            System.arraycopy(keys, 0, newKeys, 0, size);
+            System.arraycopy(values, 0, newValues, 0, size);
+            newKeys[size] = key;
+            newValues[size] = value;
+            return new Snapshot(newKeys, newValues);
+        }
+
+        Snapshot without(int index) {
+            int size = keys.length - 1;
+            String[] newKeys = new String[size];
+            Object[] newValues = new Object[size];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, size - index);
+            System.arraycopy(values, index + 1, newValues, index, size - index);
+            return new Snapshot(newKeys, newValues);
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public Object get(Object key) {
+            int index = indexOf(key);
+            return index < 0 ? null : values[index];
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < keys.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (next >= keys.length) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<String, Object> entry = new SimpleImmutableEntry<>(keys[next], values[next]);
+                            next++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+    }
+}
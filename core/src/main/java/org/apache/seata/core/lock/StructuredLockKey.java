@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.lock;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.seata.common.util.StringUtils;
+
+/**
+ * The typed form of a branch lock key: primary key values grouped by table.
+ * It is what the RM builds from its table records and what the TC turns into row locks
+ * without going through the "table:pk1,pk2;table2:pk" string, which can still be rendered
+ * from it for persistence and logging.
+ *
+ */
+public class StructuredLockKey {
+
+    private static final char TABLE_SEPARATOR = ';';
+
+    private static final char PK_GROUP_SEPARATOR = ':';
+
+    private static final char PK_SEPARATOR = ',';
+
+    private final Map<String, Set<String>> tables = new LinkedHashMap<>();
+
+    private int rowCount;
+
+    /**
+     * Add the lock key of a row.
+     *
+     * @param tableName the table name
+     * @param pk        the primary key value, composite keys joined with '_'
+     */
+    public void addRow(String tableName, String pk) {
+        if (tables.computeIfAbsent(tableName, k -> new LinkedHashSet<>()).add(pk)) {
+            rowCount++;
+        }
+    }
+
+    /**
+     * Merge the rows of another lock key into this one.
+     *
+     * @param other the other lock key
+     */
+    public void merge(StructuredLockKey other) {
+        for (Map.Entry<String, Set<String>> entry : other.tables.entrySet()) {
+            for (String pk : entry.getValue()) {
+                addRow(entry.getKey(), pk);
+            }
+        }
+    }
+
+    /**
+     * Gets the primary key values grouped by table, in insertion order.
+     *
+     * @return the tables
+     */
+    public Map<String, Set<String>> getTables() {
+        return Collections.unmodifiableMap(tables);
+    }
+
+    /**
+     * Gets the number of distinct rows.
+     *
+     * @return the row count
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    /**
+     * Render the legacy lock key string, e.g. "t_user:1_a,2_b;t_order:3".
+     *
+     * @return the lock key string, null when empty
+     */
+    public String toLockKeyString() {
+        if (isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Set<String>> entry : tables.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(TABLE_SEPARATOR);
+            }
+            sb.append(entry.getKey()).append(PK_GROUP_SEPARATOR);
+            boolean first = true;
+            for (String pk : entry.getValue()) {
+                if (!first) {
+                    sb.append(PK_SEPARATOR);
+                }
+                sb.append(pk);
+                first = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Parse a legacy lock key string.
+     *
+     * @param lockKey the lock key string
+     * @return the structured lock key
+     */
+    public static StructuredLockKey parse(String lockKey) {
+        StructuredLockKey structuredLockKey = new StructuredLockKey();
+        if (StringUtils.isBlank(lockKey)) {
+            return structuredLockKey;
+        }
+        for (String tableGroupedLockKey : lockKey.split(String.valueOf(TABLE_SEPARATOR))) {
+            int idx = tableGroupedLockKey.indexOf(PK_GROUP_SEPARATOR);
+            if (idx < 0) {
+                continue;
+            }
+            String tableName = tableGroupedLockKey.substring(0, idx);
+            for (String pk : tableGroupedLockKey.substring(idx + 1).split(String.valueOf(PK_SEPARATOR))) {
+                if (StringUtils.isNotBlank(pk)) {
+                    structuredLockKey.addRow(tableName, pk);
+                }
+            }
+        }
+        return structuredLockKey;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(toLockKeyString());
+    }
+}
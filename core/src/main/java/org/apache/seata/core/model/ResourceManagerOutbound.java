@@ -17,6 +17,7 @@
 package org.apache.seata.core.model;
 
 import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.lock.StructuredLockKey;
 
 /**
  * Resource Manager: send outbound request to TC.
@@ -39,6 +40,26 @@ public interface ResourceManagerOutbound {
     Long branchRegister(BranchType branchType, String resourceId, String clientId, String xid, String applicationData, String lockKeys) throws
         TransactionException;
 
+    /**
+     * Branch register long, carrying the lock keys in structured form as well.
+     * Implementations that do not understand the structured form fall back to the lock keys string.
+     *
+     * @param branchType        the branch type
+     * @param resourceId        the resource id
+     * @param clientId          the client id
+     * @param xid               the xid
+     * @param applicationData   the context
+     * @param lockKeys          the lock keys
+     * @param structuredLockKey the structured lock keys, may be null
+     * @return the long
+     * @throws TransactionException the transaction exception
+     */
+    default Long branchRegister(BranchType branchType, String resourceId, String clientId, String xid,
+                                String applicationData, String lockKeys, StructuredLockKey structuredLockKey)
+        throws TransactionException {
+        return branchRegister(branchType, resourceId, clientId, xid, applicationData, lockKeys);
+    }
+
     /**
      * Branch report.
      *
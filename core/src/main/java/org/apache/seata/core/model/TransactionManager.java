@@ -16,6 +16,8 @@
  */
 package org.apache.seata.core.model;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.seata.core.exception.TransactionException;
 
 /**
@@ -80,4 +82,72 @@ public interface TransactionManager {
      * out.
      */
     GlobalStatus globalReport(String xid, GlobalStatus globalStatus) throws TransactionException;
+
+    /**
+     * Begin a new global transaction without blocking the caller while waiting on the TC.
+     *
+     * @param applicationId           ID of the application who begins this transaction.
+     * @param transactionServiceGroup ID of the transaction service group.
+     * @param name                    Give a name to the global transaction.
+     * @param timeout                 Timeout of the global transaction.
+     * @return the future of the XID, completed exceptionally with a TransactionException on failure
+     */
+    default CompletableFuture<String> beginAsync(String applicationId, String transactionServiceGroup, String name,
+                                                 int timeout) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        try {
+            future.complete(begin(applicationId, transactionServiceGroup, name, timeout));
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
+    /**
+     * Global commit without blocking the caller while waiting on the TC.
+     *
+     * @param xid XID of the global transaction.
+     * @return the future of the status after committing, completed exceptionally with a TransactionException on failure
+     */
+    default CompletableFuture<GlobalStatus> commitAsync(String xid) {
+        CompletableFuture<GlobalStatus> future = new CompletableFuture<>();
+        try {
+            future.complete(commit(xid));
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
+    /**
+     * Global rollback without blocking the caller while waiting on the TC.
+     *
+     * @param xid XID of the global transaction.
+     * @return the future of the status after rollbacking, completed exceptionally with a TransactionException on failure
+     */
+    default CompletableFuture<GlobalStatus> rollbackAsync(String xid) {
+        CompletableFuture<GlobalStatus> future = new CompletableFuture<>();
+        try {
+            future.complete(rollback(xid));
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
+    /**
+     * Get current status of the give transaction without blocking the caller while waiting on the TC.
+     *
+     * @param xid XID of the global transaction.
+     * @return the future of the current status, completed exceptionally with a TransactionException on failure
+     */
+    default CompletableFuture<GlobalStatus> getStatusAsync(String xid) {
+        CompletableFuture<GlobalStatus> future = new CompletableFuture<>();
+        try {
+            future.complete(getStatus(xid));
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
 }
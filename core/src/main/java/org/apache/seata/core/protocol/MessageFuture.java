@@ -83,6 +83,16 @@ public class MessageFuture {
         origin.complete(obj);
     }
 
+    /**
+     * Gets the future completed with the raw result, a {@link TimeoutException} or another throwable
+     * stands for a failed request.
+     *
+     * @return the completable future
+     */
+    public CompletableFuture<Object> toCompletableFuture() {
+        return origin;
+    }
+
     /**
      * Gets request message.
      *
@@ -16,6 +16,7 @@
  */
 package org.apache.seata.core.protocol.transaction;
 
+import org.apache.seata.core.lock.StructuredLockKey;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.core.protocol.MessageType;
 import org.apache.seata.core.rpc.RpcContext;
@@ -34,6 +35,11 @@ public class BranchRegisterRequest extends AbstractTransactionRequestToTC  {
 
     private String lockKey;
 
+    /**
+     * Only the seata codec encodes it, other serializers see the lock key string instead.
+     */
+    private transient StructuredLockKey structuredLockKey;
+
     private String applicationData;
 
     /**
@@ -78,6 +84,9 @@ public class BranchRegisterRequest extends AbstractTransactionRequestToTC  {
      * @return the lock key
      */
     public String getLockKey() {
+        if (lockKey == null && structuredLockKey != null) {
+            lockKey = structuredLockKey.toLockKeyString();
+        }
         return lockKey;
     }
 
@@ -90,6 +99,24 @@ public class BranchRegisterRequest extends AbstractTransactionRequestToTC  {
         this.lockKey = lockKey;
     }
 
+    /**
+     * Gets structured lock key.
+     *
+     * @return the structured lock key, null when the lock key was sent as a string
+     */
+    public StructuredLockKey getStructuredLockKey() {
+        return structuredLockKey;
+    }
+
+    /**
+     * Sets structured lock key.
+     *
+     * @param structuredLockKey the structured lock key
+     */
+    public void setStructuredLockKey(StructuredLockKey structuredLockKey) {
+        this.structuredLockKey = structuredLockKey;
+    }
+
     /**
      * Gets resource id.
      *
@@ -143,7 +170,7 @@ public class BranchRegisterRequest extends AbstractTransactionRequestToTC  {
         sb.append("xid='").append(xid).append('\'');
         sb.append(", branchType=").append(branchType);
         sb.append(", resourceId='").append(resourceId).append('\'');
-        sb.append(", lockKey='").append(lockKey).append('\'');
+        sb.append(", lockKey='").append(getLockKey()).append('\'');
         sb.append(", applicationData='").append(applicationData).append('\'');
         sb.append('}');
         return sb.toString();
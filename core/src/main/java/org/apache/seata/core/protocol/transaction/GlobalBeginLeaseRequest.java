@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.protocol.transaction;
+
+import org.apache.seata.core.protocol.MessageType;
+import org.apache.seata.core.rpc.RpcContext;
+
+/**
+ * The type Global begin lease request, asks the TC to reserve a block of xids the TM can begin global transactions
+ * with locally. The TC registers the session of a leased xid when its first branch registers.
+ *
+ */
+public class GlobalBeginLeaseRequest extends AbstractTransactionRequestToTC {
+
+    private int timeout = 60000;
+
+    private int size;
+
+    /**
+     * Gets timeout of the global transactions begun with the leased xids.
+     *
+     * @return the timeout
+     */
+    public int getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets timeout of the global transactions begun with the leased xids.
+     *
+     * @param timeout the timeout
+     */
+    public void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Gets the number of xids to lease.
+     *
+     * @return the size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Sets the number of xids to lease.
+     *
+     * @param size the size
+     */
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public short getTypeCode() {
+        return MessageType.TYPE_GLOBAL_BEGIN_LEASE;
+    }
+
+    @Override
+    public AbstractTransactionResponse handle(RpcContext rpcContext) {
+        return handler.handle(this, rpcContext);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("GlobalBeginLeaseRequest{");
+        sb.append("timeout=").append(timeout);
+        sb.append(", size=").append(size);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.protocol.transaction;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.seata.core.protocol.MessageType;
+
+/**
+ * The type Global begin lease response.
+ * <p>
+ * A TC that does not lease xids answers with {@link org.apache.seata.core.exception.TransactionExceptionCode#BeginFailed}.
+ *
+ */
+public class GlobalBeginLeaseResponse extends AbstractTransactionResponse {
+
+    private List<String> xids = Collections.emptyList();
+
+    private long leaseTime;
+
+    /**
+     * Gets the leased xids.
+     *
+     * @return the xids
+     */
+    public List<String> getXids() {
+        return xids;
+    }
+
+    /**
+     * Sets the leased xids.
+     *
+     * @param xids the xids
+     */
+    public void setXids(List<String> xids) {
+        this.xids = xids;
+    }
+
+    /**
+     * Gets the milliseconds the TC keeps the leased xids reserved, a global transaction has to register its first
+     * branch within this time.
+     *
+     * @return the lease time
+     */
+    public long getLeaseTime() {
+        return leaseTime;
+    }
+
+    /**
+     * Sets the lease time.
+     *
+     * @param leaseTime the lease time
+     */
+    public void setLeaseTime(long leaseTime) {
+        this.leaseTime = leaseTime;
+    }
+
+    @Override
+    public short getTypeCode() {
+        return MessageType.TYPE_GLOBAL_BEGIN_LEASE_RESULT;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("GlobalBeginLeaseResponse{");
+        sb.append("xids=").append(xids.size());
+        sb.append(", leaseTime=").append(leaseTime);
+        sb.append(", resultCode=").append(resultCode);
+        sb.append(", msg='").append(msg).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+}
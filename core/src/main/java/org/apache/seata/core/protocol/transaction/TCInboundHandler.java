@@ -33,6 +33,15 @@ public interface TCInboundHandler {
      */
     GlobalBeginResponse handle(GlobalBeginRequest globalBegin, RpcContext rpcContext);
 
+    /**
+     * Handle global begin lease response.
+     *
+     * @param globalBeginLease the global begin lease
+     * @param rpcContext       the rpc context
+     * @return the global begin lease response
+     */
+    GlobalBeginLeaseResponse handle(GlobalBeginLeaseRequest globalBeginLease, RpcContext rpcContext);
+
     /**
      * Handle global commit response.
      *
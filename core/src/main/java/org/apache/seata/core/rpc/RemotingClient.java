@@ -16,6 +16,7 @@
  */
 package org.apache.seata.core.rpc;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeoutException;
 import io.netty.channel.Channel;
@@ -46,6 +47,22 @@ public interface RemotingClient {
      */
     Object sendSyncRequest(Object msg) throws TimeoutException;
 
+    /**
+     * client send sync request without blocking the caller, the response completes the returned future.
+     *
+     * @param msg transaction message {@code org.apache.seata.core.protocol}
+     * @return the future of the server result message
+     */
+    default CompletableFuture<Object> sendSyncRequestAsync(Object msg) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        try {
+            future.complete(sendSyncRequest(msg));
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
     /**
      * client send sync request.
      *
@@ -22,6 +22,7 @@ import java.net.SocketAddress;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
@@ -209,6 +210,63 @@ public abstract class AbstractNettyRemoting implements Disposable {
         }
     }
 
+    /**
+     * rpc request whose response completes the returned future instead of blocking the caller.
+     * The request times out through the timeout check of the futures.
+     *
+     * @param channel       netty channel
+     * @param rpcMessage    rpc message
+     * @param timeoutMillis rpc communication timeout
+     * @return the future of the response message
+     */
+    protected CompletableFuture<Object> sendAsyncWithResponse(Channel channel, RpcMessage rpcMessage, long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            throw new FrameworkException("timeout should more than 0ms");
+        }
+        CompletableFuture<Object> resultFuture = new CompletableFuture<>();
+        if (channel == null) {
+            LOGGER.warn("sendAsyncWithResponse nothing, caused by null channel.");
+            resultFuture.completeExceptionally(new FrameworkException("client is not connected",
+                FrameworkErrorCode.getChannelError));
+            return resultFuture;
+        }
+
+        MessageFuture messageFuture = new MessageFuture();
+        messageFuture.setRequestMessage(rpcMessage);
+        messageFuture.setTimeout(timeoutMillis);
+        futures.put(rpcMessage.getId(), messageFuture);
+
+        channelWritableCheck(channel, rpcMessage.getBody());
+
+        String remoteAddr = ChannelUtil.getAddressFromChannel(channel);
+        doBeforeRpcHooks(remoteAddr, rpcMessage);
+
+        messageFuture.toCompletableFuture().whenComplete((result, ignore) -> {
+            if (result instanceof Throwable) {
+                LOGGER.error("wait response error:{},ip:{},request:{}", ((Throwable)result).getMessage(),
+                    channel.remoteAddress(), rpcMessage.getBody());
+                resultFuture.completeExceptionally((Throwable)result);
+                return;
+            }
+            try {
+                doAfterRpcHooks(remoteAddr, rpcMessage, result);
+            } finally {
+                resultFuture.complete(result);
+            }
+        });
+
+        channel.writeAndFlush(rpcMessage).addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                MessageFuture messageFuture1 = futures.remove(rpcMessage.getId());
+                if (messageFuture1 != null) {
+                    messageFuture1.setResultMessage(future.cause());
+                }
+                destroyChannel(future.channel());
+            }
+        });
+        return resultFuture;
+    }
+
     /**
      * rpc async request.
      *
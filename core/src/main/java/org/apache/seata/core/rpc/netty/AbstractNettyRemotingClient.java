@@ -21,9 +21,11 @@ import java.net.InetSocketAddress;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -82,6 +84,7 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
     private static final long SCHEDULE_DELAY_MILLS = 60 * 1000L;
     private static final long SCHEDULE_INTERVAL_MILLS = 10 * 1000L;
     private static final String MERGE_THREAD_PREFIX = "rpcMergeMessageSend";
+    private static final String ASYNC_CALLBACK_THREAD_PREFIX = "rpcAsyncCallback";
     protected final Object mergeLock = new Object();
 
     /**
@@ -99,6 +102,11 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
     private final NettyClientChannelManager clientChannelManager;
     private final NettyPoolKey.TransactionRole transactionRole;
     private ExecutorService mergeSendExecutorService;
+    /**
+     * completes the futures of {@link #sendSyncRequestAsync(Object)}, so the continuations of the callers never run
+     * on the netty I/O thread which decoded the response or on the timeout check
+     */
+    private final ExecutorService asyncCallbackExecutor;
     private TransactionMessageHandler transactionMessageHandler;
     protected volatile boolean enableClientBatchSendRequest;
 
@@ -131,6 +139,12 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
         clientBootstrap.setChannelHandlers(new ClientHandler());
         clientChannelManager = new NettyClientChannelManager(
             new NettyPoolableFactory(this, clientBootstrap), getPoolKeyFunction(), nettyClientConfig);
+        int callbackThreads = nettyClientConfig.getClientWorkerThreads();
+        asyncCallbackExecutor = new ThreadPoolExecutor(callbackThreads, callbackThreads,
+            KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new NamedThreadFactory(ASYNC_CALLBACK_THREAD_PREFIX + THREAD_PREFIX_SPLIT_CHAR + transactionRole.name(),
+                callbackThreads, true));
     }
 
     @Override
@@ -184,6 +198,79 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
 
     }
 
+    @Override
+    public CompletableFuture<Object> sendSyncRequestAsync(Object msg) {
+        RpcMessage rpcMessage;
+        String serverAddress;
+        Channel channel = null;
+        try {
+            serverAddress = loadBalance(getTransactionServiceGroup(), msg);
+            rpcMessage = buildRequestMessage(msg, ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
+            if (!this.isEnableClientBatchSendRequest()) {
+                channel = clientChannelManager.acquireChannel(serverAddress);
+            }
+        } catch (Throwable t) {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            future.completeExceptionally(t);
+            return future;
+        }
+        long timeoutMillis = this.getRpcRequestTimeout();
+        if (!this.isEnableClientBatchSendRequest()) {
+            return completeOnCallbackExecutor(super.sendAsyncWithResponse(channel, rpcMessage, timeoutMillis));
+        }
+
+        // the merged send thread writes the message, its response or the timeout check completes the future
+        MessageFuture messageFuture = new MessageFuture();
+        messageFuture.setRequestMessage(rpcMessage);
+        messageFuture.setTimeout(timeoutMillis);
+        CompletableFuture<Object> resultFuture = new CompletableFuture<>();
+        messageFuture.toCompletableFuture().whenComplete((result, ignore) -> {
+            if (result instanceof Throwable) {
+                LOGGER.error("wait response error:{},ip:{},request:{}", ((Throwable)result).getMessage(),
+                    serverAddress, rpcMessage.getBody());
+                resultFuture.completeExceptionally((Throwable)result);
+            } else {
+                resultFuture.complete(result);
+            }
+        });
+        futures.put(rpcMessage.getId(), messageFuture);
+        BlockingQueue<RpcMessage> basket = CollectionUtils.computeIfAbsent(basketMap, serverAddress,
+            key -> new LinkedBlockingQueue<>());
+        if (!basket.offer(rpcMessage)) {
+            futures.remove(rpcMessage.getId());
+            LOGGER.error("put message into basketMap offer failed, serverAddress:{},rpcMessage:{}",
+                serverAddress, rpcMessage);
+            resultFuture.complete(null);
+            return resultFuture;
+        }
+        if (!isSending) {
+            synchronized (mergeLock) {
+                mergeLock.notifyAll();
+            }
+        }
+        return completeOnCallbackExecutor(resultFuture);
+    }
+
+    private CompletableFuture<Object> completeOnCallbackExecutor(CompletableFuture<Object> future) {
+        CompletableFuture<Object> callbackFuture = new CompletableFuture<>();
+        future.whenComplete((result, t) -> {
+            Runnable complete = () -> {
+                if (t == null) {
+                    callbackFuture.complete(result);
+                } else {
+                    callbackFuture.completeExceptionally(t);
+                }
+            };
+            try {
+                asyncCallbackExecutor.execute(complete);
+            } catch (RejectedExecutionException e) {
+                // the client is shutting down
+                complete.run();
+            }
+        });
+        return callbackFuture;
+    }
+
     @Override
     public Object sendSyncRequest(Channel channel, Object msg) throws TimeoutException {
         if (channel == null) {
@@ -233,6 +320,7 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
         if (mergeSendExecutorService != null) {
             mergeSendExecutorService.shutdown();
         }
+        asyncCallbackExecutor.shutdown();
         super.destroy();
     }
 
@@ -16,6 +16,7 @@
  */
 package org.apache.seata.core.rpc.netty;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeoutException;
@@ -73,6 +74,20 @@ public abstract class AbstractNettyRemotingServer extends AbstractNettyRemoting
         return super.sendSync(channel, rpcMessage, NettyServerConfig.getRpcRequestTimeout());
     }
 
+    @Override
+    public CompletableFuture<Object> sendSyncRequestAsync(String resourceId, String clientId, Object msg,
+                                                          boolean tryOtherApp) {
+        Channel channel = ChannelManager.getChannel(resourceId, clientId, tryOtherApp);
+        if (channel == null) {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            future.completeExceptionally(
+                new RuntimeException("rm client is not connected. dbkey:" + resourceId + ",clientId:" + clientId));
+            return future;
+        }
+        RpcMessage rpcMessage = buildRequestMessage(msg, ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
+        return super.sendAsyncWithResponse(channel, rpcMessage, NettyServerConfig.getRpcRequestTimeout());
+    }
+
     @Override
     public Object sendSyncRequest(Channel channel, Object msg) throws TimeoutException {
         if (channel == null) {
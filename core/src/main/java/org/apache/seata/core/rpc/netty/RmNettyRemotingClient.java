@@ -18,6 +18,7 @@ package org.apache.seata.core.rpc.netty;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -40,14 +41,17 @@ import org.apache.seata.core.model.Resource;
 import org.apache.seata.core.model.ResourceManager;
 import org.apache.seata.core.protocol.AbstractMessage;
 import org.apache.seata.core.protocol.MessageType;
+import org.apache.seata.core.protocol.ProtocolConstants;
 import org.apache.seata.core.protocol.RegisterRMRequest;
 import org.apache.seata.core.protocol.RegisterRMResponse;
+import org.apache.seata.core.protocol.Version;
 import org.apache.seata.core.rpc.netty.NettyPoolKey.TransactionRole;
 import org.apache.seata.core.rpc.processor.client.ClientHeartbeatProcessor;
 import org.apache.seata.core.rpc.processor.client.ClientOnResponseProcessor;
 import org.apache.seata.core.rpc.processor.client.RmBranchCommitProcessor;
 import org.apache.seata.core.rpc.processor.client.RmBranchRollbackProcessor;
 import org.apache.seata.core.rpc.processor.client.RmUndoLogProcessor;
+import org.apache.seata.core.serializer.SerializerType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,6 +72,7 @@ public final class RmNettyRemotingClient extends AbstractNettyRemotingClient {
     private static final int MAX_QUEUE_SIZE = 20000;
     private String applicationId;
     private String transactionServiceGroup;
+    private final Map<String, String> serverVersions = new ConcurrentHashMap<>();
 
     @Override
     public void init() {
@@ -178,6 +183,9 @@ public final class RmNettyRemotingClient extends AbstractNettyRemotingClient {
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info("register RM success. client version:{}, server version:{},channel:{}", registerRMRequest.getVersion(), registerRMResponse.getVersion(), channel);
         }
+        if (registerRMResponse.getVersion() != null) {
+            serverVersions.put(serverAddress, registerRMResponse.getVersion());
+        }
         getClientChannelManager().registerChannel(serverAddress, channel);
         String dbKey = getMergedResourceKeys();
         if (registerRMRequest.getResourceIds() != null) {
@@ -188,6 +196,30 @@ public final class RmNettyRemotingClient extends AbstractNettyRemotingClient {
 
     }
 
+    /**
+     * Whether the structured lock key of a branch register request can be sent: only the seata codec encodes it,
+     * and the channel is picked per request, so every connected server must be at least as new as this client.
+     *
+     * @return true if all connected servers decode the structured lock key
+     */
+    public boolean isStructuredLockKeySupported() {
+        if (ProtocolConstants.CONFIGURED_CODEC != SerializerType.SEATA.getCode()) {
+            return false;
+        }
+        Set<String> serverAddresses = getClientChannelManager().getChannels().keySet();
+        if (serverAddresses.isEmpty()) {
+            return false;
+        }
+        long clientVersion = Version.convertVersionNotThrowException(Version.getCurrent());
+        for (String serverAddress : serverAddresses) {
+            String serverVersion = serverVersions.get(serverAddress);
+            if (serverVersion == null || Version.convertVersionNotThrowException(serverVersion) < clientVersion) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void onRegisterMsgFail(String serverAddress, Channel channel, Object response,
                                   AbstractMessage requestMessage) {
@@ -16,10 +16,13 @@
  */
 package org.apache.seata.core.rpc.netty;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import io.netty.channel.Channel;
@@ -61,6 +64,7 @@ public final class TmNettyRemotingClient extends AbstractNettyRemotingClient {
     private final AuthSigner signer;
     private String accessKey;
     private String secretKey;
+    private final List<Consumer<String>> registerListeners = new CopyOnWriteArrayList<>();
 
 
     private TmNettyRemotingClient(NettyClientConfig nettyClientConfig,
@@ -217,6 +221,18 @@ public final class TmNettyRemotingClient extends AbstractNettyRemotingClient {
             LOGGER.info("register TM success. client version:{}, server version:{},channel:{}", registerTMRequest.getVersion(), registerTMResponse.getVersion(), channel);
         }
         getClientChannelManager().registerChannel(serverAddress, channel);
+        for (Consumer<String> listener : registerListeners) {
+            listener.accept(serverAddress);
+        }
+    }
+
+    /**
+     * Add a listener called with the server address whenever the TM registers to a TC, on reconnects as well.
+     *
+     * @param listener the listener
+     */
+    public void addRegisterListener(Consumer<String> listener) {
+        registerListeners.add(listener);
     }
 
     @Override
@@ -250,6 +266,7 @@ public final class TmNettyRemotingClient extends AbstractNettyRemotingClient {
                 new ClientOnResponseProcessor(mergeMsgMap, super.getFutures(), getTransactionMessageHandler());
         super.registerProcessor(MessageType.TYPE_SEATA_MERGE_RESULT, onResponseProcessor, null);
         super.registerProcessor(MessageType.TYPE_GLOBAL_BEGIN_RESULT, onResponseProcessor, null);
+        super.registerProcessor(MessageType.TYPE_GLOBAL_BEGIN_LEASE_RESULT, onResponseProcessor, null);
         super.registerProcessor(MessageType.TYPE_GLOBAL_COMMIT_RESULT, onResponseProcessor, null);
         super.registerProcessor(MessageType.TYPE_GLOBAL_REPORT_RESULT, onResponseProcessor, null);
         super.registerProcessor(MessageType.TYPE_GLOBAL_ROLLBACK_RESULT, onResponseProcessor, null);
@@ -48,6 +48,7 @@ import org.apache.seata.core.protocol.RpcMessage;
 import org.apache.seata.core.protocol.Version;
 import org.apache.seata.core.protocol.transaction.BranchRegisterRequest;
 import org.apache.seata.core.protocol.transaction.BranchReportRequest;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseRequest;
 import org.apache.seata.core.protocol.transaction.GlobalBeginRequest;
 import org.apache.seata.core.protocol.transaction.GlobalCommitRequest;
 import org.apache.seata.core.protocol.transaction.GlobalLockQueryRequest;
@@ -80,6 +81,7 @@ import org.slf4j.LoggerFactory;
  * 4) {@link GlobalReportRequest}
  * 5) {@link GlobalRollbackRequest}
  * 6) {@link GlobalStatusRequest}
+ * 7) {@link GlobalBeginLeaseRequest}
  *
  * @since 1.3.0
  */
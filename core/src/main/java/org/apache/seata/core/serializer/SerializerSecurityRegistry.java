@@ -54,6 +54,8 @@ import org.apache.seata.core.protocol.transaction.BranchReportRequest;
 import org.apache.seata.core.protocol.transaction.BranchReportResponse;
 import org.apache.seata.core.protocol.transaction.BranchRollbackRequest;
 import org.apache.seata.core.protocol.transaction.BranchRollbackResponse;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseRequest;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseResponse;
 import org.apache.seata.core.protocol.transaction.GlobalBeginRequest;
 import org.apache.seata.core.protocol.transaction.GlobalBeginResponse;
 import org.apache.seata.core.protocol.transaction.GlobalCommitRequest;
@@ -168,6 +170,8 @@ public class SerializerSecurityRegistry {
             classNameSet.add(BranchRollbackResponse.class);
             classNameSet.add(GlobalBeginRequest.class);
             classNameSet.add(GlobalBeginResponse.class);
+            classNameSet.add(GlobalBeginLeaseRequest.class);
+            classNameSet.add(GlobalBeginLeaseResponse.class);
             classNameSet.add(GlobalCommitRequest.class);
             classNameSet.add(GlobalCommitResponse.class);
             classNameSet.add(GlobalLockQueryResponse.class);
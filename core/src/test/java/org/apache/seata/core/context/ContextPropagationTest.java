@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.context;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The type Context propagation test.
+ */
+public class ContextPropagationTest {
+
+    private static final String DEFAULT_XID = "127.0.0.1:8091:2083229151";
+
+    @AfterEach
+    public void tearDown() {
+        RootContext.unbind();
+    }
+
+    @Test
+    public void testWrapRunnable() throws Exception {
+        RootContext.bind(DEFAULT_XID);
+        AtomicReference<String> xid = new AtomicReference<>();
+        Thread thread = new Thread(ContextPropagation.wrap(() -> xid.set(RootContext.getXID())));
+        thread.start();
+        thread.join();
+        assertEquals(DEFAULT_XID, xid.get());
+    }
+
+    @Test
+    public void testWrapCallableRestoresContext() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> RootContext.bind("worker_xid")).get();
+            RootContext.bind(DEFAULT_XID);
+            Callable<String> task = ContextPropagation.wrap(RootContext::getXID);
+            assertEquals(DEFAULT_XID, executor.submit(task).get());
+            assertEquals("worker_xid", executor.submit(RootContext::getXID).get());
+            executor.submit(RootContext::unbind).get();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testWrapExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AtomicReference<String> xid = new AtomicReference<>();
+            RootContext.bind(DEFAULT_XID);
+            ContextPropagation.wrap((Executor)executor).execute(() -> xid.set(RootContext.getXID()));
+            RootContext.unbind();
+            Future<String> after = executor.submit(RootContext::getXID);
+            assertNull(after.get());
+            assertEquals(DEFAULT_XID, xid.get());
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testWrapWithoutContext() throws Exception {
+        AtomicReference<String> xid = new AtomicReference<>("unset");
+        Thread thread = new Thread(ContextPropagation.wrap(() -> xid.set(RootContext.getXID())));
+        thread.start();
+        thread.join();
+        assertNull(xid.get());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.context;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The type Scoped context core test.
+ */
+public class ScopedContextCoreTest {
+
+    @Test
+    public void testPutAndGet() {
+        ScopedContextCore contextCore = new ScopedContextCore();
+        assertNull(contextCore.put("key", "value"));
+        assertEquals("value", contextCore.get("key"));
+        assertEquals("value", contextCore.put("key", "value2"));
+        assertEquals("value2", contextCore.get("key"));
+        assertNull(contextCore.get("not_exist_key"));
+        contextCore.remove("key");
+    }
+
+    @Test
+    public void testRemove() {
+        ScopedContextCore contextCore = new ScopedContextCore();
+        contextCore.put("key1", "value1");
+        contextCore.put("key2", "value2");
+        contextCore.put("key3", "value3");
+        assertEquals("value2", contextCore.remove("key2"));
+        assertNull(contextCore.remove("key2"));
+        assertEquals("value1", contextCore.get("key1"));
+        assertEquals("value3", contextCore.get("key3"));
+        assertEquals("value1", contextCore.remove("key1"));
+        assertEquals("value3", contextCore.remove("key3"));
+        assertNull(contextCore.remove("key3"));
+        assertSame(Collections.emptyMap(), contextCore.entries());
+    }
+
+    @Test
+    public void testEntriesIsSnapshot() {
+        ScopedContextCore contextCore = new ScopedContextCore();
+        contextCore.put("key1", "value1");
+        contextCore.put("key2", "value2");
+        Map<String, Object> entries = contextCore.entries();
+        contextCore.put("key3", "value3");
+        contextCore.remove("key1");
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("key1", "value1");
+        expected.put("key2", "value2");
+        assertEquals(expected, entries);
+        assertThrows(UnsupportedOperationException.class, () -> entries.put("key4", "value4"));
+        assertEquals(2, contextCore.entries().size());
+        contextCore.remove("key2");
+        contextCore.remove("key3");
+    }
+
+    @Test
+    public void testThreadIsolation() throws InterruptedException {
+        ScopedContextCore contextCore = new ScopedContextCore();
+        contextCore.put("key", "value");
+        AtomicReference<Object> other = new AtomicReference<>("unset");
+        Thread thread = new Thread(() -> other.set(contextCore.get("key")));
+        thread.start();
+        thread.join();
+        assertNull(other.get());
+        contextCore.remove("key");
+    }
+
+    @Test
+    public void testBind() {
+        ScopedContextCore contextCore = new ScopedContextCore();
+        contextCore.put("key", "value");
+        Map<String, Object> captured = contextCore.entries();
+        Map<String, Object> previous = contextCore.bind(Collections.emptyMap());
+        assertSame(captured, previous);
+        assertNull(contextCore.get("key"));
+        contextCore.bind(Collections.singletonMap("other", "value"));
+        assertEquals("value", contextCore.get("other"));
+        contextCore.bind(captured);
+        assertEquals("value", contextCore.get("key"));
+        assertNull(contextCore.get("other"));
+        contextCore.remove("key");
+    }
+}
@@ -156,6 +156,19 @@ public class MessageFutureTest {
         }
     }
 
+    /**
+     * Test the completable future sees the raw result.
+     */
+    @Test
+    public void testToCompletableFuture() {
+        MessageFuture messageFuture = new MessageFuture();
+        messageFuture.setRequestMessage(buildRepcMessage());
+        messageFuture.setTimeout(TIME_OUT_FIELD);
+        Assertions.assertFalse(messageFuture.toCompletableFuture().isDone());
+        messageFuture.setResultMessage(BODY_FIELD);
+        Assertions.assertEquals(BODY_FIELD, messageFuture.toCompletableFuture().getNow(null));
+    }
+
     /**
      * Test get has result with throwable.
      */
@@ -54,8 +54,14 @@ public abstract class AbstractPreparedStatementProxy extends StatementProxy<Prep
      */
     protected Map<Integer, ArrayList<Object>> parameters;
 
+    /**
+     * Whether every parameter was bound by a setter whose effect setObject(index, value) reproduces.
+     */
+    private boolean parametersReplayable;
+
     private void initParameterHolder() {
         this.parameters = new HashMap<>();
+        this.parametersReplayable = true;
     }
 
     /**
@@ -102,10 +108,34 @@ public abstract class AbstractPreparedStatementProxy extends StatementProxy<Prep
      * @param x     the x
      */
     protected void setParamByIndex(int index, Object x) {
+        parametersReplayable = false;
+        addParamByIndex(index, x);
+    }
+
+    /**
+     * Sets a param bound without a target sql type, stream length or calendar.
+     *
+     * @param index the index
+     * @param x     the x
+     */
+    protected void setReplayableParamByIndex(int index, Object x) {
+        addParamByIndex(index, x);
+    }
+
+    private void addParamByIndex(int index, Object x) {
         CollectionUtils.computeIfAbsent(parameters, index, e -> new ArrayList<>())
                 .add(x);
     }
 
+    /**
+     * Whether the bound parameters can be copied to another statement with setObject(index, value).
+     *
+     * @return true if no parameter was bound by setNull or with a target sql type, stream, lob or calendar
+     */
+    public boolean isParametersReplayable() {
+        return parametersReplayable;
+    }
+
     @Override
     public void setNull(int parameterIndex, int sqlType) throws SQLException {
         setParamByIndex(parameterIndex, Null.get());
@@ -114,79 +144,79 @@ public abstract class AbstractPreparedStatementProxy extends StatementProxy<Prep
 
     @Override
     public void setBoolean(int parameterIndex, boolean x) throws SQLException {
-        setParamByIndex(parameterIndex, x);
+        setReplayableParamByIndex(parameterIndex, x);
         targetStatement.setBoolean(parameterIndex, x);
     }
 
     @Override
     public void setByte(int parameterIndex, byte x) throws SQLException {
-        setParamByIndex(parameterIndex, x);
+        setReplayableParamByIndex(parameterIndex, x);
         targetStatement.setByte(parameterIndex, x);
     }
 
     @Override
     public void setShort(int parameterIndex, short x) throws SQLException {
-        setParamByIndex(parameterIndex, x);
+        setReplayableParamByIndex(parameterIndex, x);
         targetStatement.setShort(parameterIndex, x);
     }
 
     @Override
     public void setInt(int parameterIndex, int x) throws SQLException {
-        setParamByIndex(parameterIndex, x);
+        setReplayableParamByIndex(parameterIndex, x);
         targetStatement.setInt(parameterIndex, x);
     }
 
     @Override
     public void setLong(int parameterIndex, long x) throws SQLException {
-        setParamByIndex(parameterIndex, x);
+        setReplayableParamByIndex(parameterIndex, x);
         targetStatement.setLong(parameterIndex, x);
     }
 
     @Override
     public void setFloat(int parameterIndex, float x) throws SQLException {
-        setParamByIndex(parameterIndex, x);
+        setReplayableParamByIndex(parameterIndex, x);
         targetStatement.setFloat(parameterIndex, x);
     }
 
     @Override
     public void setDouble(int parameterIndex, double x) throws SQLException {
-        setParamByIndex(parameterIndex, x);
+        setReplayableParamByIndex(parameterIndex, x);
         targetStatement.setDouble(parameterIndex, x);
     }
 
     @Override
     public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
-        setParamByIndex(parameterIndex, x);
+        setReplayableParamByIndex(parameterIndex, x);
         targetStatement.setBigDecimal(parameterIndex, x);
     }
 
     @Override
     public void setString(int parameterIndex, String x) throws SQLException {
-        setParamByIndex(parameterIndex, x);
+        setReplayableParamByIndex(parameterIndex, x);
         targetStatement.setString(parameterIndex, x);
     }
 
     @Override
     public void setBytes(int parameterIndex, byte[] x) throws SQLException {
-        setParamByIndex(parameterIndex, x);
+        setReplayableParamByIndex(parameterIndex, x);
         targetStatement.setBytes(parameterIndex, x);
     }
 
     @Override
     public void setDate(int parameterIndex, Date x) throws SQLException {
-        setParamByIndex(parameterIndex, x);
+        setReplayableParamByIndex(parameterIndex, x);
         targetStatement.setDate(parameterIndex, x);
     }
 
     @Override
     public void setTime(int parameterIndex, Time x) throws SQLException {
-        setParamByIndex(parameterIndex, x);
+        setReplayableParamByIndex(parameterIndex, x);
         targetStatement.setTime(parameterIndex, x);
     }
 
     @Override
     public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
-        setParamByIndex(parameterIndex, x);
+        setReplayableParamByIndex(parameterIndex, x);
         targetStatement.setTimestamp(parameterIndex, x);
     }
 
@@ -223,7 +253,7 @@ public abstract class AbstractPreparedStatementProxy extends StatementProxy<Prep
 
     @Override
     public void setObject(int parameterIndex, Object x) throws SQLException {
-        setParamByIndex(parameterIndex, x);
+        setReplayableParamByIndex(parameterIndex, x);
         targetStatement.setObject(parameterIndex, x);
     }
 
@@ -52,6 +52,16 @@ public abstract class AbstractStatementProxy<T extends Statement> implements Sta
      */
     protected CachedRowSet scrollableGeneratedKeysCache;
 
+    /**
+     * Whether an executor ran an equivalent statement in place of the target statement.
+     */
+    private boolean substituted;
+
+    /**
+     * The update count of the substituted statement, -1 once it is consumed.
+     */
+    private int substitutedUpdateCount = -1;
+
     /**
      * Instantiates a new Abstract statement proxy.
      *
@@ -105,6 +115,25 @@ public abstract class AbstractStatementProxy<T extends Statement> implements Sta
         return targetSQL;
     }
 
+    /**
+     * Reports the update count of a statement an executor ran in place of the target statement,
+     * so the results read from this proxy stay consistent although the target statement was not executed.
+     *
+     * @param updateCount the update count
+     */
+    public void substituteUpdateCount(int updateCount) {
+        this.substituted = true;
+        this.substitutedUpdateCount = updateCount;
+    }
+
+    /**
+     * Reads results from the target statement again, called before each execution.
+     */
+    public void clearSubstitutedUpdateCount() {
+        this.substituted = false;
+        this.substitutedUpdateCount = -1;
+    }
+
     @Override
     public void close() throws SQLException {
         targetStatement.close();
@@ -175,16 +204,26 @@ public abstract class AbstractStatementProxy<T extends Statement> implements Sta
 
     @Override
     public ResultSet getResultSet() throws SQLException {
+        if (substituted) {
+            return null;
+        }
         return targetStatement.getResultSet();
     }
 
     @Override
     public int getUpdateCount() throws SQLException {
+        if (substituted) {
+            return substitutedUpdateCount;
+        }
         return targetStatement.getUpdateCount();
     }
 
     @Override
     public boolean getMoreResults() throws SQLException {
+        if (substituted) {
+            substitutedUpdateCount = -1;
+            return false;
+        }
         return targetStatement.getMoreResults();
     }
 
@@ -244,6 +283,10 @@ public abstract class AbstractStatementProxy<T extends Statement> implements Sta
 
     @Override
     public boolean getMoreResults(int current) throws SQLException {
+        if (substituted) {
+            substitutedUpdateCount = -1;
+            return false;
+        }
         return targetStatement.getMoreResults(current);
     }
 
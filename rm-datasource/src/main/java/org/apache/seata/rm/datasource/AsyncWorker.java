@@ -18,6 +18,7 @@ package org.apache.seata.rm.datasource;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -26,18 +27,20 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import com.google.common.collect.Lists;
 import org.apache.seata.common.thread.NamedThreadFactory;
 import org.apache.seata.common.util.IOUtil;
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.model.BranchStatus;
+import org.apache.seata.core.rpc.Disposable;
 import org.apache.seata.rm.datasource.undo.UndoLogManager;
 import org.apache.seata.rm.datasource.undo.UndoLogManagerFactory;
 import org.slf4j.Logger;
@@ -48,15 +51,36 @@ import static org.apache.seata.core.constants.ConfigurationKeys.CLIENT_ASYNC_COM
 
 /**
  * The type Async worker.
- *
+ * <p>
+ * Committed branches are queued and their undo logs deleted in batches. The worker wakes up as soon as enough
+ * branches are queued or the oldest one has waited {@link #MAX_COMMIT_DELAY_MILLS}, deletes the undo logs of
+ * different resources in parallel and tunes the delete batch size of each resource from the observed delete latency.
+ * Branches whose deletion failed are retried with a backoff. While as many of them wait for their retry as the
+ * async commit buffer limit allows, newly committed branches stay queued, so the failed ones are never dropped and
+ * a full queue eventually pushes back on the branch commits.
  */
-public class AsyncWorker {
+public class AsyncWorker implements Disposable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AsyncWorker.class);
 
     private static final int DEFAULT_RESOURCE_SIZE = 16;
 
-    private static final int UNDOLOG_DELETE_LIMIT_SIZE = 1000;
+    private static final int INITIAL_UNDOLOG_DELETE_LIMIT_SIZE = 1000;
+
+    private static final int MIN_UNDOLOG_DELETE_LIMIT_SIZE = 100;
+
+    private static final int MAX_UNDOLOG_DELETE_LIMIT_SIZE = 5000;
+
+    /**
+     * batches deleted slower than this shrink, full batches deleted in less than half of it grow
+     */
+    private static final long TARGET_DELETE_MILLS = 200;
+
+    private static final long MAX_COMMIT_DELAY_MILLS = 1000;
+
+    private static final long MAX_RETRY_DELAY_MILLS = 30000;
+
+    private static final int PIPELINE_THREADS = 4;
 
     private static final int ASYNC_COMMIT_BUFFER_LIMIT = ConfigurationFactory.getInstance().getInt(
         CLIENT_ASYNC_COMMIT_BUFFER_LIMIT, DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT);
@@ -65,17 +89,39 @@ public class AsyncWorker {
 
     private final BlockingQueue<Phase2Context> commitQueue;
 
-    private final ScheduledExecutorService scheduledExecutor;
+    /**
+     * contexts whose deletion failed, ordered by their retry time
+     */
+    private final BlockingQueue<Phase2Context> retryQueue = new PriorityBlockingQueue<>(DEFAULT_RESOURCE_SIZE,
+        (c1, c2) -> Long.compare(c1.retryTime, c2.retryTime));
+
+    private final int wakeupSize;
+
+    private final Object wakeupMonitor = new Object();
+
+    private final Map<String, AtomicInteger> deleteLimitSizes = new ConcurrentHashMap<>();
+
+    private final ExecutorService pipelineExecutor;
+
+    private final ExecutorService overflowExecutor;
+
+    private final Thread dispatcher;
 
     public AsyncWorker(DataSourceManager dataSourceManager) {
         this.dataSourceManager = dataSourceManager;
 
         LOGGER.info("Async Commit Buffer Limit: {}", ASYNC_COMMIT_BUFFER_LIMIT);
         commitQueue = new LinkedBlockingQueue<>(ASYNC_COMMIT_BUFFER_LIMIT);
-
-        ThreadFactory threadFactory = new NamedThreadFactory("AsyncWorker", 2, true);
-        scheduledExecutor = new ScheduledThreadPoolExecutor(2, threadFactory);
-        scheduledExecutor.scheduleAtFixedRate(this::doBranchCommitSafely, 10, 1000, TimeUnit.MILLISECONDS);
+        wakeupSize = Math.max(1, Math.min(INITIAL_UNDOLOG_DELETE_LIMIT_SIZE, ASYNC_COMMIT_BUFFER_LIMIT / 10));
+
+        pipelineExecutor = new ThreadPoolExecutor(PIPELINE_THREADS, PIPELINE_THREADS, Integer.MAX_VALUE,
+            TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("AsyncWorkerPipeline",
+            PIPELINE_THREADS, true));
+        overflowExecutor = new ThreadPoolExecutor(1, 1, Integer.MAX_VALUE, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(ASYNC_COMMIT_BUFFER_LIMIT),
+            new NamedThreadFactory("AsyncWorkerOverflow", 1, true), new ThreadPoolExecutor.CallerRunsPolicy());
+        dispatcher = new NamedThreadFactory("AsyncWorker", 1, true).newThread(this::dispatch);
+        dispatcher.start();
     }
 
     public BranchStatus branchCommit(String xid, long branchId, String resourceId) {
@@ -84,24 +130,134 @@ public class AsyncWorker {
         return BranchStatus.PhaseTwo_Committed;
     }
 
+    /**
+     * Stop the dispatcher and the executors, the undo logs not deleted yet are left to the periodic undo log cleanup.
+     */
+    @Override
+    public void destroy() {
+        dispatcher.interrupt();
+        overflowExecutor.shutdownNow();
+        pipelineExecutor.shutdown();
+        int pending = getQueueDepth();
+        if (pending > 0) {
+            LOGGER.info("async worker stopped, the undo logs of {} committed branches are left to the undo log "
+                + "cleanup", pending);
+        }
+    }
+
+    /**
+     * Number of committed branches whose undo logs are not deleted yet.
+     */
+    int getQueueDepth() {
+        return commitQueue.size() + retryQueue.size();
+    }
+
+    /**
+     * The current undo log delete batch size of a resource.
+     *
+     * @param resourceId the resource id
+     * @return the batch size
+     */
+    public int getDeleteLimitSize(String resourceId) {
+        AtomicInteger limitSize = deleteLimitSizes.get(resourceId);
+        return limitSize == null ? INITIAL_UNDOLOG_DELETE_LIMIT_SIZE : limitSize.get();
+    }
+
     /**
      * try add context to commitQueue directly, if fail(which means the queue is full),
-     * then doBranchCommit urgently(so that the queue could be empty again) and retry this process.
+     * then wake the worker up urgently and hand the context over to wait for room, so the caller does not block
+     * until the bounded handoff is full as well.
      */
     private void addToCommitQueue(Phase2Context context) {
-        if (commitQueue.offer(context)) {
+        if (!commitQueue.offer(context)) {
+            wakeUp();
+            overflowExecutor.execute(() -> {
+                try {
+                    commitQueue.put(context);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
             return;
         }
-        CompletableFuture.runAsync(this::doBranchCommitSafely, scheduledExecutor)
-                .thenRun(() -> addToCommitQueue(context));
+        if (commitQueue.size() >= wakeupSize) {
+            wakeUp();
+        }
     }
 
-    private void addAllToCommitQueue(List<Phase2Context> contexts) {
+    /**
+     * retry the contexts after a backoff. they were drained from the queues, so the retry queue is bounded by
+     * {@link #commitRoom()} and never drops one.
+     */
+    private void addAllToRetryQueue(List<Phase2Context> contexts) {
+        long now = System.currentTimeMillis();
         for (Phase2Context context : contexts) {
-            addToCommitQueue(context);
+            context.retries++;
+            context.retryTime = now + retryDelayMills(context.retries);
+            retryQueue.offer(context);
+        }
+    }
+
+    /**
+     * how many newly committed contexts may be taken next to the ones waiting for their retry
+     */
+    private int commitRoom() {
+        return Math.max(0, ASYNC_COMMIT_BUFFER_LIMIT - retryQueue.size());
+    }
+
+    /**
+     * double the retry delay on every failure, from {@link #MAX_COMMIT_DELAY_MILLS} up to {@link #MAX_RETRY_DELAY_MILLS}
+     */
+    static long retryDelayMills(int retries) {
+        int shift = Math.min(Math.max(0, retries - 1), 5);
+        return Math.min(MAX_RETRY_DELAY_MILLS, MAX_COMMIT_DELAY_MILLS << shift);
+    }
+
+    private void wakeUp() {
+        synchronized (wakeupMonitor) {
+            wakeupMonitor.notifyAll();
         }
     }
 
+    private void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                awaitWork();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            doBranchCommitSafely();
+        }
+    }
+
+    /**
+     * wait until enough contexts are queued, the oldest one is due or a retry is due,
+     * the queued contexts do not count while there is no room for them
+     */
+    private void awaitWork() throws InterruptedException {
+        synchronized (wakeupMonitor) {
+            while (commitRoom() == 0 || commitQueue.size() < wakeupSize) {
+                long oldest = commitRoom() == 0 ? Long.MAX_VALUE : createTimeOf(commitQueue.peek());
+                long due = Math.min(oldest == Long.MAX_VALUE ? Long.MAX_VALUE : oldest + MAX_COMMIT_DELAY_MILLS,
+                    retryTimeOf(retryQueue.peek()));
+                long waitMills = due == Long.MAX_VALUE ? MAX_COMMIT_DELAY_MILLS : due - System.currentTimeMillis();
+                if (waitMills <= 0) {
+                    return;
+                }
+                wakeupMonitor.wait(waitMills);
+            }
+        }
+    }
+
+    private static long createTimeOf(Phase2Context context) {
+        return context == null ? Long.MAX_VALUE : context.createTime;
+    }
+
+    private static long retryTimeOf(Phase2Context context) {
+        return context == null ? Long.MAX_VALUE : context.retryTime;
+    }
+
     void doBranchCommitSafely() {
         try {
             doBranchCommit();
@@ -111,18 +267,41 @@ public class AsyncWorker {
     }
 
     private void doBranchCommit() {
-        if (commitQueue.isEmpty()) {
+        long now = System.currentTimeMillis();
+        int room = commitRoom();
+        if ((room == 0 || commitQueue.isEmpty()) && retryTimeOf(retryQueue.peek()) > now) {
             return;
         }
 
-        // transfer all context currently received to this list
-        List<Phase2Context> allContexts = new LinkedList<>();
-        commitQueue.drainTo(allContexts);
+        // transfer the contexts currently received there is room for and the due retries to this list
+        List<Phase2Context> allContexts = new ArrayList<>(Math.min(room, commitQueue.size()) + retryQueue.size());
+        while (retryTimeOf(retryQueue.peek()) <= now) {
+            Phase2Context retry = retryQueue.poll();
+            if (retry == null) {
+                break;
+            }
+            allContexts.add(retry);
+        }
+        commitQueue.drainTo(allContexts, room);
+        if (allContexts.isEmpty()) {
+            return;
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("async committing {} branches, lag {} ms", allContexts.size(),
+                System.currentTimeMillis() - allContexts.get(0).createTime);
+        }
 
         // group context by their resourceId
         Map<String, List<Phase2Context>> groupedContexts = groupedByResourceId(allContexts);
-
-        groupedContexts.forEach(this::dealWithGroupedContexts);
+        if (groupedContexts.size() <= 1) {
+            groupedContexts.forEach(this::dealWithGroupedContexts);
+            return;
+        }
+        // the resources are independent, delete their undo logs in parallel
+        List<CompletableFuture<Void>> pipelines = new ArrayList<>(groupedContexts.size());
+        groupedContexts.forEach((resourceId, contexts) -> pipelines.add(CompletableFuture.runAsync(
+            () -> dealWithGroupedContexts(resourceId, contexts), pipelineExecutor)));
+        CompletableFuture.allOf(pipelines.toArray(new CompletableFuture[0])).join();
     }
 
     Map<String, List<Phase2Context>> groupedByResourceId(List<Phase2Context> contexts) {
@@ -147,7 +326,7 @@ public class AsyncWorker {
         DataSourceProxy dataSourceProxy = dataSourceManager.get(resourceId);
         if (dataSourceProxy == null) {
             LOGGER.warn("failed to find resource for {} and requeue", resourceId);
-            addAllToCommitQueue(contexts);
+            addAllToRetryQueue(contexts);
             return;
         }
 
@@ -155,14 +334,23 @@ public class AsyncWorker {
         try {
             conn = dataSourceProxy.getPlainConnection();
             UndoLogManager undoLogManager = UndoLogManagerFactory.getUndoLogManager(dataSourceProxy.getDbType());
+            AtomicInteger limitSize = deleteLimitSizes.computeIfAbsent(resourceId,
+                key -> new AtomicInteger(INITIAL_UNDOLOG_DELETE_LIMIT_SIZE));
 
             // split contexts into several lists, with each list contain no more element than limit size
-            List<List<Phase2Context>> splitByLimit = Lists.partition(contexts, UNDOLOG_DELETE_LIMIT_SIZE);
-            for (List<Phase2Context> partition : splitByLimit) {
-                deleteUndoLog(conn, undoLogManager, partition);
+            int from = 0;
+            while (from < contexts.size()) {
+                int batchSize = limitSize.get();
+                List<Phase2Context> partition = contexts.subList(from, Math.min(contexts.size(), from + batchSize));
+                from += partition.size();
+                long start = System.currentTimeMillis();
+                if (deleteUndoLog(conn, undoLogManager, partition)) {
+                    adjustDeleteLimitSize(resourceId, limitSize, batchSize, partition.size(),
+                        System.currentTimeMillis() - start);
+                }
             }
         } catch (SQLException sqlExx) {
-            addAllToCommitQueue(contexts);
+            addAllToRetryQueue(contexts);
             LOGGER.error("failed to get connection for async committing on {} and requeue", resourceId, sqlExx);
         } finally {
             IOUtil.close(conn);
@@ -170,7 +358,29 @@ public class AsyncWorker {
 
     }
 
-    private void deleteUndoLog(final Connection conn, UndoLogManager undoLogManager, List<Phase2Context> contexts) {
+    /**
+     * halve the batch size after a slow delete, grow it by a quarter after a fast full batch
+     */
+    static int nextDeleteLimitSize(int batchSize, int deleted, long costMills) {
+        if (costMills > TARGET_DELETE_MILLS) {
+            return Math.max(MIN_UNDOLOG_DELETE_LIMIT_SIZE, batchSize / 2);
+        }
+        if (deleted >= batchSize && costMills < TARGET_DELETE_MILLS / 2) {
+            return Math.min(MAX_UNDOLOG_DELETE_LIMIT_SIZE, batchSize + batchSize / 4);
+        }
+        return batchSize;
+    }
+
+    private void adjustDeleteLimitSize(String resourceId, AtomicInteger limitSize, int batchSize, int deleted,
+                                       long costMills) {
+        int next = nextDeleteLimitSize(batchSize, deleted, costMills);
+        if (next != batchSize && limitSize.compareAndSet(batchSize, next) && LOGGER.isDebugEnabled()) {
+            LOGGER.debug("undo log delete batch size of {} changed from {} to {}, last batch of {} took {} ms",
+                resourceId, batchSize, next, deleted, costMills);
+        }
+    }
+
+    private boolean deleteUndoLog(final Connection conn, UndoLogManager undoLogManager, List<Phase2Context> contexts) {
         Set<String> xids = new LinkedHashSet<>(contexts.size());
         Set<Long> branchIds = new LinkedHashSet<>(contexts.size());
         contexts.forEach(context -> {
@@ -183,14 +393,16 @@ public class AsyncWorker {
             if (!conn.getAutoCommit()) {
                 conn.commit();
             }
+            return true;
         } catch (SQLException e) {
             LOGGER.error("Failed to batch delete undo log", e);
             try {
                 conn.rollback();
-                addAllToCommitQueue(contexts);
             } catch (SQLException rollbackEx) {
                 LOGGER.error("Failed to rollback JDBC resource after deleting undo log failed", rollbackEx);
             }
+            addAllToRetryQueue(new ArrayList<>(contexts));
+            return false;
         }
     }
 
@@ -206,6 +418,7 @@ public class AsyncWorker {
             this.xid = xid;
             this.branchId = branchId;
             this.resourceId = resourceId;
+            this.createTime = System.currentTimeMillis();
         }
 
         /**
@@ -220,6 +433,18 @@ public class AsyncWorker {
          * The Resource id.
          */
         String resourceId;
+        /**
+         * When the branch was committed.
+         */
+        long createTime;
+        /**
+         * How many times the deletion failed.
+         */
+        int retries;
+        /**
+         * When the failed deletion is retried.
+         */
+        long retryTime;
 
         @Override
         public String toString() {
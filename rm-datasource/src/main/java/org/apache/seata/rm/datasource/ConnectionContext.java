@@ -36,6 +36,7 @@ import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.core.context.GlobalLockConfigHolder;
 import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.lock.StructuredLockKey;
 import org.apache.seata.core.model.GlobalLockConfig;
 import org.apache.seata.rm.datasource.undo.SQLUndoLog;
 
@@ -72,6 +73,11 @@ public class ConnectionContext {
      * the lock keys buffer
      */
     private final Map<Savepoint, Set<String>> lockKeysBuffer = new LinkedHashMap<>();
+    /**
+     * the structured lock keys buffer, only usable when every lock key was appended in structured form
+     */
+    private final Map<Savepoint, StructuredLockKey> structuredLockKeysBuffer = new LinkedHashMap<>();
+    private boolean structuredLockKeysComplete = true;
     /**
      * the undo items buffer
      */
@@ -104,6 +110,17 @@ public class ConnectionContext {
      */
     void appendLockKey(String lockKey) {
         lockKeysBuffer.computeIfAbsent(currentSavepoint, k -> new HashSet<>()).add(lockKey);
+        structuredLockKeysComplete = false;
+    }
+
+    /**
+     * Append structured lock key.
+     *
+     * @param lockKey the lock key
+     */
+    void appendLockKey(StructuredLockKey lockKey) {
+        lockKeysBuffer.computeIfAbsent(currentSavepoint, k -> new HashSet<>()).add(lockKey.toLockKeyString());
+        structuredLockKeysBuffer.computeIfAbsent(currentSavepoint, k -> new StructuredLockKey()).merge(lockKey);
     }
 
     /**
@@ -131,11 +148,13 @@ public class ConnectionContext {
         if (null == savepoint) {
             sqlUndoItemsBuffer.clear();
             lockKeysBuffer.clear();
+            structuredLockKeysBuffer.clear();
         } else {
 
             for (Savepoint sp : afterSavepoints) {
                 sqlUndoItemsBuffer.remove(sp);
                 lockKeysBuffer.remove(sp);
+                structuredLockKeysBuffer.remove(sp);
             }
         }
 
@@ -161,6 +180,12 @@ public class ConnectionContext {
                 lockKeysBuffer.computeIfAbsent(currentSavepoint, k -> new HashSet<>())
                         .addAll(savepointLockKeys);
             }
+
+            StructuredLockKey savepointStructuredLockKey = structuredLockKeysBuffer.remove(sp);
+            if (savepointStructuredLockKey != null) {
+                structuredLockKeysBuffer.computeIfAbsent(currentSavepoint, k -> new StructuredLockKey())
+                        .merge(savepointStructuredLockKey);
+            }
         }
     }
 
@@ -326,6 +351,8 @@ public class ConnectionContext {
         this.isGlobalLockRequire = false;
         savepoints.clear();
         lockKeysBuffer.clear();
+        structuredLockKeysBuffer.clear();
+        structuredLockKeysComplete = true;
         sqlUndoItemsBuffer.clear();
         this.autoCommitChanged = false;
         applicationData.clear();
@@ -360,6 +387,22 @@ public class ConnectionContext {
         return appender.toString();
     }
 
+    /**
+     * Build the structured lock keys.
+     *
+     * @return the structured lock keys, null if there are none or some were only appended as strings
+     */
+    public StructuredLockKey buildStructuredLockKeys() {
+        if (!structuredLockKeysComplete || structuredLockKeysBuffer.isEmpty()) {
+            return null;
+        }
+        StructuredLockKey structuredLockKey = new StructuredLockKey();
+        for (StructuredLockKey lockKey : structuredLockKeysBuffer.values()) {
+            structuredLockKey.merge(lockKey);
+        }
+        return structuredLockKey.isEmpty() ? null : structuredLockKey;
+    }
+
     /**
      * Gets undo items.
      *
@@ -25,6 +25,7 @@ import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.exception.TransactionExceptionCode;
+import org.apache.seata.core.lock.StructuredLockKey;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.rm.DefaultResourceManager;
@@ -38,6 +39,7 @@ import org.slf4j.LoggerFactory;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_REPORT_RETRY_COUNT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_STRUCTURED_LOCK_KEY_ENABLE;
 
 /**
  * The type Connection proxy.
@@ -57,6 +59,9 @@ public class ConnectionProxy extends AbstractConnectionProxy {
     public static final boolean IS_REPORT_SUCCESS_ENABLE = ConfigurationFactory.getInstance().getBoolean(
         ConfigurationKeys.CLIENT_REPORT_SUCCESS_ENABLE, DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE);
 
+    public static final boolean IS_STRUCTURED_LOCK_KEY_ENABLE = ConfigurationFactory.getInstance().getBoolean(
+        ConfigurationKeys.CLIENT_STRUCTURED_LOCK_KEY_ENABLE, DEFAULT_CLIENT_STRUCTURED_LOCK_KEY_ENABLE);
+
     /**
      * Instantiates a new Connection proxy.
      *
@@ -181,6 +186,15 @@ public class ConnectionProxy extends AbstractConnectionProxy {
         context.appendLockKey(lockKey);
     }
 
+    /**
+     * append structured lockKey
+     *
+     * @param lockKey the lock key
+     */
+    public void appendLockKey(StructuredLockKey lockKey) {
+        context.appendLockKey(lockKey);
+    }
+
     @Override
     public void commit() throws SQLException {
         try {
@@ -270,9 +284,15 @@ public class ConnectionProxy extends AbstractConnectionProxy {
             return;
         }
 
-        Long branchId = DefaultResourceManager.get().branchRegister(BranchType.AT, getDataSourceProxy().getResourceId(),
-            null, context.getXid(), context.getApplicationData(),
-            context.buildLockKeys());
+        StructuredLockKey structuredLockKey = context.buildStructuredLockKeys();
+        Long branchId;
+        if (structuredLockKey != null) {
+            branchId = DefaultResourceManager.get().branchRegister(BranchType.AT, getDataSourceProxy().getResourceId(),
+                null, context.getXid(), context.getApplicationData(), context.buildLockKeys(), structuredLockKey);
+        } else {
+            branchId = DefaultResourceManager.get().branchRegister(BranchType.AT, getDataSourceProxy().getResourceId(),
+                null, context.getXid(), context.getApplicationData(), context.buildLockKeys());
+        }
         context.setBranchId(branchId);
     }
 
@@ -33,9 +33,9 @@ import org.apache.seata.core.model.Resource;
 import org.apache.seata.core.protocol.ResultCode;
 import org.apache.seata.core.protocol.transaction.GlobalLockQueryRequest;
 import org.apache.seata.core.protocol.transaction.GlobalLockQueryResponse;
+import org.apache.seata.core.rpc.ShutdownHook;
 import org.apache.seata.core.rpc.netty.RmNettyRemotingClient;
 import org.apache.seata.rm.AbstractResourceManager;
-import org.apache.seata.rm.datasource.undo.UndoLogManagerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +49,8 @@ public class DataSourceManager extends AbstractResourceManager {
 
     private final AsyncWorker asyncWorker = new AsyncWorker(this);
 
+    private final RollbackWorker rollbackWorker = new RollbackWorker();
+
     private final Map<String, Resource> dataSourceCache = new ConcurrentHashMap<>();
 
     @Override
@@ -81,6 +83,7 @@ public class DataSourceManager extends AbstractResourceManager {
      * Instantiates a new Data source manager.
      */
     public DataSourceManager() {
+        ShutdownHook.getInstance().addDisposable(asyncWorker);
     }
 
     @Override
@@ -119,7 +122,7 @@ public class DataSourceManager extends AbstractResourceManager {
             throw new ShouldNeverHappenException(String.format("resource: %s not found",resourceId));
         }
         try {
-            UndoLogManagerFactory.getUndoLogManager(dataSourceProxy.getDbType()).undo(dataSourceProxy, xid, branchId);
+            rollbackWorker.branchRollback(dataSourceProxy, xid, branchId);
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("branch rollback success, xid:{}, branchId:{}", xid, branchId);
             }
@@ -33,6 +33,7 @@ import org.apache.seata.core.context.RootContext;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.core.model.Resource;
 import org.apache.seata.rm.DefaultResourceManager;
+import org.apache.seata.rm.datasource.sql.SqlTemplateCache;
 import org.apache.seata.rm.datasource.sql.struct.TableMetaCacheFactory;
 import org.apache.seata.rm.datasource.undo.UndoLogManager;
 import org.apache.seata.rm.datasource.undo.UndoLogManagerFactory;
@@ -70,6 +71,13 @@ public class DataSourceProxy extends AbstractDataSourceProxy implements Resource
 
     private final Map<String, String> variables = new HashMap<>();
 
+    /**
+     * The max total length of the image and undo sql cached for a data source.
+     */
+    private static final long SQL_TEMPLATE_CACHE_MAX_WEIGHT = 1024 * 1024L;
+
+    private final SqlTemplateCache sqlTemplateCache = new SqlTemplateCache(SQL_TEMPLATE_CACHE_MAX_WEIGHT);
+
     /**
      * POLARDB-X 1.X -> TDDL
      * POLARDB-X 2.X & MySQL 5.6 -> PXC
@@ -181,6 +189,15 @@ public class DataSourceProxy extends AbstractDataSourceProxy implements Resource
         }
     }
 
+    /**
+     * Gets the cache of the image and undo sql generated for this data source.
+     *
+     * @return the sql template cache
+     */
+    public SqlTemplateCache getSqlTemplateCache() {
+        return sqlTemplateCache;
+    }
+
     /**
      * publish tableMeta refresh event
      */
@@ -188,6 +205,15 @@ public class DataSourceProxy extends AbstractDataSourceProxy implements Resource
         TableMetaCacheFactory.tableMetaRefreshEvent(this.getResourceId());
     }
 
+    /**
+     * publish tableMeta refresh event of a table known to be stale
+     *
+     * @param tableName the table name
+     */
+    public void tableMetaRefreshEvent(String tableName) {
+        TableMetaCacheFactory.tableMetaRefreshEvent(this.getResourceId(), tableName);
+    }
+
     /**
      * Gets plain connection.
      *
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Map;
 
 import org.apache.seata.rm.datasource.exec.ExecuteTemplate;
+import org.apache.seata.rm.datasource.exec.UpdateCountCallback;
 import org.apache.seata.sqlparser.ParametersHolder;
 
 /**
@@ -52,7 +53,8 @@ public class PreparedStatementProxy extends AbstractPreparedStatementProxy
 
     @Override
     public boolean execute() throws SQLException {
-        return ExecuteTemplate.execute(this, (statement, args) -> statement.execute());
+        return ExecuteTemplate.execute(this,
+            new UpdateCountCallback<>((statement, args) -> statement.execute(), updateCount -> false));
     }
 
     @Override
@@ -62,6 +64,7 @@ public class PreparedStatementProxy extends AbstractPreparedStatementProxy
 
     @Override
     public int executeUpdate() throws SQLException {
-        return ExecuteTemplate.execute(this, (statement, args) -> statement.executeUpdate());
+        return ExecuteTemplate.execute(this,
+            new UpdateCountCallback<>((statement, args) -> statement.executeUpdate(), updateCount -> updateCount));
     }
 }
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.seata.common.util.IOUtil;
+import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.core.exception.BranchTransactionException;
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.rm.datasource.undo.AbstractUndoLogManager;
+import org.apache.seata.rm.datasource.undo.UndoLogManager;
+import org.apache.seata.rm.datasource.undo.UndoLogManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_ROLLBACK_BATCH_SIZE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_ROLLBACK_PARALLELISM;
+import static org.apache.seata.core.constants.ConfigurationKeys.CLIENT_ROLLBACK_BATCH_SIZE;
+import static org.apache.seata.core.constants.ConfigurationKeys.CLIENT_ROLLBACK_PARALLELISM;
+import static org.apache.seata.core.exception.TransactionExceptionCode.BranchRollbackFailed_Retriable;
+
+/**
+ * Rolls back the AT branches of a resource together when many of them arrive at once, for example after a TC failover.
+ * <p>
+ * The threads asking for rollbacks queue their branches per resource. Up to {@code rollbackParallelism} of them at a
+ * time drain the queue of a resource, each on one connection it keeps for consecutive batches, and undo up to
+ * {@code rollbackBatchSize} branches with one undo_log query in one local transaction. A batch that fails is undone
+ * again branch by branch, so one broken branch does not fail the others.
+ * With a batch size of 1 every branch is undone right away on the calling thread.
+ */
+public class RollbackWorker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RollbackWorker.class);
+
+    private static final long WAIT_INTERVAL_MILLS = 10L;
+
+    private final int batchSize;
+
+    private final int parallelism;
+
+    private final Map<String, ResourceQueue> resourceQueues = new ConcurrentHashMap<>();
+
+    public RollbackWorker() {
+        this(ConfigurationFactory.getInstance().getInt(CLIENT_ROLLBACK_BATCH_SIZE, DEFAULT_CLIENT_ROLLBACK_BATCH_SIZE),
+            ConfigurationFactory.getInstance().getInt(CLIENT_ROLLBACK_PARALLELISM, DEFAULT_CLIENT_ROLLBACK_PARALLELISM));
+    }
+
+    RollbackWorker(int batchSize, int parallelism) {
+        this.batchSize = Math.max(1, batchSize);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Undo a branch, returns once it is undone.
+     *
+     * @param dataSourceProxy the data source proxy
+     * @param xid             the xid
+     * @param branchId        the branch id
+     * @throws TransactionException the transaction exception
+     */
+    public void branchRollback(DataSourceProxy dataSourceProxy, String xid, long branchId) throws TransactionException {
+        if (batchSize <= 1) {
+            getUndoLogManager(dataSourceProxy).undo(dataSourceProxy, xid, branchId);
+            return;
+        }
+        ResourceQueue resourceQueue = resourceQueues.computeIfAbsent(dataSourceProxy.getResourceId(),
+            k -> new ResourceQueue(parallelism));
+        Rollback rollback = new Rollback(xid, branchId);
+        resourceQueue.pending.offer(rollback);
+        try {
+            while (!rollback.future.isDone()) {
+                if (resourceQueue.drainers.tryAcquire()) {
+                    try {
+                        drain(dataSourceProxy, resourceQueue, rollback);
+                    } finally {
+                        resourceQueue.drainers.release();
+                    }
+                }
+                if (!rollback.future.isDone()) {
+                    rollback.await();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BranchTransactionException(BranchRollbackFailed_Retriable, e.getMessage(), e);
+        }
+        rollback.join();
+    }
+
+    /**
+     * Undo queued branches until the given one is done, the waiting threads take over the rest.
+     */
+    private void drain(DataSourceProxy dataSourceProxy, ResourceQueue resourceQueue, Rollback own) {
+        ConnectionProxy connectionProxy = null;
+        try {
+            while (!own.future.isDone()) {
+                List<Rollback> batch = new ArrayList<>(batchSize);
+                Rollback rollback;
+                while (batch.size() < batchSize && (rollback = resourceQueue.pending.poll()) != null) {
+                    batch.add(rollback);
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                if (batch.size() == 1) {
+                    undoOneByOne(dataSourceProxy, batch);
+                    continue;
+                }
+                try {
+                    if (connectionProxy == null) {
+                        connectionProxy = dataSourceProxy.getConnection();
+                    }
+                    batchUndo(dataSourceProxy, connectionProxy, batch);
+                } catch (SQLException | RuntimeException e) {
+                    LOGGER.warn("batch rollback of {} branches failed, undo them one by one: {}", batch.size(),
+                        e.getMessage());
+                    IOUtil.close(connectionProxy);
+                    connectionProxy = null;
+                    undoOneByOne(dataSourceProxy, batch);
+                }
+            }
+        } finally {
+            IOUtil.close(connectionProxy);
+        }
+    }
+
+    private void batchUndo(DataSourceProxy dataSourceProxy, ConnectionProxy connectionProxy, List<Rollback> batch)
+        throws SQLException {
+        UndoLogManager undoLogManager = getUndoLogManager(dataSourceProxy);
+        if (!(undoLogManager instanceof AbstractUndoLogManager)) {
+            undoOneByOne(dataSourceProxy, batch);
+            return;
+        }
+        Map<Long, String> branches = new LinkedHashMap<>(batch.size() * 2);
+        for (Rollback rollback : batch) {
+            branches.put(rollback.branchId, rollback.xid);
+        }
+        ((AbstractUndoLogManager) undoLogManager).batchUndo(dataSourceProxy, connectionProxy, branches);
+        for (Rollback rollback : batch) {
+            rollback.future.complete(null);
+        }
+    }
+
+    private void undoOneByOne(DataSourceProxy dataSourceProxy, List<Rollback> batch) {
+        for (Rollback rollback : batch) {
+            try {
+                getUndoLogManager(dataSourceProxy).undo(dataSourceProxy, rollback.xid, rollback.branchId);
+                rollback.future.complete(null);
+            } catch (Throwable e) {
+                rollback.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    UndoLogManager getUndoLogManager(DataSourceProxy dataSourceProxy) {
+        return UndoLogManagerFactory.getUndoLogManager(dataSourceProxy.getDbType());
+    }
+
+    static class ResourceQueue {
+
+        final Queue<Rollback> pending = new ConcurrentLinkedQueue<>();
+
+        final Semaphore drainers;
+
+        ResourceQueue(int parallelism) {
+            this.drainers = new Semaphore(parallelism);
+        }
+    }
+
+    static class Rollback {
+
+        final String xid;
+
+        final long branchId;
+
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Rollback(String xid, long branchId) {
+            this.xid = xid;
+            this.branchId = branchId;
+        }
+
+        void await() throws InterruptedException {
+            try {
+                future.get(WAIT_INTERVAL_MILLS, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException ignore) {
+                // checked again by the caller
+            }
+        }
+
+        void join() throws TransactionException {
+            try {
+                future.getNow(null);
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof TransactionException) {
+                    throw (TransactionException) cause;
+                }
+                throw new BranchTransactionException(BranchRollbackFailed_Retriable, String.valueOf(cause.getMessage()), cause);
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.util.Map;
 
 import org.apache.seata.rm.datasource.sql.struct.Field;
 import org.apache.seata.sqlparser.util.ColumnUtils;
+import org.apache.seata.sqlparser.util.JdbcConstants;
 
 /**
  * generate sql and set value to sql
@@ -32,6 +33,19 @@ public class SqlGenerateUtils {
 
     private static final int MAX_IN_SIZE = 1000;
 
+    /**
+     * Row counts up to this are padded to the next power of two, larger ones to a multiple of PADDING_STEP.
+     */
+    private static final int MAX_POWER_OF_TWO_PADDING = 512;
+
+    private static final int PADDING_STEP = 128;
+
+    private static final int MAX_BIND_PARAMETERS = 65535;
+
+    private static final int SQLSERVER_MAX_BIND_PARAMETERS = 2100;
+
+    private static final int POSTGRESQL_MAX_BIND_PARAMETERS = 32767;
+
     private SqlGenerateUtils() {
 
     }
@@ -93,6 +107,54 @@ public class SqlGenerateUtils {
         return whereStr.toString();
     }
 
+    /**
+     * Pad the row count of a pk sql to one of a few fixed sizes, so that pk sql of similar size share the same text.
+     * The extra placeholders are bound to the last row again, see {@link #setParamForPk(List, List, PreparedStatement, int)}.
+     *
+     * @param rowSize the row size of records
+     * @return the padded row size
+     */
+    public static int padRowSize(int rowSize) {
+        if (rowSize <= 1) {
+            return rowSize;
+        }
+        if (rowSize <= MAX_POWER_OF_TWO_PADDING) {
+            return Integer.highestOneBit(rowSize - 1) << 1;
+        }
+        return (rowSize + PADDING_STEP - 1) / PADDING_STEP * PADDING_STEP;
+    }
+
+    /**
+     * Pad the row count of a pk sql like {@link #padRowSize(int)}, unless the padded sql needs another in list or
+     * more bind parameters than the database accepts, the exact row size is kept then.
+     *
+     * @param rowSize      the row size of records
+     * @param pkColumnSize the number of primary key columns
+     * @param dbType       the type of database
+     * @return the padded row size
+     */
+    public static int padRowSize(int rowSize, int pkColumnSize, String dbType) {
+        int paddedRowSize = padRowSize(rowSize);
+        if (paddedRowSize == rowSize) {
+            return rowSize;
+        }
+        if ((paddedRowSize + MAX_IN_SIZE - 1) / MAX_IN_SIZE != (rowSize + MAX_IN_SIZE - 1) / MAX_IN_SIZE
+            || (long) paddedRowSize * pkColumnSize >= maxBindParameters(dbType)) {
+            return rowSize;
+        }
+        return paddedRowSize;
+    }
+
+    private static int maxBindParameters(String dbType) {
+        if (JdbcConstants.SQLSERVER.equalsIgnoreCase(dbType)) {
+            return SQLSERVER_MAX_BIND_PARAMETERS;
+        }
+        if (JdbcConstants.POSTGRESQL.equalsIgnoreCase(dbType)) {
+            return POSTGRESQL_MAX_BIND_PARAMETERS;
+        }
+        return MAX_BIND_PARAMETERS;
+    }
+
     /**
      * set parameter for PreparedStatement, this is only used in pk sql.
      *
@@ -114,6 +176,32 @@ public class SqlGenerateUtils {
         }
     }
 
+    /**
+     * set parameter for PreparedStatement whose row count was padded, binding the last row to the extra placeholders.
+     *
+     * @param pkRowsList pkRowsList
+     * @param pkColumnNameList pkColumnNameList
+     * @param pst preparedStatement
+     * @param paddedRowSize the padded row size, see {@link #padRowSize(int, int, String)}
+     * @throws SQLException SQLException
+     */
+    public static void setParamForPk(List<Map<String, Field>> pkRowsList, List<String> pkColumnNameList,
+                                     PreparedStatement pst, int paddedRowSize) throws SQLException {
+        setParamForPk(pkRowsList, pkColumnNameList, pst);
+        if (pkRowsList.isEmpty()) {
+            return;
+        }
+        Map<String, Field> lastRow = pkRowsList.get(pkRowsList.size() - 1);
+        int paramIndex = pkRowsList.size() * pkColumnNameList.size() + 1;
+        for (int i = pkRowsList.size(); i < paddedRowSize; i++) {
+            for (String columnName : pkColumnNameList) {
+                Field pkField = lastRow.get(columnName);
+                pst.setObject(paramIndex, pkField.getValue(), pkField.getType());
+                paramIndex++;
+            }
+        }
+    }
+
     /**
      * each pk is a condition.the result will like :" id =? and userCode =?"
      *
@@ -22,6 +22,7 @@ import java.sql.Statement;
 
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.rm.datasource.exec.ExecuteTemplate;
+import org.apache.seata.rm.datasource.exec.UpdateCountCallback;
 
 /**
  * The type Statement proxy.
@@ -68,13 +69,15 @@ public class StatementProxy<T extends Statement> extends AbstractStatementProxy<
     @Override
     public int executeUpdate(String sql) throws SQLException {
         this.targetSQL = sql;
-        return ExecuteTemplate.execute(this, (statement, args) -> statement.executeUpdate((String) args[0]), sql);
+        return ExecuteTemplate.execute(this, new UpdateCountCallback<>(
+            (statement, args) -> statement.executeUpdate((String) args[0]), updateCount -> updateCount), sql);
     }
 
     @Override
     public boolean execute(String sql) throws SQLException {
         this.targetSQL = sql;
-        return ExecuteTemplate.execute(this, (statement, args) -> statement.execute((String) args[0]), sql);
+        return ExecuteTemplate.execute(this, new UpdateCountCallback<>(
+            (statement, args) -> statement.execute((String) args[0]), updateCount -> false), sql);
     }
 
 
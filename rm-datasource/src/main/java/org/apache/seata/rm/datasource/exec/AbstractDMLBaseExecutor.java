@@ -96,18 +96,30 @@ public abstract class AbstractDMLBaseExecutor<T, S extends Statement> extends Ba
     protected T executeAutoCommitFalse(Object[] args) throws Exception {
         try {
             TableRecords beforeImage = beforeImage();
-            T result = statementCallback.execute(statementProxy.getTargetStatement(), args);
+            T result = executeStatement(beforeImage, args);
             TableRecords afterImage = afterImage(beforeImage);
             prepareUndoLog(beforeImage, afterImage);
             return result;
         } catch (TableMetaException e) {
             LOGGER.error("table meta will be refreshed later, due to TableMetaException, table:{}, column:{}",
                 e.getTableName(), e.getColumnName());
-            statementProxy.getConnectionProxy().getDataSourceProxy().tableMetaRefreshEvent();
+            statementProxy.getConnectionProxy().getDataSourceProxy().tableMetaRefreshEvent(e.getTableName());
             throw e;
         }
     }
 
+    /**
+     * Execute the statement between taking the before image and the after image.
+     *
+     * @param beforeImage the before image
+     * @param args        the args
+     * @return the t
+     * @throws SQLException the sql exception
+     */
+    protected T executeStatement(TableRecords beforeImage, Object[] args) throws SQLException {
+        return statementCallback.execute(statementProxy.getTargetStatement(), args);
+    }
+
     private boolean isMultiPk() {
         if (null != sqlRecognizer) {
             return getTableMeta().getPrimaryKeyOnlyName().size() > 1;
@@ -37,10 +37,13 @@ import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.core.context.RootContext;
+import org.apache.seata.core.lock.StructuredLockKey;
 import org.apache.seata.sqlparser.util.ColumnUtils;
 import org.apache.seata.rm.datasource.ConnectionProxy;
+import org.apache.seata.rm.datasource.DataSourceProxy;
 import org.apache.seata.rm.datasource.SqlGenerateUtils;
 import org.apache.seata.rm.datasource.StatementProxy;
+import org.apache.seata.rm.datasource.sql.SqlTemplateCache;
 import org.apache.seata.rm.datasource.sql.struct.Field;
 import org.apache.seata.sqlparser.struct.TableMeta;
 import org.apache.seata.rm.datasource.sql.struct.TableMetaCacheFactory;
@@ -66,6 +69,11 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
     private static final boolean ONLY_CARE_UPDATE_COLUMNS = ConfigurationFactory.getInstance().getBoolean(
             ConfigurationKeys.TRANSACTION_UNDO_ONLY_CARE_UPDATE_COLUMNS, DefaultValues.DEFAULT_ONLY_CARE_UPDATE_COLUMNS);
 
+    /**
+     * The sql template kind of {@link #buildSelectSQLByPKs(TableMeta, List, int)}.
+     */
+    private static final String SELECT_BY_PKS = "selectByPKs";
+
     /**
      * The Statement proxy.
      */
@@ -391,26 +399,47 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
      * @throws SQLException the sql exception
      */
     protected void prepareUndoLog(TableRecords beforeImage, TableRecords afterImage) throws SQLException {
-        if (beforeImage.getRows().isEmpty() && afterImage.getRows().isEmpty()) {
+        if (beforeImage.size() == 0 && afterImage.size() == 0) {
             return;
         }
         if (SQLType.UPDATE == sqlRecognizer.getSQLType()) {
-            if (beforeImage.getRows().size() != afterImage.getRows().size()) {
+            if (beforeImage.size() != afterImage.size()) {
                 throw new ShouldNeverHappenException("Before image size is not equaled to after image size, probably because you updated the primary keys.");
             }
         }
         ConnectionProxy connectionProxy = statementProxy.getConnectionProxy();
 
         TableRecords lockKeyRecords = sqlRecognizer.getSQLType() == SQLType.DELETE ? beforeImage : afterImage;
-        String lockKeys = buildLockKey(lockKeyRecords);
-        if (null != lockKeys) {
-            connectionProxy.appendLockKey(lockKeys);
-
+        if (appendLockKey(connectionProxy, lockKeyRecords)) {
             SQLUndoLog sqlUndoLog = buildUndoItem(beforeImage, afterImage);
             connectionProxy.appendUndoLog(sqlUndoLog);
         }
     }
 
+    /**
+     * append the lock keys of the records to the connection, in structured form when it is enabled
+     *
+     * @param connectionProxy the connection proxy
+     * @param rowsIncludingPK the records
+     * @return false if there was no lock key to append
+     */
+    protected boolean appendLockKey(ConnectionProxy connectionProxy, TableRecords rowsIncludingPK) {
+        if (ConnectionProxy.IS_STRUCTURED_LOCK_KEY_ENABLE) {
+            StructuredLockKey lockKey = buildStructuredLockKey(rowsIncludingPK);
+            if (null == lockKey) {
+                return false;
+            }
+            connectionProxy.appendLockKey(lockKey);
+            return true;
+        }
+        String lockKeys = buildLockKey(rowsIncludingPK);
+        if (null == lockKeys) {
+            return false;
+        }
+        connectionProxy.appendLockKey(lockKeys);
+        return true;
+    }
+
     /**
      * validate that the primary key is free of illegal characters
      *
@@ -435,6 +464,17 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
         StringBuilder sb = new StringBuilder();
         sb.append(rowsIncludingPK.getTableMeta().getTableName());
         sb.append(":");
+        long[] integralPkValues = rowsIncludingPK.integralPkValues();
+        if (integralPkValues != null) {
+            // integers never contain the separator, so they are appended without validation
+            for (int r = 0; r < integralPkValues.length; r++) {
+                if (r > 0) {
+                    sb.append(",");
+                }
+                sb.append(integralPkValues[r]);
+            }
+            return sb.toString();
+        }
         int rowSequence = 0;
         List<Map<String, Field>> pksRows = rowsIncludingPK.pkRows();
         List<String> primaryKeysOnlyName = rowsIncludingPK.getTableMeta().getPrimaryKeyOnlyName();
@@ -457,6 +497,44 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
         return sb.toString();
     }
 
+    /**
+     * build the structured lockKey, straight from the records
+     *
+     * @param rowsIncludingPK the records
+     * @return the structured lock key, null if there are no records
+     */
+    protected StructuredLockKey buildStructuredLockKey(TableRecords rowsIncludingPK) {
+        if (rowsIncludingPK.size() == 0) {
+            return null;
+        }
+        String tableName = rowsIncludingPK.getTableMeta().getTableName();
+        List<String> primaryKeysOnlyName = rowsIncludingPK.getTableMeta().getPrimaryKeyOnlyName();
+        StructuredLockKey lockKey = new StructuredLockKey();
+        long[] integralPkValues = rowsIncludingPK.integralPkValues();
+        if (integralPkValues != null) {
+            for (long pkVal : integralPkValues) {
+                lockKey.addRow(tableName, Long.toString(pkVal));
+            }
+            return lockKey;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Map<String, Field> rowMap : rowsIncludingPK.pkRows()) {
+            sb.setLength(0);
+            int pkSplitIndex = 0;
+            for (String pkName : primaryKeysOnlyName) {
+                if (pkSplitIndex > 0) {
+                    sb.append("_");
+                }
+                Object pkVal = rowMap.get(pkName).getValue();
+                validPk(String.valueOf(pkVal));
+                sb.append(pkVal);
+                pkSplitIndex++;
+            }
+            lockKey.addRow(tableName, sb.toString());
+        }
+        return lockKey;
+    }
+
     /**
      * build a SQLUndoLog
      *
@@ -515,27 +593,36 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
     protected TableRecords buildTableRecords(Map<String, List<Object>> pkValuesMap) throws SQLException {
         SQLInsertRecognizer recognizer = (SQLInsertRecognizer)sqlRecognizer;
         List<String> pkColumnNameList = getTableMeta().getPrimaryKeyOnlyName();
-        String prefix = "SELECT ";
-        StringBuilder suffix = new StringBuilder(" FROM ").append(getFromTableInSQL());
         // build check sql
         String firstKey = pkValuesMap.keySet().stream().findFirst().get();
         int rowSize = pkValuesMap.get(firstKey).size();
-        suffix.append(WHERE).append(SqlGenerateUtils.buildWhereConditionByPKs(pkColumnNameList, rowSize, getDbType()));
-        StringJoiner selectSQLJoin = new StringJoiner(", ", prefix, suffix.toString());
+        int paddedRowSize = SqlGenerateUtils.padRowSize(rowSize, pkColumnNameList.size(), getDbType());
         List<String> insertColumnsUnEscape = recognizer.getInsertColumnsUnEscape();
         List<String> needColumns =
             getNeedColumns(tableMeta.getTableName(), sqlRecognizer.getTableAlias(), insertColumnsUnEscape);
-        needColumns.forEach(selectSQLJoin::add);
+        String selectSQL = buildSelectSQLByPKs(tableMeta, needColumns, paddedRowSize);
         PreparedStatement ps = null;
         ResultSet rs = null;
         try {
-            ps = statementProxy.getConnection().prepareStatement(selectSQLJoin.toString());
+            int pkColumnSize = pkColumnNameList.size();
+            List<?>[] pkColumnValueLists = new List<?>[pkColumnSize];
+            int[] dataTypes = new int[pkColumnSize];
+            for (int c = 0; c < pkColumnSize; c++) {
+                pkColumnValueLists[c] = pkValuesMap.get(pkColumnNameList.get(c));
+                dataTypes[c] = tableMeta.getColumnMeta(pkColumnNameList.get(c)).getDataType();
+            }
+            ps = statementProxy.getConnection().prepareStatement(selectSQL);
             int paramIndex = 1;
-            for (int r = 0; r < rowSize; r++) {
-                for (int c = 0; c < pkColumnNameList.size(); c++) {
-                    List<Object> pkColumnValueList = pkValuesMap.get(pkColumnNameList.get(c));
-                    int dataType = tableMeta.getColumnMeta(pkColumnNameList.get(c)).getDataType();
-                    ps.setObject(paramIndex, pkColumnValueList.get(r), dataType);
+            for (int r = 0; r < paddedRowSize; r++) {
+                // the padded placeholders are bound to the last row again
+                int row = Math.min(r, rowSize - 1);
+                for (int c = 0; c < pkColumnSize; c++) {
+                    List<?> pkColumnValueList = pkColumnValueLists[c];
+                    if (pkColumnValueList instanceof LongValueList) {
+                        ps.setLong(paramIndex, ((LongValueList) pkColumnValueList).getLong(row));
+                    } else {
+                        ps.setObject(paramIndex, pkColumnValueList.get(row), dataTypes[c]);
+                    }
                     paramIndex++;
                 }
             }
@@ -546,6 +633,44 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
         }
     }
 
+    /**
+     * Build the sql selecting the columns of the rows with the given primary keys. The sql text is cached per
+     * data source, so the row size should be padded, see {@link SqlGenerateUtils#padRowSize(int, int, String)}.
+     *
+     * @param tableMeta the table meta
+     * @param columns   the columns to select
+     * @param rowSize   the row size
+     * @return the select sql
+     * @throws SQLException the sql exception
+     */
+    protected String buildSelectSQLByPKs(TableMeta tableMeta, List<String> columns, int rowSize) throws SQLException {
+        String fromTable = getFromTableInSQL();
+        List<String> pkNameList = tableMeta.getPrimaryKeyOnlyName();
+        SqlTemplateCache sqlTemplateCache = getSqlTemplateCache();
+        String key = null;
+        if (sqlTemplateCache != null) {
+            key = SqlTemplateCache.key(SELECT_BY_PKS, fromTable, pkNameList, columns, rowSize);
+            String selectSQL = sqlTemplateCache.get(key);
+            if (selectSQL != null) {
+                return selectSQL;
+            }
+        }
+        String suffix = " FROM " + fromTable + WHERE + SqlGenerateUtils.buildWhereConditionByPKs(pkNameList, rowSize, getDbType());
+        StringJoiner selectSQLJoiner = new StringJoiner(", ", "SELECT ", suffix);
+        columns.forEach(selectSQLJoiner::add);
+        String selectSQL = selectSQLJoiner.toString();
+        if (sqlTemplateCache != null) {
+            sqlTemplateCache.put(key, selectSQL);
+        }
+        return selectSQL;
+    }
+
+    private SqlTemplateCache getSqlTemplateCache() {
+        ConnectionProxy connectionProxy = statementProxy.getConnectionProxy();
+        DataSourceProxy dataSourceProxy = connectionProxy == null ? null : connectionProxy.getDataSourceProxy();
+        return dataSourceProxy == null ? null : dataSourceProxy.getSqlTemplateCache();
+    }
+
     protected List<String> getNeedColumns(String table, String tableAlias, List<String> unescapeColumns) {
         Set<String> needUpdateColumns = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
         TableMeta tableMeta = getTableMeta(table);
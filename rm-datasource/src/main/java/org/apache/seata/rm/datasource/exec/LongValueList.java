@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.exec;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable list of primary key values backed by a long array, so the keys of a bulk insert
+ * are only boxed when a caller reads them as objects.
+ */
+public final class LongValueList extends AbstractList<Object> implements RandomAccess {
+
+    private final long[] values;
+
+    private final int size;
+
+    /**
+     * Instantiates a new Long value list.
+     *
+     * @param values the values, not copied
+     * @param size   the number of values in use
+     */
+    public LongValueList(long[] values, int size) {
+        if (size < 0 || size > values.length) {
+            throw new IndexOutOfBoundsException("size: " + size + ", length: " + values.length);
+        }
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Gets a value without boxing it.
+     *
+     * @param index the index
+     * @return the value
+     */
+    public long getLong(int index) {
+        Objects.checkIndex(index, size);
+        return values[index];
+    }
+
+    @Override
+    public Object get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -138,7 +138,7 @@ public class MultiExecutor<T, S extends Statement> extends AbstractDMLBaseExecut
             beforeImage = entry.getValue();
             afterImage = afterImagesMap.get(recognizer);
             if (SQLType.UPDATE == sqlRecognizer.getSQLType()) {
-                if (beforeImage.getRows().size() != afterImage.getRows().size()) {
+                if (beforeImage.size() != afterImage.size()) {
                     throw new ShouldNeverHappenException("Before image size is not equaled to after image size, probably because you updated the primary keys.");
                 }
             }
@@ -126,12 +126,14 @@ public class MultiUpdateExecutor<T, S extends Statement> extends AbstractDMLBase
             return TableRecords.empty(getTableMeta(sqlRecognizers.get(0).getTableName()));
         }
         TableMeta tmeta = getTableMeta(sqlRecognizers.get(0).getTableName());
-        String selectSQL = buildAfterImageSQL(tmeta, beforeImage);
+        int paddedRowSize = SqlGenerateUtils.padRowSize(beforeImage.size(),
+            tmeta.getPrimaryKeyOnlyName().size(), getDbType());
+        String selectSQL = buildAfterImageSQL(tmeta, paddedRowSize);
         PreparedStatement pst = null;
         ResultSet rs = null;
         try {
             pst = statementProxy.getConnection().prepareStatement(selectSQL);
-            SqlGenerateUtils.setParamForPk(beforeImage.pkRows(), getTableMeta().getPrimaryKeyOnlyName(), pst);
+            SqlGenerateUtils.setParamForPk(beforeImage.pkRows(), getTableMeta().getPrimaryKeyOnlyName(), pst, paddedRowSize);
             rs = pst.executeQuery();
             return TableRecords.buildRecords(tmeta, rs);
         } finally {
@@ -139,7 +141,7 @@ public class MultiUpdateExecutor<T, S extends Statement> extends AbstractDMLBase
         }
     }
 
-    private String buildAfterImageSQL(TableMeta tableMeta, TableRecords beforeImage) throws SQLException {
+    private String buildAfterImageSQL(TableMeta tableMeta, int rowSize) throws SQLException {
 
         Set<String> updateColumnsSet = new HashSet<>();
         for (SQLRecognizer recognizer : sqlRecognizers) {
@@ -147,22 +149,18 @@ public class MultiUpdateExecutor<T, S extends Statement> extends AbstractDMLBase
             SQLUpdateRecognizer sqlUpdateRecognizer = (SQLUpdateRecognizer) sqlRecognizer;
             updateColumnsSet.addAll(sqlUpdateRecognizer.getUpdateColumnsUnEscape());
         }
-        StringBuilder prefix = new StringBuilder("SELECT ");
-        String suffix = " FROM " + getFromTableInSQL() + " WHERE " + SqlGenerateUtils.buildWhereConditionByPKs(tableMeta.getPrimaryKeyOnlyName(), beforeImage.pkRows().size(), getDbType());
-        StringJoiner selectSQLJoiner = new StringJoiner(", ", prefix.toString(), suffix);
+        List<String> needColumns = new ArrayList<>();
         if (ONLY_CARE_UPDATE_COLUMNS) {
             if (!containsPK(new ArrayList<>(updateColumnsSet))) {
-                selectSQLJoiner.add(getColumnNamesInSQL(tableMeta.getEscapePkNameList(getDbType())));
-            }
-            for (String updateCol : updateColumnsSet) {
-                selectSQLJoiner.add(updateCol);
+                needColumns.add(getColumnNamesInSQL(tableMeta.getEscapePkNameList(getDbType())));
             }
+            needColumns.addAll(updateColumnsSet);
         } else {
             for (String columnName : tableMeta.getAllColumns().keySet()) {
-                selectSQLJoiner.add(ColumnUtils.addEscape(columnName, getDbType()));
+                needColumns.add(ColumnUtils.addEscape(columnName, getDbType()));
             }
         }
-        return selectSQLJoiner.toString();
+        return buildSelectSQLByPKs(tableMeta, needColumns, rowSize);
     }
 
     protected String buildSuffixSql(String whereCondition) {
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.exec;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.IntFunction;
+
+/**
+ * A statement callback whose result can be derived from the update count of the statement,
+ * which lets an executor run an equivalent statement in place of the target statement.
+ *
+ * @param <T> the type parameter
+ * @param <S> the type parameter
+ */
+public class UpdateCountCallback<T, S extends Statement> implements StatementCallback<T, S> {
+
+    private final StatementCallback<T, S> delegate;
+
+    private final IntFunction<T> resultOfUpdateCount;
+
+    /**
+     * Instantiates a new Update count callback.
+     *
+     * @param delegate            the callback executing the target statement
+     * @param resultOfUpdateCount what the delegate returns for a given update count
+     */
+    public UpdateCountCallback(StatementCallback<T, S> delegate, IntFunction<T> resultOfUpdateCount) {
+        this.delegate = delegate;
+        this.resultOfUpdateCount = resultOfUpdateCount;
+    }
+
+    @Override
+    public T execute(S statement, Object... args) throws SQLException {
+        return delegate.execute(statement, args);
+    }
+
+    /**
+     * The result the delegate would have returned for the update count.
+     *
+     * @param updateCount the update count
+     * @return the result
+     */
+    public T resultOf(int updateCount) {
+        return resultOfUpdateCount.apply(updateCount);
+    }
+}
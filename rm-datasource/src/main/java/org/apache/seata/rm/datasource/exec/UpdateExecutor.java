@@ -21,7 +21,11 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
 
 import org.apache.seata.common.util.IOUtil;
@@ -30,12 +34,14 @@ import org.apache.seata.config.Configuration;
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.common.DefaultValues;
+import org.apache.seata.rm.datasource.PreparedStatementProxy;
 import org.apache.seata.rm.datasource.SqlGenerateUtils;
 import org.apache.seata.rm.datasource.StatementProxy;
 import org.apache.seata.sqlparser.struct.TableMeta;
 import org.apache.seata.rm.datasource.sql.struct.TableRecords;
 import org.apache.seata.sqlparser.SQLRecognizer;
 import org.apache.seata.sqlparser.SQLUpdateRecognizer;
+import org.apache.seata.sqlparser.util.JdbcConstants;
 
 /**
  * The type Update executor.
@@ -50,6 +56,25 @@ public class UpdateExecutor<T, S extends Statement> extends AbstractDMLBaseExecu
     private static final boolean ONLY_CARE_UPDATE_COLUMNS = CONFIG.getBoolean(
         ConfigurationKeys.TRANSACTION_UNDO_ONLY_CARE_UPDATE_COLUMNS, DefaultValues.DEFAULT_ONLY_CARE_UPDATE_COLUMNS);
 
+    private static final boolean RETURNING_AFTER_IMAGE = CONFIG.getBoolean(
+        ConfigurationKeys.TRANSACTION_UNDO_RETURNING_AFTER_IMAGE,
+        DefaultValues.DEFAULT_TRANSACTION_UNDO_RETURNING_AFTER_IMAGE);
+
+    /**
+     * The db types whose UPDATE statement returns the updated rows through a RETURNING clause.
+     */
+    private static final Set<String> RETURNING_DB_TYPES = new HashSet<>();
+
+    static {
+        RETURNING_DB_TYPES.add(JdbcConstants.POSTGRESQL);
+        RETURNING_DB_TYPES.add(JdbcConstants.KINGBASE);
+    }
+
+    /**
+     * The after image returned by the statement itself, see {@link #executeStatement(TableRecords, Object[])}.
+     */
+    private TableRecords returnedAfterImage;
+
     /**
      * Instantiates a new Update executor.
      *
@@ -93,18 +118,114 @@ public class UpdateExecutor<T, S extends Statement> extends AbstractDMLBaseExecu
         return selectSQLJoin.toString();
     }
 
+    /**
+     * Where the database supports it, run the statement with a RETURNING clause appended in place of the target
+     * statement, so the after image comes back with the update instead of costing another query.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected T executeStatement(TableRecords beforeImage, Object[] args) throws SQLException {
+        returnedAfterImage = null;
+        if (beforeImage == null || beforeImage.size() == 0 || !isAfterImageReturnable()) {
+            return super.executeStatement(beforeImage, args);
+        }
+        TableMeta tmeta = getTableMeta();
+        PreparedStatement pst = null;
+        ResultSet rs = null;
+        try {
+            pst = statementProxy.getConnection().prepareStatement(buildReturningSQL(tmeta));
+            if (statementProxy instanceof PreparedStatementProxy) {
+                Map<Integer, ArrayList<Object>> parameters = ((PreparedStatementProxy) statementProxy).getParameters();
+                for (int i = 1; i <= parameters.size(); i++) {
+                    pst.setObject(i, parameters.get(i).get(0));
+                }
+            }
+            rs = pst.executeQuery();
+            returnedAfterImage = TableRecords.buildRecords(tmeta, rs);
+        } finally {
+            IOUtil.close(rs, pst);
+        }
+        statementProxy.substituteUpdateCount(returnedAfterImage.size());
+        return ((UpdateCountCallback<T, S>) statementCallback).resultOf(returnedAfterImage.size());
+    }
+
+    /**
+     * Whether returning the after image from the statement is enabled.
+     *
+     * @return the boolean
+     */
+    protected boolean isReturningAfterImageEnabled() {
+        return RETURNING_AFTER_IMAGE;
+    }
+
+    /**
+     * Whether the statement can be rerun with a RETURNING clause and give its caller the same result.
+     *
+     * @return true if the after image can be returned by the statement
+     */
+    protected boolean isAfterImageReturnable() {
+        if (!isReturningAfterImageEnabled() || !RETURNING_DB_TYPES.contains(getDbType())
+            || !(statementCallback instanceof UpdateCountCallback)) {
+            return false;
+        }
+        String sql = statementProxy.getTargetSQL();
+        if (StringUtils.isBlank(sql)) {
+            return false;
+        }
+        // a trailing comment would swallow the clause, and a statement may return rows already
+        String lowerCaseSql = sql.toLowerCase(Locale.ROOT);
+        if (lowerCaseSql.contains("returning") || lowerCaseSql.contains("--") || lowerCaseSql.contains("/*")) {
+            return false;
+        }
+        if (!(statementProxy instanceof PreparedStatementProxy)) {
+            return true;
+        }
+        PreparedStatementProxy preparedStatementProxy = (PreparedStatementProxy) statementProxy;
+        if (!preparedStatementProxy.isParametersReplayable()) {
+            return false;
+        }
+        // each parameter must have been bound exactly once since the last clearParameters
+        Map<Integer, ArrayList<Object>> parameters = preparedStatementProxy.getParameters();
+        for (int i = 1; i <= parameters.size(); i++) {
+            List<Object> values = parameters.get(i);
+            if (values == null || values.size() != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String buildReturningSQL(TableMeta tableMeta) {
+        String sql = statementProxy.getTargetSQL().trim();
+        while (sql.endsWith(";")) {
+            sql = sql.substring(0, sql.length() - 1).trim();
+        }
+        StringJoiner returningSQLJoiner = new StringJoiner(", ", sql + " RETURNING ", "");
+        SQLUpdateRecognizer recognizer = (SQLUpdateRecognizer) sqlRecognizer;
+        List<String> needUpdateColumns = getNeedColumns(tableMeta.getTableName(), sqlRecognizer.getTableAlias(), recognizer.getUpdateColumnsUnEscape());
+        needUpdateColumns.forEach(returningSQLJoiner::add);
+        return returningSQLJoiner.toString();
+    }
+
     @Override
     protected TableRecords afterImage(TableRecords beforeImage) throws SQLException {
+        if (returnedAfterImage != null) {
+            TableRecords afterImage = returnedAfterImage;
+            returnedAfterImage = null;
+            return afterImage;
+        }
         TableMeta tmeta = getTableMeta();
         if (beforeImage == null || beforeImage.size() == 0) {
             return TableRecords.empty(getTableMeta());
         }
-        String selectSQL = buildAfterImageSQL(tmeta, beforeImage);
+        int paddedRowSize = SqlGenerateUtils.padRowSize(beforeImage.size(),
+            getTableMeta().getPrimaryKeyOnlyName().size(), getDbType());
+        String selectSQL = buildAfterImageSQL(tmeta, paddedRowSize);
         PreparedStatement pst = null;
         ResultSet rs = null;
         try {
             pst = statementProxy.getConnection().prepareStatement(selectSQL);
-            SqlGenerateUtils.setParamForPk(beforeImage.pkRows(), getTableMeta().getPrimaryKeyOnlyName(), pst);
+            SqlGenerateUtils.setParamForPk(beforeImage.pkRows(), getTableMeta().getPrimaryKeyOnlyName(), pst, paddedRowSize);
             rs = pst.executeQuery();
             return TableRecords.buildRecords(tmeta, rs);
         } finally {
@@ -112,15 +233,10 @@ public class UpdateExecutor<T, S extends Statement> extends AbstractDMLBaseExecu
         }
     }
 
-    private String buildAfterImageSQL(TableMeta tableMeta, TableRecords beforeImage) throws SQLException {
-        String prefix = "SELECT ";
-        String whereSql = SqlGenerateUtils.buildWhereConditionByPKs(tableMeta.getPrimaryKeyOnlyName(), beforeImage.pkRows().size(), getDbType());
-        String suffix = " FROM " + getFromTableInSQL() + " WHERE " + whereSql;
-        StringJoiner selectSQLJoiner = new StringJoiner(", ", prefix, suffix);
+    private String buildAfterImageSQL(TableMeta tableMeta, int rowSize) throws SQLException {
         SQLUpdateRecognizer recognizer = (SQLUpdateRecognizer) sqlRecognizer;
         List<String> needUpdateColumns = getNeedColumns(tableMeta.getTableName(), sqlRecognizer.getTableAlias(), recognizer.getUpdateColumnsUnEscape());
-        needUpdateColumns.forEach(selectSQLJoiner::add);
-        return selectSQLJoiner.toString();
+        return buildSelectSQLByPKs(tableMeta, needUpdateColumns, rowSize);
     }
 
 }
@@ -19,7 +19,9 @@ package org.apache.seata.rm.datasource.exec.mysql;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -36,6 +38,7 @@ import org.apache.seata.common.util.IOUtil;
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.rm.datasource.StatementProxy;
 import org.apache.seata.rm.datasource.exec.BaseInsertExecutor;
+import org.apache.seata.rm.datasource.exec.LongValueList;
 import org.apache.seata.rm.datasource.exec.StatementCallback;
 import org.apache.seata.sqlparser.struct.ColumnMeta;
 import org.apache.seata.sqlparser.SQLRecognizer;
@@ -67,6 +70,10 @@ public class MySQLInsertExecutor extends BaseInsertExecutor implements Defaultab
      */
     public static final Map<String, BigDecimal> RESOURCE_ID_STEP_CACHE = new ConcurrentHashMap<>(8);
 
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
     /**
      * Instantiates a new Abstract dml base executor.
      *
@@ -162,11 +169,7 @@ public class MySQLInsertExecutor extends BaseInsertExecutor implements Defaultab
                 throw e;
             }
         }
-        List<Object> pkValues = new ArrayList<>();
-        while (genKeys.next()) {
-            Object v = genKeys.getObject(1);
-            pkValues.add(v);
-        }
+        List<Object> pkValues = readGeneratedKeys(genKeys, pkMetaMap.get(autoColumnName));
         try {
             genKeys.beforeFirst();
         } catch (SQLException e) {
@@ -180,6 +183,48 @@ public class MySQLInsertExecutor extends BaseInsertExecutor implements Defaultab
         return pkValuesMap;
     }
 
+    /**
+     * Read the generated keys. The keys of an integer column are read into a long array without boxing them,
+     * other keys, or keys out of the long range, are read as objects.
+     *
+     * @param genKeys        the generated keys
+     * @param autoColumnMeta the meta of the auto increment column
+     * @return the generated keys
+     * @throws SQLException the sql exception
+     */
+    protected List<Object> readGeneratedKeys(ResultSet genKeys, ColumnMeta autoColumnMeta) throws SQLException {
+        if (autoColumnMeta != null && isIntegralType(autoColumnMeta.getDataType())) {
+            try {
+                long[] values = new long[16];
+                int size = 0;
+                while (genKeys.next()) {
+                    long value = genKeys.getLong(1);
+                    if (genKeys.wasNull()) {
+                        throw new SQLException("null generated key");
+                    }
+                    if (size == values.length) {
+                        values = Arrays.copyOf(values, size << 1);
+                    }
+                    values[size++] = value;
+                }
+                return new LongValueList(values, size);
+            } catch (SQLException | NumberFormatException e) {
+                // e.g. an unsigned bigint beyond Long.MAX_VALUE, read the keys again as they are
+                genKeys.beforeFirst();
+            }
+        }
+        List<Object> pkValues = new ArrayList<>();
+        while (genKeys.next()) {
+            pkValues.add(genKeys.getObject(1));
+        }
+        return pkValues;
+    }
+
+    private static boolean isIntegralType(int dataType) {
+        return dataType == Types.TINYINT || dataType == Types.SMALLINT || dataType == Types.INTEGER
+            || dataType == Types.BIGINT;
+    }
+
     @Override
     public Map<String,List<Object>> getPkValuesByColumn() throws SQLException {
         Map<String,List<Object>> pkValuesMap  = parsePkValuesFromStatement();
@@ -232,10 +277,23 @@ public class MySQLInsertExecutor extends BaseInsertExecutor implements Defaultab
             }
         }
 
-        List<Object> pkValues = new ArrayList<>();
-        for (int i = 0; i < updateCount; i++) {
-            pkValues.add(cursor);
-            cursor = cursor.add(step);
+        List<Object> pkValues;
+        BigDecimal last = cursor.add(step.multiply(BigDecimal.valueOf(Math.max(updateCount - 1, 0))));
+        if (isLong(cursor) && isLong(step) && isLong(last)) {
+            long[] values = new long[updateCount];
+            long value = cursor.longValue();
+            long increment = step.longValue();
+            for (int i = 0; i < updateCount; i++) {
+                values[i] = value;
+                value += increment;
+            }
+            pkValues = new LongValueList(values, updateCount);
+        } else {
+            pkValues = new ArrayList<>(updateCount);
+            for (int i = 0; i < updateCount; i++) {
+                pkValues.add(cursor);
+                cursor = cursor.add(step);
+            }
         }
 
         Map<String, List<Object>> pkValuesMap = new HashMap<>(1, 1.001f);
@@ -243,6 +301,11 @@ public class MySQLInsertExecutor extends BaseInsertExecutor implements Defaultab
         return pkValuesMap;
     }
 
+    private static boolean isLong(BigDecimal value) {
+        return value.signum() == 0 || (value.stripTrailingZeros().scale() <= 0
+            && value.compareTo(LONG_MIN) >= 0 && value.compareTo(LONG_MAX) <= 0);
+    }
+
     protected boolean canAutoIncrement(Map<String, ColumnMeta> primaryKeyMap) {
         if (primaryKeyMap.size() != 1) {
             return false;
@@ -130,12 +130,11 @@ public class MySQLInsertOnDuplicateUpdateExecutor extends MySQLInsertExecutor im
      * @param afterImage  the after image
      */
     protected void prepareUndoLogAll(TableRecords beforeImage, TableRecords afterImage) {
-        if (beforeImage.getRows().isEmpty() && afterImage.getRows().isEmpty()) {
+        if (beforeImage.size() == 0 && afterImage.size() == 0) {
             return;
         }
         ConnectionProxy connectionProxy = statementProxy.getConnectionProxy();
-        String lockKeys = buildLockKey(afterImage);
-        connectionProxy.appendLockKey(lockKeys);
+        appendLockKey(connectionProxy, afterImage);
         buildUndoItemAll(connectionProxy, beforeImage, afterImage);
     }
 
@@ -178,7 +177,7 @@ public class MySQLInsertOnDuplicateUpdateExecutor extends MySQLInsertExecutor im
             TableRecords partAfterImage = new TableRecords(afterImage.getTableMeta());
             partAfterImage.setTableName(afterImage.getTableName());
             partAfterImage.setRows(updateRows);
-            if (beforeImage.getRows().size() != partAfterImage.getRows().size()) {
+            if (beforeImage.size() != partAfterImage.size()) {
                 throw new ShouldNeverHappenException("Before image size is not equaled to after image size, probably because you updated the primary keys.");
             }
             connectionProxy.appendUndoLog(buildUndoItem(SQLType.UPDATE, beforeImage, partAfterImage));
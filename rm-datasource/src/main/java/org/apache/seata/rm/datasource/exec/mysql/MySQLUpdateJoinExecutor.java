@@ -238,7 +238,7 @@ public class MySQLUpdateJoinExecutor<T, S extends Statement> extends UpdateExecu
             String tableName = entry.getKey();
             TableRecords tableBeforeImage = entry.getValue();
             TableRecords tableAfterImage = afterImagesMap.get(tableName);
-            if (tableBeforeImage.getRows().size() != tableAfterImage.getRows().size()) {
+            if (tableBeforeImage.size() != tableAfterImage.size()) {
                 throw new ShouldNeverHappenException("Before image size is not equaled to after image size, probably because you updated the primary keys.");
             }
             super.prepareUndoLog(tableBeforeImage, tableAfterImage);
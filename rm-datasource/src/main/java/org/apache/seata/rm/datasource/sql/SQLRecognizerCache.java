@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.sql;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.seata.common.util.CollectionUtils;
+import org.apache.seata.sqlparser.SQLRecognizer;
+import org.apache.seata.sqlparser.SQLType;
+
+/**
+ * The sql recognizer cache, keyed by (dbType, sql).
+ * <p>
+ * The cache is bounded by the total length of the cached sql text. Only recognizers whose
+ * state is not mutated after parsing are cached, so that the same instance can be shared
+ * by concurrent executions of the same sql; anything else (e.g. join recognizers which
+ * record table aliases lazily) is parsed on every call.
+ */
+public class SQLRecognizerCache {
+
+    /**
+     * The sql types whose recognizers are read-only after parsing.
+     */
+    private static final Set<SQLType> CACHEABLE_SQL_TYPES = EnumSet.of(SQLType.INSERT, SQLType.UPDATE,
+        SQLType.DELETE, SQLType.SELECT_FOR_UPDATE, SQLType.INSERT_ON_DUPLICATE_UPDATE);
+
+    /**
+     * Placeholder for sql that has no recognizer, e.g. plain select.
+     */
+    private static final List<SQLRecognizer> NONE = Collections.emptyList();
+
+    private final Cache<CacheKey, List<SQLRecognizer>> cache;
+
+    /**
+     * Instantiates a new sql recognizer cache.
+     *
+     * @param maxWeight the max total length of the cached sql text
+     */
+    public SQLRecognizerCache(long maxWeight) {
+        this.cache = Caffeine.newBuilder().maximumWeight(maxWeight)
+            .weigher((CacheKey key, List<SQLRecognizer> value) -> key.sql.length())
+            .recordStats().build();
+    }
+
+    /**
+     * Get the recognizers of the sql, parse and cache them if absent.
+     *
+     * @param sql    the sql
+     * @param dbType the db type
+     * @param parser the parser used on cache miss
+     * @return the sql recognizers, null if the sql has no recognizer
+     */
+    public List<SQLRecognizer> get(String sql, String dbType, BiFunction<String, String, List<SQLRecognizer>> parser) {
+        if (sql == null) {
+            return parser.apply(sql, dbType);
+        }
+        CacheKey key = new CacheKey(dbType, sql);
+        List<SQLRecognizer> recognizers = cache.getIfPresent(key);
+        if (recognizers != null) {
+            return recognizers == NONE ? null : recognizers;
+        }
+        recognizers = parser.apply(sql, dbType);
+        if (CollectionUtils.isEmpty(recognizers)) {
+            cache.put(key, NONE);
+            return recognizers;
+        }
+        if (isCacheable(recognizers)) {
+            cache.put(key, Collections.unmodifiableList(recognizers));
+        }
+        return recognizers;
+    }
+
+    /**
+     * Gets the hit/miss statistics of the cache.
+     *
+     * @return the cache stats
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Gets the number of cached sql.
+     *
+     * @return the estimated size
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Discard all cached recognizers.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static boolean isCacheable(List<SQLRecognizer> recognizers) {
+        for (SQLRecognizer recognizer : recognizers) {
+            SQLType sqlType;
+            try {
+                sqlType = recognizer.getSQLType();
+            } catch (RuntimeException e) {
+                return false;
+            }
+            if (!CACHEABLE_SQL_TYPES.contains(sqlType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class CacheKey {
+
+        private final String dbType;
+
+        private final String sql;
+
+        private final int hash;
+
+        CacheKey(String dbType, String sql) {
+            this.dbType = dbType;
+            this.sql = sql;
+            this.hash = 31 * Objects.hashCode(dbType) + sql.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return hash == that.hash && sql.equals(that.sql) && Objects.equals(dbType, that.dbType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package org.apache.seata.rm.datasource.sql;
 
 import org.apache.seata.common.loader.EnhancedServiceLoader;
+import org.apache.seata.config.Configuration;
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.sqlparser.SQLRecognizer;
@@ -25,6 +26,9 @@ import org.apache.seata.sqlparser.SqlParserType;
 
 import java.util.List;
 
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_SQL_RECOGNIZER_CACHE_ENABLE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_SQL_RECOGNIZER_CACHE_MAX_WEIGHT;
+
 
 public class SQLVisitorFactory {
     /**
@@ -32,9 +36,21 @@ public class SQLVisitorFactory {
      */
     private final static SQLRecognizerFactory SQL_RECOGNIZER_FACTORY;
 
+    /**
+     * SQLRecognizerCache, null if disabled.
+     */
+    private final static SQLRecognizerCache SQL_RECOGNIZER_CACHE;
+
     static {
-        String sqlParserType = ConfigurationFactory.getInstance().getConfig(ConfigurationKeys.SQL_PARSER_TYPE, SqlParserType.SQL_PARSER_TYPE_DRUID);
+        Configuration config = ConfigurationFactory.getInstance();
+        String sqlParserType = config.getConfig(ConfigurationKeys.SQL_PARSER_TYPE, SqlParserType.SQL_PARSER_TYPE_DRUID);
         SQL_RECOGNIZER_FACTORY = EnhancedServiceLoader.load(SQLRecognizerFactory.class, sqlParserType);
+        if (config.getBoolean(ConfigurationKeys.CLIENT_SQL_RECOGNIZER_CACHE_ENABLE, DEFAULT_CLIENT_SQL_RECOGNIZER_CACHE_ENABLE)) {
+            SQL_RECOGNIZER_CACHE = new SQLRecognizerCache(config.getLong(ConfigurationKeys.CLIENT_SQL_RECOGNIZER_CACHE_MAX_WEIGHT,
+                DEFAULT_CLIENT_SQL_RECOGNIZER_CACHE_MAX_WEIGHT));
+        } else {
+            SQL_RECOGNIZER_CACHE = null;
+        }
     }
 
     /**
@@ -45,8 +61,19 @@ public class SQLVisitorFactory {
      * @return the sql recognizer
      */
     public static List<SQLRecognizer> get(String sql, String dbType) {
-        return SQL_RECOGNIZER_FACTORY.create(sql, dbType);
+        if (SQL_RECOGNIZER_CACHE == null) {
+            return SQL_RECOGNIZER_FACTORY.create(sql, dbType);
+        }
+        return SQL_RECOGNIZER_CACHE.get(sql, dbType, SQL_RECOGNIZER_FACTORY::create);
     }
 
+    /**
+     * Get the sql recognizer cache.
+     *
+     * @return the sql recognizer cache, null if disabled
+     */
+    public static SQLRecognizerCache getSqlRecognizerCache() {
+        return SQL_RECOGNIZER_CACHE;
+    }
 
 }
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.sql;
+
+import java.util.List;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * The cache of the image and undo sql generated for a data source, keyed by (kind, table, primary keys, columns,
+ * row count).
+ * <p>
+ * The row count of primary key lookups is padded to a few fixed sizes, see
+ * {@link org.apache.seata.rm.datasource.SqlGenerateUtils#padRowSize(int, int, String)}, so the same sql text is generated
+ * for similar statements and the statement caches of drivers and servers can match it.
+ * The cache is bounded by the total length of the cached sql text.
+ */
+public class SqlTemplateCache {
+
+    private static final char KEY_SEPARATOR = '\u0001';
+
+    private final Cache<String, String> cache;
+
+    /**
+     * Instantiates a new sql template cache.
+     *
+     * @param maxWeight the max total length of the cached sql text
+     */
+    public SqlTemplateCache(long maxWeight) {
+        this.cache = Caffeine.newBuilder().maximumWeight(maxWeight)
+            .weigher((String key, String sql) -> key.length() + sql.length())
+            .recordStats().build();
+    }
+
+    /**
+     * Build the cache key of a template.
+     *
+     * @param kind     the kind of sql, e.g. the executor generating it
+     * @param table    the table as written in the sql
+     * @param pkNames  the primary key columns
+     * @param columns  the selected columns, null if all
+     * @param rowCount the padded row count
+     * @return the cache key
+     */
+    public static String key(String kind, String table, List<String> pkNames, List<String> columns, int rowCount) {
+        StringBuilder key = new StringBuilder(kind).append(KEY_SEPARATOR).append(table);
+        appendColumns(key, pkNames);
+        appendColumns(key, columns);
+        return key.append(KEY_SEPARATOR).append(rowCount).toString();
+    }
+
+    private static void appendColumns(StringBuilder key, List<String> columns) {
+        key.append(KEY_SEPARATOR);
+        if (columns != null) {
+            for (String column : columns) {
+                key.append(column).append(',');
+            }
+        }
+    }
+
+    /**
+     * Get a cached sql.
+     *
+     * @param key the key
+     * @return the sql, null if absent
+     */
+    public String get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Cache a sql.
+     *
+     * @param key the key
+     * @param sql the sql
+     */
+    public void put(String key, String sql) {
+        cache.put(key, sql);
+    }
+
+    /**
+     * Gets the hit/miss statistics of the cache.
+     *
+     * @return the cache stats
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Gets the number of cached sql.
+     *
+     * @return the estimated size
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Discard all cached sql.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.sql.struct;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented storage behind {@link TableRecords#buildRecords}.
+ * <p>
+ * The column schema is shared by every row, integral and floating point values are kept in primitive
+ * arrays with a null bitmap, and {@link Row}/{@link Field} views are only created when they are asked for.
+ */
+final class ColumnarRows {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final String[] names;
+
+    private final int[] types;
+
+    private final KeyType[] keyTypes;
+
+    private final Column[] columns;
+
+    private int rowCount;
+
+    private int capacity = INITIAL_CAPACITY;
+
+    ColumnarRows(String[] names, int[] types, KeyType[] keyTypes) {
+        this.names = names;
+        this.types = types;
+        this.keyTypes = keyTypes;
+        this.columns = new Column[names.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new Column(capacity);
+        }
+    }
+
+    /**
+     * Start a new row, the values of which are then set by {@link #set(int, Object)}.
+     */
+    void newRow() {
+        if (rowCount == capacity) {
+            capacity = capacity << 1;
+            for (Column column : columns) {
+                column.grow(capacity);
+            }
+        }
+        rowCount++;
+    }
+
+    /**
+     * Set the value of a column in the current row.
+     *
+     * @param column the column index
+     * @param value  the value
+     */
+    void set(int column, Object value) {
+        columns[column].set(rowCount - 1, value);
+    }
+
+    int size() {
+        return rowCount;
+    }
+
+    Object value(int column, int row) {
+        return columns[column].get(row);
+    }
+
+    Row row(int row) {
+        List<Field> fields = new ArrayList<>(names.length);
+        for (int c = 0; c < names.length; c++) {
+            Field field = new Field(names[c], types[c], value(c, row));
+            field.setKeyType(keyTypes[c]);
+            fields.add(field);
+        }
+        Row result = new Row();
+        result.setFields(fields);
+        return result;
+    }
+
+    List<Row> toRows() {
+        List<Row> rows = new ArrayList<>(rowCount);
+        for (int r = 0; r < rowCount; r++) {
+            rows.add(row(r));
+        }
+        return rows;
+    }
+
+    List<Map<String, Field>> pkRows(Map<String, ?> primaryKeyMap) {
+        int[] pkColumns = new int[names.length];
+        int pkCount = 0;
+        for (int c = 0; c < names.length; c++) {
+            if (primaryKeyMap.containsKey(names[c])) {
+                pkColumns[pkCount++] = c;
+            }
+        }
+        List<Map<String, Field>> pkRows = new ArrayList<>(rowCount);
+        for (int r = 0; r < rowCount; r++) {
+            Map<String, Field> rowMap = new HashMap<>(3);
+            for (int i = 0; i < pkCount; i++) {
+                int c = pkColumns[i];
+                Field field = new Field(names[c], types[c], value(c, r));
+                field.setKeyType(keyTypes[c]);
+                rowMap.put(names[c], field);
+            }
+            pkRows.add(rowMap);
+        }
+        return pkRows;
+    }
+
+    /**
+     * Copies the values of the only primary key column when they are all non-null integers.
+     *
+     * @param primaryKeyMap the primary key columns
+     * @return the values, or null for a composite primary key or values of other kinds
+     */
+    long[] integralPkValues(Map<String, ?> primaryKeyMap) {
+        int pkColumn = -1;
+        for (int c = 0; c < names.length; c++) {
+            if (primaryKeyMap.containsKey(names[c])) {
+                if (pkColumn >= 0) {
+                    return null;
+                }
+                pkColumn = c;
+            }
+        }
+        return pkColumn < 0 ? null : columns[pkColumn].integralValues(rowCount);
+    }
+
+    /**
+     * A single column. The storage kind is picked from the first non-null value and falls back to boxed
+     * objects as soon as a value of another class shows up, so the row views always return what the driver did.
+     */
+    private static final class Column {
+
+        private static final byte KIND_UNKNOWN = 0;
+        private static final byte KIND_INT = 1;
+        private static final byte KIND_LONG = 2;
+        private static final byte KIND_DOUBLE = 3;
+        private static final byte KIND_OBJECT = 4;
+
+        private byte kind = KIND_UNKNOWN;
+
+        private long[] primitives;
+
+        private Object[] objects;
+
+        private final BitSet nulls = new BitSet();
+
+        private int capacity;
+
+        Column(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void grow(int newCapacity) {
+            capacity = newCapacity;
+            if (primitives != null) {
+                primitives = Arrays.copyOf(primitives, newCapacity);
+            }
+            if (objects != null) {
+                objects = Arrays.copyOf(objects, newCapacity);
+            }
+        }
+
+        void set(int row, Object value) {
+            if (value == null) {
+                nulls.set(row);
+                return;
+            }
+            if (kind == KIND_UNKNOWN) {
+                kind = kindOf(value);
+                if (kind == KIND_OBJECT) {
+                    objects = new Object[capacity];
+                } else {
+                    primitives = new long[capacity];
+                }
+            } else if (kind != KIND_OBJECT && kind != kindOf(value)) {
+                toObjects(row);
+            }
+            switch (kind) {
+                case KIND_INT:
+                    primitives[row] = (Integer) value;
+                    break;
+                case KIND_LONG:
+                    primitives[row] = (Long) value;
+                    break;
+                case KIND_DOUBLE:
+                    primitives[row] = Double.doubleToRawLongBits((Double) value);
+                    break;
+                default:
+                    objects[row] = value;
+                    break;
+            }
+        }
+
+        Object get(int row) {
+            if (nulls.get(row)) {
+                return null;
+            }
+            switch (kind) {
+                case KIND_INT:
+                    return (int) primitives[row];
+                case KIND_LONG:
+                    return primitives[row];
+                case KIND_DOUBLE:
+                    return Double.longBitsToDouble(primitives[row]);
+                case KIND_OBJECT:
+                    return objects[row];
+                default:
+                    return null;
+            }
+        }
+
+        long[] integralValues(int rowCount) {
+            if ((kind != KIND_INT && kind != KIND_LONG) || !nulls.isEmpty()) {
+                return null;
+            }
+            return Arrays.copyOf(primitives, rowCount);
+        }
+
+        private void toObjects(int rowCount) {
+            Object[] boxed = new Object[capacity];
+            for (int r = 0; r < rowCount; r++) {
+                if (!nulls.get(r)) {
+                    boxed[r] = get(r);
+                }
+            }
+            objects = boxed;
+            primitives = null;
+            kind = KIND_OBJECT;
+        }
+
+        private static byte kindOf(Object value) {
+            Class<?> clazz = value.getClass();
+            if (clazz == Integer.class) {
+                return KIND_INT;
+            }
+            if (clazz == Long.class) {
+                return KIND_LONG;
+            }
+            if (clazz == Double.class) {
+                return KIND_DOUBLE;
+            }
+            return KIND_OBJECT;
+        }
+    }
+}
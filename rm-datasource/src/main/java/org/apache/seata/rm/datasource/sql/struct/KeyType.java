@@ -26,11 +26,41 @@ public enum KeyType {
      * Null key type.
      */
     // Null
-    NULL,
+    NULL(0),
 
     /**
      * The Primary key.
      */
     // Primary Key
-    PRIMARY_KEY
+    PRIMARY_KEY(1);
+
+    private final int code;
+
+    KeyType(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Gets the code persisted for this key type, it never changes with the declaration order.
+     *
+     * @return the code
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the key type of a code.
+     *
+     * @param code the code
+     * @return the key type
+     */
+    public static KeyType valueOf(int code) {
+        for (KeyType keyType : values()) {
+            if (keyType.code == code) {
+                return keyType;
+            }
+        }
+        throw new IllegalArgumentException("Invalid KeyType:" + code);
+    }
 }
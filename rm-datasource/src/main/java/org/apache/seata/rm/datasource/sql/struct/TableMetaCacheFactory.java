@@ -17,7 +17,10 @@
 package org.apache.seata.rm.datasource.sql.struct;
 
 import java.sql.Connection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
@@ -93,6 +96,26 @@ public class TableMetaCacheFactory {
      */
     public static void tableMetaRefreshEvent(String resourceId) {
         TableMetaRefreshHolder refreshHolder = TABLE_META_REFRESH_HOLDER_MAP.get(resourceId);
+        offerRefreshEvent(resourceId, refreshHolder);
+    }
+
+    /**
+     * public tableMeta refresh event of a table known to be stale, the table is fetched again by the next refresh
+     *
+     * @param resourceId the resource id
+     * @param tableName  the table name
+     */
+    public static void tableMetaRefreshEvent(String resourceId, String tableName) {
+        TableMetaRefreshHolder refreshHolder = TABLE_META_REFRESH_HOLDER_MAP.get(resourceId);
+        if (refreshHolder == null) {
+            // the data source is not registered, e.g. a table meta cache used on its own
+            return;
+        }
+        refreshHolder.staleTableNames.add(tableName);
+        offerRefreshEvent(resourceId, refreshHolder);
+    }
+
+    private static void offerRefreshEvent(String resourceId, TableMetaRefreshHolder refreshHolder) {
         boolean offer = refreshHolder.tableMetaRefreshQueue.offer(System.nanoTime());
         if (!offer) {
             LOGGER.error("table refresh event offer error:{}", resourceId);
@@ -103,6 +126,7 @@ public class TableMetaCacheFactory {
         private long lastRefreshFinishTime;
         private DataSourceProxy dataSource;
         private BlockingQueue<Long> tableMetaRefreshQueue;
+        private final Set<String> staleTableNames = ConcurrentHashMap.newKeySet();
 
 
         private final Executor tableMetaRefreshExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
@@ -126,10 +150,14 @@ public class TableMetaCacheFactory {
                         Long eventTime = tableMetaRefreshQueue.poll(TABLE_META_REFRESH_INTERVAL_TIME, TimeUnit.MILLISECONDS);
                         // if it has bean refreshed not long ago, skip
                         if (eventTime != null && eventTime - lastRefreshFinishTime > TimeUnit.MILLISECONDS.toNanos(TABLE_META_REFRESH_INTERVAL_TIME)) {
+                            Set<String> tableNames = drainStaleTableNames();
                             try (Connection connection = dataSource.getConnection()) {
                                 TableMetaCache tableMetaCache =
                                     TableMetaCacheFactory.getTableMetaCache(dataSource.getDbType());
-                                tableMetaCache.refresh(connection, dataSource.getResourceId());
+                                tableMetaCache.refresh(connection, dataSource.getResourceId(), tableNames);
+                            } catch (Exception e) {
+                                staleTableNames.addAll(tableNames);
+                                throw e;
                             }
                             lastRefreshFinishTime = System.nanoTime();
                         }
@@ -142,7 +170,13 @@ public class TableMetaCacheFactory {
             });
         }
 
-
-
+        private Set<String> drainStaleTableNames() {
+            Set<String> tableNames = new HashSet<>();
+            for (Iterator<String> iterator = staleTableNames.iterator(); iterator.hasNext(); ) {
+                tableNames.add(iterator.next());
+                iterator.remove();
+            }
+            return tableNames;
+        }
     }
 }
@@ -16,6 +16,8 @@
  */
 package org.apache.seata.rm.datasource.sql.struct;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Clob;
@@ -60,6 +62,11 @@ public class TableRecords implements java.io.Serializable {
 
     private List<Row> rows = new ArrayList<Row>();
 
+    /**
+     * Column-oriented rows filled by {@link #buildRecords}, turned into {@link #rows} on first access.
+     */
+    private transient ColumnarRows columnarRows;
+
     /**
      * Gets table name.
      *
@@ -84,6 +91,7 @@ public class TableRecords implements java.io.Serializable {
      * @return the rows
      */
     public List<Row> getRows() {
+        materializeRows();
         return rows;
     }
 
@@ -93,6 +101,7 @@ public class TableRecords implements java.io.Serializable {
      * @param rows the rows
      */
     public void setRows(List<Row> rows) {
+        this.columnarRows = null;
         this.rows = rows;
     }
 
@@ -131,7 +140,7 @@ public class TableRecords implements java.io.Serializable {
      * @return the int
      */
     public int size() {
-        return rows.size();
+        return columnarRows != null ? columnarRows.size() : rows.size();
     }
 
     /**
@@ -140,9 +149,33 @@ public class TableRecords implements java.io.Serializable {
      * @param row the row
      */
     public void add(Row row) {
+        materializeRows();
         rows.add(row);
     }
 
+    /**
+     * Create the row views of column-oriented records, the field-based undo log parsers need them
+     * to be in place before encoding.
+     */
+    public void materializeRows() {
+        if (columnarRows != null) {
+            rows = columnarRows.toRows();
+            columnarRows = null;
+        }
+    }
+
+    /**
+     * Gets the values of a single integral primary key without boxing them into fields.
+     *
+     * @return the values, or null if the primary key is composite, nullable or not an integer
+     */
+    public long[] integralPkValues() {
+        if (columnarRows == null) {
+            return null;
+        }
+        return columnarRows.integralPkValues(getTableMeta().getPrimaryKeyMap());
+    }
+
     /**
      * Pk rows list.
      *
@@ -150,6 +183,9 @@ public class TableRecords implements java.io.Serializable {
      */
     public List<Map<String,Field>> pkRows() {
         final Map<String, ColumnMeta> primaryKeyMap = getTableMeta().getPrimaryKeyMap();
+        if (columnarRows != null) {
+            return columnarRows.pkRows(primaryKeyMap);
+        }
         List<Map<String,Field>> pkRows = new ArrayList<>();
         for (Row row : rows) {
             List<Field> fields = row.getFields();
@@ -194,74 +230,73 @@ public class TableRecords implements java.io.Serializable {
     public static TableRecords buildRecords(TableMeta tmeta, ResultSet resultSet) throws SQLException {
         TableRecords records = new TableRecords(tmeta);
         ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
-        Set<String> ignoreCasePKs = tmeta.getCaseInsensitivePKs();
         int columnCount = resultSetMetaData.getColumnCount();
+        int[] types = new int[columnCount];
+        ColumnarRows columnarRows = null;
 
         while (resultSet.next()) {
-            List<Field> fields = new ArrayList<>(columnCount);
+            if (columnarRows == null) {
+                columnarRows = newColumnarRows(tmeta, resultSetMetaData, types);
+            }
+            columnarRows.newRow();
             for (int i = 1; i <= columnCount; i++) {
-                String colName = resultSetMetaData.getColumnName(i);
-                ColumnMeta col = getColumnMeta(tmeta,colName);
-                int dataType = col.getDataType();
-                Field field = new Field();
-                field.setName(col.getColumnName());
-                if (ignoreCasePKs.contains(colName)) {
-                    field.setKeyType(KeyType.PRIMARY_KEY);
-                }
-                field.setType(dataType);
-                // mysql will not run in this code
-                // cause mysql does not use java.sql.Blob, java.sql.sql.Clob to process Blob and Clob column
-                if (dataType == Types.BLOB) {
-                    Blob blob = resultSet.getBlob(i);
-                    if (blob != null) {
-                        field.setValue(new SerialBlob(blob));
-                    }
-                } else if (dataType == Types.CLOB) {
-                    Clob clob = resultSet.getClob(i);
-                    if (clob != null) {
-                        field.setValue(new SerialClob(clob));
-                    }
-                } else if (dataType == Types.NCLOB) {
-                    NClob object = resultSet.getNClob(i);
-                    if (object != null) {
-                        field.setValue(new SerialClob(object));
-                    }
-                } else if (dataType == Types.ARRAY) {
-                    Array array = resultSet.getArray(i);
-                    if (array != null) {
-                        field.setValue(new SerialArray(array));
-                    }
-                } else if (dataType == Types.REF) {
-                    Ref ref = resultSet.getRef(i);
-                    if (ref != null) {
-                        field.setValue(new SerialRef(ref));
-                    }
-                } else if (dataType == Types.DATALINK) {
-                    java.net.URL url = resultSet.getURL(i);
-                    if (url != null) {
-                        field.setValue(new SerialDatalink(url));
-                    }
-                } else if (dataType == Types.JAVA_OBJECT) {
-                    Object object = resultSet.getObject(i);
-                    if (object != null) {
-                        field.setValue(new SerialJavaObject(object));
-                    }
-                } else if (dataType == TIMESTAMP_WITH_TIME_ZONE || dataType == TIMESTAMP_WITH_LOCAL_TIME_ZONE) {
-                    field.setValue(convertOffSetTime(timeToOffsetDateTime(resultSet.getBytes(i))));
-                } else {
-                    // JDBCType.DISTINCT, JDBCType.STRUCT etc...
-                    field.setValue(holdSerialDataType(resultSet.getObject(i)));
-                }
-
-                fields.add(field);
+                columnarRows.set(i - 1, getColumnValue(resultSet, i, types[i - 1]));
             }
+        }
+        records.columnarRows = columnarRows;
+        return records;
+    }
 
-            Row row = new Row();
-            row.setFields(fields);
+    private static ColumnarRows newColumnarRows(TableMeta tmeta, ResultSetMetaData resultSetMetaData, int[] types)
+        throws SQLException {
+        Set<String> ignoreCasePKs = tmeta.getCaseInsensitivePKs();
+        String[] names = new String[types.length];
+        KeyType[] keyTypes = new KeyType[types.length];
+        for (int i = 1; i <= types.length; i++) {
+            String colName = resultSetMetaData.getColumnName(i);
+            ColumnMeta col = getColumnMeta(tmeta, colName);
+            names[i - 1] = col.getColumnName();
+            types[i - 1] = col.getDataType();
+            keyTypes[i - 1] = ignoreCasePKs.contains(colName) ? KeyType.PRIMARY_KEY : KeyType.NULL;
+        }
+        return new ColumnarRows(names, types, keyTypes);
+    }
 
-            records.add(row);
+    private static Object getColumnValue(ResultSet resultSet, int i, int dataType) throws SQLException {
+        // mysql will not run in this code
+        // cause mysql does not use java.sql.Blob, java.sql.sql.Clob to process Blob and Clob column
+        if (dataType == Types.BLOB) {
+            Blob blob = resultSet.getBlob(i);
+            return blob != null ? new SerialBlob(blob) : null;
+        } else if (dataType == Types.CLOB) {
+            Clob clob = resultSet.getClob(i);
+            return clob != null ? new SerialClob(clob) : null;
+        } else if (dataType == Types.NCLOB) {
+            NClob object = resultSet.getNClob(i);
+            return object != null ? new SerialClob(object) : null;
+        } else if (dataType == Types.ARRAY) {
+            Array array = resultSet.getArray(i);
+            return array != null ? new SerialArray(array) : null;
+        } else if (dataType == Types.REF) {
+            Ref ref = resultSet.getRef(i);
+            return ref != null ? new SerialRef(ref) : null;
+        } else if (dataType == Types.DATALINK) {
+            java.net.URL url = resultSet.getURL(i);
+            return url != null ? new SerialDatalink(url) : null;
+        } else if (dataType == Types.JAVA_OBJECT) {
+            Object object = resultSet.getObject(i);
+            return object != null ? new SerialJavaObject(object) : null;
+        } else if (dataType == TIMESTAMP_WITH_TIME_ZONE || dataType == TIMESTAMP_WITH_LOCAL_TIME_ZONE) {
+            return convertOffSetTime(timeToOffsetDateTime(resultSet.getBytes(i)));
+        } else {
+            // JDBCType.DISTINCT, JDBCType.STRUCT etc...
+            return holdSerialDataType(resultSet.getObject(i));
         }
-        return records;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        materializeRows();
+        out.defaultWriteObject();
     }
 
     /**
@@ -18,15 +18,18 @@ package org.apache.seata.rm.datasource.sql.struct.cache;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.seata.common.exception.ShouldNeverHappenException;
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.core.context.RootContext;
+import org.apache.seata.rm.datasource.sql.struct.TableMetaCacheFactory;
 import org.apache.seata.sqlparser.struct.TableMeta;
 import org.apache.seata.sqlparser.struct.TableMetaCache;
 import org.slf4j.Logger;
@@ -34,6 +37,14 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The type Table meta cache.
+ * <p>
+ * The table metas are held strongly. They are revalidated by the refresh thread of the data source: a table
+ * whose schema version is unchanged is skipped, any other table is fetched again, and so is every table not
+ * validated within {@link #MAX_VALIDATED_AGE} because a schema version may miss some changes.
+ * <p>
+ * A table meta that the refresh thread did not revalidate in time expires on the hot path and is fetched again:
+ * after {@link #MAX_VALIDATED_AGE} without a schema version, as the cache expired all table metas before, and
+ * after {@link #HARD_MAX_AGE} with one.
  *
  */
 public abstract class AbstractTableMetaCache implements TableMetaCache {
@@ -42,14 +53,26 @@ public abstract class AbstractTableMetaCache implements TableMetaCache {
 
     private static final long CACHE_SIZE = 100000;
 
-    private static final long EXPIRE_TIME = 900 * 1000;
+    /**
+     * The max age of a table meta before it is fetched again, whatever its schema version says
+     */
+    static final long MAX_VALIDATED_AGE = TimeUnit.SECONDS.toMillis(900);
+
+    /**
+     * The max age of a table meta with a schema version before it expires, in case no refresh revalidates it
+     */
+    static final long HARD_MAX_AGE = 2 * MAX_VALIDATED_AGE;
+
+    /**
+     * The interval a refresh of an old table meta is asked for again, the refresh event may have been dropped
+     */
+    static final long REVALIDATION_REQUEST_INTERVAL = TimeUnit.SECONDS.toMillis(10);
 
-    private static final Cache<String, TableMeta> TABLE_META_CACHE;
+    private static final Cache<String, TableMetaEntry> TABLE_META_CACHE;
 
     static {
         try {
-            TABLE_META_CACHE = Caffeine.newBuilder().maximumSize(CACHE_SIZE)
-                    .expireAfterWrite(EXPIRE_TIME, TimeUnit.MILLISECONDS).softValues().build();
+            TABLE_META_CACHE = Caffeine.newBuilder().maximumSize(CACHE_SIZE).build();
         } catch (Throwable t) {
             LOGGER.error("Build the `TABLE_META_CACHE` failed:", t);
             throw t;
@@ -64,43 +87,106 @@ public abstract class AbstractTableMetaCache implements TableMetaCache {
         }
 
         final String key = getCacheKey(connection, tableName, resourceId);
-        TableMeta tmeta = TABLE_META_CACHE.get(key, mappingFunction -> {
+        final long now = currentTimeMillis();
+        Function<String, TableMetaEntry> loader = mappingFunction -> {
             try {
-                return fetchSchema(connection, tableName);
+                // read the version first, a change made in between is found by the next refresh
+                String version = fetchSchemaVersionQuietly(connection, tableName);
+                return new TableMetaEntry(resourceId, fetchSchema(connection, tableName), version, now);
             } catch (SQLException e) {
                 LOGGER.error("get table meta of the table `{}` error: {}", tableName, e.getMessage(), e);
                 return null;
             }
-        });
+        };
+        TableMetaEntry entry = TABLE_META_CACHE.get(key, loader);
+        if (entry != null && entry.isExpired(now)) {
+            TABLE_META_CACHE.asMap().remove(key, entry);
+            entry = TABLE_META_CACHE.get(key, loader);
+        }
 
-        if (tmeta == null) {
+        if (entry == null) {
             throw new ShouldNeverHappenException(String.format("[xid:%s] Get table meta failed," +
                 " please check whether the table `%s` exists.", RootContext.getXID(), tableName));
         }
-        return tmeta;
+        if (entry.requestRevalidation(now)) {
+            requestRevalidation(resourceId, entry.tableMeta.getTableName());
+        }
+        return entry.tableMeta;
+    }
+
+    /**
+     * ask the refresh thread of the data source to revalidate the table
+     *
+     * @param resourceId the resource id
+     * @param tableName  the table name
+     */
+    void requestRevalidation(String resourceId, String tableName) {
+        TableMetaCacheFactory.tableMetaRefreshEvent(resourceId, tableName);
+    }
+
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
     }
 
     @Override
     public void refresh(final Connection connection, String resourceId) {
-        ConcurrentMap<String, TableMeta> tableMetaMap = TABLE_META_CACHE.asMap();
-        for (Map.Entry<String, TableMeta> entry : tableMetaMap.entrySet()) {
-            String key = getCacheKey(connection, entry.getValue().getOriginalTableName(), resourceId);
-            if (entry.getKey().equals(key)) {
-                try {
-                    String freshTableName = StringUtils.isBlank(entry.getValue().getOriginalTableName()) ?
-                            entry.getValue().getTableName() : entry.getValue().getOriginalTableName();
-                    TableMeta tableMeta = fetchSchema(connection, freshTableName);
-                    if (!tableMeta.equals(entry.getValue())) {
-                        TABLE_META_CACHE.put(entry.getKey(), tableMeta);
-                        LOGGER.info("table meta change was found, update table meta cache automatically.");
-                    }
-                } catch (SQLException e) {
-                    LOGGER.error("get table meta error:{}", e.getMessage(), e);
+        refresh(connection, resourceId, Collections.emptySet());
+    }
+
+    @Override
+    public void refresh(final Connection connection, String resourceId, Collection<String> staleTableNames) {
+        for (Map.Entry<String, TableMetaEntry> cacheEntry : TABLE_META_CACHE.asMap().entrySet()) {
+            TableMetaEntry entry = cacheEntry.getValue();
+            if (!entry.resourceId.equals(resourceId)) {
+                continue;
+            }
+            TableMeta cachedTableMeta = entry.tableMeta;
+            String freshTableName = StringUtils.isBlank(cachedTableMeta.getOriginalTableName()) ?
+                    cachedTableMeta.getTableName() : cachedTableMeta.getOriginalTableName();
+            try {
+                boolean stale = currentTimeMillis() - entry.validatedTime >= MAX_VALIDATED_AGE
+                    || staleTableNames.contains(cachedTableMeta.getTableName())
+                    || staleTableNames.contains(freshTableName);
+                String version = fetchSchemaVersionQuietly(connection, freshTableName);
+                if (!stale && version != null && version.equals(entry.version)) {
+                    continue;
                 }
+                TableMeta tableMeta = fetchSchema(connection, freshTableName);
+                if (!tableMeta.equals(cachedTableMeta)) {
+                    TABLE_META_CACHE.asMap().replace(cacheEntry.getKey(), entry,
+                        new TableMetaEntry(resourceId, tableMeta, version, currentTimeMillis()));
+                    LOGGER.info("table meta change was found, update table meta cache automatically.");
+                } else {
+                    entry.validated(version, currentTimeMillis());
+                }
+            } catch (SQLException e) {
+                LOGGER.error("get table meta error:{}", e.getMessage(), e);
             }
         }
     }
 
+    private String fetchSchemaVersionQuietly(Connection connection, String tableName) {
+        try {
+            return fetchSchemaVersion(connection, tableName);
+        } catch (Exception e) {
+            // the version only saves fetches, the table is simply fetched without it
+            LOGGER.debug("get schema version of the table `{}` error: {}", tableName, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * get a cheap token which changes whenever the schema of the table changes, for example the last
+     * ddl time kept by the database. the table meta is fetched again whenever the token changes.
+     *
+     * @param connection the connection
+     * @param tableName  the table name
+     * @return the schema version, null if the database keeps none
+     * @throws SQLException the sql exception
+     */
+    protected String fetchSchemaVersion(Connection connection, String tableName) throws SQLException {
+        return null;
+    }
 
     /**
      * generate cache key
@@ -122,4 +208,50 @@ public abstract class AbstractTableMetaCache implements TableMetaCache {
      */
     protected abstract TableMeta fetchSchema(Connection connection, String tableName) throws SQLException;
 
+    /**
+     * A cached table meta with the schema version it was validated against.
+     */
+    private static final class TableMetaEntry {
+
+        private final String resourceId;
+
+        private final TableMeta tableMeta;
+
+        private volatile String version;
+
+        private volatile long validatedTime;
+
+        private volatile long revalidationRequestTime;
+
+        TableMetaEntry(String resourceId, TableMeta tableMeta, String version, long now) {
+            this.resourceId = resourceId;
+            this.tableMeta = tableMeta;
+            this.version = version;
+            this.validatedTime = now;
+            this.revalidationRequestTime = now;
+        }
+
+        void validated(String version, long now) {
+            this.version = version;
+            this.validatedTime = now;
+        }
+
+        boolean isExpired(long now) {
+            return now - validatedTime >= (version == null ? MAX_VALIDATED_AGE : HARD_MAX_AGE);
+        }
+
+        /**
+         * @return true once the entry is too old, then again every {@link #REVALIDATION_REQUEST_INTERVAL}
+         * until a refresh validates it, so a dropped refresh event is asked for again
+         */
+        boolean requestRevalidation(long now) {
+            long requestTime = revalidationRequestTime;
+            if (now - validatedTime < MAX_VALIDATED_AGE
+                || (requestTime > validatedTime && now - requestTime < REVALIDATION_REQUEST_INTERVAL)) {
+                return false;
+            }
+            revalidationRequestTime = now;
+            return true;
+        }
+    }
 }
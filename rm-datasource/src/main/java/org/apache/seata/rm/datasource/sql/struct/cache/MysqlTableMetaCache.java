@@ -18,6 +18,7 @@ package org.apache.seata.rm.datasource.sql.struct.cache;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -88,6 +89,29 @@ public class MysqlTableMetaCache extends AbstractTableMetaCache {
         }
     }
 
+    /**
+     * MySQL keeps no ddl time for instant ddl, so the version is a checksum of the column definitions,
+     * read from the data dictionary in one query.
+     */
+    @Override
+    protected String fetchSchemaVersion(Connection connection, String tableName) throws SQLException {
+        String[] schemaTable = tableName.split("\\.");
+        String sql = "SELECT CONCAT(COUNT(*), ':', SUM(CRC32(CONCAT_WS('|', COLUMN_NAME, ORDINAL_POSITION,"
+            + " COLUMN_TYPE, IS_NULLABLE, COLUMN_KEY, EXTRA, IFNULL(COLUMN_DEFAULT, 'NULL')))))"
+            + " FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = "
+            + (schemaTable.length > 1 ? "?" : "DATABASE()") + " AND TABLE_NAME = ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            if (schemaTable.length > 1) {
+                ps.setString(index++, ColumnUtils.delEscape(schemaTable[0], JdbcConstants.MYSQL));
+            }
+            ps.setString(index, ColumnUtils.delEscape(schemaTable[schemaTable.length - 1], JdbcConstants.MYSQL));
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
     protected TableMeta resultSetMetaToSchema(ResultSetMetaData rsmd, DatabaseMetaData dbmd, String originalTableName)
         throws SQLException {
         //always "" for mysql
@@ -18,6 +18,7 @@ package org.apache.seata.rm.datasource.sql.struct.cache;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
@@ -71,6 +72,25 @@ public class OracleTableMetaCache extends AbstractTableMetaCache {
         }
     }
 
+    @Override
+    protected String fetchSchemaVersion(Connection connection, String tableName) throws SQLException {
+        String[] schemaTable = tableName.split("\\.");
+        String schemaName = schemaTable.length > 1 ? schemaTable[0] : connection.getMetaData().getUserName();
+        String pureTableName = schemaTable.length > 1 ? schemaTable[1] : tableName;
+        if (schemaName == null) {
+            return null;
+        }
+        String sql = "SELECT TO_CHAR(LAST_DDL_TIME, 'YYYYMMDDHH24MISS') FROM ALL_OBJECTS"
+            + " WHERE OWNER = ? AND OBJECT_NAME = ? AND OBJECT_TYPE = 'TABLE'";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, schemaName.contains("\"") ? schemaName.replace("\"", "") : schemaName.toUpperCase());
+            ps.setString(2, pureTableName.contains("\"") ? pureTableName.replace("\"", "") : pureTableName.toUpperCase());
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
     protected TableMeta resultSetMetaToSchema(DatabaseMetaData dbmd, String tableName) throws SQLException {
         TableMeta tm = new TableMeta();
         //  Save the original table name information for active cache refresh
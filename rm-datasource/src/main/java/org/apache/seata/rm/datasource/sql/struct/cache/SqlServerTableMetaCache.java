@@ -18,6 +18,7 @@ package org.apache.seata.rm.datasource.sql.struct.cache;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
@@ -71,6 +72,18 @@ public class SqlServerTableMetaCache extends AbstractTableMetaCache {
         return cacheKey.toString();
     }
 
+    @Override
+    protected String fetchSchemaVersion(Connection connection, String tableName) throws SQLException {
+        // modify_date changes with every ALTER TABLE and index change
+        String sql = "SELECT CONVERT(VARCHAR(30), modify_date, 126) FROM sys.objects WHERE object_id = OBJECT_ID(?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, tableName);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
     @Override
     protected TableMeta fetchSchema(Connection connection, String tableName) throws SQLException {
         try {
@@ -41,7 +41,9 @@ import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.core.model.Result;
 import org.apache.seata.rm.datasource.ConnectionProxy;
 import org.apache.seata.rm.datasource.DataCompareUtils;
+import org.apache.seata.rm.datasource.DataSourceProxy;
 import org.apache.seata.rm.datasource.SqlGenerateUtils;
+import org.apache.seata.rm.datasource.sql.SqlTemplateCache;
 import org.apache.seata.rm.datasource.sql.serial.SerialArray;
 import org.apache.seata.rm.datasource.sql.struct.Field;
 import org.apache.seata.rm.datasource.sql.struct.KeyType;
@@ -52,6 +54,7 @@ import org.apache.seata.sqlparser.util.ColumnUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSACTION_UNDO_BATCH_SIZE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSACTION_UNDO_DATA_VALIDATION;
 
 /**
@@ -71,12 +74,23 @@ public abstract class AbstractUndoExecutor {
      */
     private static final String CHECK_SQL_TEMPLATE = "SELECT * FROM %s WHERE %s FOR UPDATE";
 
+    /**
+     * The sql template kind of the check sql.
+     */
+    private static final String CHECK_SQL_KIND = "undoCheck";
+
     /**
      * Switch of undo data validation
      */
     public static final boolean IS_UNDO_DATA_VALIDATION_ENABLE = ConfigurationFactory.getInstance()
             .getBoolean(ConfigurationKeys.TRANSACTION_UNDO_DATA_VALIDATION, DEFAULT_TRANSACTION_UNDO_DATA_VALIDATION);
 
+    /**
+     * Rows replayed per round trip, 1 replays the undo row by row
+     */
+    public static final int UNDO_BATCH_SIZE = ConfigurationFactory.getInstance()
+            .getInt(ConfigurationKeys.TRANSACTION_UNDO_BATCH_SIZE, DEFAULT_TRANSACTION_UNDO_BATCH_SIZE);
+
     /**
      * The Sql undo log.
      */
@@ -114,27 +128,39 @@ public abstract class AbstractUndoExecutor {
      * @throws SQLException the sql exception
      */
     public void executeOn(ConnectionProxy connectionProxy) throws SQLException {
-        Connection conn = connectionProxy.getTargetConnection();
         if (IS_UNDO_DATA_VALIDATION_ENABLE && !dataValidationAndGoOn(connectionProxy)) {
             return;
         }
+        TableRecords undoRows = getUndoRows();
+        if (UNDO_BATCH_SIZE > 1 && undoRows.size() > 1) {
+            executeBatchOn(connectionProxy, undoRows, UNDO_BATCH_SIZE);
+            return;
+        }
+        executeRowByRowOn(connectionProxy, undoRows);
+    }
+
+    /**
+     * Execute on, replaying the undo rows one statement per row.
+     * The update count of every row is checked as the chunks of {@link #executeBatchOn} are.
+     *
+     * @param connectionProxy the connection proxy
+     * @param undoRows        the undo rows
+     * @throws SQLException the sql exception
+     */
+    protected void executeRowByRowOn(ConnectionProxy connectionProxy, TableRecords undoRows) throws SQLException {
+        Connection conn = connectionProxy.getTargetConnection();
         PreparedStatement undoPST = null;
         try {
             String undoSQL = buildUndoSQL();
             undoPST = conn.prepareStatement(undoSQL);
-            TableRecords undoRows = getUndoRows();
+            ArrayList<Field> undoValues = new ArrayList<>();
             for (Row undoRow : undoRows.getRows()) {
-                ArrayList<Field> undoValues = new ArrayList<>();
                 List<Field> pkValueList = getOrderedPkList(undoRows, undoRow, connectionProxy.getDbType());
-                for (Field field : undoRow.getFields()) {
-                    if (field.getKeyType() != KeyType.PRIMARY_KEY) {
-                        undoValues.add(field);
-                    }
-                }
+                collectUndoValues(undoRow, undoValues);
 
                 undoPrepare(undoPST, undoValues, pkValueList);
 
-                undoPST.executeUpdate();
+                checkUndoRowCount(new int[] {undoPST.executeUpdate()}, 1);
             }
 
         } catch (Exception ex) {
@@ -151,6 +177,108 @@ public abstract class AbstractUndoExecutor {
 
     }
 
+    /**
+     * Execute on, replaying the undo rows in chunks of batchSize: one multi-row statement per chunk
+     * where the dialect builds one, a JDBC batch of the per-row statement otherwise.
+     * The update count of every chunk is checked against its row count.
+     *
+     * @param connectionProxy the connection proxy
+     * @param undoRows        the undo rows
+     * @param batchSize       the rows per chunk
+     * @throws SQLException the sql exception
+     */
+    protected void executeBatchOn(ConnectionProxy connectionProxy, TableRecords undoRows, int batchSize)
+            throws SQLException {
+        Connection conn = connectionProxy.getTargetConnection();
+        String dbType = connectionProxy.getDbType();
+        List<Row> rows = undoRows.getRows();
+        PreparedStatement undoPST = null;
+        try {
+            ArrayList<Field> undoValues = new ArrayList<>();
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                List<Row> chunk = rows.subList(from, Math.min(from + batchSize, rows.size()));
+                String multiRowUndoSQL = buildMultiRowUndoSQL(undoRows, chunk.size());
+                if (multiRowUndoSQL != null) {
+                    PreparedStatement multiRowPST = conn.prepareStatement(multiRowUndoSQL);
+                    try {
+                        int paramIndex = 0;
+                        for (Row undoRow : chunk) {
+                            for (Field pkField : getOrderedPkList(undoRows, undoRow, dbType)) {
+                                multiRowPST.setObject(++paramIndex, pkField.getValue(), pkField.getType());
+                            }
+                        }
+                        checkUndoRowCount(new int[] {multiRowPST.executeUpdate()}, chunk.size());
+                    } finally {
+                        IOUtil.close(multiRowPST);
+                    }
+                    continue;
+                }
+                if (undoPST == null) {
+                    undoPST = conn.prepareStatement(buildUndoSQL());
+                }
+                for (Row undoRow : chunk) {
+                    collectUndoValues(undoRow, undoValues);
+                    undoPrepare(undoPST, undoValues, getOrderedPkList(undoRows, undoRow, dbType));
+                    undoPST.addBatch();
+                }
+                checkUndoRowCount(undoPST.executeBatch(), chunk.size());
+            }
+        } catch (Exception ex) {
+            if (ex instanceof SQLException) {
+                throw (SQLException) ex;
+            } else {
+                throw new SQLException(ex);
+            }
+        } finally {
+            //important for oracle
+            IOUtil.close(undoPST);
+        }
+    }
+
+    /**
+     * Build one undo statement covering rowCount rows, the primary keys of every row are bound in order.
+     *
+     * @param undoRows the undo rows
+     * @param rowCount the row count of the chunk
+     * @return the multi-row undo sql, null if the dialect replays the rows with a JDBC batch instead
+     * @throws SQLException the sql exception
+     */
+    protected String buildMultiRowUndoSQL(TableRecords undoRows, int rowCount) throws SQLException {
+        return null;
+    }
+
+    private void collectUndoValues(Row undoRow, ArrayList<Field> undoValues) {
+        undoValues.clear();
+        for (Field field : undoRow.getFields()) {
+            if (field.getKeyType() != KeyType.PRIMARY_KEY) {
+                undoValues.add(field);
+            }
+        }
+    }
+
+    /**
+     * A row or chunk that undid another number of rows than it holds fails the undo, the local transaction of the
+     * undo is rolled back then and the branch rollback retried. Like the image check, it is skipped when undo data
+     * validation is switched off.
+     */
+    private void checkUndoRowCount(int[] updateCounts, int expected) throws SQLException {
+        if (!IS_UNDO_DATA_VALIDATION_ENABLE) {
+            return;
+        }
+        int affected = 0;
+        for (int updateCount : updateCounts) {
+            if (updateCount < 0) {
+                // Statement.SUCCESS_NO_INFO, e.g. a batch rewritten by the driver
+                return;
+            }
+            affected += updateCount;
+        }
+        if (affected != expected) {
+            throw new SQLException(String.format("Undo of table [%s] affected %d rows while %d rows were expected",
+                sqlUndoLog.getTableName(), affected, expected));
+        }
+    }
+
     /**
      * Undo prepare.
      *
@@ -309,8 +437,8 @@ public abstract class AbstractUndoExecutor {
         // build check sql
         String firstKey = pkRowValues.keySet().stream().findFirst().get();
         int pkRowSize = pkRowValues.get(firstKey).size();
-        String checkSQL = buildCheckSql(sqlUndoLog.getTableName(),
-                SqlGenerateUtils.buildWhereConditionByPKs(pkNameList, pkRowSize, connectionProxy.getDbType()));
+        int paddedRowSize = SqlGenerateUtils.padRowSize(pkRowSize, pkNameList.size(), connectionProxy.getDbType());
+        String checkSQL = buildCheckSql(connectionProxy, pkNameList, paddedRowSize);
 
         PreparedStatement statement = null;
         ResultSet checkSet = null;
@@ -319,10 +447,12 @@ public abstract class AbstractUndoExecutor {
             statement = conn.prepareStatement(checkSQL);
             int paramIndex = 1;
             int rowSize = pkRowValues.get(pkNameList.get(0)).size();
-            for (int r = 0; r < rowSize; r++) {
+            for (int r = 0; r < paddedRowSize; r++) {
+                // the padded placeholders are bound to the last row again
+                int row = Math.min(r, rowSize - 1);
                 for (int c = 0; c < pkNameList.size(); c++) {
                     List<Field> pkColumnValueList = pkRowValues.get(pkNameList.get(c));
-                    Field field = pkColumnValueList.get(r);
+                    Field field = pkColumnValueList.get(row);
                     int dataType = tableMeta.getColumnMeta(field.getName()).getDataType();
                     statement.setObject(paramIndex, field.getValue(), dataType);
                     paramIndex++;
@@ -337,6 +467,27 @@ public abstract class AbstractUndoExecutor {
         return currentRecords;
     }
 
+    private String buildCheckSql(ConnectionProxy connectionProxy, List<String> pkNameList, int rowSize)
+        throws SQLException {
+        String tableName = sqlUndoLog.getTableName();
+        DataSourceProxy dataSourceProxy = connectionProxy.getDataSourceProxy();
+        SqlTemplateCache sqlTemplateCache = dataSourceProxy == null ? null : dataSourceProxy.getSqlTemplateCache();
+        String key = null;
+        if (sqlTemplateCache != null) {
+            key = SqlTemplateCache.key(CHECK_SQL_KIND, tableName, pkNameList, null, rowSize);
+            String checkSQL = sqlTemplateCache.get(key);
+            if (checkSQL != null) {
+                return checkSQL;
+            }
+        }
+        String checkSQL = buildCheckSql(tableName,
+                SqlGenerateUtils.buildWhereConditionByPKs(pkNameList, rowSize, connectionProxy.getDbType()));
+        if (sqlTemplateCache != null) {
+            sqlTemplateCache.put(key, checkSQL);
+        }
+        return checkSQL;
+    }
+
     /**
      * build sql for query current records.
      *
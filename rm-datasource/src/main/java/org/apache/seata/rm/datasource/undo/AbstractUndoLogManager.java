@@ -21,9 +21,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -267,6 +268,7 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
         branchUndoLog.setXid(xid);
         branchUndoLog.setBranchId(branchId);
         branchUndoLog.setSqlUndoLogs(connectionContext.getUndoItems());
+        branchUndoLog.materializeRows();
 
         UndoLogParser parser = UndoLogParserFactory.getInstance();
         byte[] undoLogContent = parser.encode(branchUndoLog);
@@ -339,34 +341,7 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
                         return;
                     }
 
-                    String contextString = rs.getString(ClientTableColumnsName.UNDO_LOG_CONTEXT);
-                    Map<String, String> context = parseContext(contextString);
-                    byte[] rollbackInfo = getRollbackInfo(rs);
-
-                    String serializer = context == null ? null : context.get(UndoLogConstants.SERIALIZER_KEY);
-                    UndoLogParser parser = serializer == null ? UndoLogParserFactory.getInstance()
-                            : UndoLogParserFactory.getInstance(serializer);
-                    BranchUndoLog branchUndoLog = parser.decode(rollbackInfo);
-
-                    try {
-                        // put serializer name to local
-                        setCurrentSerializer(parser.getName());
-                        List<SQLUndoLog> sqlUndoLogs = branchUndoLog.getSqlUndoLogs();
-                        if (sqlUndoLogs.size() > 1) {
-                            Collections.reverse(sqlUndoLogs);
-                        }
-                        for (SQLUndoLog sqlUndoLog : sqlUndoLogs) {
-                            TableMeta tableMeta = TableMetaCacheFactory.getTableMetaCache(dataSourceProxy.getDbType()).getTableMeta(
-                                    conn, sqlUndoLog.getTableName(), dataSourceProxy.getResourceId());
-                            sqlUndoLog.setTableMeta(tableMeta);
-                            AbstractUndoExecutor undoExecutor = UndoExecutorFactory.getUndoExecutor(
-                                    dataSourceProxy.getDbType(), sqlUndoLog);
-                            undoExecutor.executeOn(connectionProxy);
-                        }
-                    } finally {
-                        // remove serializer name
-                        removeCurrentSerializer();
-                    }
+                    replayUndoLog(dataSourceProxy, connectionProxy, rs);
                 }
 
                 // If undo_log exists, it means that the branch transaction has completed the first phase,
@@ -439,6 +414,116 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
         }
     }
 
+    private void replayUndoLog(DataSourceProxy dataSourceProxy, ConnectionProxy connectionProxy, ResultSet rs)
+        throws SQLException {
+        Connection conn = connectionProxy.getTargetConnection();
+        String contextString = rs.getString(ClientTableColumnsName.UNDO_LOG_CONTEXT);
+        Map<String, String> context = parseContext(contextString);
+        byte[] rollbackInfo = getRollbackInfo(rs);
+
+        String serializer = context == null ? null : context.get(UndoLogConstants.SERIALIZER_KEY);
+        UndoLogParser parser = serializer == null ? UndoLogParserFactory.getInstance()
+                : UndoLogParserFactory.getInstance(serializer);
+
+        try {
+            // put serializer name to local
+            setCurrentSerializer(parser.getName());
+            // rollbackInfo is the whole decompressed undo log, only the decoded sql undo logs are materialized lazily
+            Iterator<SQLUndoLog> sqlUndoLogs = parser.decodeReversed(rollbackInfo);
+            while (sqlUndoLogs.hasNext()) {
+                SQLUndoLog sqlUndoLog = sqlUndoLogs.next();
+                TableMeta tableMeta = TableMetaCacheFactory.getTableMetaCache(dataSourceProxy.getDbType()).getTableMeta(
+                        conn, sqlUndoLog.getTableName(), dataSourceProxy.getResourceId());
+                sqlUndoLog.setTableMeta(tableMeta);
+                AbstractUndoExecutor undoExecutor = UndoExecutorFactory.getUndoExecutor(
+                        dataSourceProxy.getDbType(), sqlUndoLog);
+                undoExecutor.executeOn(connectionProxy);
+            }
+        } finally {
+            // remove serializer name
+            removeCurrentSerializer();
+        }
+    }
+
+    /**
+     * Undo several branches of one resource in a single local transaction on the given connection, the undo logs
+     * of all of them are looked up with one query. If anything fails the local transaction is rolled back and the
+     * exception is thrown, so the caller can fall back to {@link #undo(DataSourceProxy, String, long)} branch by branch.
+     *
+     * @param dataSourceProxy the data source proxy
+     * @param connectionProxy a connection of the data source, left open for the caller to reuse
+     * @param branches        the xid of each branch id
+     * @throws SQLException the sql exception
+     */
+    public void batchUndo(DataSourceProxy dataSourceProxy, ConnectionProxy connectionProxy, Map<Long, String> branches)
+        throws SQLException {
+        Connection conn = connectionProxy.getTargetConnection();
+        boolean originalAutoCommit = conn.getAutoCommit();
+        try {
+            // The entire undo process should run in a local transaction.
+            if (originalAutoCommit) {
+                conn.setAutoCommit(false);
+            }
+            Set<Long> existing = new HashSet<>();
+            Set<Long> ignored = new HashSet<>();
+            try (PreparedStatement selectPST = conn.prepareStatement(buildBatchSelectUndoSql(branches.size()))) {
+                int paramsIndex = 1;
+                for (Long branchId : branches.keySet()) {
+                    selectPST.setLong(paramsIndex++, branchId);
+                }
+                try (ResultSet rs = selectPST.executeQuery()) {
+                    while (rs.next()) {
+                        long branchId = rs.getLong(ClientTableColumnsName.UNDO_LOG_BRANCH_XID);
+                        String xid = rs.getString(ClientTableColumnsName.UNDO_LOG_XID);
+                        // rows of sub rollback info are read by getRollbackInfo of their main row
+                        if (!StringUtils.equals(xid, branches.get(branchId))) {
+                            continue;
+                        }
+                        existing.add(branchId);
+                        int state = rs.getInt(ClientTableColumnsName.UNDO_LOG_LOG_STATUS);
+                        if (!canUndo(state)) {
+                            if (LOGGER.isInfoEnabled()) {
+                                LOGGER.info("xid {} branch {}, ignore {} undo_log", xid, branchId, state);
+                            }
+                            ignored.add(branchId);
+                            continue;
+                        }
+                        replayUndoLog(dataSourceProxy, connectionProxy, rs);
+                    }
+                }
+            }
+            for (Map.Entry<Long, String> branch : branches.entrySet()) {
+                long branchId = branch.getKey();
+                if (ignored.contains(branchId)) {
+                    continue;
+                }
+                if (existing.contains(branchId)) {
+                    deleteUndoLog(branch.getValue(), branchId, conn);
+                } else {
+                    insertUndoLogWithGlobalFinished(branch.getValue(), branchId, UndoLogParserFactory.getInstance(), conn);
+                }
+            }
+            conn.commit();
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("branches {} undone, undo_log deleted with {}", branches.keySet(), State.GlobalFinished.name());
+            }
+        } catch (Throwable e) {
+            try {
+                conn.rollback();
+            } catch (SQLException rollbackEx) {
+                LOGGER.warn("Failed to rollback JDBC resource while batch undo ... ", rollbackEx);
+            }
+            if (e instanceof SQLException) {
+                throw (SQLException) e;
+            }
+            throw new SQLException(e);
+        } finally {
+            if (originalAutoCommit) {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
     /**
      * Construct a lock query sql
      *
@@ -448,6 +533,21 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
         return SELECT_UNDO_LOG_SQL;
     }
 
+    /**
+     * Construct a lock query sql for several branches
+     *
+     * @param branchIdSize the number of branch ids
+     * @return sql
+     */
+    protected String buildBatchSelectUndoSql(int branchIdSize) {
+        StringBuilder sqlBuilder = new StringBuilder(64);
+        sqlBuilder.append("SELECT * FROM ").append(UNDO_LOG_TABLE_NAME).append(" WHERE ").append(
+                ClientTableColumnsName.UNDO_LOG_BRANCH_XID).append(" IN ");
+        appendInParam(branchIdSize, sqlBuilder);
+        sqlBuilder.append("FOR UPDATE");
+        return sqlBuilder.toString();
+    }
+
     /**
      * insert uodo log when global finished
      *
@@ -18,6 +18,8 @@ package org.apache.seata.rm.datasource.undo;
 
 import java.util.List;
 
+import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+
 /**
  * The type Branch undo log.
  *
@@ -85,4 +87,23 @@ public class BranchUndoLog implements java.io.Serializable {
     public void setSqlUndoLogs(List<SQLUndoLog> sqlUndoLogs) {
         this.sqlUndoLogs = sqlUndoLogs;
     }
+
+    /**
+     * Create the row views of column-oriented images, parsers that serialize fields directly need them.
+     *
+     * @see TableRecords#materializeRows()
+     */
+    public void materializeRows() {
+        if (sqlUndoLogs == null) {
+            return;
+        }
+        for (SQLUndoLog sqlUndoLog : sqlUndoLogs) {
+            if (sqlUndoLog.getBeforeImage() != null) {
+                sqlUndoLog.getBeforeImage().materializeRows();
+            }
+            if (sqlUndoLog.getAfterImage() != null) {
+                sqlUndoLog.getAfterImage().materializeRows();
+            }
+        }
+    }
 }
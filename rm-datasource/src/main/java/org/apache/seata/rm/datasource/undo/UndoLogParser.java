@@ -16,6 +16,10 @@
  */
 package org.apache.seata.rm.datasource.undo;
 
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * The interface Undo log parser.
  *
@@ -51,4 +55,23 @@ public interface UndoLogParser {
      * @return the branch undo log
      */
     BranchUndoLog decode(byte[] bytes);
+
+    /**
+     * Decode the sql undo logs of a byte array in the order they have to be undone, that is last statement first.
+     * Parsers that can locate single entries decode them lazily, so only one of them is materialized at a time.
+     * The bytes themselves are the whole decompressed undo log, they are held for the duration of the rollback.
+     *
+     * @param bytes the byte array
+     * @return the sql undo logs, last one first
+     */
+    default Iterator<SQLUndoLog> decodeReversed(byte[] bytes) {
+        List<SQLUndoLog> sqlUndoLogs = decode(bytes).getSqlUndoLogs();
+        if (sqlUndoLogs == null) {
+            return Collections.emptyIterator();
+        }
+        if (sqlUndoLogs.size() > 1) {
+            Collections.reverse(sqlUndoLogs);
+        }
+        return sqlUndoLogs.iterator();
+    }
 }
@@ -75,6 +75,17 @@ public class MySQLUndoInsertExecutor extends AbstractUndoExecutor {
         return String.format(DELETE_SQL_TEMPLATE, sqlUndoLog.getTableName(), whereSql);
     }
 
+    /**
+     * DELETE FROM a WHERE (pk) in ((?),(?))
+     */
+    @Override
+    protected String buildMultiRowUndoSQL(TableRecords undoRows, int rowCount) throws SQLException {
+        List<String> pkNameList = getOrderedPkList(undoRows, undoRows.getRows().get(0), JdbcConstants.MYSQL).stream().map(
+            e -> e.getName()).collect(Collectors.toList());
+        String whereSql = SqlGenerateUtils.buildWhereConditionByPKs(pkNameList, rowCount, JdbcConstants.MYSQL);
+        return String.format(DELETE_SQL_TEMPLATE, sqlUndoLog.getTableName(), whereSql);
+    }
+
     /**
      * Instantiates a new My sql undo insert executor.
      *
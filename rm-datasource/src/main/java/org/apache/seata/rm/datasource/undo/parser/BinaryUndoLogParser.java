@@ -0,0 +1,877 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.undo.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Ref;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+import javax.sql.rowset.serial.SerialRef;
+
+import org.apache.seata.common.loader.LoadLevel;
+import org.apache.seata.rm.datasource.sql.serial.SerialArray;
+import org.apache.seata.rm.datasource.sql.struct.Field;
+import org.apache.seata.rm.datasource.sql.struct.KeyType;
+import org.apache.seata.rm.datasource.sql.struct.Row;
+import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+import org.apache.seata.rm.datasource.undo.BranchUndoLog;
+import org.apache.seata.rm.datasource.undo.SQLUndoLog;
+import org.apache.seata.rm.datasource.undo.UndoLogParser;
+import org.apache.seata.sqlparser.SQLType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A compact binary undo log parser.
+ * <p>
+ * Table and column names are written once per branch undo log into a string dictionary and referenced by index
+ * afterwards, the column layout of an image is written once and only repeated when a row differs from it,
+ * JDBC types and integral values are varint encoded and values are tagged by their Java type.
+ * Values of any other serializable JDK type, the other {@code javax.sql.rowset.serial} wrappers and {@link SerialArray}
+ * fall back to JDK serialization, application types are rejected on encode.
+ * Rollback decodes the entries lazily, last one first, see {@link #decodeReversed(byte[])}.
+ */
+@LoadLevel(name = BinaryUndoLogParser.NAME)
+public class BinaryUndoLogParser implements UndoLogParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryUndoLogParser.class);
+
+    public static final String NAME = "binary";
+
+    private static final byte VERSION = 1;
+
+    private static final byte RECORDS_NULL = 0;
+    private static final byte RECORDS_TABLE = 1;
+    private static final byte RECORDS_EMPTY = 2;
+
+    private static final byte LAYOUT_SAME = 0;
+    private static final byte LAYOUT_NEW = 1;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_INT = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_SHORT = 3;
+    private static final byte TAG_BYTE = 4;
+    private static final byte TAG_TRUE = 5;
+    private static final byte TAG_FALSE = 6;
+    private static final byte TAG_DOUBLE = 7;
+    private static final byte TAG_FLOAT = 8;
+    private static final byte TAG_STRING = 9;
+    private static final byte TAG_BIG_DECIMAL = 10;
+    private static final byte TAG_BIG_INTEGER = 11;
+    private static final byte TAG_TIMESTAMP = 12;
+    private static final byte TAG_SQL_DATE = 13;
+    private static final byte TAG_SQL_TIME = 14;
+    private static final byte TAG_DATE = 15;
+    private static final byte TAG_BYTES = 16;
+    private static final byte TAG_BLOB = 17;
+    private static final byte TAG_CLOB = 18;
+    private static final byte TAG_LOCAL_DATE_TIME = 19;
+    private static final byte TAG_LOCAL_DATE = 20;
+    private static final byte TAG_LOCAL_TIME = 21;
+    private static final byte TAG_OFFSET_DATE_TIME = 22;
+    private static final byte TAG_SERIALIZABLE = 23;
+    private static final byte TAG_REF = 24;
+
+    /**
+     * JDK serialized values may only be classes of the JDK or the serial wrappers the RM puts into images,
+     * rollback never deserializes application classes.
+     */
+    private static final ObjectInputFilter SERIALIZABLE_FILTER = ObjectInputFilter.Config.createFilter(
+        "maxdepth=32;java.base/*;java.sql/*;java.sql.rowset/*;" + SerialArray.class.getName() + ";!*");
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] getDefaultContent() {
+        return encode(new BranchUndoLog());
+    }
+
+    @Override
+    public byte[] encode(BranchUndoLog branchUndoLog) {
+        try {
+            Writer writer = new Writer();
+            writer.writeByte(VERSION);
+            writer.writeString(branchUndoLog.getXid());
+            writer.writeVarLong(branchUndoLog.getBranchId());
+            List<SQLUndoLog> sqlUndoLogs = branchUndoLog.getSqlUndoLogs();
+            if (sqlUndoLogs == null) {
+                writer.writeVarInt(0);
+            } else {
+                writer.writeVarInt(sqlUndoLogs.size() + 1);
+                for (SQLUndoLog sqlUndoLog : sqlUndoLogs) {
+                    SQLType sqlType = sqlUndoLog.getSqlType();
+                    writer.writeVarInt(sqlType == null ? 0 : sqlType.value() + 1);
+                    writer.writeName(sqlUndoLog.getTableName());
+                    writeRecords(writer, sqlUndoLog.getBeforeImage());
+                    writeRecords(writer, sqlUndoLog.getAfterImage());
+                }
+            }
+            return writer.toByteArray();
+        } catch (IOException | SQLException e) {
+            LOGGER.error("binary encode exception, {}", e.getMessage(), e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public BranchUndoLog decode(byte[] bytes) {
+        try {
+            Reader reader = new Reader(bytes);
+            BranchUndoLog branchUndoLog = new BranchUndoLog();
+            readHeader(reader, branchUndoLog);
+            int size = reader.readVarInt() - 1;
+            if (size >= 0) {
+                List<SQLUndoLog> sqlUndoLogs = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    sqlUndoLogs.add(readSqlUndoLog(reader));
+                }
+                branchUndoLog.setSqlUndoLogs(sqlUndoLogs);
+            }
+            return branchUndoLog;
+        } catch (IOException | ClassNotFoundException | SQLException | RuntimeException e) {
+            LOGGER.error("binary decode exception, {}", e.getMessage(), e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Skim over the entries once to find where each of them starts, then decode them one by one from the last,
+     * so a rollback holds the whole serialized undo log but decodes only a single sql undo log of it at a time.
+     */
+    @Override
+    public Iterator<SQLUndoLog> decodeReversed(byte[] bytes) {
+        Reader reader = new Reader(bytes);
+        int[] offsets;
+        try {
+            readHeader(reader, new BranchUndoLog());
+            int size = reader.readVarInt() - 1;
+            if (size <= 0) {
+                return Collections.emptyIterator();
+            }
+            offsets = new int[size];
+            for (int i = 0; i < size; i++) {
+                offsets[i] = reader.pos;
+                skipSqlUndoLog(reader);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("binary decode exception, {}", e.getMessage(), e);
+            throw e;
+        }
+        return new Iterator<SQLUndoLog>() {
+
+            private int next = offsets.length - 1;
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public SQLUndoLog next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                reader.pos = offsets[next--];
+                try {
+                    return readSqlUndoLog(reader);
+                } catch (IOException | ClassNotFoundException | SQLException | RuntimeException e) {
+                    LOGGER.error("binary decode exception, {}", e.getMessage(), e);
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
+
+    private static void readHeader(Reader reader, BranchUndoLog branchUndoLog) {
+        byte version = reader.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported binary undo log version: " + version);
+        }
+        branchUndoLog.setXid(reader.readString());
+        branchUndoLog.setBranchId(reader.readVarLong());
+    }
+
+    private static SQLUndoLog readSqlUndoLog(Reader reader) throws IOException, ClassNotFoundException, SQLException {
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        int sqlType = reader.readVarInt();
+        if (sqlType > 0) {
+            sqlUndoLog.setSqlType(SQLType.valueOf(sqlType - 1));
+        }
+        sqlUndoLog.setTableName(reader.readName());
+        sqlUndoLog.setBeforeImage(readRecords(reader));
+        sqlUndoLog.setAfterImage(readRecords(reader));
+        return sqlUndoLog;
+    }
+
+    private static void skipSqlUndoLog(Reader reader) {
+        reader.readVarInt();
+        reader.readName();
+        skipRecords(reader);
+        skipRecords(reader);
+    }
+
+    private static void skipRecords(Reader reader) {
+        byte kind = reader.readByte();
+        if (kind == RECORDS_NULL) {
+            return;
+        }
+        reader.readName();
+        if (kind == RECORDS_EMPTY) {
+            return;
+        }
+        int rowCount = reader.readVarInt();
+        int fieldCount = -1;
+        for (int r = 0; r < rowCount; r++) {
+            if (reader.readByte() == LAYOUT_NEW) {
+                fieldCount = reader.readVarInt();
+                for (int i = 0; i < fieldCount; i++) {
+                    // names are still read, the dictionary has to know them when the entries are decoded later on
+                    reader.readName();
+                    reader.readVarInt();
+                    reader.readVarLong();
+                }
+            } else if (fieldCount < 0) {
+                throw new IllegalArgumentException("binary undo log row refers to a missing column layout");
+            }
+            for (int i = 0; i < fieldCount; i++) {
+                skipValue(reader);
+            }
+        }
+    }
+
+    private static void writeRecords(Writer writer, TableRecords records) throws IOException, SQLException {
+        if (records == null) {
+            writer.writeByte(RECORDS_NULL);
+            return;
+        }
+        if (records instanceof TableRecords.EmptyTableRecords) {
+            writer.writeByte(RECORDS_EMPTY);
+            writer.writeName(records.getTableName());
+            return;
+        }
+        writer.writeByte(RECORDS_TABLE);
+        writer.writeName(records.getTableName());
+        List<Row> rows = records.getRows();
+        writer.writeVarInt(rows.size());
+        List<Field> layout = null;
+        for (Row row : rows) {
+            List<Field> fields = row.getFields();
+            if (layout != null && sameLayout(layout, fields)) {
+                writer.writeByte(LAYOUT_SAME);
+            } else {
+                layout = fields;
+                writer.writeByte(LAYOUT_NEW);
+                writer.writeVarInt(fields.size());
+                for (Field field : fields) {
+                    writer.writeName(field.getName());
+                    writer.writeVarInt(field.getKeyType() == null ? 0 : field.getKeyType().getCode() + 1);
+                    writer.writeVarLong(field.getType());
+                }
+            }
+            for (Field field : fields) {
+                writeValue(writer, field.getValue());
+            }
+        }
+    }
+
+    private static boolean sameLayout(List<Field> layout, List<Field> fields) {
+        int size = layout.size();
+        if (size != fields.size()) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            Field expected = layout.get(i);
+            Field actual = fields.get(i);
+            if (expected.getType() != actual.getType() || expected.getKeyType() != actual.getKeyType()
+                || !Objects.equals(expected.getName(), actual.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static TableRecords readRecords(Reader reader) throws IOException, ClassNotFoundException, SQLException {
+        byte kind = reader.readByte();
+        if (kind == RECORDS_NULL) {
+            return null;
+        }
+        TableRecords records = kind == RECORDS_EMPTY ? new TableRecords.EmptyTableRecords() : new TableRecords();
+        records.setTableName(reader.readName());
+        if (kind == RECORDS_EMPTY) {
+            return records;
+        }
+        int rowCount = reader.readVarInt();
+        List<Row> rows = new ArrayList<>(rowCount);
+        String[] names = null;
+        KeyType[] keyTypes = null;
+        int[] types = null;
+        for (int r = 0; r < rowCount; r++) {
+            if (reader.readByte() == LAYOUT_NEW) {
+                int fieldCount = reader.readVarInt();
+                names = new String[fieldCount];
+                keyTypes = new KeyType[fieldCount];
+                types = new int[fieldCount];
+                for (int i = 0; i < fieldCount; i++) {
+                    names[i] = reader.readName();
+                    int keyType = reader.readVarInt();
+                    keyTypes[i] = keyType == 0 ? null : KeyType.valueOf(keyType - 1);
+                    types[i] = (int) reader.readVarLong();
+                }
+            } else if (names == null) {
+                throw new IllegalArgumentException("binary undo log row refers to a missing column layout");
+            }
+            List<Field> fields = new ArrayList<>(names.length);
+            for (int i = 0; i < names.length; i++) {
+                Field field = new Field(names[i], types[i], readValue(reader));
+                field.setKeyType(keyTypes[i]);
+                fields.add(field);
+            }
+            Row row = new Row();
+            row.setFields(fields);
+            rows.add(row);
+        }
+        records.setRows(rows);
+        return records;
+    }
+
+    private static void writeValue(Writer writer, Object value) throws IOException, SQLException {
+        if (value == null) {
+            writer.writeByte(TAG_NULL);
+            return;
+        }
+        Class<?> clazz = value.getClass();
+        if (clazz == Integer.class) {
+            writer.writeByte(TAG_INT);
+            writer.writeVarLong((Integer) value);
+        } else if (clazz == Long.class) {
+            writer.writeByte(TAG_LONG);
+            writer.writeVarLong((Long) value);
+        } else if (clazz == String.class) {
+            writer.writeByte(TAG_STRING);
+            writer.writeString((String) value);
+        } else if (clazz == BigDecimal.class) {
+            BigDecimal decimal = (BigDecimal) value;
+            writer.writeByte(TAG_BIG_DECIMAL);
+            writer.writeVarLong(decimal.scale());
+            writer.writeBytes(decimal.unscaledValue().toByteArray());
+        } else if (clazz == Timestamp.class) {
+            Timestamp timestamp = (Timestamp) value;
+            writer.writeByte(TAG_TIMESTAMP);
+            writer.writeVarLong(timestamp.getTime());
+            writer.writeVarLong(timestamp.getNanos());
+        } else if (clazz == Short.class) {
+            writer.writeByte(TAG_SHORT);
+            writer.writeVarLong((Short) value);
+        } else if (clazz == Byte.class) {
+            writer.writeByte(TAG_BYTE);
+            writer.writeByte((Byte) value);
+        } else if (clazz == Boolean.class) {
+            writer.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+        } else if (clazz == Double.class) {
+            writer.writeByte(TAG_DOUBLE);
+            writer.writeLong(Double.doubleToRawLongBits((Double) value));
+        } else if (clazz == Float.class) {
+            writer.writeByte(TAG_FLOAT);
+            writer.writeInt(Float.floatToRawIntBits((Float) value));
+        } else if (clazz == BigInteger.class) {
+            writer.writeByte(TAG_BIG_INTEGER);
+            writer.writeBytes(((BigInteger) value).toByteArray());
+        } else if (clazz == java.sql.Date.class) {
+            writer.writeByte(TAG_SQL_DATE);
+            writer.writeVarLong(((java.sql.Date) value).getTime());
+        } else if (clazz == Time.class) {
+            writer.writeByte(TAG_SQL_TIME);
+            writer.writeVarLong(((Time) value).getTime());
+        } else if (clazz == java.util.Date.class) {
+            writer.writeByte(TAG_DATE);
+            writer.writeVarLong(((java.util.Date) value).getTime());
+        } else if (clazz == byte[].class) {
+            writer.writeByte(TAG_BYTES);
+            writer.writeBytes((byte[]) value);
+        } else if (clazz == SerialBlob.class) {
+            SerialBlob blob = (SerialBlob) value;
+            writer.writeByte(TAG_BLOB);
+            writer.writeBytes(blob.getBytes(1, (int) blob.length()));
+        } else if (clazz == SerialClob.class) {
+            SerialClob clob = (SerialClob) value;
+            writer.writeByte(TAG_CLOB);
+            writer.writeString(clob.getSubString(1, (int) clob.length()));
+        } else if (clazz == LocalDateTime.class) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            writer.writeByte(TAG_LOCAL_DATE_TIME);
+            writer.writeVarLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            writer.writeVarLong(dateTime.getNano());
+        } else if (clazz == LocalDate.class) {
+            writer.writeByte(TAG_LOCAL_DATE);
+            writer.writeVarLong(((LocalDate) value).toEpochDay());
+        } else if (clazz == LocalTime.class) {
+            writer.writeByte(TAG_LOCAL_TIME);
+            writer.writeVarLong(((LocalTime) value).toNanoOfDay());
+        } else if (clazz == OffsetDateTime.class) {
+            OffsetDateTime dateTime = (OffsetDateTime) value;
+            writer.writeByte(TAG_OFFSET_DATE_TIME);
+            writer.writeVarLong(dateTime.toEpochSecond());
+            writer.writeVarLong(dateTime.getNano());
+            writer.writeVarLong(dateTime.getOffset().getTotalSeconds());
+        } else if (clazz == SerialRef.class) {
+            // a SerialRef keeps the driver's Ref, only its type name and referenced value are written
+            SerialRef ref = (SerialRef) value;
+            writer.writeByte(TAG_REF);
+            writer.writeString(ref.getBaseTypeName());
+            writeValue(writer, ref.getObject());
+        } else if (value instanceof Serializable) {
+            writer.writeByte(TAG_SERIALIZABLE);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new JdkObjectOutputStream(bytes)) {
+                out.writeObject(value);
+            }
+            writer.writeBytes(bytes.toByteArray());
+        } else {
+            throw new IllegalArgumentException("binary undo log parser can not encode value of type " + clazz.getName());
+        }
+    }
+
+    /**
+     * Fails to write any object graph the rollback could not read back through {@link #SERIALIZABLE_FILTER}.
+     */
+    private static final class JdkObjectOutputStream extends ObjectOutputStream {
+
+        JdkObjectOutputStream(OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) {
+            if (!isAllowedClass(obj.getClass())) {
+                throw new IllegalArgumentException(
+                    "binary undo log parser can not encode value of type " + obj.getClass().getName());
+            }
+            return obj;
+        }
+    }
+
+    private static boolean isAllowedClass(Class<?> clazz) {
+        while (clazz.isArray()) {
+            clazz = clazz.getComponentType();
+        }
+        if (clazz == SerialArray.class) {
+            return true;
+        }
+        String module = clazz.getModule().getName();
+        return "java.base".equals(module) || "java.sql".equals(module) || "java.sql.rowset".equals(module);
+    }
+
+    private static void skipValue(Reader reader) {
+        byte tag = reader.readByte();
+        switch (tag) {
+            case TAG_NULL:
+            case TAG_TRUE:
+            case TAG_FALSE:
+                break;
+            case TAG_BYTE:
+                reader.pos++;
+                break;
+            case TAG_DOUBLE:
+                reader.pos += 8;
+                break;
+            case TAG_FLOAT:
+                reader.pos += 4;
+                break;
+            case TAG_INT:
+            case TAG_LONG:
+            case TAG_SHORT:
+            case TAG_SQL_DATE:
+            case TAG_SQL_TIME:
+            case TAG_DATE:
+            case TAG_LOCAL_DATE:
+            case TAG_LOCAL_TIME:
+                reader.readVarLong();
+                break;
+            case TAG_TIMESTAMP:
+            case TAG_LOCAL_DATE_TIME:
+                reader.readVarLong();
+                reader.readVarLong();
+                break;
+            case TAG_OFFSET_DATE_TIME:
+                reader.readVarLong();
+                reader.readVarLong();
+                reader.readVarLong();
+                break;
+            case TAG_STRING:
+            case TAG_CLOB:
+                reader.skipString();
+                break;
+            case TAG_BIG_DECIMAL:
+                reader.readVarLong();
+                reader.skipBytes();
+                break;
+            case TAG_BIG_INTEGER:
+            case TAG_BYTES:
+            case TAG_BLOB:
+            case TAG_SERIALIZABLE:
+                reader.skipBytes();
+                break;
+            case TAG_REF:
+                reader.skipString();
+                skipValue(reader);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown binary undo log value tag: " + tag);
+        }
+    }
+
+    private static Object readValue(Reader reader) throws IOException, ClassNotFoundException, SQLException {
+        byte tag = reader.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_INT:
+                return (int) reader.readVarLong();
+            case TAG_LONG:
+                return reader.readVarLong();
+            case TAG_SHORT:
+                return (short) reader.readVarLong();
+            case TAG_BYTE:
+                return reader.readByte();
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_DOUBLE:
+                return Double.longBitsToDouble(reader.readLong());
+            case TAG_FLOAT:
+                return Float.intBitsToFloat(reader.readInt());
+            case TAG_STRING:
+                return reader.readString();
+            case TAG_BIG_DECIMAL:
+                int scale = (int) reader.readVarLong();
+                return new BigDecimal(new BigInteger(reader.readBytes()), scale);
+            case TAG_BIG_INTEGER:
+                return new BigInteger(reader.readBytes());
+            case TAG_TIMESTAMP:
+                Timestamp timestamp = new Timestamp(reader.readVarLong());
+                timestamp.setNanos((int) reader.readVarLong());
+                return timestamp;
+            case TAG_SQL_DATE:
+                return new java.sql.Date(reader.readVarLong());
+            case TAG_SQL_TIME:
+                return new Time(reader.readVarLong());
+            case TAG_DATE:
+                return new java.util.Date(reader.readVarLong());
+            case TAG_BYTES:
+                return reader.readBytes();
+            case TAG_BLOB:
+                return new SerialBlob(reader.readBytes());
+            case TAG_CLOB:
+                return new SerialClob(reader.readString().toCharArray());
+            case TAG_LOCAL_DATE_TIME:
+                long epochSecond = reader.readVarLong();
+                return LocalDateTime.ofEpochSecond(epochSecond, (int) reader.readVarLong(), ZoneOffset.UTC);
+            case TAG_LOCAL_DATE:
+                return LocalDate.ofEpochDay(reader.readVarLong());
+            case TAG_LOCAL_TIME:
+                return LocalTime.ofNanoOfDay(reader.readVarLong());
+            case TAG_OFFSET_DATE_TIME:
+                long seconds = reader.readVarLong();
+                int nanos = (int) reader.readVarLong();
+                ZoneOffset offset = ZoneOffset.ofTotalSeconds((int) reader.readVarLong());
+                return OffsetDateTime.of(LocalDateTime.ofEpochSecond(seconds, nanos, offset), offset);
+            case TAG_SERIALIZABLE:
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(reader.readBytes()))) {
+                    in.setObjectInputFilter(SERIALIZABLE_FILTER);
+                    return in.readObject();
+                }
+            case TAG_REF:
+                String baseTypeName = reader.readString();
+                return new SerialRef(new DecodedRef(baseTypeName, readValue(reader)));
+            default:
+                throw new IllegalArgumentException("unknown binary undo log value tag: " + tag);
+        }
+    }
+
+    /**
+     * The {@link Ref} a decoded {@link SerialRef} is built from.
+     */
+    private static final class DecodedRef implements Ref {
+
+        private final String baseTypeName;
+
+        private Object object;
+
+        DecodedRef(String baseTypeName, Object object) {
+            this.baseTypeName = baseTypeName;
+            this.object = object;
+        }
+
+        @Override
+        public String getBaseTypeName() {
+            return baseTypeName;
+        }
+
+        @Override
+        public Object getObject(Map<String, Class<?>> map) {
+            return object;
+        }
+
+        @Override
+        public Object getObject() {
+            return object;
+        }
+
+        @Override
+        public void setObject(Object value) {
+            this.object = value;
+        }
+    }
+
+    /**
+     * Growable output buffer, names go through a dictionary local to one branch undo log.
+     */
+    private static final class Writer {
+
+        private final Map<String, Integer> names = new HashMap<>();
+
+        private byte[] buf = new byte[256];
+
+        private int pos;
+
+        void writeByte(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        void writeVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        /**
+         * zigzag varint, so small negative values stay short
+         */
+        void writeVarLong(long value) {
+            ensure(10);
+            long v = (value << 1) ^ (value >> 63);
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buf[pos++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[pos++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarInt(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        /**
+         * 0 for null, otherwise the dictionary index plus one, followed by the name the first time it is used
+         */
+        void writeName(String name) {
+            if (name == null) {
+                writeVarInt(0);
+                return;
+            }
+            Integer index = names.get(name);
+            if (index != null) {
+                writeVarInt(index + 1);
+                return;
+            }
+            index = names.size();
+            names.put(name, index);
+            writeVarInt(index + 1);
+            writeString(name);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        private void ensure(int size) {
+            if (pos + size > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + size));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final List<String> names = new ArrayList<>();
+
+        /**
+         * where each name is spelled out, entries decoded after a skim find their names already known
+         */
+        private final List<Integer> nameOffsets = new ArrayList<>();
+
+        private final byte[] buf;
+
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        byte readByte() {
+            return buf[pos++];
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = buf[pos++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        long readVarLong() {
+            long v = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = buf[pos++];
+                v |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        int readInt() {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (buf[pos++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buf[pos++] & 0xFF);
+            }
+            return value;
+        }
+
+        byte[] readBytes() {
+            int length = readVarInt();
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return bytes;
+        }
+
+        void skipBytes() {
+            int length = readVarInt();
+            pos += length;
+        }
+
+        void skipString() {
+            int length = readVarInt() - 1;
+            if (length > 0) {
+                pos += length;
+            }
+        }
+
+        String readString() {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        String readName() {
+            int index = readVarInt() - 1;
+            if (index < 0) {
+                return null;
+            }
+            if (index == names.size()) {
+                nameOffsets.add(pos);
+                names.add(readString());
+            } else if (nameOffsets.get(index) == pos) {
+                skipString();
+            }
+            return names.get(index);
+        }
+    }
+}
@@ -25,8 +25,12 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import javax.sql.rowset.serial.SerialBlob;
 import javax.sql.rowset.serial.SerialClob;
@@ -34,6 +38,7 @@ import javax.sql.rowset.serial.SerialException;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
@@ -57,6 +62,7 @@ import org.apache.seata.common.loader.EnhancedServiceNotFoundException;
 import org.apache.seata.common.loader.LoadLevel;
 import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.rm.datasource.undo.BranchUndoLog;
+import org.apache.seata.rm.datasource.undo.SQLUndoLog;
 import org.apache.seata.rm.datasource.undo.UndoLogParser;
 import org.apache.seata.rm.datasource.undo.parser.spi.JacksonSerializer;
 import org.slf4j.Logger;
@@ -77,6 +83,8 @@ public class JacksonUndoLogParser implements UndoLogParser, Initialize {
 
     private static final String VALUE_OF = "valueOf";
 
+    private static final String SQL_UNDO_LOGS = "sqlUndoLogs";
+
     /**
      * the zoneId for LocalDateTime
      */
@@ -223,6 +231,74 @@ public class JacksonUndoLogParser implements UndoLogParser, Initialize {
         }
     }
 
+    /**
+     * Stream over the sql undo logs once, skipping their content, to find where each of them starts and ends,
+     * then bind them one by one from the last, so a rollback holds the whole json but decodes a single sql undo
+     * log of it at a time.
+     */
+    @Override
+    public Iterator<SQLUndoLog> decodeReversed(byte[] bytes) {
+        if (Arrays.equals(bytes, getDefaultContent())) {
+            return Collections.emptyIterator();
+        }
+        List<int[]> ranges = new ArrayList<>();
+        try (JsonParser parser = mapper.getFactory().createParser(bytes)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "branch undo log is not a json object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (!SQL_UNDO_LOGS.equals(fieldName) || token != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                token = parser.nextToken();
+                // default typing wraps the list as [type id, [elements]]
+                boolean wrapped = token == JsonToken.VALUE_STRING;
+                if (wrapped) {
+                    parser.nextToken();
+                    token = parser.nextToken();
+                }
+                while (token == JsonToken.START_OBJECT) {
+                    int start = (int) parser.getTokenLocation().getByteOffset();
+                    parser.skipChildren();
+                    ranges.add(new int[] {start, (int) parser.getCurrentLocation().getByteOffset() - start});
+                    token = parser.nextToken();
+                }
+                if (wrapped) {
+                    parser.nextToken();
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("json decode exception, {}", e.getMessage(), e);
+            throw new RuntimeException(e);
+        }
+        return new Iterator<SQLUndoLog>() {
+
+            private int next = ranges.size() - 1;
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public SQLUndoLog next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                int[] range = ranges.get(next--);
+                try {
+                    return mapper.readValue(bytes, range[0], range[1], SQLUndoLog.class);
+                } catch (IOException e) {
+                    LOGGER.error("json decode exception, {}", e.getMessage(), e);
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
+
     /**
      * if necessary
      * extend {@link ArraySerializerBase}
@@ -92,6 +92,7 @@ public class ProtostuffUndoLogParser implements UndoLogParser, Initialize {
 
     @Override
     public byte[] encode(BranchUndoLog branchUndoLog) {
+        branchUndoLog.materializeRows();
         // Re-use (manage) this buffer to avoid allocating on every serialization
         LinkedBuffer buffer = LinkedBuffer.allocate(512);
         // ser
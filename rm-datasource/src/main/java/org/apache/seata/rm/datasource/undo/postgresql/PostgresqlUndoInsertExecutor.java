@@ -69,6 +69,17 @@ public class PostgresqlUndoInsertExecutor extends AbstractUndoExecutor {
         return String.format(DELETE_SQL_TEMPLATE, sqlUndoLog.getTableName(), whereSql);
     }
 
+    /**
+     * DELETE FROM a WHERE (pk) in ((?),(?))
+     */
+    @Override
+    protected String buildMultiRowUndoSQL(TableRecords undoRows, int rowCount) throws SQLException {
+        List<String> pkNameList = getOrderedPkList(undoRows, undoRows.getRows().get(0), JdbcConstants.POSTGRESQL).stream().map(
+            e -> e.getName()).collect(Collectors.toList());
+        String whereSql = SqlGenerateUtils.buildWhereConditionByPKs(pkNameList, rowCount, JdbcConstants.POSTGRESQL);
+        return String.format(DELETE_SQL_TEMPLATE, sqlUndoLog.getTableName(), whereSql);
+    }
+
     /**
      * Instantiates a new postgresql undo insert executor.
      *
@@ -105,6 +105,15 @@ public class SqlServerUndoLogManager extends AbstractUndoLogManager {
         return "SELECT * FROM " + UNDO_LOG_TABLE_NAME + " WITH(UPDLOCK) WHERE "
                 + ClientTableColumnsName.UNDO_LOG_BRANCH_XID + " = ? AND " + ClientTableColumnsName.UNDO_LOG_XID + " = ?";
     }
+
+    @Override
+    protected String buildBatchSelectUndoSql(int branchIdSize) {
+        StringBuilder sqlBuilder = new StringBuilder(64);
+        sqlBuilder.append("SELECT * FROM ").append(UNDO_LOG_TABLE_NAME).append(" WITH(UPDLOCK) WHERE ").append(
+                ClientTableColumnsName.UNDO_LOG_BRANCH_XID).append(" IN ");
+        appendInParam(branchIdSize, sqlBuilder);
+        return sqlBuilder.toString();
+    }
     
     @Override
     protected String getCheckUndoLogTableExistSql() {
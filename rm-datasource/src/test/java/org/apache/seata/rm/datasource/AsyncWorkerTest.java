@@ -20,6 +20,7 @@ import org.apache.seata.rm.datasource.AsyncWorker;
 import org.apache.seata.core.model.BranchStatus;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 
 import java.util.List;
 import java.util.Map;
@@ -58,6 +59,50 @@ class AsyncWorkerTest {
         }));
     }
 
+    @Test
+    void destroy() {
+        DataSourceManager dataSourceManager = Mockito.mock(DataSourceManager.class);
+        AsyncWorker destroyed = new AsyncWorker(dataSourceManager);
+        assertEquals(1000, destroyed.getDeleteLimitSize("unknown"));
+        destroyed.destroy();
+        assertDoesNotThrow(() -> destroyed.branchCommit("test", 1, "missing"));
+        // the dispatcher is stopped, the branch is not picked up any more
+        Mockito.verify(dataSourceManager, Mockito.after(1500).never()).get("missing");
+        assertEquals(1, destroyed.getQueueDepth());
+    }
+
+    @Test
+    void nextDeleteLimitSize() {
+        assertEquals(500, AsyncWorker.nextDeleteLimitSize(1000, 1000, 500));
+        assertEquals(100, AsyncWorker.nextDeleteLimitSize(150, 150, 500));
+        assertEquals(1250, AsyncWorker.nextDeleteLimitSize(1000, 1000, 10));
+        assertEquals(5000, AsyncWorker.nextDeleteLimitSize(4500, 4500, 10));
+        assertEquals(1000, AsyncWorker.nextDeleteLimitSize(1000, 10, 10));
+        assertEquals(1000, AsyncWorker.nextDeleteLimitSize(1000, 1000, 150));
+    }
+
+    @Test
+    void retryDelayMills() {
+        assertEquals(1000, AsyncWorker.retryDelayMills(1));
+        assertEquals(2000, AsyncWorker.retryDelayMills(2));
+        assertEquals(16000, AsyncWorker.retryDelayMills(5));
+        assertEquals(30000, AsyncWorker.retryDelayMills(6));
+        assertEquals(30000, AsyncWorker.retryDelayMills(100));
+    }
+
+    @Test
+    void failedContextsBackOff() {
+        DataSourceManager dataSourceManager = Mockito.mock(DataSourceManager.class);
+        AsyncWorker retrying = new AsyncWorker(dataSourceManager);
+        retrying.branchCommit("test", 1, "missing");
+        retrying.doBranchCommitSafely();
+        assertEquals(1, retrying.getQueueDepth());
+        // the retry is not due yet, so the missing resource is not looked up again
+        retrying.doBranchCommitSafely();
+        Mockito.verify(dataSourceManager, Mockito.times(1)).get("missing");
+        assertEquals(1, retrying.getQueueDepth());
+    }
+
     private List<AsyncWorker.Phase2Context> getRandomContexts() {
         return random.ints().limit(16)
                 .mapToObj(String::valueOf)
@@ -17,6 +17,7 @@
 package org.apache.seata.rm.datasource;
 
 import com.alibaba.druid.mock.MockSavepoint;
+import org.apache.seata.core.lock.StructuredLockKey;
 
 import org.apache.seata.rm.datasource.ConnectionContext;
 import org.apache.seata.rm.datasource.undo.SQLUndoLog;
@@ -45,6 +46,28 @@ public class ConnectionContextProxyTest {
         Assertions.assertEquals(connectionContext.buildLockKeys(), "bcd;abc");
     }
 
+    @Test
+    public void testBuildStructuredLockKeys() {
+        StructuredLockKey lockKey = new StructuredLockKey();
+        lockKey.addRow("t_user", "1");
+        lockKey.addRow("t_user", "2");
+        connectionContext.appendLockKey(lockKey);
+        StructuredLockKey lockKey2 = new StructuredLockKey();
+        lockKey2.addRow("t_user", "2");
+        lockKey2.addRow("t_order", "3");
+        connectionContext.appendLockKey(lockKey2);
+
+        Assertions.assertTrue(connectionContext.hasLockKey());
+        StructuredLockKey merged = connectionContext.buildStructuredLockKeys();
+        Assertions.assertEquals(3, merged.getRowCount());
+        Assertions.assertEquals("t_user:1,2;t_order:3", merged.toLockKeyString());
+
+        connectionContext.appendLockKey("t_item:4");
+        Assertions.assertNull(connectionContext.buildStructuredLockKeys());
+        connectionContext.reset();
+        Assertions.assertNull(connectionContext.buildStructuredLockKeys());
+    }
+
     @Test
     public void testAppendUndoItem() {
         SQLUndoLog sqlUndoLog = new SQLUndoLog();
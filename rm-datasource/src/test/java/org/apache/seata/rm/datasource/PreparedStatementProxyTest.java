@@ -134,6 +134,24 @@ public class PreparedStatementProxyTest {
         Assertions.assertEquals("xxx",  preparedStatementProxy.getParamsByIndex(1).get(0));
     }
 
+    @Test
+    public void testParametersReplayable() throws SQLException {
+        preparedStatementProxy.clearParameters();
+        preparedStatementProxy.setInt(1, 1);
+        preparedStatementProxy.setString(2, "xxx");
+        preparedStatementProxy.setObject(3, 1L);
+        Assertions.assertTrue(preparedStatementProxy.isParametersReplayable());
+
+        preparedStatementProxy.setObject(4, "{}", JDBCType.OTHER.getVendorTypeNumber());
+        Assertions.assertFalse(preparedStatementProxy.isParametersReplayable());
+        preparedStatementProxy.clearParameters();
+        Assertions.assertTrue(preparedStatementProxy.isParametersReplayable());
+
+        preparedStatementProxy.setNull(1, JDBCType.DECIMAL.getVendorTypeNumber());
+        Assertions.assertFalse(preparedStatementProxy.isParametersReplayable());
+        preparedStatementProxy.clearParameters();
+    }
+
     @Test
     public void testSetParam() throws SQLException, MalformedURLException {
         preparedStatementProxy.clearParameters();
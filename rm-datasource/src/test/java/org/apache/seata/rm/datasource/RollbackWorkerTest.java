@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.seata.core.exception.BranchTransactionException;
+import org.apache.seata.core.exception.TransactionExceptionCode;
+import org.apache.seata.rm.datasource.undo.UndoLogManager;
+import org.apache.seata.rm.datasource.undo.mysql.MySQLUndoLogManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RollbackWorkerTest {
+
+    private MySQLUndoLogManager undoLogManager;
+
+    private DataSourceProxy dataSourceProxy;
+
+    private final AtomicInteger undone = new AtomicInteger();
+
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void init() throws Exception {
+        undoLogManager = mock(MySQLUndoLogManager.class);
+        dataSourceProxy = mock(DataSourceProxy.class);
+        when(dataSourceProxy.getResourceId()).thenReturn("jdbc:mock:rollback");
+        when(dataSourceProxy.getConnection()).thenAnswer(invocation -> mock(ConnectionProxy.class));
+        doAnswer(invocation -> {
+            Thread.sleep(5);
+            undone.incrementAndGet();
+            return null;
+        }).when(undoLogManager).undo(any(DataSourceProxy.class), anyString(), anyLong());
+        doAnswer(invocation -> {
+            Thread.sleep(5);
+            Map<Long, String> branches = invocation.getArgument(2);
+            batchSizes.add(branches.size());
+            undone.addAndGet(branches.size());
+            return null;
+        }).when(undoLogManager).batchUndo(any(DataSourceProxy.class), any(ConnectionProxy.class), anyMap());
+    }
+
+    @Test
+    void branchRollbackWithoutBatch() throws Exception {
+        RollbackWorker worker = newWorker(1, 4);
+        worker.branchRollback(dataSourceProxy, "xid", 1L);
+        verify(undoLogManager).undo(dataSourceProxy, "xid", 1L);
+        verify(undoLogManager, never()).batchUndo(any(), any(), anyMap());
+    }
+
+    @Test
+    void concurrentBranchRollbackIsBatched() throws Exception {
+        RollbackWorker worker = newWorker(8, 2);
+        List<Future<?>> futures = rollbackConcurrently(worker, 64);
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        Assertions.assertEquals(64, undone.get());
+        Assertions.assertFalse(batchSizes.isEmpty());
+        for (Integer batchSize : batchSizes) {
+            Assertions.assertTrue(batchSize > 1 && batchSize <= 8);
+        }
+    }
+
+    @Test
+    void failedBatchFallsBackToSingleBranches() throws Exception {
+        doThrow(new SQLException("dirty")).when(undoLogManager).batchUndo(any(DataSourceProxy.class),
+            any(ConnectionProxy.class), anyMap());
+        doThrow(new BranchTransactionException(TransactionExceptionCode.BranchRollbackFailed_Unretriable, "dirty"))
+            .when(undoLogManager).undo(any(DataSourceProxy.class), eq("xid-3"), eq(3L));
+        RollbackWorker worker = newWorker(8, 1);
+        List<Future<?>> futures = rollbackConcurrently(worker, 16);
+        int failed = 0;
+        for (Future<?> future : futures) {
+            try {
+                future.get(10, TimeUnit.SECONDS);
+            } catch (java.util.concurrent.ExecutionException e) {
+                failed++;
+                Assertions.assertEquals(TransactionExceptionCode.BranchRollbackFailed_Unretriable,
+                    ((BranchTransactionException) e.getCause()).getCode());
+            }
+        }
+        Assertions.assertEquals(1, failed);
+        Assertions.assertEquals(15, undone.get());
+        verify(undoLogManager, times(16)).undo(any(DataSourceProxy.class), anyString(), anyLong());
+    }
+
+    private RollbackWorker newWorker(int batchSize, int parallelism) {
+        return new RollbackWorker(batchSize, parallelism) {
+            @Override
+            UndoLogManager getUndoLogManager(DataSourceProxy dataSourceProxy) {
+                return undoLogManager;
+            }
+        };
+    }
+
+    private List<Future<?>> rollbackConcurrently(RollbackWorker worker, int branches) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(branches);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(branches);
+        for (int i = 0; i < branches; i++) {
+            long branchId = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                worker.branchRollback(dataSourceProxy, "xid-" + branchId, branchId);
+                return null;
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        return futures;
+    }
+}
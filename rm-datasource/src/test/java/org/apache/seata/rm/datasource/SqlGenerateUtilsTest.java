@@ -16,13 +16,20 @@
  */
 package org.apache.seata.rm.datasource;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.seata.rm.datasource.SqlGenerateUtils;
+import org.apache.seata.rm.datasource.sql.struct.Field;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 
 
 class SqlGenerateUtilsTest {
@@ -40,4 +47,47 @@ class SqlGenerateUtilsTest {
                 + " )",
             result);
     }
+
+    @Test
+    void testPadRowSize() {
+        Assertions.assertEquals(0, SqlGenerateUtils.padRowSize(0));
+        Assertions.assertEquals(1, SqlGenerateUtils.padRowSize(1));
+        Assertions.assertEquals(2, SqlGenerateUtils.padRowSize(2));
+        Assertions.assertEquals(4, SqlGenerateUtils.padRowSize(3));
+        Assertions.assertEquals(8, SqlGenerateUtils.padRowSize(5));
+        Assertions.assertEquals(512, SqlGenerateUtils.padRowSize(512));
+        Assertions.assertEquals(640, SqlGenerateUtils.padRowSize(513));
+        Assertions.assertEquals(1024, SqlGenerateUtils.padRowSize(1001));
+        Assertions.assertEquals(2048, SqlGenerateUtils.padRowSize(2001));
+    }
+
+    @Test
+    void testPadRowSizeLimits() {
+        Assertions.assertEquals(512, SqlGenerateUtils.padRowSize(300, 4, "sqlserver"));
+        // 640 rows of 4 pk columns are more bind parameters than sql server accepts
+        Assertions.assertEquals(513, SqlGenerateUtils.padRowSize(513, 4, "sqlserver"));
+        Assertions.assertEquals(640, SqlGenerateUtils.padRowSize(513, 4, "mysql"));
+        // 1024 rows need a second in list
+        Assertions.assertEquals(1000, SqlGenerateUtils.padRowSize(1000, 1, "mysql"));
+        Assertions.assertEquals(2048, SqlGenerateUtils.padRowSize(2001, 1, "mysql"));
+        Assertions.assertEquals(15900, SqlGenerateUtils.padRowSize(15900, 3, "postgresql"));
+        Assertions.assertEquals(16000, SqlGenerateUtils.padRowSize(15900, 3, "mysql"));
+    }
+
+    @Test
+    void testSetParamForPkPadded() throws SQLException {
+        List<Map<String, Field>> pkRows = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Map<String, Field> row = new HashMap<>();
+            row.put("id", new Field("id", Types.INTEGER, i));
+            pkRows.add(row);
+        }
+        PreparedStatement pst = Mockito.mock(PreparedStatement.class);
+        SqlGenerateUtils.setParamForPk(pkRows, Collections.singletonList("id"), pst, 4);
+        Mockito.verify(pst).setObject(1, 1, Types.INTEGER);
+        Mockito.verify(pst).setObject(2, 2, Types.INTEGER);
+        Mockito.verify(pst).setObject(3, 3, Types.INTEGER);
+        Mockito.verify(pst).setObject(4, 3, Types.INTEGER);
+        Mockito.verifyNoMoreInteractions(pst);
+    }
 }
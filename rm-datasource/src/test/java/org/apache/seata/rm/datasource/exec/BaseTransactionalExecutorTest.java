@@ -17,6 +17,7 @@
 package org.apache.seata.rm.datasource.exec;
 
 import org.apache.seata.rm.datasource.exec.BaseTransactionalExecutor;
+import org.apache.seata.core.lock.StructuredLockKey;
 import org.apache.seata.core.model.GlobalLockConfig;
 import org.apache.seata.rm.GlobalLockExecutor;
 import org.apache.seata.rm.GlobalLockTemplate;
@@ -34,6 +35,8 @@ import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -116,6 +119,28 @@ public class BaseTransactionalExecutorTest {
         assertThat(executor.buildLockKey(tableRecords)).isEqualTo(buildLockKeyExpect);
     }
 
+    @Test
+    public void testBuildLockKeyWithIntegralPk() {
+        String tableName = "test_name";
+        TableMeta tableMeta = mock(TableMeta.class);
+        when(tableMeta.getTableName()).thenReturn(tableName);
+        when(tableMeta.getPrimaryKeyOnlyName()).thenReturn(Collections.singletonList("id"));
+        TableRecords tableRecords = mock(TableRecords.class);
+        when(tableRecords.getTableMeta()).thenReturn(tableMeta);
+        when(tableRecords.size()).thenReturn(3);
+        when(tableRecords.integralPkValues()).thenReturn(new long[] {1L, 2L, -3L});
+        BaseTransactionalExecutor executor = mock(BaseTransactionalExecutor.class);
+        when(executor.buildLockKey(tableRecords)).thenCallRealMethod();
+        when(executor.buildStructuredLockKey(tableRecords)).thenCallRealMethod();
+
+        assertThat(executor.buildLockKey(tableRecords)).isEqualTo("test_name:1,2,-3");
+        StructuredLockKey lockKey = executor.buildStructuredLockKey(tableRecords);
+        assertThat(lockKey.getRowCount()).isEqualTo(3);
+        assertThat(lockKey.getTables().get(tableName)).containsExactlyInAnyOrder("1", "2", "-3");
+        // the rows are not materialized into fields
+        verify(tableRecords, never()).pkRows();
+    }
+
     @Test
     public void testBuildLockKeyWithMultiPk() {
         //build expect data
@@ -20,12 +20,14 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -67,6 +69,7 @@ import org.mockito.Mockito;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -392,6 +395,36 @@ public class MySQLInsertExecutorTest {
         Assertions.assertTrue(pkValueMap.get(ID_COLUMN).isEmpty());
     }
 
+    @Test
+    public void testGetPkValuesByAuto_IntegralGeneratedKeys() throws SQLException {
+        doReturn(tableMeta).when(insertExecutor).getTableMeta();
+        ColumnMeta columnMeta = mock(ColumnMeta.class);
+        Map<String, ColumnMeta> columnMetaMap = new HashMap<>();
+        columnMetaMap.put(ID_COLUMN, columnMeta);
+        when(columnMeta.isAutoincrement()).thenReturn(true);
+        when(columnMeta.getDataType()).thenReturn(Types.BIGINT);
+        when(tableMeta.getPrimaryKeyMap()).thenReturn(columnMetaMap);
+        ResultSet genKeys = mock(ResultSet.class);
+        when(statementProxy.getGeneratedKeys()).thenReturn(genKeys);
+        when(genKeys.next()).thenReturn(true, true, false);
+        when(genKeys.getLong(1)).thenReturn(5L, 6L);
+        Map<String, List<Object>> pkValueMap = insertExecutor.getPkValuesByAuto();
+        Assertions.assertTrue(pkValueMap.get(ID_COLUMN) instanceof LongValueList);
+        Assertions.assertEquals(Arrays.asList(5L, 6L), pkValueMap.get(ID_COLUMN));
+        verify(genKeys, never()).getObject(1);
+
+        // a key out of the long range is read as it is
+        genKeys = mock(ResultSet.class);
+        when(statementProxy.getGeneratedKeys()).thenReturn(genKeys);
+        when(genKeys.next()).thenReturn(true, true, false);
+        when(genKeys.getLong(1)).thenThrow(new SQLException("out of range"));
+        when(genKeys.getObject(1)).thenReturn(new BigInteger("18446744073709551615"));
+        pkValueMap = insertExecutor.getPkValuesByAuto();
+        Assertions.assertFalse(pkValueMap.get(ID_COLUMN) instanceof LongValueList);
+        Assertions.assertEquals(Collections.singletonList(new BigInteger("18446744073709551615")),
+            pkValueMap.get(ID_COLUMN));
+    }
+
     @Test
     public void testGetPkValuesByAuto_GeneratedKeys_NoResult() throws SQLException {
         doReturn(tableMeta).when(insertExecutor).getTableMeta();
@@ -708,6 +741,7 @@ public class MySQLInsertExecutorTest {
         Map<String, List> map = (Map<String, List>) resp;
         Assertions.assertEquals(map.size(), 1);
         Assertions.assertEquals(map.get("ID").size(), 3);
+        Assertions.assertEquals(Arrays.asList(1L, 2L, 3L), map.get("ID"));
     }
 
     private List<String> mockInsertColumns() {
@@ -18,8 +18,10 @@ package org.apache.seata.rm.datasource.exec;
 
 import java.lang.reflect.Field;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.alibaba.druid.mock.MockStatement;
 import com.alibaba.druid.mock.MockStatementBase;
@@ -49,6 +51,10 @@ public class UpdateExecutorTest {
 
     private static StatementProxy statementProxy;
 
+    private static ConnectionProxy connectionProxy;
+
+    private static MockDriver mockDriver;
+
     @BeforeAll
     public static void init() {
         List<String> returnValueColumnLabels = Lists.newArrayList("id", "name", "all", "updated");
@@ -69,7 +75,7 @@ public class UpdateExecutorTest {
             new Object[]{0, "updated", Types.INTEGER, "INTEGER", 64, 10, 0, 0}
         };
 
-        MockDriver mockDriver = new MockDriver(returnValueColumnLabels, returnValue, columnMetas, indexMetas, null, onUpdateColumnsReturnValue, new Object[][]{});
+        mockDriver = new MockDriver(returnValueColumnLabels, returnValue, columnMetas, indexMetas, null, onUpdateColumnsReturnValue, new Object[][]{});
         DruidDataSource dataSource = new DruidDataSource();
         dataSource.setUrl("jdbc:mock:xxx");
         dataSource.setDriver(mockDriver);
@@ -83,7 +89,7 @@ public class UpdateExecutorTest {
             Field field1 = dataSourceProxy.getClass().getDeclaredField("kernelVersion");
             field1.setAccessible(true);
             field1.set(dataSourceProxy, "8.0.0");
-            ConnectionProxy connectionProxy = new ConnectionProxy(dataSourceProxy, dataSource.getConnection().getConnection());
+            connectionProxy = new ConnectionProxy(dataSourceProxy, dataSource.getConnection().getConnection());
             MockStatementBase mockStatement = new MockStatement(new MockConnection(mockDriver,"jdbc:mock:xxx",null));
             statementProxy = new StatementProxy(connectionProxy, mockStatement);
         } catch (Exception e) {
@@ -269,4 +275,72 @@ public class UpdateExecutorTest {
         Assertions.assertNotNull(beforeImage);
         Assertions.assertNotNull(afterImage);
     }
+
+    @Test
+    public void testReturningAfterImage() throws Exception {
+        String sql = "update table_update_executor_test set name = 'WILL' where id = 1;";
+        StatementProxy returningStatementProxy = new StatementProxy(connectionProxy,
+            new MockStatement(new MockConnection(mockDriver, "jdbc:mock:xxx", null)), sql);
+        List<SQLStatement> asts = SQLUtils.parseStatements(sql, JdbcConstants.MYSQL);
+        MySQLUpdateRecognizer recognizer = new MySQLUpdateRecognizer(sql, asts.get(0));
+        AtomicBoolean targetExecuted = new AtomicBoolean();
+        UpdateExecutor<Integer, Statement> returningExecutor = newReturningExecutor(returningStatementProxy,
+            new UpdateCountCallback<>((statement, args) -> {
+                targetExecuted.set(true);
+                return 0;
+            }, updateCount -> updateCount), recognizer);
+
+        TableRecords beforeImage = returningExecutor.beforeImage();
+        Assertions.assertTrue(returningExecutor.isAfterImageReturnable());
+        Integer result = returningExecutor.executeStatement(beforeImage, new Object[0]);
+        TableRecords afterImage = returningExecutor.afterImage(beforeImage);
+
+        Assertions.assertFalse(targetExecuted.get());
+        Assertions.assertEquals(afterImage.size(), result);
+        Assertions.assertEquals(afterImage.size(), returningStatementProxy.getUpdateCount());
+        Assertions.assertNull(returningStatementProxy.getResultSet());
+        Assertions.assertFalse(returningStatementProxy.getMoreResults());
+        Assertions.assertEquals(-1, returningStatementProxy.getUpdateCount());
+    }
+
+    @Test
+    public void testReturningAfterImageFallback() throws Exception {
+        String sql = "update table_update_executor_test set name = 'WILL' where id = 1 -- comment";
+        StatementProxy returningStatementProxy = new StatementProxy(connectionProxy,
+            new MockStatement(new MockConnection(mockDriver, "jdbc:mock:xxx", null)), sql);
+        List<SQLStatement> asts = SQLUtils.parseStatements(sql, JdbcConstants.MYSQL);
+        MySQLUpdateRecognizer recognizer = new MySQLUpdateRecognizer(sql, asts.get(0));
+        AtomicBoolean targetExecuted = new AtomicBoolean();
+        UpdateExecutor<Integer, Statement> returningExecutor = newReturningExecutor(returningStatementProxy,
+            new UpdateCountCallback<>((statement, args) -> {
+                targetExecuted.set(true);
+                return 1;
+            }, updateCount -> updateCount), recognizer);
+        Assertions.assertFalse(returningExecutor.isAfterImageReturnable());
+
+        TableRecords beforeImage = returningExecutor.beforeImage();
+        Assertions.assertEquals(1, returningExecutor.executeStatement(beforeImage, new Object[0]));
+        Assertions.assertTrue(targetExecuted.get());
+        Assertions.assertNotNull(returningExecutor.afterImage(beforeImage));
+
+        UpdateExecutor<Integer, Statement> plainCallbackExecutor = newReturningExecutor(returningStatementProxy,
+            (statement, args) -> 1, recognizer);
+        Assertions.assertFalse(plainCallbackExecutor.isAfterImageReturnable());
+    }
+
+    private UpdateExecutor<Integer, Statement> newReturningExecutor(StatementProxy<Statement> proxy,
+                                                                    StatementCallback<Integer, Statement> callback,
+                                                                    MySQLUpdateRecognizer recognizer) {
+        return new UpdateExecutor<Integer, Statement>(proxy, callback, recognizer) {
+            @Override
+            protected boolean isReturningAfterImageEnabled() {
+                return true;
+            }
+
+            @Override
+            protected String getDbType() {
+                return org.apache.seata.sqlparser.util.JdbcConstants.POSTGRESQL;
+            }
+        };
+    }
 }
@@ -66,7 +66,9 @@ public class MockExecuteHandlerImpl implements MockExecuteHandler {
         //mock the return value
         resultSet.mockResultSet(mockReturnValueColumnLabels, mockReturnValue);
         //mock the rs meta data
-        List<SQLStatement> asts = SQLUtils.parseStatements(sql, JdbcConstants.MYSQL);
+        //eg:update t set ... returning ...
+        String dbType = sql.contains(" RETURNING ") ? JdbcConstants.POSTGRESQL : JdbcConstants.MYSQL;
+        List<SQLStatement> asts = SQLUtils.parseStatements(sql, dbType);
         List<Object[]> metas = new ArrayList<>();
         if(asts.get(0) instanceof SQLSelectStatement) {
             SQLSelectStatement ast = (SQLSelectStatement) asts.get(0);
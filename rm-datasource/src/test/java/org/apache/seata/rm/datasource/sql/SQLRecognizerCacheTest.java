@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.sql;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.seata.sqlparser.SQLRecognizer;
+import org.apache.seata.sqlparser.util.JdbcConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Sql recognizer cache test.
+ */
+public class SQLRecognizerCacheTest {
+
+    @Test
+    public void testCacheHit() {
+        SQLRecognizerCache cache = new SQLRecognizerCache(1024);
+        AtomicInteger parseCount = new AtomicInteger();
+        String sql = "update t set name = ? where id = ?";
+        List<SQLRecognizer> first = cache.get(sql, JdbcConstants.MYSQL, (s, dbType) -> {
+            parseCount.incrementAndGet();
+            return SQLVisitorFactory.get(s, dbType);
+        });
+        List<SQLRecognizer> second = cache.get(sql, JdbcConstants.MYSQL, (s, dbType) -> {
+            parseCount.incrementAndGet();
+            return SQLVisitorFactory.get(s, dbType);
+        });
+        Assertions.assertEquals(1, parseCount.get());
+        Assertions.assertSame(first.get(0), second.get(0));
+        Assertions.assertEquals(1, cache.stats().hitCount());
+        Assertions.assertEquals(1, cache.stats().missCount());
+
+        // the db type is part of the key
+        cache.get(sql, JdbcConstants.ORACLE, (s, dbType) -> {
+            parseCount.incrementAndGet();
+            return SQLVisitorFactory.get(s, dbType);
+        });
+        Assertions.assertEquals(2, parseCount.get());
+    }
+
+    @Test
+    public void testNoRecognizerIsCached() {
+        SQLRecognizerCache cache = new SQLRecognizerCache(1024);
+        AtomicInteger parseCount = new AtomicInteger();
+        String sql = "select * from t where id = ?";
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertNull(cache.get(sql, JdbcConstants.MYSQL, (s, dbType) -> {
+                parseCount.incrementAndGet();
+                return SQLVisitorFactory.get(s, dbType);
+            }));
+        }
+        Assertions.assertEquals(1, parseCount.get());
+    }
+
+    @Test
+    public void testJoinIsNotCached() {
+        SQLRecognizerCache cache = new SQLRecognizerCache(1024);
+        AtomicInteger parseCount = new AtomicInteger();
+        String sql = "update t1 inner join t2 on t1.id = t2.id set t1.name = ? where t1.id = ?";
+        for (int i = 0; i < 2; i++) {
+            cache.get(sql, JdbcConstants.MYSQL, (s, dbType) -> {
+                parseCount.incrementAndGet();
+                return SQLVisitorFactory.get(s, dbType);
+            });
+        }
+        Assertions.assertEquals(2, parseCount.get());
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testParseErrorIsNotCached() {
+        SQLRecognizerCache cache = new SQLRecognizerCache(1024);
+        Assertions.assertThrows(UnsupportedOperationException.class,
+            () -> cache.get("", JdbcConstants.MYSQL, SQLVisitorFactory::get));
+        Assertions.assertEquals(0, cache.size());
+    }
+}
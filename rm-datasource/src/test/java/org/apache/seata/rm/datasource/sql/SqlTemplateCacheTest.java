@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.sql;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Sql template cache test.
+ */
+public class SqlTemplateCacheTest {
+
+    @Test
+    public void testGetAndPut() {
+        SqlTemplateCache cache = new SqlTemplateCache(1024);
+        String key = SqlTemplateCache.key("selectByPKs", "t", Collections.singletonList("id"),
+            Arrays.asList("id", "name"), 4);
+        Assertions.assertNull(cache.get(key));
+        cache.put(key, "SELECT id, name FROM t WHERE (id) in ( (?),(?),(?),(?) )");
+        Assertions.assertEquals("SELECT id, name FROM t WHERE (id) in ( (?),(?),(?),(?) )", cache.get(key));
+        Assertions.assertEquals(1, cache.stats().hitCount());
+        Assertions.assertEquals(1, cache.size());
+        cache.invalidateAll();
+        Assertions.assertNull(cache.get(key));
+    }
+
+    @Test
+    public void testKey() {
+        String key = SqlTemplateCache.key("selectByPKs", "t", Collections.singletonList("id"),
+            Arrays.asList("id", "name"), 4);
+        Assertions.assertEquals(key, SqlTemplateCache.key("selectByPKs", "t", Collections.singletonList("id"),
+            Arrays.asList("id", "name"), 4));
+        Assertions.assertNotEquals(key, SqlTemplateCache.key("selectByPKs", "t", Collections.singletonList("id"),
+            Arrays.asList("id", "name"), 8));
+        Assertions.assertNotEquals(key, SqlTemplateCache.key("selectByPKs", "t", Collections.singletonList("id"),
+            Collections.singletonList("id"), 4));
+        Assertions.assertNotEquals(key, SqlTemplateCache.key("selectByPKs", "t", Arrays.asList("id", "name"),
+            Collections.singletonList("id"), 4));
+        Assertions.assertNotEquals(key, SqlTemplateCache.key("undoCheck", "t", Collections.singletonList("id"),
+            Arrays.asList("id", "name"), 4));
+    }
+}
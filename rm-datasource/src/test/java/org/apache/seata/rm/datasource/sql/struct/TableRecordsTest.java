@@ -34,10 +34,13 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * the table records test
@@ -137,6 +140,98 @@ public class TableRecordsTest {
         Assertions.assertNotNull(tableRecords);
     }
 
+    @Test
+    public void testBuildRecordsRowViews() throws SQLException {
+        MockDriver mockDriver = new MockDriver(returnValueColumnLabels, returnValue, columnMetas, indexMetas);
+        DruidDataSource dataSource = new DruidDataSource();
+        dataSource.setUrl("jdbc:mock:xxx");
+        dataSource.setDriver(mockDriver);
+        MockStatementBase mockStatement = new MockStatement(dataSource.getConnection().getConnection());
+        DataSourceProxy proxy = DataSourceProxyTest.getDataSourceProxy(dataSource);
+
+        TableMeta tableMeta = TableMetaCacheFactory.getTableMetaCache(JdbcConstants.MYSQL).getTableMeta(proxy.getPlainConnection(),
+            "table_records_test", proxy.getResourceId());
+
+        ResultSet resultSet = mockDriver.executeQuery(mockStatement, "select * from table_records_test");
+
+        TableRecords tableRecords = TableRecords.buildRecords(tableMeta, resultSet);
+
+        Assertions.assertEquals(returnValue.length, tableRecords.size());
+        List<Map<String, Field>> pkRows = tableRecords.pkRows();
+        Assertions.assertEquals(1, pkRows.get(0).get("id").getValue());
+        Assertions.assertEquals(KeyType.PRIMARY_KEY, pkRows.get(0).get("id").getKeyType());
+
+        List<Row> rows = tableRecords.getRows();
+        Assertions.assertEquals(returnValue.length, rows.size());
+        Assertions.assertSame(rows, tableRecords.getRows());
+        for (int i = 0; i < returnValue.length; i++) {
+            Row row = rows.get(i);
+            Assertions.assertEquals(returnValueColumnLabels.size(), row.getFields().size());
+            Assertions.assertEquals(returnValue[i][0], row.primaryKeys().get(0).getValue());
+            Assertions.assertEquals(returnValue[i][1], row.getFields().get(1).getValue());
+            Assertions.assertEquals(Types.VARCHAR, row.getFields().get(1).getType());
+        }
+        Assertions.assertEquals(returnValue.length, tableRecords.pkRows().size());
+
+        tableRecords = TableRecords.buildRecords(tableMeta,
+            mockDriver.executeQuery(mockStatement, "select * from table_records_test"));
+        Assertions.assertArrayEquals(new long[] {1L, 2L}, tableRecords.integralPkValues());
+
+        tableRecords.add(new Row());
+        Assertions.assertEquals(returnValue.length + 1, tableRecords.size());
+    }
+
+    @Test
+    public void testColumnarRows() {
+        ColumnarRows columnarRows = new ColumnarRows(new String[] {"id", "amount", "remark"},
+            new int[] {Types.BIGINT, Types.DOUBLE, Types.VARCHAR},
+            new KeyType[] {KeyType.PRIMARY_KEY, KeyType.NULL, KeyType.NULL});
+        int rowCount = 20;
+        for (int i = 0; i < rowCount; i++) {
+            columnarRows.newRow();
+            columnarRows.set(0, (long) i);
+            // a value of another class turns the column into boxed storage
+            columnarRows.set(1, i == 15 ? new BigDecimal("1.5") : i % 3 == 0 ? null : i * 0.5d);
+            columnarRows.set(2, i % 2 == 0 ? null : "r" + i);
+        }
+
+        Assertions.assertEquals(rowCount, columnarRows.size());
+        for (int i = 0; i < rowCount; i++) {
+            Assertions.assertEquals((long) i, columnarRows.value(0, i));
+            Object amount = i == 15 ? new BigDecimal("1.5") : i % 3 == 0 ? null : i * 0.5d;
+            Assertions.assertEquals(amount, columnarRows.value(1, i));
+            Assertions.assertEquals(i % 2 == 0 ? null : "r" + i, columnarRows.value(2, i));
+        }
+
+        List<Row> rows = columnarRows.toRows();
+        Assertions.assertEquals(rowCount, rows.size());
+        Field id = rows.get(7).getFields().get(0);
+        Assertions.assertEquals("id", id.getName());
+        Assertions.assertEquals(Types.BIGINT, id.getType());
+        Assertions.assertEquals(KeyType.PRIMARY_KEY, id.getKeyType());
+        Assertions.assertEquals(7L, id.getValue());
+        Assertions.assertEquals(KeyType.NULL, rows.get(7).getFields().get(1).getKeyType());
+        Assertions.assertEquals(3.5d, rows.get(7).getFields().get(1).getValue());
+
+        Map<String, Object> primaryKeyMap = new HashMap<>();
+        primaryKeyMap.put("id", null);
+        List<Map<String, Field>> pkRows = columnarRows.pkRows(primaryKeyMap);
+        Assertions.assertEquals(rowCount, pkRows.size());
+        Assertions.assertEquals(1, pkRows.get(3).size());
+        Assertions.assertEquals(3L, pkRows.get(3).get("id").getValue());
+
+        long[] integralPkValues = columnarRows.integralPkValues(primaryKeyMap);
+        Assertions.assertEquals(rowCount, integralPkValues.length);
+        Assertions.assertEquals(19L, integralPkValues[19]);
+        // composite or non integral primary keys are not extracted
+        primaryKeyMap.put("remark", null);
+        Assertions.assertNull(columnarRows.integralPkValues(primaryKeyMap));
+        primaryKeyMap.remove("id");
+        primaryKeyMap.remove("remark");
+        primaryKeyMap.put("amount", null);
+        Assertions.assertNull(columnarRows.integralPkValues(primaryKeyMap));
+    }
+
     @Test
     public void testBuildRecordsNewFeild() throws SQLException {
         MockDriver mockDriver = new MockDriver(returnValueColumnLabels, returnValue, columnMetas, indexMetas);
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.sql.struct.cache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.seata.sqlparser.struct.ColumnMeta;
+import org.apache.seata.sqlparser.struct.TableMeta;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * The type Abstract table meta cache test.
+ */
+public class AbstractTableMetaCacheTest {
+
+    @Test
+    public void testRefreshBySchemaVersion() {
+        VersionedTableMetaCache tableMetaCache = new VersionedTableMetaCache();
+        Connection connection = mock(Connection.class);
+        String resourceId = "jdbc:versioned:" + System.nanoTime();
+
+        TableMeta tableMeta = tableMetaCache.getTableMeta(connection, "t1", resourceId);
+        Assertions.assertSame(tableMeta, tableMetaCache.getTableMeta(connection, "t1", resourceId));
+        Assertions.assertEquals(1, tableMetaCache.fetches.get());
+
+        // an unchanged schema version skips the fetch
+        tableMetaCache.refresh(connection, resourceId);
+        Assertions.assertEquals(1, tableMetaCache.fetches.get());
+
+        // a table known to be stale is fetched whatever its version says
+        tableMetaCache.refresh(connection, resourceId, Collections.singleton("t1"));
+        Assertions.assertEquals(2, tableMetaCache.fetches.get());
+        Assertions.assertSame(tableMeta, tableMetaCache.getTableMeta(connection, "t1", resourceId));
+
+        // a changed schema version fetches the table again and replaces its meta
+        tableMetaCache.version = "2";
+        tableMetaCache.columnName = "name";
+        tableMetaCache.refresh(connection, resourceId);
+        Assertions.assertEquals(3, tableMetaCache.fetches.get());
+        TableMeta refreshed = tableMetaCache.getTableMeta(connection, "t1", resourceId);
+        Assertions.assertNotEquals(tableMeta, refreshed);
+        Assertions.assertNotNull(refreshed.getColumnMeta("name"));
+
+        // without a schema version every refresh fetches the table
+        tableMetaCache.version = null;
+        tableMetaCache.refresh(connection, resourceId);
+        tableMetaCache.refresh(connection, resourceId);
+        Assertions.assertEquals(5, tableMetaCache.fetches.get());
+
+        // the tables of other resources are left alone
+        tableMetaCache.refresh(connection, resourceId + "-other");
+        Assertions.assertEquals(5, tableMetaCache.fetches.get());
+    }
+
+    @Test
+    public void testRevalidationRequestAndExpiry() {
+        VersionedTableMetaCache tableMetaCache = new VersionedTableMetaCache();
+        Connection connection = mock(Connection.class);
+        String resourceId = "jdbc:versioned:" + System.nanoTime();
+        tableMetaCache.now = 0;
+
+        TableMeta tableMeta = tableMetaCache.getTableMeta(connection, "t1", resourceId);
+        tableMetaCache.now = AbstractTableMetaCache.MAX_VALIDATED_AGE;
+        tableMetaCache.getTableMeta(connection, "t1", resourceId);
+        tableMetaCache.getTableMeta(connection, "t1", resourceId);
+        Assertions.assertEquals(1, tableMetaCache.revalidationRequests.get());
+
+        // no refresh followed, the refresh is asked for again
+        tableMetaCache.now += AbstractTableMetaCache.REVALIDATION_REQUEST_INTERVAL;
+        Assertions.assertSame(tableMeta, tableMetaCache.getTableMeta(connection, "t1", resourceId));
+        Assertions.assertEquals(2, tableMetaCache.revalidationRequests.get());
+        Assertions.assertEquals(1, tableMetaCache.fetches.get());
+
+        // a refresh validates the table, no more requests until it is old again
+        tableMetaCache.refresh(connection, resourceId);
+        tableMetaCache.now += AbstractTableMetaCache.REVALIDATION_REQUEST_INTERVAL;
+        tableMetaCache.getTableMeta(connection, "t1", resourceId);
+        Assertions.assertEquals(2, tableMetaCache.revalidationRequests.get());
+        Assertions.assertEquals(2, tableMetaCache.fetches.get());
+
+        // never revalidated again, the table meta expires
+        tableMetaCache.now += AbstractTableMetaCache.HARD_MAX_AGE;
+        Assertions.assertNotSame(tableMeta, tableMetaCache.getTableMeta(connection, "t1", resourceId));
+        Assertions.assertEquals(3, tableMetaCache.fetches.get());
+
+        // without a schema version the table meta expires as soon as it is old
+        tableMetaCache.version = null;
+        tableMetaCache.getTableMeta(connection, "t2", resourceId);
+        tableMetaCache.now += AbstractTableMetaCache.MAX_VALIDATED_AGE;
+        tableMetaCache.getTableMeta(connection, "t2", resourceId);
+        Assertions.assertEquals(5, tableMetaCache.fetches.get());
+    }
+
+    private static class VersionedTableMetaCache extends AbstractTableMetaCache {
+
+        private final AtomicInteger fetches = new AtomicInteger();
+
+        private final AtomicInteger revalidationRequests = new AtomicInteger();
+
+        private volatile long now = -1;
+
+        private volatile String version = "1";
+
+        private volatile String columnName = "id";
+
+        @Override
+        protected String getCacheKey(Connection connection, String tableName, String resourceId) {
+            return resourceId + "." + tableName;
+        }
+
+        @Override
+        void requestRevalidation(String resourceId, String tableName) {
+            revalidationRequests.incrementAndGet();
+        }
+
+        @Override
+        long currentTimeMillis() {
+            return now < 0 ? super.currentTimeMillis() : now;
+        }
+
+        @Override
+        protected String fetchSchemaVersion(Connection connection, String tableName) {
+            return version;
+        }
+
+        @Override
+        protected TableMeta fetchSchema(Connection connection, String tableName) throws SQLException {
+            fetches.incrementAndGet();
+            TableMeta tableMeta = new TableMeta();
+            tableMeta.setTableName(tableName);
+            tableMeta.setOriginalTableName(tableName);
+            ColumnMeta columnMeta = new ColumnMeta();
+            columnMeta.setTableName(tableName);
+            columnMeta.setColumnName(columnName);
+            tableMeta.getAllColumns().put(columnName, columnMeta);
+            return tableMeta;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import org.apache.seata.rm.datasource.SqlGenerateUtils;
 import org.apache.seata.rm.datasource.undo.SQLUndoLog;
 import org.apache.seata.sqlparser.SQLType;
 import org.apache.seata.rm.datasource.sql.struct.Field;
+import org.apache.seata.rm.datasource.sql.struct.KeyType;
 import org.apache.seata.rm.datasource.sql.struct.Row;
 import org.apache.seata.sqlparser.struct.TableMeta;
 import org.apache.seata.rm.datasource.sql.struct.TableRecords;
@@ -158,6 +159,125 @@ public class AbstractUndoExecutorTest extends BaseH2Test {
         Assertions.assertFalse(spy.dataValidationAndGoOn(connection));
     }
 
+    @Test
+    public void executeBatchOnUpdate() throws SQLException {
+        for (int id = 1; id <= 5; id++) {
+            execSQL("INSERT INTO table_name(id, name) VALUES (" + id + ",'aaa');");
+        }
+        TableRecords beforeImage = markPrimaryKey(execQuery(tableMeta, "SELECT * FROM table_name ORDER BY id;"));
+        execSQL("update table_name set name = 'xxx';");
+        TableRecords afterImage = execQuery(tableMeta, "SELECT * FROM table_name ORDER BY id;");
+
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setSqlType(SQLType.UPDATE);
+        sqlUndoLog.setTableMeta(tableMeta);
+        sqlUndoLog.setTableName("table_name");
+        sqlUndoLog.setBeforeImage(beforeImage);
+        sqlUndoLog.setAfterImage(afterImage);
+
+        AbstractUndoExecutor executor = new TestUndoExecutor(sqlUndoLog, true) {
+            @Override
+            protected String buildUndoSQL() {
+                return "UPDATE table_name SET name = ? WHERE id = ?";
+            }
+        };
+        executor.executeBatchOn(connection, beforeImage, 2);
+
+        TableRecords currentImage = execQuery(tableMeta, "SELECT * FROM table_name WHERE name = 'aaa';");
+        Assertions.assertEquals(5, currentImage.size());
+    }
+
+    @Test
+    public void executeBatchOnMultiRowDelete() throws SQLException {
+        TableRecords beforeImage = execQuery(tableMeta, "SELECT * FROM table_name ORDER BY id;");
+        for (int id = 1; id <= 5; id++) {
+            execSQL("INSERT INTO table_name(id, name) VALUES (" + id + ",'aaa');");
+        }
+        TableRecords afterImage = markPrimaryKey(execQuery(tableMeta, "SELECT * FROM table_name ORDER BY id;"));
+
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setSqlType(SQLType.INSERT);
+        sqlUndoLog.setTableMeta(tableMeta);
+        sqlUndoLog.setTableName("table_name");
+        sqlUndoLog.setBeforeImage(beforeImage);
+        sqlUndoLog.setAfterImage(afterImage);
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        AbstractUndoExecutor executor = new TestUndoExecutor(sqlUndoLog, false) {
+            @Override
+            protected String buildMultiRowUndoSQL(TableRecords undoRows, int rowCount) throws SQLException {
+                chunkSizes.add(rowCount);
+                return "DELETE FROM table_name WHERE "
+                    + SqlGenerateUtils.buildWhereConditionByPKs(Collections.singletonList("id"), rowCount, "h2");
+            }
+        };
+        executor.executeBatchOn(connection, afterImage, 2);
+
+        Assertions.assertEquals(Arrays.asList(2, 2, 1), chunkSizes);
+        Assertions.assertEquals(0, execQuery(tableMeta, "SELECT * FROM table_name;").size());
+    }
+
+    @Test
+    public void executeBatchOnRowCountMismatch() throws SQLException {
+        for (int id = 1; id <= 3; id++) {
+            execSQL("INSERT INTO table_name(id, name) VALUES (" + id + ",'aaa');");
+        }
+        TableRecords beforeImage = markPrimaryKey(execQuery(tableMeta, "SELECT * FROM table_name ORDER BY id;"));
+        // a row the undo expects is gone
+        execSQL("delete from table_name where id = 2;");
+
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setSqlType(SQLType.UPDATE);
+        sqlUndoLog.setTableMeta(tableMeta);
+        sqlUndoLog.setTableName("table_name");
+        sqlUndoLog.setBeforeImage(beforeImage);
+        sqlUndoLog.setAfterImage(beforeImage);
+
+        AbstractUndoExecutor executor = new TestUndoExecutor(sqlUndoLog, true) {
+            @Override
+            protected String buildUndoSQL() {
+                return "UPDATE table_name SET name = ? WHERE id = ?";
+            }
+        };
+        Assertions.assertThrows(SQLException.class, () -> executor.executeBatchOn(connection, beforeImage, 2));
+    }
+
+    @Test
+    public void executeRowByRowOnRowCountMismatch() throws SQLException {
+        for (int id = 1; id <= 3; id++) {
+            execSQL("INSERT INTO table_name(id, name) VALUES (" + id + ",'aaa');");
+        }
+        TableRecords beforeImage = markPrimaryKey(execQuery(tableMeta, "SELECT * FROM table_name ORDER BY id;"));
+        // a row the undo expects is gone
+        execSQL("delete from table_name where id = 2;");
+
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setSqlType(SQLType.UPDATE);
+        sqlUndoLog.setTableMeta(tableMeta);
+        sqlUndoLog.setTableName("table_name");
+        sqlUndoLog.setBeforeImage(beforeImage);
+        sqlUndoLog.setAfterImage(beforeImage);
+
+        AbstractUndoExecutor executor = new TestUndoExecutor(sqlUndoLog, true) {
+            @Override
+            protected String buildUndoSQL() {
+                return "UPDATE table_name SET name = ? WHERE id = ?";
+            }
+        };
+        Assertions.assertThrows(SQLException.class, () -> executor.executeRowByRowOn(connection, beforeImage));
+    }
+
+    private static TableRecords markPrimaryKey(TableRecords records) {
+        for (Row row : records.getRows()) {
+            for (Field field : row.getFields()) {
+                if ("ID".equalsIgnoreCase(field.getName())) {
+                    field.setKeyType(KeyType.PRIMARY_KEY);
+                }
+            }
+        }
+        return records;
+    }
+
     @Test
     public void testParsePK() {
         TableMeta tableMeta = Mockito.mock(TableMeta.class);
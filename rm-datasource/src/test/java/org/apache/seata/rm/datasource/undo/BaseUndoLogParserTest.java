@@ -20,6 +20,7 @@ import java.sql.JDBCType;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.apache.seata.rm.datasource.DataCompareUtils;
@@ -168,6 +169,42 @@ public abstract class BaseUndoLogParserTest extends BaseH2Test {
         Assertions.assertNull(branchUndoLog.getSqlUndoLogs());
     }
 
+    @Test
+    public void testDecodeReversed() {
+        BranchUndoLog branchUndoLog = new BranchUndoLog();
+        branchUndoLog.setXid("192.168.0.1:8091:123456");
+        branchUndoLog.setBranchId(123457);
+        List<SQLUndoLog> sqlUndoLogs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            SQLUndoLog sqlUndoLog = new SQLUndoLog();
+            sqlUndoLog.setSqlType(SQLType.UPDATE);
+            sqlUndoLog.setTableName("table_" + i);
+            TableRecords records = new TableRecords();
+            records.setTableName("table_" + i);
+            Row row = new Row();
+            Field field = new Field("column_" + i, JDBCType.INTEGER.getVendorTypeNumber(), i);
+            field.setKeyType(KeyType.PRIMARY_KEY);
+            row.add(field);
+            records.add(row);
+            sqlUndoLog.setBeforeImage(records);
+            sqlUndoLog.setAfterImage(records);
+            sqlUndoLogs.add(sqlUndoLog);
+        }
+        branchUndoLog.setSqlUndoLogs(sqlUndoLogs);
+
+        Iterator<SQLUndoLog> reversed = getParser().decodeReversed(getParser().encode(branchUndoLog));
+        for (int i = 2; i >= 0; i--) {
+            Assertions.assertTrue(reversed.hasNext());
+            SQLUndoLog sqlUndoLog = reversed.next();
+            Assertions.assertEquals("table_" + i, sqlUndoLog.getTableName());
+            Field field = sqlUndoLog.getAfterImage().getRows().get(0).getFields().get(0);
+            Assertions.assertEquals("column_" + i, field.getName());
+            Assertions.assertEquals(i, field.getValue());
+        }
+        Assertions.assertFalse(reversed.hasNext());
+        Assertions.assertFalse(getParser().decodeReversed(getParser().getDefaultContent()).hasNext());
+    }
+
     /**
      * will check kryo、jackson、fastjson、protostuff timestamp encode and decode
      */
@@ -353,7 +353,8 @@ public class UndoExecutorTest {
 
                 @Override
                 public int executeUpdate() throws SQLException {
-                    return 0;
+                    // every undo statement of these tests replays one row
+                    return 1;
                 }
 
                 @Override
@@ -24,7 +24,9 @@ import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.alibaba.druid.pool.DruidDataSource;
 
@@ -188,6 +190,24 @@ public class MySQLUndoLogManagerTest {
         Assertions.assertDoesNotThrow(() -> undoLogManager.undo(dataSourceProxy, "xid", 1L));
     }
 
+    @Test
+    public void testBatchUndo() throws SQLException {
+        // the undo_log of branch 1 is GlobalFinished already, the one of branch 2 belongs to another global transaction
+        MockDriver mockDriver = new MockDriver(Lists.newArrayList("branch_id", "xid", "log_status"),
+            new Object[][] {new Object[] {1L, "xid", 1}, new Object[] {2L, "other_xid", 0}}, columnMetas, indexMetas);
+        DruidDataSource batchDataSource = new DruidDataSource();
+        batchDataSource.setUrl("jdbc:mock:xxx");
+        batchDataSource.setDriver(mockDriver);
+        DataSourceProxy batchDataSourceProxy = DataSourceProxyTest.getDataSourceProxy(batchDataSource);
+        ConnectionProxy batchConnectionProxy = new ConnectionProxy(batchDataSourceProxy,
+            batchDataSource.getConnection().getConnection());
+
+        Map<Long, String> branches = new LinkedHashMap<>();
+        branches.put(1L, "xid");
+        branches.put(2L, "xid");
+        Assertions.assertDoesNotThrow(() -> undoLogManager.batchUndo(batchDataSourceProxy, batchConnectionProxy, branches));
+    }
+
     private SQLUndoLog getUndoLogItem(int size) throws NoSuchFieldException, IllegalAccessException {
         SQLUndoLog sqlUndoLog = new SQLUndoLog();
         sqlUndoLog.setTableName("table_plain_executor_test");
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.undo.parser;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.sql.Ref;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+import javax.sql.rowset.serial.SerialDatalink;
+import javax.sql.rowset.serial.SerialJavaObject;
+import javax.sql.rowset.serial.SerialRef;
+
+import org.apache.seata.common.loader.EnhancedServiceLoader;
+import org.apache.seata.rm.datasource.sql.serial.SerialArray;
+import org.apache.seata.rm.datasource.sql.struct.Field;
+import org.apache.seata.rm.datasource.sql.struct.KeyType;
+import org.apache.seata.rm.datasource.sql.struct.Row;
+import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+import org.apache.seata.rm.datasource.undo.BaseUndoLogParserTest;
+import org.apache.seata.rm.datasource.undo.BranchUndoLog;
+import org.apache.seata.rm.datasource.undo.SQLUndoLog;
+import org.apache.seata.rm.datasource.undo.UndoLogParser;
+import org.apache.seata.sqlparser.SQLType;
+import org.apache.seata.sqlparser.struct.TableMeta;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BinaryUndoLogParserTest extends BaseUndoLogParserTest {
+
+    BinaryUndoLogParser parser = (BinaryUndoLogParser) EnhancedServiceLoader.load(UndoLogParser.class, BinaryUndoLogParser.NAME);
+
+    @Override
+    public UndoLogParser getParser() {
+        return parser;
+    }
+
+    @Test
+    public void testValueTypes() throws SQLException {
+        Timestamp timestamp = new Timestamp(1700000000123L);
+        timestamp.setNanos(123456789);
+        List<Object> values = Arrays.asList(null, 1, -2L, (short) 3, (byte) 4, true, false, 5.5d, 6.5f, "seata",
+            new BigDecimal("-12345.6789"), new BigInteger("123456789012345678901234567890"), timestamp,
+            new java.sql.Date(1700000000000L), new Time(3600000L), new java.util.Date(1700000000000L),
+            new byte[] {1, 2, 3}, LocalDateTime.of(2024, 2, 29, 23, 59, 59, 999), LocalDate.of(1970, 1, 1),
+            LocalTime.of(12, 30), OffsetDateTime.of(2024, 1, 1, 8, 0, 0, 1, ZoneOffset.ofHours(8)),
+            Collections.singletonList("fallback"));
+
+        TableRecords afterImage = new TableRecords();
+        afterImage.setTableName("t_value");
+        Row row = new Row();
+        for (int i = 0; i < values.size(); i++) {
+            row.add(new Field("c" + i, Types.OTHER, values.get(i)));
+        }
+        row.add(new Field("blob", Types.BLOB, new SerialBlob(new byte[] {9, 8, 7})));
+        row.add(new Field("clob", Types.CLOB, new SerialClob("clob".toCharArray())));
+        afterImage.add(row);
+
+        TableRecords decoded = roundTrip(afterImage);
+        List<Field> fields = decoded.getRows().get(0).getFields();
+        for (int i = 0; i < values.size(); i++) {
+            Object expected = values.get(i);
+            Object actual = fields.get(i).getValue();
+            if (expected instanceof byte[]) {
+                Assertions.assertArrayEquals((byte[]) expected, (byte[]) actual);
+            } else {
+                Assertions.assertEquals(expected, actual);
+                Assertions.assertEquals(expected == null ? null : expected.getClass(), actual == null ? null : actual.getClass());
+            }
+            Assertions.assertEquals("c" + i, fields.get(i).getName());
+            Assertions.assertEquals(Types.OTHER, fields.get(i).getType());
+        }
+        SerialBlob blob = (SerialBlob) fields.get(values.size()).getValue();
+        Assertions.assertArrayEquals(new byte[] {9, 8, 7}, blob.getBytes(1, (int) blob.length()));
+        Assertions.assertEquals("clob", ((SerialClob) fields.get(values.size() + 1).getValue()).getSubString(1, 4));
+    }
+
+    @Test
+    public void testSerialWrapperTypes() throws Exception {
+        SerialArray array = new SerialArray();
+        array.setBaseType(Types.VARCHAR);
+        array.setBaseTypeName("varchar");
+        array.setElements(new Object[] {"a", null, "c"});
+        SerialRef ref = new SerialRef(new Ref() {
+            @Override
+            public String getBaseTypeName() {
+                return "ref_type";
+            }
+
+            @Override
+            public Object getObject(Map<String, Class<?>> map) {
+                return getObject();
+            }
+
+            @Override
+            public Object getObject() {
+                return "referenced";
+            }
+
+            @Override
+            public void setObject(Object value) {
+            }
+        });
+        List<Object> values = Arrays.asList(array, ref, new SerialDatalink(new URL("http://seata.apache.org/")),
+            new SerialJavaObject(new BigDecimal("1.5")));
+
+        TableRecords afterImage = new TableRecords();
+        afterImage.setTableName("t_serial");
+        Row row = new Row();
+        for (int i = 0; i < values.size(); i++) {
+            row.add(new Field("c" + i, Types.OTHER, values.get(i)));
+        }
+        afterImage.add(row);
+
+        List<Field> fields = roundTrip(afterImage).getRows().get(0).getFields();
+        Assertions.assertEquals(array, fields.get(0).getValue());
+        // SerialRef equality includes the driver's Ref, which is not written
+        SerialRef decodedRef = (SerialRef) fields.get(1).getValue();
+        Assertions.assertEquals("ref_type", decodedRef.getBaseTypeName());
+        Assertions.assertEquals("referenced", decodedRef.getObject());
+        Assertions.assertEquals(values.get(2), fields.get(2).getValue());
+        Assertions.assertEquals(new URL("http://seata.apache.org/"), ((SerialDatalink) fields.get(2).getValue()).getDatalink());
+        Assertions.assertEquals(values.get(3), fields.get(3).getValue());
+        Assertions.assertEquals(new BigDecimal("1.5"), ((SerialJavaObject) fields.get(3).getValue()).getObject());
+    }
+
+    @Test
+    public void testLayoutAndEmptyImage() {
+        TableRecords afterImage = new TableRecords();
+        afterImage.setTableName("t_layout");
+        for (int i = 0; i < 3; i++) {
+            Row row = new Row();
+            Field id = new Field("id", Types.BIGINT, (long) i);
+            id.setKeyType(KeyType.PRIMARY_KEY);
+            row.add(id);
+            row.add(new Field("name", Types.VARCHAR, "n" + i));
+            afterImage.add(row);
+        }
+        // a row with another layout
+        Row row = new Row();
+        row.add(new Field("name", Types.VARCHAR, "other"));
+        afterImage.add(row);
+
+        BranchUndoLog branchUndoLog = new BranchUndoLog();
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setSqlType(SQLType.INSERT);
+        sqlUndoLog.setTableName("t_layout");
+        sqlUndoLog.setBeforeImage(TableRecords.empty(new TableMeta()));
+        sqlUndoLog.setAfterImage(afterImage);
+        List<SQLUndoLog> sqlUndoLogs = new ArrayList<>();
+        sqlUndoLogs.add(sqlUndoLog);
+        branchUndoLog.setSqlUndoLogs(sqlUndoLogs);
+
+        SQLUndoLog decoded = parser.decode(parser.encode(branchUndoLog)).getSqlUndoLogs().get(0);
+        Assertions.assertEquals(SQLType.INSERT, decoded.getSqlType());
+        Assertions.assertTrue(decoded.getBeforeImage() instanceof TableRecords.EmptyTableRecords);
+        List<Row> rows = decoded.getAfterImage().getRows();
+        Assertions.assertEquals(4, rows.size());
+        Assertions.assertEquals("t_layout", decoded.getAfterImage().getTableName());
+        Assertions.assertEquals(KeyType.PRIMARY_KEY, rows.get(2).getFields().get(0).getKeyType());
+        Assertions.assertEquals(2L, rows.get(2).getFields().get(0).getValue());
+        Assertions.assertEquals(KeyType.NULL, rows.get(2).getFields().get(1).getKeyType());
+        Assertions.assertEquals(1, rows.get(3).getFields().size());
+        Assertions.assertEquals("other", rows.get(3).getFields().get(0).getValue());
+    }
+
+    @Test
+    public void testRejectApplicationTypes() {
+        for (Object value : Arrays.asList(new ApplicationValue(), Collections.singletonList(new ApplicationValue()))) {
+            TableRecords afterImage = new TableRecords();
+            afterImage.setTableName("t_value");
+            Row row = new Row();
+            row.add(new Field("c", Types.OTHER, value));
+            afterImage.add(row);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> roundTrip(afterImage));
+        }
+    }
+
+    @Test
+    public void testStableCodes() {
+        Assertions.assertEquals(0, KeyType.NULL.getCode());
+        Assertions.assertEquals(1, KeyType.PRIMARY_KEY.getCode());
+        for (KeyType keyType : KeyType.values()) {
+            Assertions.assertEquals(keyType, KeyType.valueOf(keyType.getCode()));
+        }
+        for (SQLType sqlType : SQLType.values()) {
+            Assertions.assertEquals(sqlType, SQLType.valueOf(sqlType.value()));
+        }
+    }
+
+    private TableRecords roundTrip(TableRecords afterImage) {
+        BranchUndoLog branchUndoLog = new BranchUndoLog();
+        branchUndoLog.setXid("127.0.0.1:8091:1");
+        branchUndoLog.setBranchId(-1L);
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setAfterImage(afterImage);
+        List<SQLUndoLog> sqlUndoLogs = new ArrayList<>();
+        sqlUndoLogs.add(sqlUndoLog);
+        branchUndoLog.setSqlUndoLogs(sqlUndoLogs);
+        BranchUndoLog decoded = parser.decode(parser.encode(branchUndoLog));
+        Assertions.assertEquals(-1L, decoded.getBranchId());
+        Assertions.assertNull(decoded.getSqlUndoLogs().get(0).getBeforeImage());
+        return decoded.getSqlUndoLogs().get(0).getAfterImage();
+    }
+
+    private static class ApplicationValue implements Serializable {
+        private static final long serialVersionUID = 1L;
+    }
+}
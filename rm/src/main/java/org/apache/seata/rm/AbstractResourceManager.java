@@ -26,6 +26,7 @@ import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.exception.RmTransactionException;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.exception.TransactionExceptionCode;
+import org.apache.seata.core.lock.StructuredLockKey;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.core.model.GlobalStatus;
@@ -69,12 +70,35 @@ public abstract class AbstractResourceManager implements ResourceManager {
      */
     @Override
     public Long branchRegister(BranchType branchType, String resourceId, String clientId, String xid, String applicationData, String lockKeys) throws TransactionException {
+        return branchRegister(branchType, resourceId, clientId, xid, applicationData, lockKeys, null);
+    }
+
+    /**
+     * registry branch record, sending the structured lock keys when every connected TC understands them
+     *
+     * @param branchType        the branch type
+     * @param resourceId        the resource id
+     * @param clientId          the client id
+     * @param xid               the xid
+     * @param lockKeys          the lock keys
+     * @param structuredLockKey the structured lock keys, may be null
+     * @return branchId
+     * @throws TransactionException TransactionException
+     */
+    @Override
+    public Long branchRegister(BranchType branchType, String resourceId, String clientId, String xid,
+                               String applicationData, String lockKeys, StructuredLockKey structuredLockKey)
+        throws TransactionException {
         try {
             StringUtils.checkDataSize(applicationData, "applicationData", appDataErrSize, throwDataSizeExp);
 
             BranchRegisterRequest request = new BranchRegisterRequest();
             request.setXid(xid);
-            request.setLockKey(lockKeys);
+            if (structuredLockKey != null && RmNettyRemotingClient.getInstance().isStructuredLockKeySupported()) {
+                request.setStructuredLockKey(structuredLockKey);
+            } else {
+                request.setLockKey(lockKeys);
+            }
             request.setResourceId(resourceId);
             request.setBranchType(branchType);
             request.setApplicationData(applicationData);
@@ -25,6 +25,7 @@ import org.apache.seata.common.exception.FrameworkException;
 import org.apache.seata.common.loader.EnhancedServiceLoader;
 import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.lock.StructuredLockKey;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.core.model.GlobalStatus;
@@ -98,6 +99,14 @@ public class DefaultResourceManager implements ResourceManager {
             lockKeys);
     }
 
+    @Override
+    public Long branchRegister(BranchType branchType, String resourceId, String clientId, String xid,
+                               String applicationData, String lockKeys, StructuredLockKey structuredLockKey)
+        throws TransactionException {
+        return getResourceManager(branchType).branchRegister(branchType, resourceId, clientId, xid, applicationData,
+            lockKeys, structuredLockKey);
+    }
+
     @Override
     public void branchReport(BranchType branchType, String xid, long branchId, BranchStatus status,
                              String applicationData) throws TransactionException {
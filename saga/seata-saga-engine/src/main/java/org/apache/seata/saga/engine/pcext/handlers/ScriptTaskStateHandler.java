@@ -33,8 +33,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
 import javax.script.SimpleBindings;
 import java.util.ArrayList;
 import java.util.List;
@@ -100,7 +103,10 @@ public class ScriptTaskStateHandler implements StateHandler, InterceptableStateH
                     }
                 }
             }
-            if (bindings != null) {
+            CompiledScript compiledScript = getCompiledScript(state, scriptEngine);
+            if (compiledScript != null) {
+                result = bindings != null ? compiledScript.eval(bindings) : compiledScript.eval();
+            } else if (bindings != null) {
                 result = scriptEngine.eval(scriptContent, bindings);
             }
             else {
@@ -134,6 +140,28 @@ public class ScriptTaskStateHandler implements StateHandler, InterceptableStateH
             key -> scriptEngineManager.getEngineByName(scriptType));
     }
 
+    /**
+     * Compile the script of the state once and keep it on the state definition, which lives as long as the state
+     * machine in the repository.
+     *
+     * @param state        the script task state
+     * @param scriptEngine the script engine
+     * @return the compiled script, or null if the engine can only interpret scripts
+     * @throws ScriptException the script exception
+     */
+    protected CompiledScript getCompiledScript(ScriptTaskStateImpl state, ScriptEngine scriptEngine)
+        throws ScriptException {
+        if (!(scriptEngine instanceof Compilable)) {
+            return null;
+        }
+        CompiledScript compiledScript = state.getCompiledScript();
+        if (compiledScript == null || compiledScript.getEngine() != scriptEngine) {
+            compiledScript = ((Compilable) scriptEngine).compile(state.getScriptContent());
+            state.setCompiledScript(compiledScript);
+        }
+        return compiledScript;
+    }
+
     @Override
     public List<StateHandlerInterceptor> getInterceptors() {
         return interceptors;
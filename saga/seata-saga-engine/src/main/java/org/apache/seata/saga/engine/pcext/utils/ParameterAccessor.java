@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.saga.engine.pcext.utils;
+
+import org.apache.seata.common.util.StringUtils;
+import org.apache.seata.saga.engine.expression.Expression;
+import org.apache.seata.saga.engine.expression.ExpressionResolver;
+import org.apache.seata.saga.engine.expression.seq.SequenceExpression;
+import org.apache.seata.saga.statelang.domain.StateInstance;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A parameter assignment compiled into accessors, so mapping the parameters of a state neither parses expression
+ * strings nor walks the assignment maps and lists again.
+ *
+ */
+public abstract class ParameterAccessor {
+
+    /**
+     * Gets the value of the parameter.
+     *
+     * @param variablesFrom the variables to evaluate the expressions with
+     * @param stateInstance the state instance taking the business key, may be null
+     * @return the value
+     */
+    public abstract Object getValue(Object variablesFrom, StateInstance stateInstance);
+
+    /**
+     * Compile a parameter assignment, nested maps and lists are compiled into presized copies of the same shape.
+     *
+     * @param expressionResolver the expression resolver
+     * @param paramAssignment    the parameter assignment
+     * @return the parameter accessor
+     */
+    public static ParameterAccessor compile(ExpressionResolver expressionResolver, Object paramAssignment) {
+        if (paramAssignment instanceof ParameterAccessor) {
+            return (ParameterAccessor) paramAssignment;
+        } else if (paramAssignment instanceof Map) {
+            Map<String, Object> paramMapAssignment = (Map<String, Object>) paramAssignment;
+            String[] keys = new String[paramMapAssignment.size()];
+            ParameterAccessor[] values = new ParameterAccessor[keys.length];
+            int i = 0;
+            for (Map.Entry<String, Object> entry : paramMapAssignment.entrySet()) {
+                keys[i] = entry.getKey();
+                values[i++] = compile(expressionResolver, entry.getValue());
+            }
+            return new MapAccessor(keys, values);
+        } else if (paramAssignment instanceof List) {
+            List<Object> paramListAssignment = (List<Object>) paramAssignment;
+            ParameterAccessor[] elements = new ParameterAccessor[paramListAssignment.size()];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = compile(expressionResolver, paramListAssignment.get(i));
+            }
+            return new ListAccessor(elements);
+        }
+        Object valueExpression = ParameterUtils.createValueExpression(expressionResolver, paramAssignment);
+        if (valueExpression instanceof SequenceExpression) {
+            return new SequenceAccessor((Expression) valueExpression);
+        } else if (valueExpression instanceof Expression) {
+            return new ExpressionAccessor((Expression) valueExpression);
+        }
+        return new ConstantAccessor(valueExpression);
+    }
+
+    private static class ConstantAccessor extends ParameterAccessor {
+
+        private final Object value;
+
+        ConstantAccessor(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object getValue(Object variablesFrom, StateInstance stateInstance) {
+            return value;
+        }
+    }
+
+    private static class ExpressionAccessor extends ParameterAccessor {
+
+        private final Expression expression;
+
+        ExpressionAccessor(Expression expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public Object getValue(Object variablesFrom, StateInstance stateInstance) {
+            return expression.getValue(variablesFrom);
+        }
+    }
+
+    private static class SequenceAccessor extends ParameterAccessor {
+
+        private final Expression expression;
+
+        SequenceAccessor(Expression expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public Object getValue(Object variablesFrom, StateInstance stateInstance) {
+            Object value = expression.getValue(variablesFrom);
+            if (value != null && stateInstance != null && StringUtils.isEmpty(stateInstance.getBusinessKey())) {
+                stateInstance.setBusinessKey(String.valueOf(value));
+            }
+            return value;
+        }
+    }
+
+    private static class MapAccessor extends ParameterAccessor {
+
+        private final String[] keys;
+
+        private final ParameterAccessor[] values;
+
+        private final int initialCapacity;
+
+        MapAccessor(String[] keys, ParameterAccessor[] values) {
+            this.keys = keys;
+            this.values = values;
+            this.initialCapacity = (int) (keys.length / 0.75f) + 1;
+        }
+
+        @Override
+        public Object getValue(Object variablesFrom, StateInstance stateInstance) {
+            Map<String, Object> mapValue = new LinkedHashMap<>(initialCapacity);
+            for (int i = 0; i < keys.length; i++) {
+                Object value = values[i].getValue(variablesFrom, stateInstance);
+                if (value != null) {
+                    mapValue.put(keys[i], value);
+                }
+            }
+            return mapValue;
+        }
+    }
+
+    private static class ListAccessor extends ParameterAccessor {
+
+        private final ParameterAccessor[] elements;
+
+        ListAccessor(ParameterAccessor[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Object getValue(Object variablesFrom, StateInstance stateInstance) {
+            List<Object> listValue = new ArrayList<>(elements.length);
+            for (ParameterAccessor element : elements) {
+                listValue.add(element.getValue(variablesFrom, stateInstance));
+            }
+            return listValue;
+        }
+    }
+}
@@ -52,7 +52,7 @@ public class ParameterUtils {
                 if (inputExpressions == null) {
                     inputExpressions = new ArrayList<>(inputAssignments.size());
                     for (Object inputAssignment : inputAssignments) {
-                        inputExpressions.add(createValueExpression(expressionResolver, inputAssignment));
+                        inputExpressions.add(ParameterAccessor.compile(expressionResolver, inputAssignment));
                     }
                 }
                 serviceTaskState.setInputExpressions(inputExpressions);
@@ -82,21 +82,23 @@ public class ParameterUtils {
                     outputExpressions = new LinkedHashMap<>(outputAssignments.size());
                     for (Map.Entry<String, Object> entry : outputAssignments.entrySet()) {
                         outputExpressions.put(entry.getKey(),
-                                createValueExpression(expressionResolver, entry.getValue()));
+                                ParameterAccessor.compile(expressionResolver, entry.getValue()));
                     }
                 }
                 serviceTaskState.setOutputExpressions(outputExpressions);
             }
         }
-        Map<String, Object> outputValues = new LinkedHashMap<>(outputExpressions.size());
-        for (String paramName : outputExpressions.keySet()) {
-            outputValues.put(paramName, getValue(outputExpressions.get(paramName), variablesFrom, null));
+        Map<String, Object> outputValues = new LinkedHashMap<>((int) (outputExpressions.size() / 0.75f) + 1);
+        for (Map.Entry<String, Object> entry : outputExpressions.entrySet()) {
+            outputValues.put(entry.getKey(), getValue(entry.getValue(), variablesFrom, null));
         }
         return outputValues;
     }
 
     public static Object getValue(Object valueExpression, Object variablesFrom, StateInstance stateInstance) {
-        if (valueExpression instanceof Expression) {
+        if (valueExpression instanceof ParameterAccessor) {
+            return ((ParameterAccessor) valueExpression).getValue(variablesFrom, stateInstance);
+        } else if (valueExpression instanceof Expression) {
             Object value = ((Expression)valueExpression).getValue(variablesFrom);
             if (value != null && stateInstance != null && StringUtils.isEmpty(stateInstance.getBusinessKey())
                     && valueExpression instanceof SequenceExpression) {
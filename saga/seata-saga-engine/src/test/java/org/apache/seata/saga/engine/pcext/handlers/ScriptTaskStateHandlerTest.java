@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.saga.engine.pcext.handlers;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+
+import org.apache.seata.saga.statelang.domain.impl.ScriptTaskStateImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * ScriptTaskStateHandlerTest
+ */
+public class ScriptTaskStateHandlerTest {
+
+    private static final String SCRIPT = "'hello ' + inputA";
+
+    @Test
+    public void testCompiledScriptCached() throws Exception {
+        ScriptTaskStateImpl state = new ScriptTaskStateImpl();
+        state.setScriptContent(SCRIPT);
+        ScriptEngine scriptEngine = mockCompilableEngine();
+
+        ScriptTaskStateHandler handler = new ScriptTaskStateHandler();
+        CompiledScript compiledScript = handler.getCompiledScript(state, scriptEngine);
+        Assertions.assertNotNull(compiledScript);
+        Assertions.assertSame(compiledScript, state.getCompiledScript());
+        Assertions.assertSame(compiledScript, handler.getCompiledScript(state, scriptEngine));
+        Mockito.verify((Compilable) scriptEngine, Mockito.times(1)).compile(SCRIPT);
+
+        // a script compiled by another engine is not reused
+        ScriptEngine otherEngine = mockCompilableEngine();
+        CompiledScript otherScript = handler.getCompiledScript(state, otherEngine);
+        Assertions.assertNotSame(compiledScript, otherScript);
+        Assertions.assertSame(otherScript, state.getCompiledScript());
+        Mockito.verify((Compilable) otherEngine, Mockito.times(1)).compile(SCRIPT);
+    }
+
+    @Test
+    public void testNotCompilableEngine() throws Exception {
+        ScriptTaskStateImpl state = new ScriptTaskStateImpl();
+        state.setScriptContent(SCRIPT);
+        ScriptEngine scriptEngine = Mockito.mock(ScriptEngine.class);
+
+        Assertions.assertNull(new ScriptTaskStateHandler().getCompiledScript(state, scriptEngine));
+        Assertions.assertNull(state.getCompiledScript());
+    }
+
+    private static ScriptEngine mockCompilableEngine() throws Exception {
+        ScriptEngine scriptEngine = Mockito.mock(ScriptEngine.class,
+            Mockito.withSettings().extraInterfaces(Compilable.class));
+        CompiledScript compiledScript = Mockito.mock(CompiledScript.class);
+        Mockito.when(compiledScript.getEngine()).thenReturn(scriptEngine);
+        Mockito.when(((Compilable) scriptEngine).compile(SCRIPT)).thenReturn(compiledScript);
+        return scriptEngine;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.saga.engine.pcext.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.seata.saga.engine.expression.Expression;
+import org.apache.seata.saga.engine.expression.ExpressionFactoryManager;
+import org.apache.seata.saga.engine.expression.ExpressionResolver;
+import org.apache.seata.saga.engine.expression.impl.DefaultExpressionResolver;
+import org.apache.seata.saga.engine.expression.seq.SequenceExpressionFactory;
+import org.apache.seata.saga.engine.sequence.SeqGenerator;
+import org.apache.seata.saga.statelang.domain.impl.StateInstanceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * ParameterAccessorTest
+ */
+public class ParameterAccessorTest {
+
+    private ExpressionResolver expressionResolver;
+
+    private Map<String, Object> variables;
+
+    @BeforeEach
+    public void init() {
+        ExpressionFactoryManager expressionFactoryManager = new ExpressionFactoryManager();
+        expressionFactoryManager.putExpressionFactory(ExpressionFactoryManager.DEFAULT_EXPRESSION_TYPE,
+            VariableExpression::new);
+        SequenceExpressionFactory sequenceExpressionFactory = new SequenceExpressionFactory();
+        sequenceExpressionFactory.setSeqGenerator(new MockSeqGenerator());
+        expressionFactoryManager.putExpressionFactory("Sequence", sequenceExpressionFactory);
+        expressionResolver = new DefaultExpressionResolver();
+        expressionResolver.setExpressionFactoryManager(expressionFactoryManager);
+
+        variables = new HashMap<>();
+        variables.put("name", "seata");
+        variables.put("amount", 100);
+    }
+
+    @Test
+    public void testNestedMapAndList() {
+        Map<String, Object> inner = new LinkedHashMap<>();
+        inner.put("amount", "$.amount");
+        inner.put("missing", "$.missing");
+        inner.put("constant", "value");
+        Map<String, Object> assignment = new LinkedHashMap<>();
+        assignment.put("name", "$.name");
+        assignment.put("list", Arrays.asList("$.name", 1, null, inner, new ArrayList<>()));
+        assignment.put("inner", inner);
+        assignment.put("empty", new LinkedHashMap<>());
+
+        Object expected = legacyValue(assignment, null);
+        Object value = ParameterAccessor.compile(expressionResolver, assignment).getValue(variables, null);
+        Assertions.assertEquals(expected, value);
+        Assertions.assertEquals(new ArrayList<>(((Map<?, ?>) expected).keySet()),
+            new ArrayList<>(((Map<?, ?>) value).keySet()));
+        Assertions.assertFalse(((Map<?, ?>) ((Map<?, ?>) value).get("inner")).containsKey("missing"));
+    }
+
+    @Test
+    public void testConstantAndExpression() {
+        for (Object assignment : Arrays.asList("$.name", "$.missing", "name", 1, null)) {
+            Assertions.assertEquals(legacyValue(assignment, null),
+                ParameterAccessor.compile(expressionResolver, assignment).getValue(variables, null));
+        }
+    }
+
+    @Test
+    public void testSequenceBusinessKey() {
+        Map<String, Object> inner = new LinkedHashMap<>();
+        inner.put("orderNo", "$Sequence.ORDER|DEFAULT");
+        List<Object> assignment = Arrays.asList("$.name", inner, "$Sequence.STATE_INST|UUID");
+
+        StateInstanceImpl expectedInstance = new StateInstanceImpl();
+        StateInstanceImpl stateInstance = new StateInstanceImpl();
+        Object expected = legacyValue(assignment, expectedInstance);
+        Object value = ParameterAccessor.compile(expressionResolver, assignment).getValue(variables, stateInstance);
+        Assertions.assertEquals(expected, value);
+        Assertions.assertEquals("ORDER|DEFAULT", expectedInstance.getBusinessKey());
+        Assertions.assertEquals(expectedInstance.getBusinessKey(), stateInstance.getBusinessKey());
+
+        expectedInstance.setBusinessKey("biz");
+        stateInstance.setBusinessKey("biz");
+        legacyValue(assignment, expectedInstance);
+        ParameterAccessor.compile(expressionResolver, assignment).getValue(variables, stateInstance);
+        Assertions.assertEquals("biz", expectedInstance.getBusinessKey());
+        Assertions.assertEquals("biz", stateInstance.getBusinessKey());
+    }
+
+    @Test
+    public void testCompileCompiled() {
+        ParameterAccessor accessor = ParameterAccessor.compile(expressionResolver, "$.name");
+        Assertions.assertSame(accessor, ParameterAccessor.compile(expressionResolver, accessor));
+        Assertions.assertEquals("seata", ParameterUtils.getValue(accessor, variables, null));
+    }
+
+    private Object legacyValue(Object assignment, StateInstanceImpl stateInstance) {
+        return ParameterUtils.getValue(ParameterUtils.createValueExpression(expressionResolver, assignment),
+            variables, stateInstance);
+    }
+
+    private static class VariableExpression implements Expression {
+
+        private final String name;
+
+        VariableExpression(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object getValue(Object elContext) {
+            return ((Map<?, ?>) elContext).get(name);
+        }
+
+        @Override
+        public void setValue(Object value, Object elContext) {
+        }
+
+        @Override
+        public String getExpressionString() {
+            return name;
+        }
+    }
+
+    private static class MockSeqGenerator implements SeqGenerator {
+
+        @Override
+        public String generate(String entity) {
+            return generate(entity, null, null);
+        }
+
+        @Override
+        public String generate(String entity, List<Object> shardingParameters) {
+            return generate(entity, null, shardingParameters);
+        }
+
+        @Override
+        public String generate(String entity, String ruleName, List<Object> shardingParameters) {
+            return entity + "|" + ruleName;
+        }
+    }
+}
@@ -19,6 +19,8 @@ package org.apache.seata.saga.statelang.domain.impl;
 import org.apache.seata.saga.statelang.domain.DomainConstants;
 import org.apache.seata.saga.statelang.domain.ScriptTaskState;
 
+import javax.script.CompiledScript;
+
 /**
  * A state used to execute script such as groovy
  *
@@ -31,6 +33,8 @@ public class ScriptTaskStateImpl extends AbstractTaskState implements ScriptTask
 
     private String scriptContent;
 
+    private volatile CompiledScript compiledScript;
+
     public ScriptTaskStateImpl() {
         setType(DomainConstants.STATE_TYPE_SCRIPT_TASK);
     }
@@ -51,5 +55,19 @@ public class ScriptTaskStateImpl extends AbstractTaskState implements ScriptTask
 
     public void setScriptContent(String scriptContent) {
         this.scriptContent = scriptContent;
+        this.compiledScript = null;
+    }
+
+    /**
+     * Gets the script content compiled by the script engine, null until the state is first executed.
+     *
+     * @return the compiled script
+     */
+    public CompiledScript getCompiledScript() {
+        return compiledScript;
+    }
+
+    public void setCompiledScript(CompiledScript compiledScript) {
+        this.compiledScript = compiledScript;
     }
 }
@@ -26,6 +26,9 @@ import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_REPORT_SUCCES
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_COMPENSATE_PERSIST_MODE_UPDATE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_RETRY_PERSIST_MODE_UPDATE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_STRUCTURED_LOCK_KEY_ENABLE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_ROLLBACK_BATCH_SIZE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_ROLLBACK_PARALLELISM;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_SAGA_JSON_PARSER;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TABLE_META_CHECKER_INTERVAL;
@@ -33,6 +36,8 @@ import static org.apache.seata.common.DefaultValues.TCC_ACTION_INTERCEPTOR_ORDER
 import static org.apache.seata.common.DefaultValues.DEFAULT_XA_BRANCH_EXECUTION_TIMEOUT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_XA_CONNECTION_TWO_PHASE_HOLD_TIMEOUT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_APPLICATION_DATA_SIZE_LIMIT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_SQL_RECOGNIZER_CACHE_ENABLE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_SQL_RECOGNIZER_CACHE_MAX_WEIGHT;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.CLIENT_RM_PREFIX;
 
 
@@ -43,8 +48,13 @@ public class RmProperties {
     private int reportRetryCount = DEFAULT_CLIENT_REPORT_RETRY_COUNT;
     private boolean tableMetaCheckEnable = DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE;
     private long tableMetaCheckerInterval = DEFAULT_TABLE_META_CHECKER_INTERVAL;
+    private boolean sqlRecognizerCacheEnable = DEFAULT_CLIENT_SQL_RECOGNIZER_CACHE_ENABLE;
+    private long sqlRecognizerCacheMaxWeight = DEFAULT_CLIENT_SQL_RECOGNIZER_CACHE_MAX_WEIGHT;
     private boolean reportSuccessEnable = DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE;
     private boolean sagaBranchRegisterEnable = DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE;
+    private boolean structuredLockKeyEnable = DEFAULT_CLIENT_STRUCTURED_LOCK_KEY_ENABLE;
+    private int rollbackBatchSize = DEFAULT_CLIENT_ROLLBACK_BATCH_SIZE;
+    private int rollbackParallelism = DEFAULT_CLIENT_ROLLBACK_PARALLELISM;
     private String sagaJsonParser = DEFAULT_SAGA_JSON_PARSER;
     private boolean sagaRetryPersistModeUpdate = DEFAULT_CLIENT_SAGA_RETRY_PERSIST_MODE_UPDATE;
     private boolean sagaCompensatePersistModeUpdate = DEFAULT_CLIENT_SAGA_COMPENSATE_PERSIST_MODE_UPDATE;
@@ -100,6 +110,30 @@ public class RmProperties {
         this.sagaBranchRegisterEnable = sagaBranchRegisterEnable;
     }
 
+    public boolean isStructuredLockKeyEnable() {
+        return structuredLockKeyEnable;
+    }
+
+    public void setStructuredLockKeyEnable(boolean structuredLockKeyEnable) {
+        this.structuredLockKeyEnable = structuredLockKeyEnable;
+    }
+
+    public int getRollbackBatchSize() {
+        return rollbackBatchSize;
+    }
+
+    public void setRollbackBatchSize(int rollbackBatchSize) {
+        this.rollbackBatchSize = rollbackBatchSize;
+    }
+
+    public int getRollbackParallelism() {
+        return rollbackParallelism;
+    }
+
+    public void setRollbackParallelism(int rollbackParallelism) {
+        this.rollbackParallelism = rollbackParallelism;
+    }
+
     public String getSagaJsonParser() {
         return sagaJsonParser;
     }
@@ -182,4 +216,20 @@ public class RmProperties {
     public void setApplicationDataLimit(Integer applicationDataLimit) {
         this.applicationDataLimit = applicationDataLimit;
     }
+
+    public boolean isSqlRecognizerCacheEnable() {
+        return sqlRecognizerCacheEnable;
+    }
+
+    public void setSqlRecognizerCacheEnable(boolean sqlRecognizerCacheEnable) {
+        this.sqlRecognizerCacheEnable = sqlRecognizerCacheEnable;
+    }
+
+    public long getSqlRecognizerCacheMaxWeight() {
+        return sqlRecognizerCacheMaxWeight;
+    }
+
+    public void setSqlRecognizerCacheMaxWeight(long sqlRecognizerCacheMaxWeight) {
+        this.sqlRecognizerCacheMaxWeight = sqlRecognizerCacheMaxWeight;
+    }
 }
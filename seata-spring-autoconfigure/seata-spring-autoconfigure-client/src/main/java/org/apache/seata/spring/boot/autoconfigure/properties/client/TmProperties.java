@@ -25,6 +25,8 @@ import static org.apache.seata.common.DefaultValues.DEFAULT_TM_DEGRADE_CHECK;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TM_DEGRADE_CHECK_ALLOW_TIMES;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TM_DEGRADE_CHECK_PERIOD;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TM_ROLLBACK_RETRY_COUNT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_TM_XID_LEASE_ENABLE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_TM_XID_LEASE_SIZE;
 import static org.apache.seata.common.DefaultValues.TM_INTERCEPTOR_ORDER;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.CLIENT_TM_PREFIX;
 
@@ -39,6 +41,8 @@ public class TmProperties {
     private int degradeCheckAllowTimes = DEFAULT_TM_DEGRADE_CHECK_ALLOW_TIMES;
     private int degradeCheckPeriod = DEFAULT_TM_DEGRADE_CHECK_PERIOD;
     private int interceptorOrder = TM_INTERCEPTOR_ORDER;
+    private boolean xidLeaseEnable = DEFAULT_TM_XID_LEASE_ENABLE;
+    private int xidLeaseSize = DEFAULT_TM_XID_LEASE_SIZE;
 
     public int getCommitRetryCount() {
         return commitRetryCount;
@@ -101,4 +105,22 @@ public class TmProperties {
         this.interceptorOrder = interceptorOrder;
         return this;
     }
+
+    public boolean isXidLeaseEnable() {
+        return xidLeaseEnable;
+    }
+
+    public TmProperties setXidLeaseEnable(boolean xidLeaseEnable) {
+        this.xidLeaseEnable = xidLeaseEnable;
+        return this;
+    }
+
+    public int getXidLeaseSize() {
+        return xidLeaseSize;
+    }
+
+    public TmProperties setXidLeaseSize(int xidLeaseSize) {
+        this.xidLeaseSize = xidLeaseSize;
+        return this;
+    }
 }
@@ -39,6 +39,15 @@ public class RmPropertiesTest {
         rmProperties.setSagaBranchRegisterEnable(true);
         Assertions.assertTrue(rmProperties.isSagaBranchRegisterEnable());
 
+        rmProperties.setStructuredLockKeyEnable(true);
+        Assertions.assertTrue(rmProperties.isStructuredLockKeyEnable());
+
+        rmProperties.setRollbackBatchSize(16);
+        Assertions.assertEquals(16, rmProperties.getRollbackBatchSize());
+
+        rmProperties.setRollbackParallelism(2);
+        Assertions.assertEquals(2, rmProperties.getRollbackParallelism());
+
         rmProperties.setSagaJsonParser("json");
         Assertions.assertEquals("json", rmProperties.getSagaJsonParser());
 
@@ -44,5 +44,11 @@ public class TmPropertiesTest {
 
         tmProperties.setInterceptorOrder(1);
         Assertions.assertEquals(1, tmProperties.getInterceptorOrder());
+
+        tmProperties.setXidLeaseEnable(true);
+        Assertions.assertTrue(tmProperties.isXidLeaseEnable());
+
+        tmProperties.setXidLeaseSize(1);
+        Assertions.assertEquals(1, tmProperties.getXidLeaseSize());
     }
 }
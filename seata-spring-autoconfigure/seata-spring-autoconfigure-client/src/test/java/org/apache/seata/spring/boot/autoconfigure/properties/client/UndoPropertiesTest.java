@@ -35,5 +35,11 @@ public class UndoPropertiesTest {
 
         undoProperties.setOnlyCareUpdateColumns(true);
         Assertions.assertTrue(undoProperties.isOnlyCareUpdateColumns());
+
+        undoProperties.setBatchSize(500);
+        Assertions.assertEquals(500, undoProperties.getBatchSize());
+
+        undoProperties.setReturningAfterImage(true);
+        Assertions.assertTrue(undoProperties.isReturningAfterImage());
     }
 }
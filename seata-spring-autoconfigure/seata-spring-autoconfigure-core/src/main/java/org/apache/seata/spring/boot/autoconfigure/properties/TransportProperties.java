@@ -57,6 +57,11 @@ public class TransportProperties {
 
     private String protocol = DEFAULT_PROTOCOL;
 
+    /**
+     * the name of the context core, empty means the default context core
+     */
+    private String contextCore;
+
     /**
      * enable client batch send request
      */
@@ -204,4 +209,12 @@ public class TransportProperties {
     public void setProtocol(String protocol) {
         this.protocol = protocol;
     }
+
+    public String getContextCore() {
+        return contextCore;
+    }
+
+    public void setContextCore(String contextCore) {
+        this.contextCore = contextCore;
+    }
 }
@@ -31,9 +31,13 @@ public class ServerProperties {
     private Boolean enableCheckAuth = true;
     private Boolean enableParallelRequestHandle = true;
     private Boolean enableParallelHandleBranch = false;
+    private Integer branchDispatchThreads = 16;
+    private Integer branchDispatchQueueSize = 1024;
+    private Integer branchDispatchResourceConcurrency = 8;
     private Integer retryDeadThreshold = 130000;
     private Integer servicePort;
     private Integer xaerNotaRetryTimeout = 60000;
+    private Long xidLeaseTime = 300000L;
 
     private Boolean applicationDataLimitCheck = false;
     private Integer applicationDataLimit = 64000;
@@ -116,6 +120,30 @@ public class ServerProperties {
         this.enableParallelHandleBranch = enableParallelHandleBranch;
     }
 
+    public Integer getBranchDispatchThreads() {
+        return branchDispatchThreads;
+    }
+
+    public void setBranchDispatchThreads(Integer branchDispatchThreads) {
+        this.branchDispatchThreads = branchDispatchThreads;
+    }
+
+    public Integer getBranchDispatchQueueSize() {
+        return branchDispatchQueueSize;
+    }
+
+    public void setBranchDispatchQueueSize(Integer branchDispatchQueueSize) {
+        this.branchDispatchQueueSize = branchDispatchQueueSize;
+    }
+
+    public Integer getBranchDispatchResourceConcurrency() {
+        return branchDispatchResourceConcurrency;
+    }
+
+    public void setBranchDispatchResourceConcurrency(Integer branchDispatchResourceConcurrency) {
+        this.branchDispatchResourceConcurrency = branchDispatchResourceConcurrency;
+    }
+
     public Boolean getApplicationDataLimitCheck() {
         return applicationDataLimitCheck;
     }
@@ -131,4 +159,12 @@ public class ServerProperties {
     public void setApplicationDataLimit(Integer applicationDataLimit) {
         this.applicationDataLimit = applicationDataLimit;
     }
+
+    public Long getXidLeaseTime() {
+        return xidLeaseTime;
+    }
+
+    public void setXidLeaseTime(Long xidLeaseTime) {
+        this.xidLeaseTime = xidLeaseTime;
+    }
 }
@@ -37,6 +37,10 @@ public class ServerRaftProperties {
 
     private Integer applyBatch = 32;
 
+    private Integer maxProposalBatch = 1;
+
+    private Long proposalTimeout = 30000L;
+
     private Integer maxAppendBufferSize = 256 * 1024;
 
     private Integer maxReplicatorInflightMsgs = 256;
@@ -82,6 +86,24 @@ public class ServerRaftProperties {
         return this;
     }
 
+    public Integer getMaxProposalBatch() {
+        return maxProposalBatch;
+    }
+
+    public ServerRaftProperties setMaxProposalBatch(Integer maxProposalBatch) {
+        this.maxProposalBatch = maxProposalBatch;
+        return this;
+    }
+
+    public Long getProposalTimeout() {
+        return proposalTimeout;
+    }
+
+    public ServerRaftProperties setProposalTimeout(Long proposalTimeout) {
+        this.proposalTimeout = proposalTimeout;
+        return this;
+    }
+
     public Integer getMaxAppendBufferSize() {
         return maxAppendBufferSize;
     }
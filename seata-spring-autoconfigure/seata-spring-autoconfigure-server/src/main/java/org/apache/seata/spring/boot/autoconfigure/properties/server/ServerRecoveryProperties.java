@@ -21,6 +21,10 @@ import org.springframework.stereotype.Component;
 
 import static org.apache.seata.common.DefaultValues.DEFAULT_ASYNC_COMMITTING_RETRY_PERIOD;
 import static org.apache.seata.common.DefaultValues.DEFAULT_COMMITING_RETRY_PERIOD;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RECOVERY_ASYNC_BRANCH_COMMIT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RECOVERY_MAX_RETRY_BACKOFF;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RECOVERY_SHARDS;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RECOVERY_SHARD_BATCH_SIZE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ROLLBACKING_RETRY_PERIOD;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TIMEOUT_RETRY_PERIOD;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.SERVER_RECOVERY_PREFIX;
@@ -34,6 +38,10 @@ public class ServerRecoveryProperties {
     private long asyncCommittingRetryPeriod = DEFAULT_ASYNC_COMMITTING_RETRY_PERIOD;
     private long rollbackingRetryPeriod = DEFAULT_ROLLBACKING_RETRY_PERIOD;
     private long timeoutRetryPeriod = DEFAULT_TIMEOUT_RETRY_PERIOD;
+    private int shards = DEFAULT_RECOVERY_SHARDS;
+    private int shardBatchSize = DEFAULT_RECOVERY_SHARD_BATCH_SIZE;
+    private long maxRetryBackoff = DEFAULT_RECOVERY_MAX_RETRY_BACKOFF;
+    private boolean asyncBranchCommit = DEFAULT_RECOVERY_ASYNC_BRANCH_COMMIT;
 
     public long getCommittingRetryPeriod() {
         return committingRetryPeriod;
@@ -70,4 +78,40 @@ public class ServerRecoveryProperties {
         this.timeoutRetryPeriod = timeoutRetryPeriod;
         return this;
     }
+
+    public int getShards() {
+        return shards;
+    }
+
+    public ServerRecoveryProperties setShards(int shards) {
+        this.shards = shards;
+        return this;
+    }
+
+    public int getShardBatchSize() {
+        return shardBatchSize;
+    }
+
+    public ServerRecoveryProperties setShardBatchSize(int shardBatchSize) {
+        this.shardBatchSize = shardBatchSize;
+        return this;
+    }
+
+    public long getMaxRetryBackoff() {
+        return maxRetryBackoff;
+    }
+
+    public ServerRecoveryProperties setMaxRetryBackoff(long maxRetryBackoff) {
+        this.maxRetryBackoff = maxRetryBackoff;
+        return this;
+    }
+
+    public boolean isAsyncBranchCommit() {
+        return asyncBranchCommit;
+    }
+
+    public ServerRecoveryProperties setAsyncBranchCommit(boolean asyncBranchCommit) {
+        this.asyncBranchCommit = asyncBranchCommit;
+        return this;
+    }
 }
@@ -20,6 +20,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import static org.apache.seata.common.DefaultValues.DEFAULT_SERVICE_SESSION_RELOAD_READ_SIZE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_STORE_FILE_LOCK_ENGINE;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.STORE_FILE_PREFIX;
 
 
@@ -32,6 +33,7 @@ public class StoreFileProperties {
     private Integer fileWriteBufferCacheSize = 16384;
     private Integer sessionReloadReadSize = DEFAULT_SERVICE_SESSION_RELOAD_READ_SIZE;
     private String flushDiskMode = "async";
+    private String lockEngine = DEFAULT_STORE_FILE_LOCK_ENGINE;
 
     public String getDir() {
         return dir;
@@ -86,4 +88,13 @@ public class StoreFileProperties {
         this.flushDiskMode = flushDiskMode;
         return this;
     }
+
+    public String getLockEngine() {
+        return lockEngine;
+    }
+
+    public StoreFileProperties setLockEngine(String lockEngine) {
+        this.lockEngine = lockEngine;
+        return this;
+    }
 }
@@ -31,10 +31,14 @@ public class ServerPropertiesTest {
         serverProperties.setEnableCheckAuth(true);
         serverProperties.setApplicationDataLimitCheck(true);
         serverProperties.setEnableParallelHandleBranch(true);
+        serverProperties.setBranchDispatchThreads(1);
+        serverProperties.setBranchDispatchQueueSize(1);
+        serverProperties.setBranchDispatchResourceConcurrency(1);
         serverProperties.setEnableParallelRequestHandle(true);
         serverProperties.setRollbackRetryTimeoutUnlockEnable(true);
         serverProperties.setMaxCommitRetryTimeout(1L);
         serverProperties.setMaxRollbackRetryTimeout(1L);
+        serverProperties.setXidLeaseTime(1L);
 
         Assertions.assertEquals(1, serverProperties.getXaerNotaRetryTimeout());
         Assertions.assertEquals(1, serverProperties.getRetryDeadThreshold());
@@ -43,9 +47,13 @@ public class ServerPropertiesTest {
         Assertions.assertTrue(serverProperties.getEnableCheckAuth());
         Assertions.assertTrue(serverProperties.getApplicationDataLimitCheck());
         Assertions.assertTrue(serverProperties.getEnableParallelHandleBranch());
+        Assertions.assertEquals(1, serverProperties.getBranchDispatchThreads());
+        Assertions.assertEquals(1, serverProperties.getBranchDispatchQueueSize());
+        Assertions.assertEquals(1, serverProperties.getBranchDispatchResourceConcurrency());
         Assertions.assertTrue(serverProperties.getEnableParallelRequestHandle());
         Assertions.assertTrue(serverProperties.getRollbackRetryTimeoutUnlockEnable());
         Assertions.assertEquals(1L, serverProperties.getMaxCommitRetryTimeout());
         Assertions.assertEquals(1L, serverProperties.getMaxRollbackRetryTimeout());
+        Assertions.assertEquals(1L, serverProperties.getXidLeaseTime());
     }
 }
@@ -28,10 +28,18 @@ public class ServerRecoveryPropertiesTest {
         serverRecoveryProperties.setCommittingRetryPeriod(1L);
         serverRecoveryProperties.setRollbackingRetryPeriod(1L);
         serverRecoveryProperties.setTimeoutRetryPeriod(1L);
+        serverRecoveryProperties.setShards(2);
+        serverRecoveryProperties.setShardBatchSize(3);
+        serverRecoveryProperties.setMaxRetryBackoff(4L);
+        serverRecoveryProperties.setAsyncBranchCommit(true);
 
         Assertions.assertEquals(1L, serverRecoveryProperties.getAsyncCommittingRetryPeriod());
         Assertions.assertEquals(1L, serverRecoveryProperties.getCommittingRetryPeriod());
         Assertions.assertEquals(1L, serverRecoveryProperties.getRollbackingRetryPeriod());
         Assertions.assertEquals(1L, serverRecoveryProperties.getTimeoutRetryPeriod());
+        Assertions.assertEquals(2, serverRecoveryProperties.getShards());
+        Assertions.assertEquals(3, serverRecoveryProperties.getShardBatchSize());
+        Assertions.assertEquals(4L, serverRecoveryProperties.getMaxRetryBackoff());
+        Assertions.assertTrue(serverRecoveryProperties.isAsyncBranchCommit());
     }
 }
@@ -34,6 +34,8 @@ import org.apache.seata.serializer.seata.protocol.transaction.BranchReportReques
 import org.apache.seata.serializer.seata.protocol.transaction.BranchReportResponseCodec;
 import org.apache.seata.serializer.seata.protocol.transaction.BranchRollbackRequestCodec;
 import org.apache.seata.serializer.seata.protocol.transaction.BranchRollbackResponseCodec;
+import org.apache.seata.serializer.seata.protocol.transaction.GlobalBeginLeaseRequestCodec;
+import org.apache.seata.serializer.seata.protocol.transaction.GlobalBeginLeaseResponseCodec;
 import org.apache.seata.serializer.seata.protocol.transaction.GlobalBeginRequestCodec;
 import org.apache.seata.serializer.seata.protocol.transaction.GlobalBeginResponseCodec;
 import org.apache.seata.serializer.seata.protocol.transaction.GlobalCommitRequestCodec;
@@ -64,6 +66,8 @@ import org.apache.seata.core.protocol.transaction.BranchReportRequest;
 import org.apache.seata.core.protocol.transaction.BranchReportResponse;
 import org.apache.seata.core.protocol.transaction.BranchRollbackRequest;
 import org.apache.seata.core.protocol.transaction.BranchRollbackResponse;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseRequest;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseResponse;
 import org.apache.seata.core.protocol.transaction.GlobalBeginRequest;
 import org.apache.seata.core.protocol.transaction.GlobalBeginResponse;
 import org.apache.seata.core.protocol.transaction.GlobalCommitRequest;
@@ -140,6 +144,9 @@ public class MessageCodecFactory {
             case MessageType.TYPE_GLOBAL_BEGIN:
                 msgCodec = new GlobalBeginRequestCodec();
                 break;
+            case MessageType.TYPE_GLOBAL_BEGIN_LEASE:
+                msgCodec = new GlobalBeginLeaseRequestCodec();
+                break;
             case MessageType.TYPE_GLOBAL_COMMIT:
                 msgCodec = new GlobalCommitRequestCodec();
                 break;
@@ -161,6 +168,9 @@ public class MessageCodecFactory {
             case MessageType.TYPE_GLOBAL_BEGIN_RESULT:
                 msgCodec = new GlobalBeginResponseCodec();
                 break;
+            case MessageType.TYPE_GLOBAL_BEGIN_LEASE_RESULT:
+                msgCodec = new GlobalBeginLeaseResponseCodec();
+                break;
             case MessageType.TYPE_GLOBAL_COMMIT_RESULT:
                 msgCodec = new GlobalCommitResponseCodec();
                 break;
@@ -250,6 +260,9 @@ public class MessageCodecFactory {
             case MessageType.TYPE_GLOBAL_BEGIN:
                 abstractMessage = new GlobalBeginRequest();
                 break;
+            case MessageType.TYPE_GLOBAL_BEGIN_LEASE:
+                abstractMessage = new GlobalBeginLeaseRequest();
+                break;
             case MessageType.TYPE_GLOBAL_COMMIT:
                 abstractMessage = new GlobalCommitRequest();
                 break;
@@ -271,6 +284,9 @@ public class MessageCodecFactory {
             case MessageType.TYPE_GLOBAL_BEGIN_RESULT:
                 abstractMessage = new GlobalBeginResponse();
                 break;
+            case MessageType.TYPE_GLOBAL_BEGIN_LEASE_RESULT:
+                abstractMessage = new GlobalBeginLeaseResponse();
+                break;
             case MessageType.TYPE_GLOBAL_COMMIT_RESULT:
                 abstractMessage = new GlobalCommitResponse();
                 break;
@@ -17,8 +17,11 @@
 package org.apache.seata.serializer.seata.protocol.transaction;
 
 import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
 
 import io.netty.buffer.ByteBuf;
+import org.apache.seata.core.lock.StructuredLockKey;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.core.protocol.transaction.BranchRegisterRequest;
 
@@ -28,6 +31,13 @@ import org.apache.seata.core.protocol.transaction.BranchRegisterRequest;
  */
 public class BranchRegisterRequestCodec extends AbstractTransactionRequestToTCCodec {
 
+    /**
+     * Written in place of the lock key length when the lock key follows as a
+     * structured payload: table count, then per table its name and its primary keys,
+     * every string length-prefixed. Only sent to servers that understand it.
+     */
+    static final int STRUCTURED_LOCK_KEY_FLAG = -1;
+
     @Override
     public Class<?> getMessageClassType() {
         return BranchRegisterRequest.class;
@@ -40,7 +50,7 @@ public class BranchRegisterRequestCodec extends AbstractTransactionRequestToTCCo
         String xid = branchRegisterRequest.getXid();
         BranchType branchType = branchRegisterRequest.getBranchType();
         String resourceId = branchRegisterRequest.getResourceId();
-        String lockKey = branchRegisterRequest.getLockKey();
+        StructuredLockKey structuredLockKey = branchRegisterRequest.getStructuredLockKey();
         String applicationData = branchRegisterRequest.getApplicationData();
 
         // 1. xid
@@ -68,8 +78,11 @@ public class BranchRegisterRequestCodec extends AbstractTransactionRequestToTCCo
         }
 
         // 4. Lock Key
-        if (lockKey != null) {
-            byte[] lockKeyBytes = lockKey.getBytes(UTF8);
+        if (structuredLockKey != null && !structuredLockKey.isEmpty() && isEncodable(structuredLockKey)) {
+            out.writeInt(STRUCTURED_LOCK_KEY_FLAG);
+            encodeStructuredLockKey(structuredLockKey, out);
+        } else if (branchRegisterRequest.getLockKey() != null) {
+            byte[] lockKeyBytes = branchRegisterRequest.getLockKey().getBytes(UTF8);
             out.writeInt(lockKeyBytes.length);
             if (lockKeyBytes.length > 0) {
                 out.writeBytes(lockKeyBytes);
@@ -109,7 +122,9 @@ public class BranchRegisterRequestCodec extends AbstractTransactionRequestToTCCo
         }
 
         int iLen = in.getInt();
-        if (iLen > 0) {
+        if (iLen == STRUCTURED_LOCK_KEY_FLAG) {
+            branchRegisterRequest.setStructuredLockKey(decodeStructuredLockKey(in));
+        } else if (iLen > 0) {
             byte[] bs = new byte[iLen];
             in.get(bs);
             branchRegisterRequest.setLockKey(new String(bs, UTF8));
@@ -123,4 +138,55 @@ public class BranchRegisterRequestCodec extends AbstractTransactionRequestToTCCo
         }
     }
 
+    private static boolean isEncodable(StructuredLockKey structuredLockKey) {
+        for (Map.Entry<String, Set<String>> table : structuredLockKey.getTables().entrySet()) {
+            if (table.getKey().length() > Short.MAX_VALUE / 3) {
+                return false;
+            }
+            for (String pk : table.getValue()) {
+                if (pk.length() > Short.MAX_VALUE / 3) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void encodeStructuredLockKey(StructuredLockKey structuredLockKey, ByteBuf out) {
+        Map<String, Set<String>> tables = structuredLockKey.getTables();
+        out.writeInt(tables.size());
+        for (Map.Entry<String, Set<String>> table : tables.entrySet()) {
+            writeShortString(table.getKey(), out);
+            out.writeInt(table.getValue().size());
+            for (String pk : table.getValue()) {
+                writeShortString(pk, out);
+            }
+        }
+    }
+
+    private static StructuredLockKey decodeStructuredLockKey(ByteBuffer in) {
+        StructuredLockKey structuredLockKey = new StructuredLockKey();
+        int tableCount = in.getInt();
+        for (int i = 0; i < tableCount; i++) {
+            String tableName = readShortString(in);
+            int pkCount = in.getInt();
+            for (int j = 0; j < pkCount; j++) {
+                structuredLockKey.addRow(tableName, readShortString(in));
+            }
+        }
+        return structuredLockKey;
+    }
+
+    private static void writeShortString(String value, ByteBuf out) {
+        byte[] bs = value.getBytes(UTF8);
+        out.writeShort((short)bs.length);
+        out.writeBytes(bs);
+    }
+
+    private static String readShortString(ByteBuffer in) {
+        short len = in.getShort();
+        byte[] bs = new byte[len];
+        in.get(bs);
+        return new String(bs, UTF8);
+    }
 }
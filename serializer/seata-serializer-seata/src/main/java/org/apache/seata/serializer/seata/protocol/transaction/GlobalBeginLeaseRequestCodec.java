@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.serializer.seata.protocol.transaction;
+
+import java.nio.ByteBuffer;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseRequest;
+
+/**
+ * The type Global begin lease request codec.
+ *
+ */
+public class GlobalBeginLeaseRequestCodec extends AbstractTransactionRequestToTCCodec {
+
+    @Override
+    public Class<?> getMessageClassType() {
+        return GlobalBeginLeaseRequest.class;
+    }
+
+    @Override
+    public <T> void encode(T t, ByteBuf out) {
+        GlobalBeginLeaseRequest globalBeginLeaseRequest = (GlobalBeginLeaseRequest)t;
+
+        out.writeInt(globalBeginLeaseRequest.getTimeout());
+        out.writeInt(globalBeginLeaseRequest.getSize());
+    }
+
+    @Override
+    public <T> void decode(T t, ByteBuffer in) {
+        GlobalBeginLeaseRequest globalBeginLeaseRequest = (GlobalBeginLeaseRequest)t;
+
+        globalBeginLeaseRequest.setTimeout(in.getInt());
+        globalBeginLeaseRequest.setSize(in.getInt());
+    }
+
+}
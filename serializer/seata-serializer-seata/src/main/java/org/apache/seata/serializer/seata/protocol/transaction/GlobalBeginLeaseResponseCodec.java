@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.serializer.seata.protocol.transaction;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseResponse;
+
+/**
+ * The type Global begin lease response codec.
+ *
+ */
+public class GlobalBeginLeaseResponseCodec extends AbstractTransactionResponseCodec {
+
+    @Override
+    public Class<?> getMessageClassType() {
+        return GlobalBeginLeaseResponse.class;
+    }
+
+    @Override
+    public <T> void encode(T t, ByteBuf out) {
+        super.encode(t, out);
+
+        GlobalBeginLeaseResponse globalBeginLeaseResponse = (GlobalBeginLeaseResponse)t;
+        List<String> xids = globalBeginLeaseResponse.getXids();
+
+        out.writeLong(globalBeginLeaseResponse.getLeaseTime());
+        out.writeShort((short)xids.size());
+        for (String xid : xids) {
+            byte[] bs = xid.getBytes(UTF8);
+            out.writeShort((short)bs.length);
+            out.writeBytes(bs);
+        }
+    }
+
+    @Override
+    public <T> void decode(T t, ByteBuffer in) {
+        super.decode(t, in);
+
+        GlobalBeginLeaseResponse globalBeginLeaseResponse = (GlobalBeginLeaseResponse)t;
+
+        globalBeginLeaseResponse.setLeaseTime(in.getLong());
+        short size = in.getShort();
+        List<String> xids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            byte[] bs = new byte[in.getShort()];
+            in.get(bs);
+            xids.add(new String(bs, UTF8));
+        }
+        globalBeginLeaseResponse.setXids(xids);
+    }
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.seata.serializer.seata.protocol.transaction;
 
+import org.apache.seata.core.lock.StructuredLockKey;
+import org.apache.seata.core.protocol.MergedWarpMessage;
 import org.apache.seata.core.protocol.ProtocolConstants;
 import org.apache.seata.serializer.seata.SeataSerializer;
 import org.apache.seata.core.model.BranchType;
@@ -59,4 +61,45 @@ public class BranchRegisterRequestSerializerTest {
 
     }
 
+    /**
+     * Test codec of the structured lock key.
+     */
+    @Test
+    public void test_structuredLockKey() {
+        StructuredLockKey structuredLockKey = new StructuredLockKey();
+        structuredLockKey.addRow("t_user", "1_a");
+        structuredLockKey.addRow("t_user", "2_b");
+        structuredLockKey.addRow("t_order", "3");
+
+        BranchRegisterRequest structured = new BranchRegisterRequest();
+        structured.setXid("abc134");
+        structured.setResourceId("124");
+        structured.setStructuredLockKey(structuredLockKey);
+        structured.setApplicationData("abc");
+
+        BranchRegisterRequest legacy = new BranchRegisterRequest();
+        legacy.setXid("abc135");
+        legacy.setResourceId("125");
+        legacy.setLockKey("a:1,b:2");
+
+        MergedWarpMessage mergedWarpMessage = new MergedWarpMessage();
+        mergedWarpMessage.msgs.add(structured);
+        mergedWarpMessage.msgs.add(legacy);
+        mergedWarpMessage.msgIds.add(1);
+        mergedWarpMessage.msgIds.add(2);
+
+        MergedWarpMessage decoded = seataSerializer.deserialize(seataSerializer.serialize(mergedWarpMessage));
+
+        BranchRegisterRequest structured2 = (BranchRegisterRequest)decoded.msgs.get(0);
+        assertThat(structured2.getStructuredLockKey()).isNotNull();
+        assertThat(structured2.getStructuredLockKey().getTables()).isEqualTo(structuredLockKey.getTables());
+        assertThat(structured2.getLockKey()).isEqualTo("t_user:1_a,2_b;t_order:3");
+        assertThat(structured2.getApplicationData()).isEqualTo("abc");
+
+        BranchRegisterRequest legacy2 = (BranchRegisterRequest)decoded.msgs.get(1);
+        assertThat(legacy2.getStructuredLockKey()).isNull();
+        assertThat(legacy2.getLockKey()).isEqualTo("a:1,b:2");
+        assertThat(legacy2.getXid()).isEqualTo("abc135");
+    }
+
 }
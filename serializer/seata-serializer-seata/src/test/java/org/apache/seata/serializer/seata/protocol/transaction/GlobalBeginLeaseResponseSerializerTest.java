@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.serializer.seata.protocol.transaction;
+
+import java.util.Arrays;
+
+import org.apache.seata.core.protocol.ProtocolConstants;
+import org.apache.seata.serializer.seata.SeataSerializer;
+import org.apache.seata.core.protocol.ResultCode;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseRequest;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+/**
+ * The type Global begin lease codec test.
+ *
+ */
+public class GlobalBeginLeaseResponseSerializerTest {
+
+    /**
+     * The Seata codec.
+     */
+    SeataSerializer seataSerializer = new SeataSerializer(ProtocolConstants.VERSION);
+
+    /**
+     * Test request codec.
+     */
+    @Test
+    public void test_request_codec(){
+        GlobalBeginLeaseRequest globalBeginLeaseRequest = new GlobalBeginLeaseRequest();
+        globalBeginLeaseRequest.setTimeout(3000);
+        globalBeginLeaseRequest.setSize(64);
+
+        byte[] bytes = seataSerializer.serialize(globalBeginLeaseRequest);
+
+        GlobalBeginLeaseRequest globalBeginLeaseRequest2 = seataSerializer.deserialize(bytes);
+
+        assertThat(globalBeginLeaseRequest2.getTimeout()).isEqualTo(globalBeginLeaseRequest.getTimeout());
+        assertThat(globalBeginLeaseRequest2.getSize()).isEqualTo(globalBeginLeaseRequest.getSize());
+    }
+
+    /**
+     * Test response codec.
+     */
+    @Test
+    public void test_codec(){
+        GlobalBeginLeaseResponse globalBeginLeaseResponse = new GlobalBeginLeaseResponse();
+        globalBeginLeaseResponse.setResultCode(ResultCode.Success);
+        globalBeginLeaseResponse.setXids(Arrays.asList("127.0.0.1:8091:2454", "127.0.0.1:8091:2455"));
+        globalBeginLeaseResponse.setLeaseTime(300000L);
+
+        byte[] bytes = seataSerializer.serialize(globalBeginLeaseResponse);
+
+        GlobalBeginLeaseResponse globalBeginLeaseResponse2 = seataSerializer.deserialize(bytes);
+
+        assertThat(globalBeginLeaseResponse2.getResultCode()).isEqualTo(globalBeginLeaseResponse.getResultCode());
+        assertThat(globalBeginLeaseResponse2.getXids()).isEqualTo(globalBeginLeaseResponse.getXids());
+        assertThat(globalBeginLeaseResponse2.getLeaseTime()).isEqualTo(globalBeginLeaseResponse.getLeaseTime());
+    }
+
+}
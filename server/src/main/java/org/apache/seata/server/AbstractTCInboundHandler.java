@@ -27,6 +27,8 @@ import org.apache.seata.core.protocol.transaction.BranchRegisterRequest;
 import org.apache.seata.core.protocol.transaction.BranchRegisterResponse;
 import org.apache.seata.core.protocol.transaction.BranchReportRequest;
 import org.apache.seata.core.protocol.transaction.BranchReportResponse;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseRequest;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseResponse;
 import org.apache.seata.core.protocol.transaction.GlobalBeginRequest;
 import org.apache.seata.core.protocol.transaction.GlobalBeginResponse;
 import org.apache.seata.core.protocol.transaction.GlobalCommitRequest;
@@ -83,6 +85,30 @@ public abstract class AbstractTCInboundHandler extends AbstractExceptionHandler
     protected abstract void doGlobalBegin(GlobalBeginRequest request, GlobalBeginResponse response,
                                           RpcContext rpcContext) throws TransactionException;
 
+    @Override
+    public GlobalBeginLeaseResponse handle(GlobalBeginLeaseRequest request, final RpcContext rpcContext) {
+        GlobalBeginLeaseResponse response = new GlobalBeginLeaseResponse();
+        exceptionHandleTemplate(new AbstractCallback<GlobalBeginLeaseRequest, GlobalBeginLeaseResponse>() {
+            @Override
+            public void execute(GlobalBeginLeaseRequest request, GlobalBeginLeaseResponse response)
+                throws TransactionException {
+                doGlobalBeginLease(request, response, rpcContext);
+            }
+        }, request, response);
+        return response;
+    }
+
+    /**
+     * Do global begin lease.
+     *
+     * @param request    the request
+     * @param response   the response
+     * @param rpcContext the rpc context
+     * @throws TransactionException the transaction exception
+     */
+    protected abstract void doGlobalBeginLease(GlobalBeginLeaseRequest request, GlobalBeginLeaseResponse response,
+                                               RpcContext rpcContext) throws TransactionException;
+
     @Override
     public GlobalCommitResponse handle(GlobalCommitRequest request, final RpcContext rpcContext) {
         GlobalCommitResponse response = new GlobalCommitResponse();
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.cluster.raft;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import com.alipay.sofa.jraft.Closure;
+import com.alipay.sofa.jraft.Node;
+import com.alipay.sofa.jraft.Status;
+import com.alipay.sofa.jraft.entity.Task;
+import com.alipay.sofa.jraft.error.RaftError;
+import org.apache.seata.server.cluster.raft.sync.RaftSyncMessageSerializer;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBatchSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the concurrent proposals of a raft group into batched log entries.
+ * <p>
+ * Proposers append the encoded message and its closure to a lock-free queue, and whichever proposer wins the
+ * drain flag submits everything queued so far, at most {@code maxBatchSize} messages per log entry. No thread
+ * is dedicated to the pipeline and a lone proposal is applied right away as a plain message. The closures of a
+ * batch are run in proposal order once the entry is committed, so callers never have to park on the apply.
+ * <p>
+ * server.raft.maxProposalBatch defaults to 1, which turns coalescing off: a follower without the batch codec
+ * cannot apply a batched entry, so a mixed-version cluster would diverge. Raise it once every node of the
+ * cluster runs a version that decodes batches.
+ */
+public class RaftProposalPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RaftProposalPipeline.class);
+
+    private final Node node;
+
+    private final int maxBatchSize;
+
+    private final Queue<Proposal> proposals = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    public RaftProposalPipeline(Node node, int maxBatchSize) {
+        this.node = node;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * Propose an encoded {@link RaftSyncMessage}, the closure is run once the entry is committed or failed.
+     *
+     * @param data the encoded sync message
+     * @param done the closure
+     */
+    public void propose(byte[] data, Closure done) {
+        proposals.offer(new Proposal(data, done));
+        // whoever leaves the drain flag re-checks the queue, so a proposal is never left behind
+        while (!proposals.isEmpty() && draining.compareAndSet(false, true)) {
+            try {
+                drain();
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        List<Proposal> batch = new ArrayList<>();
+        Proposal proposal;
+        while ((proposal = proposals.poll()) != null) {
+            batch.add(proposal);
+            if (batch.size() >= maxBatchSize) {
+                apply(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            apply(batch);
+        }
+    }
+
+    private void apply(List<Proposal> batch) {
+        Task task = new Task();
+        if (batch.size() == 1) {
+            Proposal proposal = batch.get(0);
+            task.setData(ByteBuffer.wrap(proposal.data));
+            task.setDone(proposal.done);
+        } else {
+            List<byte[]> msgs = new ArrayList<>(batch.size());
+            for (Proposal proposal : batch) {
+                msgs.add(proposal.data);
+            }
+            RaftSyncMessage raftSyncMessage = new RaftSyncMessage();
+            raftSyncMessage.setBody(new RaftBatchSyncMsg(msgs));
+            try {
+                task.setData(ByteBuffer.wrap(RaftSyncMessageSerializer.encode(raftSyncMessage)));
+            } catch (IOException e) {
+                LOGGER.error("encode raft batch message error: {}", e.getMessage(), e);
+                new BatchClosure(batch).run(new Status(RaftError.EINTERNAL, e.getMessage()));
+                return;
+            }
+            task.setDone(new BatchClosure(batch));
+        }
+        node.apply(task);
+    }
+
+    static class Proposal {
+
+        private final byte[] data;
+
+        private final Closure done;
+
+        Proposal(byte[] data, Closure done) {
+            this.data = data;
+            this.done = done;
+        }
+    }
+
+    static class BatchClosure implements Closure {
+
+        private final List<Proposal> batch;
+
+        BatchClosure(List<Proposal> batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void run(Status status) {
+            for (Proposal proposal : batch) {
+                try {
+                    proposal.done.run(status);
+                } catch (Throwable e) {
+                    LOGGER.error("run raft proposal closure error: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+}
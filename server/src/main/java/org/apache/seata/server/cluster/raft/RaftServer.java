@@ -34,8 +34,10 @@ import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.apache.seata.common.ConfigurationKeys.SERVER_RAFT_MAX_PROPOSAL_BATCH;
 import static org.apache.seata.common.ConfigurationKeys.SERVER_RAFT_REPORTER_ENABLED;
 import static org.apache.seata.common.ConfigurationKeys.SERVER_RAFT_REPORTER_INITIAL_DELAY;
+import static org.apache.seata.common.DefaultValues.DEFAULT_SERVER_RAFT_MAX_PROPOSAL_BATCH;
 
 /**
  */
@@ -50,6 +52,7 @@ public class RaftServer implements Disposable, Closeable {
     private final RpcServer rpcServer;
     private RaftGroupService raftGroupService;
     private Node node;
+    private RaftProposalPipeline proposalPipeline;
 
     public RaftServer(final String dataPath, final String groupId, final PeerId serverId, final NodeOptions nodeOptions, final RpcServer rpcServer)
         throws IOException {
@@ -79,6 +82,8 @@ public class RaftServer implements Disposable, Closeable {
         // Initialize the raft Group service framework
         this.raftGroupService = new RaftGroupService(groupId, serverId, nodeOptions, rpcServer, true);
         this.node = this.raftGroupService.start(false);
+        this.proposalPipeline = new RaftProposalPipeline(node, ConfigurationFactory.getInstance()
+            .getInt(SERVER_RAFT_MAX_PROPOSAL_BATCH, DEFAULT_SERVER_RAFT_MAX_PROPOSAL_BATCH));
         RouteTable.getInstance().updateConfiguration(groupId, node.getOptions().getInitialConf());
         if (reporterEnabled) {
             final Slf4jReporter reporter = Slf4jReporter.forRegistry(node.getNodeMetrics().getMetricRegistry())
@@ -93,6 +98,10 @@ public class RaftServer implements Disposable, Closeable {
         return this.node;
     }
 
+    public RaftProposalPipeline getProposalPipeline() {
+        return proposalPipeline;
+    }
+
 
     public RaftStateMachine getRaftStateMachine() {
         return raftStateMachine;
@@ -71,6 +71,7 @@ import org.apache.seata.server.cluster.raft.execute.lock.GlobalReleaseLockExecut
 import org.apache.seata.server.cluster.listener.ClusterChangeEvent;
 import org.apache.seata.server.cluster.raft.sync.RaftSyncMessageSerializer;
 import org.apache.seata.server.cluster.raft.sync.msg.RaftBaseMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBatchSyncMsg;
 import org.apache.seata.server.cluster.raft.sync.msg.RaftClusterMetadataMsg;
 import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMsgType;
 import org.apache.seata.server.cluster.raft.sync.msg.dto.RaftClusterMetadata;
@@ -323,6 +324,13 @@ public class RaftStateMachine extends StateMachineAdapter {
     }
 
     private void onExecuteRaft(RaftBaseMsg msg) {
+        if (msg instanceof RaftBatchSyncMsg) {
+            // coalesced proposals, execute them in proposal order
+            for (byte[] data : ((RaftBatchSyncMsg)msg).getMsgs()) {
+                onExecuteRaft((RaftBaseMsg)RaftSyncMessageSerializer.decode(data).getBody());
+            }
+            return;
+        }
         RaftMsgExecute<?> execute = EXECUTES.get(msg.getMsgType());
         if (execute == null) {
             throw new RuntimeException(
@@ -24,7 +24,9 @@ import java.io.ObjectOutputStream;
 import java.io.ObjectStreamClass;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.seata.common.exception.ErrorCode;
 import org.apache.seata.common.exception.SeataRuntimeException;
@@ -43,6 +45,9 @@ public class RaftSnapshotSerializer {
     private static final Logger LOGGER = LoggerFactory.getLogger(RaftSnapshotSerializer.class);
 
     private static final List<String> PERMITS = new ArrayList<>();
+
+    private static final Map<Byte, Serializer> SERIALIZERS = new ConcurrentHashMap<>();
+
     static {
         PERMITS.add(RaftSnapshot.class.getName());
         PERMITS.add(RaftSnapshot.SnapshotType.class.getName());
@@ -55,8 +60,7 @@ public class RaftSnapshotSerializer {
     public static byte[] encode(RaftSnapshot raftSnapshot) throws IOException {
         try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
              ObjectOutputStream oos = new ObjectOutputStream(bos)) {
-            Serializer serializer =
-                    EnhancedServiceLoader.load(Serializer.class, SerializerType.getByCode(raftSnapshot.getCodec()).name());
+            Serializer serializer = getSerializer(raftSnapshot.getCodec());
             Optional.ofNullable(raftSnapshot.getBody()).ifPresent(value -> raftSnapshot.setBody(
                     CompressorFactory.getCompressor(raftSnapshot.getCompressor()).compress(serializer.serialize(value))));
             oos.writeObject(raftSnapshot);
@@ -67,8 +71,7 @@ public class RaftSnapshotSerializer {
     public static byte[] encode(io.seata.server.cluster.raft.snapshot.RaftSnapshot raftSnapshot) throws IOException {
         try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
              ObjectOutputStream oos = new ObjectOutputStream(bos)) {
-            Serializer serializer =
-                    EnhancedServiceLoader.load(Serializer.class, SerializerType.getByCode(raftSnapshot.getCodec()).name());
+            Serializer serializer = getSerializer(raftSnapshot.getCodec());
             Optional.ofNullable(raftSnapshot.getBody()).ifPresent(value -> raftSnapshot.setBody(
                     CompressorFactory.getCompressor(raftSnapshot.getCompressor()).compress(serializer.serialize(value))));
             oos.writeObject(raftSnapshot);
@@ -101,8 +104,7 @@ public class RaftSnapshotSerializer {
             } else {
                 raftSnapshot = (RaftSnapshot)object;
             }
-            Serializer serializer =
-                    EnhancedServiceLoader.load(Serializer.class, SerializerType.getByCode(raftSnapshot.getCodec()).name());
+            Serializer serializer = getSerializer(raftSnapshot.getCodec());
             Optional.ofNullable(raftSnapshot.getBody())
                     .ifPresent(value -> raftSnapshot.setBody(serializer.deserialize(CompressorFactory
                             .getCompressor(raftSnapshot.getCompressor()).decompress((byte[])raftSnapshot.getBody()))));
@@ -116,4 +118,9 @@ public class RaftSnapshotSerializer {
         }
     }
 
+    private static Serializer getSerializer(byte codec) {
+        return SERIALIZERS.computeIfAbsent(codec,
+            key -> EnhancedServiceLoader.load(Serializer.class, SerializerType.getByCode(key).name()));
+    }
+
 }
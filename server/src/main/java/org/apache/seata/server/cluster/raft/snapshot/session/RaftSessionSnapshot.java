@@ -50,30 +50,55 @@ public class RaftSessionSnapshot implements java.io.Serializable  {
     public Map<String, GlobalSession> convert2GlobalSession() {
         Map<String, GlobalSession> sessionMap = new HashMap<>();
         globalsessions.forEach((globalSessionByte, branchSessionBytes) -> {
-            GlobalSession globalSession = new GlobalSession();
-            globalSession.decode(globalSessionByte);
-            branchSessionBytes.forEach(branch -> {
-                BranchSession branchSession = new BranchSession();
-                branchSession.decode(branch);
-                if (globalSession.isActive()) {
-                    try {
-                        branchSession.lock();
-                    } catch (TransactionException e) {
-                        LOGGER.error(e.getMessage());
-                    }
-                }
-                globalSession.add(branchSession);
-            });
-            if (GlobalStatus.Rollbacking.equals(globalSession.getStatus())
-                || GlobalStatus.TimeoutRollbacking.equals(globalSession.getStatus())) {
-                globalSession.getBranchSessions().parallelStream()
-                    .forEach(branchSession -> branchSession.setLockStatus(LockStatus.Rollbacking));
-            }
+            GlobalSession globalSession = convert2GlobalSession(globalSessionByte, branchSessionBytes);
+            lockBranches(globalSession);
             sessionMap.put(globalSession.getXid(), globalSession);
         });
         return sessionMap;
     }
 
+    /**
+     * Decode a global session and its branches without acquiring their row locks.
+     *
+     * @param globalSessionByte  the encoded global session
+     * @param branchSessionBytes the encoded branch sessions
+     * @return the global session
+     * @see #lockBranches(GlobalSession)
+     */
+    public static GlobalSession convert2GlobalSession(byte[] globalSessionByte, List<byte[]> branchSessionBytes) {
+        GlobalSession globalSession = new GlobalSession();
+        globalSession.decode(globalSessionByte);
+        branchSessionBytes.forEach(branch -> {
+            BranchSession branchSession = new BranchSession();
+            branchSession.decode(branch);
+            globalSession.add(branchSession);
+        });
+        if (GlobalStatus.Rollbacking.equals(globalSession.getStatus())
+            || GlobalStatus.TimeoutRollbacking.equals(globalSession.getStatus())) {
+            globalSession.getBranchSessions().parallelStream()
+                .forEach(branchSession -> branchSession.setLockStatus(LockStatus.Rollbacking));
+        }
+        return globalSession;
+    }
+
+    /**
+     * Acquire the row locks of the branches of an active global session restored from a snapshot.
+     *
+     * @param globalSession the global session
+     */
+    public static void lockBranches(GlobalSession globalSession) {
+        if (!globalSession.isActive()) {
+            return;
+        }
+        for (BranchSession branchSession : globalSession.getBranchSessions()) {
+            try {
+                branchSession.lock();
+            } catch (TransactionException e) {
+                LOGGER.error(e.getMessage());
+            }
+        }
+    }
+
     public void convert2GlobalSessionByte(GlobalSession globalSession) {
         byte[] globalSessionByte = globalSession.encode();
         if (CollectionUtils.isEmpty(globalSession.getBranchSessions())) {
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.cluster.raft.snapshot.session;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.seata.core.protocol.Version;
+import org.apache.seata.server.session.BranchSession;
+import org.apache.seata.server.session.GlobalSession;
+
+/**
+ * Streaming binary format of the session snapshot. Sessions are written one record at a time with their own
+ * encoding, so neither save nor load ever holds the whole session store as a second copy.
+ * <pre>
+ * | magic 2 | schema version 1 | version string |
+ * record: | global length 4 | global session | branch count 4 | (branch length 4 | branch session)* |
+ * | -1 as end of records |
+ * </pre>
+ */
+public final class SessionSnapshotCodec {
+
+    private static final byte MAGIC_HIGH = (byte)0xDA;
+
+    private static final byte MAGIC_LOW = (byte)0x7B;
+
+    private static final byte SCHEMA_VERSION = 1;
+
+    private static final int END_OF_RECORDS = -1;
+
+    private SessionSnapshotCodec() {
+    }
+
+    /**
+     * Whether the snapshot file was written by this codec.
+     *
+     * @param file the snapshot file
+     * @return true if binary
+     * @throws IOException the io exception
+     */
+    public static boolean isBinary(File file) throws IOException {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            return in.read() == (MAGIC_HIGH & 0xFF) && in.read() == (MAGIC_LOW & 0xFF);
+        }
+    }
+
+    /**
+     * Write the sessions to the file.
+     *
+     * @param file     the snapshot file
+     * @param sessions the global sessions
+     * @return the count of written global sessions
+     * @throws IOException the io exception
+     */
+    public static int save(File file, Collection<GlobalSession> sessions) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs() && !parent.exists()) {
+            throw new IOException("Fail to create directory " + parent);
+        }
+        int count = 0;
+        try (OutputStream os = Files.newOutputStream(file.toPath());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 64 * 1024))) {
+            out.writeByte(MAGIC_HIGH);
+            out.writeByte(MAGIC_LOW);
+            out.writeByte(SCHEMA_VERSION);
+            writeBytes(out, Version.getCurrent().getBytes(StandardCharsets.UTF_8));
+            for (GlobalSession globalSession : sessions) {
+                writeBytes(out, globalSession.encode());
+                List<BranchSession> branchSessions = new ArrayList<>(globalSession.getBranchSessions());
+                out.writeInt(branchSessions.size());
+                for (BranchSession branchSession : branchSessions) {
+                    writeBytes(out, branchSession.encode());
+                }
+                count++;
+            }
+            out.writeInt(END_OF_RECORDS);
+        }
+        return count;
+    }
+
+    /**
+     * Read the sessions of the file one by one.
+     *
+     * @param file     the snapshot file
+     * @param consumer the consumer of every global session
+     * @return the count of read global sessions
+     * @throws IOException the io exception
+     */
+    public static int load(File file, Consumer<GlobalSession> consumer) throws IOException {
+        int count = 0;
+        try (InputStream is = Files.newInputStream(file.toPath());
+            DataInputStream in = new DataInputStream(new BufferedInputStream(is, 64 * 1024))) {
+            if (in.readByte() != MAGIC_HIGH || in.readByte() != MAGIC_LOW) {
+                throw new IOException("Not a binary session snapshot: " + file);
+            }
+            byte schemaVersion = in.readByte();
+            if (schemaVersion > SCHEMA_VERSION) {
+                throw new IOException("Unsupported session snapshot schema version: " + schemaVersion);
+            }
+            // the version of the writer, reserved for compatibility handling
+            readBytes(in, in.readInt());
+            int length;
+            while ((length = in.readInt()) != END_OF_RECORDS) {
+                byte[] globalSessionByte = readBytes(in, length);
+                int branchCount = in.readInt();
+                List<byte[]> branchSessionBytes = new ArrayList<>(branchCount);
+                for (int i = 0; i < branchCount; i++) {
+                    branchSessionBytes.add(readBytes(in, in.readInt()));
+                }
+                consumer.accept(RaftSessionSnapshot.convert2GlobalSession(globalSessionByte, branchSessionBytes));
+                count++;
+            }
+        } catch (EOFException e) {
+            throw new IOException("Truncated session snapshot: " + file, e);
+        }
+        return count;
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+}
@@ -19,13 +19,18 @@ package org.apache.seata.server.cluster.raft.snapshot.session;
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.Map;
 import com.alipay.sofa.jraft.Status;
 import com.alipay.sofa.jraft.error.RaftError;
 import com.alipay.sofa.jraft.storage.snapshot.SnapshotReader;
 import com.alipay.sofa.jraft.storage.snapshot.SnapshotWriter;
+import org.apache.seata.common.util.StringUtils;
+import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.server.cluster.raft.snapshot.RaftSnapshot;
 import org.apache.seata.server.cluster.raft.snapshot.StoreSnapshotFile;
+import org.apache.seata.server.cluster.raft.sync.RaftSyncMessageCodec;
 import org.apache.seata.server.lock.LockerManagerFactory;
 import org.apache.seata.server.session.GlobalSession;
 import org.apache.seata.server.session.SessionHolder;
@@ -33,6 +38,9 @@ import org.apache.seata.server.storage.raft.session.RaftSessionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.apache.seata.common.ConfigurationKeys.SERVER_RAFT_SERIALIZATION;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RAFT_SERIALIZATION;
+
 /**
  */
 public class SessionSnapshotFile implements Serializable,StoreSnapshotFile {
@@ -45,6 +53,9 @@ public class SessionSnapshotFile implements Serializable,StoreSnapshotFile {
 
     String fileName = "session";
 
+    private static final boolean BINARY = StringUtils.equalsIgnoreCase(RaftSyncMessageCodec.NAME,
+        ConfigurationFactory.getInstance().getConfig(SERVER_RAFT_SERIALIZATION, DEFAULT_RAFT_SERIALIZATION));
+
     public SessionSnapshotFile(String group) {
         this.group = group;
     }
@@ -53,6 +64,9 @@ public class SessionSnapshotFile implements Serializable,StoreSnapshotFile {
     public Status save(SnapshotWriter writer) {
         RaftSessionManager raftSessionManager = (RaftSessionManager)SessionHolder.getRootSessionManager(group);
         Map<String, GlobalSession> sessionMap = raftSessionManager.getSessionMap();
+        if (BINARY) {
+            return saveBinary(writer, sessionMap);
+        }
         RaftSessionSnapshot sessionSnapshot = new RaftSessionSnapshot();
         sessionMap.forEach((xid, session) -> sessionSnapshot.convert2GlobalSessionByte(session));
         RaftSnapshot raftSnapshot = new RaftSnapshot();
@@ -74,6 +88,44 @@ public class SessionSnapshotFile implements Serializable,StoreSnapshotFile {
         return new Status(RaftError.EIO, "Fail to save groupId: " + group + " snapshot %s", path);
     }
 
+    private Status saveBinary(SnapshotWriter writer, Map<String, GlobalSession> sessionMap) {
+        String path = new StringBuilder(writer.getPath()).append(File.separator).append(fileName).toString();
+        try {
+            int size = SessionSnapshotCodec.save(new File(path), sessionMap.values());
+            LOGGER.info("groupId: {}, global session size: {}", group, size);
+            if (writer.addFile(fileName)) {
+                return Status.OK();
+            }
+            return new Status(RaftError.EIO, "Fail to add file to writer");
+        } catch (IOException e) {
+            LOGGER.error("Fail to save groupId: {} snapshot {}", group, path, e);
+        }
+        return new Status(RaftError.EIO, "Fail to save groupId: " + group + " snapshot %s", path);
+    }
+
+    /**
+     * Replace the sessions with the ones of a binary snapshot. The whole file is decoded before anything is
+     * touched, so a truncated or corrupt snapshot leaves the current sessions and locks as they are.
+     *
+     * @param file           the snapshot file
+     * @param rootSessionMap the session map to overwrite
+     * @return the number of loaded global sessions
+     * @throws IOException          the io exception
+     * @throws TransactionException the transaction exception
+     */
+    static int loadBinary(File file, Map<String, GlobalSession> rootSessionMap)
+        throws IOException, TransactionException {
+        Map<String, GlobalSession> sessionMap = new HashMap<>();
+        int size = SessionSnapshotCodec.load(file,
+            globalSession -> sessionMap.put(globalSession.getXid(), globalSession));
+        // be sure to clear the data before loading it, because this is a full overwrite update
+        LockerManagerFactory.getLockManager().cleanAllLocks();
+        rootSessionMap.clear();
+        sessionMap.values().forEach(RaftSessionSnapshot::lockBranches);
+        rootSessionMap.putAll(sessionMap);
+        return size;
+    }
+
     @Override
     public boolean load(SnapshotReader reader) {
         if (reader.getFileMeta(fileName) == null) {
@@ -83,13 +135,20 @@ public class SessionSnapshotFile implements Serializable,StoreSnapshotFile {
         String path = new StringBuilder(reader.getPath()).append(File.separator).append(fileName).toString();
         try {
             LOGGER.info("on snapshot load start index: {}", reader.load().getLastIncludedIndex());
-            RaftSessionSnapshot sessionSnapshot = (RaftSessionSnapshot)load(path);
             RaftSessionManager raftSessionManager = (RaftSessionManager)SessionHolder.getRootSessionManager(group);
             Map<String, GlobalSession> rootSessionMap = raftSessionManager.getSessionMap();
-            // be sure to clear the data before loading it, because this is a full overwrite update
-            LockerManagerFactory.getLockManager().cleanAllLocks();
-            rootSessionMap.clear();
-            rootSessionMap.putAll(sessionSnapshot.convert2GlobalSession());
+            File file = new File(path);
+            if (SessionSnapshotCodec.isBinary(file)) {
+                int size = loadBinary(file, rootSessionMap);
+                LOGGER.info("groupId: {}, loaded global session size: {}", group, size);
+            } else {
+                RaftSessionSnapshot sessionSnapshot = (RaftSessionSnapshot)load(path);
+                // be sure to clear the data before loading it, because this is a full overwrite update
+                LockerManagerFactory.getLockManager().cleanAllLocks();
+                rootSessionMap.clear();
+                rootSessionMap.putAll(sessionSnapshot.convert2GlobalSession());
+            }
+            raftSessionManager.rebuildTimeoutIndex();
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("on snapshot load end index: {}", reader.load().getLastIncludedIndex());
             }
@@ -0,0 +1,317 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.cluster.raft.sync;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.apache.seata.core.compressor.CompressorFactory;
+import org.apache.seata.core.compressor.CompressorType;
+import org.apache.seata.core.store.BranchTransactionDO;
+import org.apache.seata.core.store.GlobalTransactionDO;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBaseMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBatchSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBranchSessionSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftGlobalSessionSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMessage;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMsgType;
+import org.apache.seata.server.cluster.raft.sync.msg.dto.BranchTransactionDTO;
+import org.apache.seata.server.cluster.raft.sync.msg.dto.GlobalTransactionDTO;
+
+/**
+ * Schema-versioned binary codec of the session sync messages, written field by field without reflection
+ * or object streams.
+ * <pre>
+ * | magic 2 | schema version 1 | compressor 1 | version string | body (compressed by the compressor) |
+ * body: | kind 1 | msg type code 1 | group string | fields of the kind |
+ * </pre>
+ * The magic never collides with the object stream header, so {@link RaftSyncMessageSerializer} can tell the
+ * two formats apart and keeps reading the logs written before.
+ */
+public final class RaftSyncMessageCodec {
+
+    /**
+     * The value of server.raft.serialization that turns the codec on.
+     */
+    public static final String NAME = "binary";
+
+    static final byte MAGIC_HIGH = (byte)0xDA;
+
+    static final byte MAGIC_LOW = (byte)0x7A;
+
+    static final byte SCHEMA_VERSION = 1;
+
+    private static final byte KIND_GLOBAL = 1;
+
+    private static final byte KIND_BRANCH = 2;
+
+    private static final byte KIND_BATCH = 3;
+
+    private RaftSyncMessageCodec() {
+    }
+
+    /**
+     * Whether the body of the message can be written by this codec.
+     *
+     * @param raftSyncMessage the raft sync message
+     * @return true if supported
+     */
+    public static boolean isSupported(RaftSyncMessage raftSyncMessage) {
+        Object body = raftSyncMessage.getBody();
+        return body instanceof RaftGlobalSessionSyncMsg || body instanceof RaftBranchSessionSyncMsg
+            || body instanceof RaftBatchSyncMsg;
+    }
+
+    /**
+     * Whether the bytes were written by this codec.
+     *
+     * @param bytes the bytes
+     * @return true if binary
+     */
+    public static boolean isBinary(byte[] bytes) {
+        return bytes != null && bytes.length > 2 && bytes[0] == MAGIC_HIGH && bytes[1] == MAGIC_LOW;
+    }
+
+    public static byte[] encode(RaftSyncMessage raftSyncMessage) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(body);
+        writeBody(out, (RaftBaseMsg)raftSyncMessage.getBody());
+        out.flush();
+        byte[] bodyBytes = body.toByteArray();
+        if (raftSyncMessage.getCompressor() != CompressorType.NONE.getCode()) {
+            bodyBytes = CompressorFactory.getCompressor(raftSyncMessage.getCompressor()).compress(bodyBytes);
+        }
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(bodyBytes.length + 32);
+        DataOutputStream header = new DataOutputStream(bos);
+        header.writeByte(MAGIC_HIGH);
+        header.writeByte(MAGIC_LOW);
+        header.writeByte(SCHEMA_VERSION);
+        header.writeByte(raftSyncMessage.getCompressor());
+        writeString(header, raftSyncMessage.getVersion());
+        header.write(bodyBytes);
+        header.flush();
+        return bos.toByteArray();
+    }
+
+    public static RaftSyncMessage decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.get();
+        buffer.get();
+        byte schemaVersion = buffer.get();
+        if (schemaVersion > SCHEMA_VERSION) {
+            throw new IllegalArgumentException("unsupported raft sync message schema version: " + schemaVersion);
+        }
+        byte compressor = buffer.get();
+        String version = readString(buffer);
+        if (compressor != CompressorType.NONE.getCode()) {
+            byte[] compressed = new byte[buffer.remaining()];
+            buffer.get(compressed);
+            buffer = ByteBuffer.wrap(CompressorFactory.getCompressor(compressor).decompress(compressed));
+        }
+        RaftSyncMessage raftSyncMessage = new RaftSyncMessage();
+        raftSyncMessage.setCompressor(compressor);
+        raftSyncMessage.setVersion(version);
+        raftSyncMessage.setBody(readBody(buffer));
+        return raftSyncMessage;
+    }
+
+    private static void writeBody(DataOutputStream out, RaftBaseMsg msg) throws IOException {
+        if (msg instanceof RaftGlobalSessionSyncMsg) {
+            out.writeByte(KIND_GLOBAL);
+            writeHead(out, msg);
+            writeGlobal(out, ((RaftGlobalSessionSyncMsg)msg).getGlobalSession());
+        } else if (msg instanceof RaftBranchSessionSyncMsg) {
+            out.writeByte(KIND_BRANCH);
+            writeHead(out, msg);
+            writeBranch(out, ((RaftBranchSessionSyncMsg)msg).getBranchSession());
+        } else if (msg instanceof RaftBatchSyncMsg) {
+            out.writeByte(KIND_BATCH);
+            writeHead(out, msg);
+            List<byte[]> msgs = ((RaftBatchSyncMsg)msg).getMsgs();
+            out.writeInt(msgs.size());
+            for (byte[] data : msgs) {
+                out.writeInt(data.length);
+                out.write(data);
+            }
+        } else {
+            throw new IllegalArgumentException("unsupported raft sync message: " + msg);
+        }
+    }
+
+    private static RaftBaseMsg readBody(ByteBuffer buffer) {
+        byte kind = buffer.get();
+        RaftSyncMsgType msgType = RaftSyncMsgType.getByCode(buffer.get());
+        String group = readString(buffer);
+        RaftBaseMsg msg;
+        switch (kind) {
+            case KIND_GLOBAL:
+                msg = new RaftGlobalSessionSyncMsg(msgType, readGlobal(buffer));
+                break;
+            case KIND_BRANCH:
+                msg = new RaftBranchSessionSyncMsg(msgType, readBranch(buffer));
+                break;
+            case KIND_BATCH:
+                int size = buffer.getInt();
+                List<byte[]> msgs = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    byte[] data = new byte[buffer.getInt()];
+                    buffer.get(data);
+                    msgs.add(data);
+                }
+                msg = new RaftBatchSyncMsg(msgs);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown raft sync message kind: " + kind);
+        }
+        msg.setGroup(group);
+        return msg;
+    }
+
+    private static void writeHead(DataOutputStream out, RaftBaseMsg msg) throws IOException {
+        out.writeByte(msg.getMsgType().getCode());
+        writeString(out, msg.getGroup());
+    }
+
+    private static void writeGlobal(DataOutputStream out, GlobalTransactionDO global) throws IOException {
+        writeString(out, global.getXid());
+        writeLong(out, global.getTransactionId());
+        writeInt(out, global.getStatus());
+        writeString(out, global.getApplicationId());
+        writeString(out, global.getTransactionServiceGroup());
+        writeString(out, global.getTransactionName());
+        writeInt(out, global.getTimeout());
+        writeLong(out, global.getBeginTime());
+        writeString(out, global.getApplicationData());
+        writeDate(out, global.getGmtCreate());
+        writeDate(out, global.getGmtModified());
+    }
+
+    private static GlobalTransactionDTO readGlobal(ByteBuffer buffer) {
+        GlobalTransactionDTO global = new GlobalTransactionDTO();
+        global.setXid(readString(buffer));
+        global.setTransactionId(readLong(buffer));
+        global.setStatus(readInt(buffer));
+        global.setApplicationId(readString(buffer));
+        global.setTransactionServiceGroup(readString(buffer));
+        global.setTransactionName(readString(buffer));
+        global.setTimeout(readInt(buffer));
+        global.setBeginTime(readLong(buffer));
+        global.setApplicationData(readString(buffer));
+        global.setGmtCreate(readDate(buffer));
+        global.setGmtModified(readDate(buffer));
+        return global;
+    }
+
+    private static void writeBranch(DataOutputStream out, BranchTransactionDTO branch) throws IOException {
+        writeString(out, branch.getXid());
+        writeLong(out, branch.getTransactionId());
+        writeLong(out, branch.getBranchId());
+        writeString(out, branch.getResourceGroupId());
+        writeString(out, branch.getResourceId());
+        writeString(out, branch.getBranchType());
+        writeInt(out, branch.getStatus());
+        writeString(out, branch.getClientId());
+        writeString(out, branch.getApplicationData());
+        writeDate(out, branch.getGmtCreate());
+        writeDate(out, branch.getGmtModified());
+        writeString(out, branch.getLockKey());
+    }
+
+    private static BranchTransactionDTO readBranch(ByteBuffer buffer) {
+        BranchTransactionDTO branch = new BranchTransactionDTO();
+        branch.setXid(readString(buffer));
+        Long transactionId = readLong(buffer);
+        if (transactionId != null) {
+            branch.setTransactionId(transactionId);
+        }
+        Long branchId = readLong(buffer);
+        if (branchId != null) {
+            branch.setBranchId(branchId);
+        }
+        branch.setResourceGroupId(readString(buffer));
+        branch.setResourceId(readString(buffer));
+        branch.setBranchType(readString(buffer));
+        Integer status = readInt(buffer);
+        if (status != null) {
+            branch.setStatus(status);
+        }
+        branch.setClientId(readString(buffer));
+        branch.setApplicationData(readString(buffer));
+        branch.setGmtCreate(readDate(buffer));
+        branch.setGmtModified(readDate(buffer));
+        branch.setLockKey(readString(buffer));
+        return branch;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+            StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(ByteBuffer buffer) {
+        return buffer.get() != 0 ? buffer.getLong() : null;
+    }
+
+    private static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInt(ByteBuffer buffer) {
+        return buffer.get() != 0 ? buffer.getInt() : null;
+    }
+
+    private static void writeDate(DataOutputStream out, Date value) throws IOException {
+        writeLong(out, value == null ? null : value.getTime());
+    }
+
+    private static Date readDate(ByteBuffer buffer) {
+        Long time = readLong(buffer);
+        return time == null ? null : new Date(time);
+    }
+
+}
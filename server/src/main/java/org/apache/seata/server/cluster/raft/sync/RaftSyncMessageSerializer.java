@@ -24,10 +24,14 @@ import java.io.ObjectOutputStream;
 import java.io.ObjectStreamClass;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.seata.common.exception.ErrorCode;
 import org.apache.seata.common.exception.SeataRuntimeException;
 import org.apache.seata.common.loader.EnhancedServiceLoader;
+import org.apache.seata.common.util.StringUtils;
+import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.compressor.CompressorFactory;
 import org.apache.seata.core.serializer.Serializer;
 import org.apache.seata.core.serializer.SerializerType;
@@ -35,6 +39,9 @@ import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.apache.seata.common.ConfigurationKeys.SERVER_RAFT_SERIALIZATION;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RAFT_SERIALIZATION;
+
 /**
  */
 public class RaftSyncMessageSerializer {
@@ -43,6 +50,11 @@ public class RaftSyncMessageSerializer {
 
     private static final List<String> PERMITS = new ArrayList<>();
 
+    private static final Map<Byte, Serializer> SERIALIZERS = new ConcurrentHashMap<>();
+
+    private static final boolean BINARY = StringUtils.equalsIgnoreCase(RaftSyncMessageCodec.NAME,
+        ConfigurationFactory.getInstance().getConfig(SERVER_RAFT_SERIALIZATION, DEFAULT_RAFT_SERIALIZATION));
+
     static {
         PERMITS.add(RaftSyncMessage.class.getName());
         PERMITS.add(io.seata.server.cluster.raft.sync.msg.RaftSyncMessage.class.getName());
@@ -50,10 +62,12 @@ public class RaftSyncMessageSerializer {
     }
 
     public static byte[] encode(RaftSyncMessage raftSyncMessage) throws IOException {
+        if (BINARY && RaftSyncMessageCodec.isSupported(raftSyncMessage)) {
+            return RaftSyncMessageCodec.encode(raftSyncMessage);
+        }
         try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
                 ObjectOutputStream oos = new ObjectOutputStream(bos)) {
-            Serializer serializer = EnhancedServiceLoader.load(Serializer.class,
-                    SerializerType.getByCode(raftSyncMessage.getCodec()).name());
+            Serializer serializer = getSerializer(raftSyncMessage.getCodec());
             Optional.ofNullable(raftSyncMessage.getBody()).ifPresent(value -> raftSyncMessage.setBody(CompressorFactory
                     .getCompressor(raftSyncMessage.getCompressor()).compress(serializer.serialize(value))));
             oos.writeObject(raftSyncMessage);
@@ -64,8 +78,7 @@ public class RaftSyncMessageSerializer {
     public static byte[] encode(io.seata.server.cluster.raft.sync.msg.RaftSyncMessage raftSyncMessage) throws IOException {
         try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
                 ObjectOutputStream oos = new ObjectOutputStream(bos)) {
-            Serializer serializer = EnhancedServiceLoader.load(Serializer.class,
-                    SerializerType.getByCode(raftSyncMessage.getCodec()).name());
+            Serializer serializer = getSerializer(raftSyncMessage.getCodec());
             Optional.ofNullable(raftSyncMessage.getBody()).ifPresent(value -> raftSyncMessage.setBody(CompressorFactory
                     .getCompressor(raftSyncMessage.getCompressor()).compress(serializer.serialize(value))));
             oos.writeObject(raftSyncMessage);
@@ -74,6 +87,9 @@ public class RaftSyncMessageSerializer {
     }
 
     public static RaftSyncMessage decode(byte[] raftSyncMsgByte) {
+        if (RaftSyncMessageCodec.isBinary(raftSyncMsgByte)) {
+            return RaftSyncMessageCodec.decode(raftSyncMsgByte);
+        }
         try (ByteArrayInputStream bin = new ByteArrayInputStream(raftSyncMsgByte);
             ObjectInputStream ois = new ObjectInputStream(bin) {
                 @Override
@@ -99,8 +115,7 @@ public class RaftSyncMessageSerializer {
             } else {
                 raftSyncMessage = (RaftSyncMessage)object;
             }
-            Serializer serializer = EnhancedServiceLoader.load(Serializer.class,
-                SerializerType.getByCode(raftSyncMessage.getCodec()).name());
+            Serializer serializer = getSerializer(raftSyncMessage.getCodec());
             Optional.ofNullable(raftSyncMessage.getBody())
                 .ifPresent(value -> raftSyncMessage.setBody(serializer.deserialize(CompressorFactory
                     .getCompressor(raftSyncMessage.getCompressor()).decompress((byte[])raftSyncMessage.getBody()))));
@@ -114,4 +129,9 @@ public class RaftSyncMessageSerializer {
         }
     }
 
+    private static Serializer getSerializer(byte codec) {
+        return SERIALIZERS.computeIfAbsent(codec,
+            key -> EnhancedServiceLoader.load(Serializer.class, SerializerType.getByCode(key).name()));
+    }
+
 }
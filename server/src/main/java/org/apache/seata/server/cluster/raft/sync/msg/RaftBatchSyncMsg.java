@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.cluster.raft.sync.msg;
+
+import java.util.List;
+import org.apache.seata.common.util.StringUtils;
+
+/**
+ * Several encoded sync messages proposed as a single raft log entry.
+ */
+public class RaftBatchSyncMsg extends RaftBaseMsg {
+
+    private static final long serialVersionUID = 5276421893047162873L;
+
+    private List<byte[]> msgs;
+
+    public RaftBatchSyncMsg(List<byte[]> msgs) {
+        this.msgType = RaftSyncMsgType.BATCH;
+        this.msgs = msgs;
+    }
+
+    public RaftBatchSyncMsg() {
+        this.msgType = RaftSyncMsgType.BATCH;
+    }
+
+    public List<byte[]> getMsgs() {
+        return msgs;
+    }
+
+    public void setMsgs(List<byte[]> msgs) {
+        this.msgs = msgs;
+    }
+
+    @Override
+    public String toString() {
+        return StringUtils.toString(this);
+    }
+
+}
@@ -23,37 +23,71 @@ public enum RaftSyncMsgType {
     /**
      * addGlobalSession
      */
-    ADD_GLOBAL_SESSION,
+    ADD_GLOBAL_SESSION((byte)1),
     /**
      * removeGlobalSession
      */
-    REMOVE_GLOBAL_SESSION,
+    REMOVE_GLOBAL_SESSION((byte)2),
     /**
      *
      */
-    ADD_BRANCH_SESSION,
+    ADD_BRANCH_SESSION((byte)3),
     /**
      * addBranchSession
      */
-    REMOVE_BRANCH_SESSION,
+    REMOVE_BRANCH_SESSION((byte)4),
     /**
      * updateGlobalSessionStatus
      */
-    UPDATE_GLOBAL_SESSION_STATUS,
+    UPDATE_GLOBAL_SESSION_STATUS((byte)5),
     /**
      * updateBranchSessionStatus
      */
-    UPDATE_BRANCH_SESSION_STATUS,
+    UPDATE_BRANCH_SESSION_STATUS((byte)6),
     /**
      * releaseGlobalSessionLock
      */
-    RELEASE_GLOBAL_SESSION_LOCK,
+    RELEASE_GLOBAL_SESSION_LOCK((byte)7),
     /**
      * releaseBranchSessionLock
      */
-    RELEASE_BRANCH_SESSION_LOCK,
+    RELEASE_BRANCH_SESSION_LOCK((byte)8),
     /**
      * refresh cluster metadata
      */
-    REFRESH_CLUSTER_METADATA;
+    REFRESH_CLUSTER_METADATA((byte)9),
+    /**
+     * batch of coalesced messages
+     */
+    BATCH((byte)10);
+
+    private final byte code;
+
+    RaftSyncMsgType(byte code) {
+        this.code = code;
+    }
+
+    /**
+     * Gets the stable code used by the binary codec.
+     *
+     * @return the code
+     */
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Gets msg type by code.
+     *
+     * @param code the code
+     * @return the msg type
+     */
+    public static RaftSyncMsgType getByCode(byte code) {
+        for (RaftSyncMsgType msgType : values()) {
+            if (msgType.code == code) {
+                return msgType;
+            }
+        }
+        throw new IllegalArgumentException("unknown raft sync msg type code: " + code);
+    }
 }
@@ -17,38 +17,39 @@
 package org.apache.seata.server.cluster.raft.util;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import com.alipay.sofa.jraft.Closure;
 import com.alipay.sofa.jraft.entity.Task;
+import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.exception.GlobalTransactionException;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.exception.TransactionExceptionCode;
+import org.apache.seata.server.cluster.raft.RaftServer;
 import org.apache.seata.server.cluster.raft.RaftServerManager;
 import org.apache.seata.server.cluster.raft.context.SeataClusterContext;
 import org.apache.seata.server.cluster.raft.sync.RaftSyncMessageSerializer;
 import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.seata.common.ConfigurationKeys.SERVER_RAFT_PROPOSAL_TIMEOUT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_SERVER_RAFT_PROPOSAL_TIMEOUT;
 
 /**
  */
 public class RaftTaskUtil {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(RaftTaskUtil.class);
+
+    private static final long PROPOSAL_TIMEOUT =
+        ConfigurationFactory.getInstance().getLong(SERVER_RAFT_PROPOSAL_TIMEOUT, DEFAULT_SERVER_RAFT_PROPOSAL_TIMEOUT);
+
     public static boolean createTask(Closure done, Object data, CompletableFuture<Boolean> completableFuture)
         throws TransactionException {
-        final Task task = new Task();
-        if (data != null) {
-            RaftSyncMessage raftSyncMessage = new RaftSyncMessage();
-            raftSyncMessage.setBody(data);
-            try {
-                task.setData(ByteBuffer.wrap(RaftSyncMessageSerializer.encode(raftSyncMessage)));
-            } catch (IOException e) {
-                throw new TransactionException(e);
-            }
-        }
-        task.setDone(done == null ? status -> {
-        } : done);
-        RaftServerManager.getRaftServer(SeataClusterContext.getGroup()).getNode().apply(task);
+        submitTask(done, data);
         if (completableFuture != null) {
             return futureGet(completableFuture);
         }
@@ -60,10 +61,45 @@ public class RaftTaskUtil {
         return createTask(done, null, completableFuture);
     }
 
+    private static void submitTask(Closure done, Object data) throws TransactionException {
+        Closure closure = done == null ? status -> {
+        } : done;
+        RaftServer raftServer = RaftServerManager.getRaftServer(SeataClusterContext.getGroup());
+        if (data == null) {
+            final Task task = new Task();
+            task.setDone(closure);
+            raftServer.getNode().apply(task);
+            return;
+        }
+        RaftSyncMessage raftSyncMessage = new RaftSyncMessage();
+        raftSyncMessage.setBody(data);
+        byte[] bytes;
+        try {
+            bytes = RaftSyncMessageSerializer.encode(raftSyncMessage);
+        } catch (IOException e) {
+            throw new TransactionException(e);
+        }
+        raftServer.getProposalPipeline().propose(bytes, closure);
+    }
+
+    /**
+     * Wait at most server.raft.proposalTimeout for the closure of a proposal. A proposal still in flight after
+     * that is reported as FailedWriteSession, its entry may yet commit, which the TM resolves like any other
+     * timed out request by querying the global status.
+     *
+     * @param completableFuture the future completed by the closure
+     * @return the result of the closure
+     * @throws TransactionException the transaction exception
+     */
     public static boolean futureGet(CompletableFuture<Boolean> completableFuture) throws TransactionException {
         try {
-            return completableFuture.get();
+            return completableFuture.get(PROPOSAL_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOGGER.warn("raft proposal not finished after {} ms", PROPOSAL_TIMEOUT);
+            throw new GlobalTransactionException(TransactionExceptionCode.FailedWriteSession,
+                "Fail to store global session: raft proposal timeout after " + PROPOSAL_TIMEOUT + " ms");
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new GlobalTransactionException(TransactionExceptionCode.FailedWriteSession,
                 "Fail to store global session: " + e.getMessage());
         } catch (ExecutionException e) {
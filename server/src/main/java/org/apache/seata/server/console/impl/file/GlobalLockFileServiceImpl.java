@@ -79,7 +79,7 @@ public class GlobalLockFileServiceImpl implements GlobalLockService {
      * @return the RowLock list
      */
     private Stream<RowLock> filterAndMap(GlobalLockParam param, BranchSession branchSession) {
-        if (CollectionUtils.isEmpty(branchSession.getLockHolder())) {
+        if (!branchSession.hasHeldLocks()) {
             return Stream.empty();
         }
 
@@ -17,6 +17,8 @@
 package org.apache.seata.server.coordinator;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeoutException;
 
 import org.apache.seata.common.ConfigurationKeys;
@@ -29,6 +31,7 @@ import org.apache.seata.core.exception.BranchTransactionException;
 import org.apache.seata.core.exception.GlobalTransactionException;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.exception.TransactionExceptionCode;
+import org.apache.seata.core.lock.StructuredLockKey;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.core.model.GlobalStatus;
@@ -86,6 +89,13 @@ public abstract class AbstractCore implements Core {
     @Override
     public Long branchRegister(BranchType branchType, String resourceId, String clientId, String xid,
                                String applicationData, String lockKeys) throws TransactionException {
+        return branchRegister(branchType, resourceId, clientId, xid, applicationData, lockKeys, null);
+    }
+
+    @Override
+    public Long branchRegister(BranchType branchType, String resourceId, String clientId, String xid,
+                               String applicationData, String lockKeys, StructuredLockKey structuredLockKey)
+        throws TransactionException {
         GlobalSession globalSession = assertGlobalSessionNotNull(xid, false);
         try {
             StringUtils.checkDataSize(applicationData, "applicationData", appDataErrSize, throwDataSizeExp);
@@ -97,7 +107,7 @@ public abstract class AbstractCore implements Core {
         return SessionHolder.lockAndExecute(globalSession, () -> {
             globalSessionStatusCheck(globalSession);
             BranchSession branchSession = SessionHelper.newBranchByGlobal(globalSession, branchType, resourceId,
-                    applicationData, lockKeys, clientId);
+                    applicationData, lockKeys, structuredLockKey, clientId);
             MDC.put(RootContext.MDC_KEY_BRANCH_ID, String.valueOf(branchSession.getBranchId()));
             branchSessionLock(globalSession, branchSession);
             try {
@@ -188,6 +198,38 @@ public abstract class AbstractCore implements Core {
         }
     }
 
+    @Override
+    public CompletableFuture<BranchStatus> branchCommitAsync(GlobalSession globalSession, BranchSession branchSession) {
+        BranchCommitRequest request = new BranchCommitRequest();
+        request.setXid(branchSession.getXid());
+        request.setBranchId(branchSession.getBranchId());
+        request.setResourceId(branchSession.getResourceId());
+        request.setApplicationData(branchSession.getApplicationData());
+        request.setBranchType(branchSession.getBranchType());
+        CompletableFuture<BranchStatus> future = new CompletableFuture<>();
+        branchCommitSendAsync(request, globalSession, branchSession).whenComplete((branchStatus, ex) -> {
+            if (ex == null) {
+                future.complete(branchStatus);
+                return;
+            }
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof IOException || cause instanceof TimeoutException) {
+                cause = new BranchTransactionException(FailedToSendBranchCommitRequest,
+                    String.format("Send branch commit failed, xid = %s branchId = %s", branchSession.getXid(),
+                        branchSession.getBranchId()), cause);
+            }
+            future.completeExceptionally(cause);
+        });
+        return future;
+    }
+
+    protected CompletableFuture<BranchStatus> branchCommitSendAsync(BranchCommitRequest request,
+                                                                    GlobalSession globalSession,
+                                                                    BranchSession branchSession) {
+        return remotingServer.sendSyncRequestAsync(branchSession.getResourceId(), branchSession.getClientId(),
+            request, branchSession.isAT()).thenApply(response -> ((BranchCommitResponse) response).getBranchStatus());
+    }
+
     protected BranchStatus branchCommitSend(BranchCommitRequest request, GlobalSession globalSession,
                                             BranchSession branchSession) throws IOException, TimeoutException {
 
@@ -213,6 +255,39 @@ public abstract class AbstractCore implements Core {
         }
     }
 
+    @Override
+    public CompletableFuture<BranchStatus> branchRollbackAsync(GlobalSession globalSession,
+                                                               BranchSession branchSession) {
+        BranchRollbackRequest request = new BranchRollbackRequest();
+        request.setXid(branchSession.getXid());
+        request.setBranchId(branchSession.getBranchId());
+        request.setResourceId(branchSession.getResourceId());
+        request.setApplicationData(branchSession.getApplicationData());
+        request.setBranchType(branchSession.getBranchType());
+        CompletableFuture<BranchStatus> future = new CompletableFuture<>();
+        branchRollbackSendAsync(request, globalSession, branchSession).whenComplete((branchStatus, ex) -> {
+            if (ex == null) {
+                future.complete(branchStatus);
+                return;
+            }
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof IOException || cause instanceof TimeoutException) {
+                cause = new BranchTransactionException(FailedToSendBranchRollbackRequest,
+                    String.format("Send branch rollback failed, xid = %s branchId = %s", branchSession.getXid(),
+                        branchSession.getBranchId()), cause);
+            }
+            future.completeExceptionally(cause);
+        });
+        return future;
+    }
+
+    protected CompletableFuture<BranchStatus> branchRollbackSendAsync(BranchRollbackRequest request,
+                                                                      GlobalSession globalSession,
+                                                                      BranchSession branchSession) {
+        return remotingServer.sendSyncRequestAsync(branchSession.getResourceId(), branchSession.getClientId(),
+            request, branchSession.isAT()).thenApply(response -> ((BranchRollbackResponse) response).getBranchStatus());
+    }
+
     protected BranchStatus branchRollbackSend(BranchRollbackRequest request, GlobalSession globalSession,
                                               BranchSession branchSession) throws IOException, TimeoutException {
 
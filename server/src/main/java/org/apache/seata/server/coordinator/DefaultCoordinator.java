@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +45,8 @@ import org.apache.seata.core.protocol.transaction.BranchRegisterRequest;
 import org.apache.seata.core.protocol.transaction.BranchRegisterResponse;
 import org.apache.seata.core.protocol.transaction.BranchReportRequest;
 import org.apache.seata.core.protocol.transaction.BranchReportResponse;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseRequest;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseResponse;
 import org.apache.seata.core.protocol.transaction.GlobalBeginRequest;
 import org.apache.seata.core.protocol.transaction.GlobalBeginResponse;
 import org.apache.seata.core.protocol.transaction.GlobalCommitRequest;
@@ -65,11 +68,14 @@ import org.apache.seata.core.rpc.netty.ChannelManager;
 import org.apache.seata.core.rpc.netty.NettyRemotingServer;
 import org.apache.seata.server.AbstractTCInboundHandler;
 import org.apache.seata.server.metrics.MetricsPublisher;
+import org.apache.seata.server.session.BranchDispatcher;
 import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
 import org.apache.seata.server.session.SessionCondition;
 import org.apache.seata.server.session.SessionHelper;
 import org.apache.seata.server.session.SessionHolder;
+import org.apache.seata.server.session.SessionManager;
+import org.apache.seata.server.storage.file.session.FileSessionManager;
 import org.apache.seata.server.store.StoreConfig;
 import org.apache.commons.lang.time.DateFormatUtils;
 import org.slf4j.Logger;
@@ -89,6 +95,10 @@ import static org.apache.seata.common.DefaultValues.DEFAULT_COMMITING_RETRY_PERI
 import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_BRANCH_ASYNC_REMOVE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_MAX_COMMIT_RETRY_TIMEOUT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_MAX_ROLLBACK_RETRY_TIMEOUT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RECOVERY_ASYNC_BRANCH_COMMIT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RECOVERY_MAX_RETRY_BACKOFF;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RECOVERY_SHARDS;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RECOVERY_SHARD_BATCH_SIZE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ROLLBACKING_RETRY_PERIOD;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ROLLBACK_RETRY_TIMEOUT_UNLOCK_ENABLE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TIMEOUT_RETRY_PERIOD;
@@ -164,6 +174,17 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
     private static final int RETRY_DEAD_THRESHOLD = ConfigurationFactory.getInstance()
         .getInt(org.apache.seata.common.ConfigurationKeys.RETRY_DEAD_THRESHOLD, DefaultValues.DEFAULT_RETRY_DEAD_THRESHOLD);
 
+    private static final int RECOVERY_SHARDS = CONFIG.getInt(ConfigurationKeys.RECOVERY_SHARDS, DEFAULT_RECOVERY_SHARDS);
+
+    private static final int RECOVERY_SHARD_BATCH_SIZE = CONFIG.getInt(ConfigurationKeys.RECOVERY_SHARD_BATCH_SIZE,
+        DEFAULT_RECOVERY_SHARD_BATCH_SIZE);
+
+    private static final long RECOVERY_MAX_RETRY_BACKOFF = CONFIG.getLong(ConfigurationKeys.RECOVERY_MAX_RETRY_BACKOFF,
+        DEFAULT_RECOVERY_MAX_RETRY_BACKOFF);
+
+    private static final boolean RECOVERY_ASYNC_BRANCH_COMMIT = CONFIG.getBoolean(
+        ConfigurationKeys.RECOVERY_ASYNC_BRANCH_COMMIT, DEFAULT_RECOVERY_ASYNC_BRANCH_COMMIT);
+
     private final ScheduledThreadPoolExecutor retryRollbacking =
         new ScheduledThreadPoolExecutor(1, new NamedThreadFactory(RETRY_ROLLBACKING, 1));
 
@@ -182,6 +203,15 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
     private final ScheduledThreadPoolExecutor syncProcessing =
         new ScheduledThreadPoolExecutor(1, new NamedThreadFactory(SYNC_PROCESSING, 1));
 
+    private final RecoveryShardExecutor retryRollbackingShards = new RecoveryShardExecutor(RETRY_ROLLBACKING,
+        RECOVERY_SHARDS, RECOVERY_SHARD_BATCH_SIZE, ROLLBACKING_RETRY_PERIOD, RECOVERY_MAX_RETRY_BACKOFF);
+
+    private final RecoveryShardExecutor retryCommittingShards = new RecoveryShardExecutor(RETRY_COMMITTING,
+        RECOVERY_SHARDS, RECOVERY_SHARD_BATCH_SIZE, COMMITTING_RETRY_PERIOD, RECOVERY_MAX_RETRY_BACKOFF);
+
+    private final RecoveryShardExecutor asyncCommittingShards = new RecoveryShardExecutor(ASYNC_COMMITTING,
+        RECOVERY_SHARDS, RECOVERY_SHARD_BATCH_SIZE, ASYNC_COMMITTING_RETRY_PERIOD, RECOVERY_MAX_RETRY_BACKOFF);
+
     private final GlobalStatus[] retryRollbackingStatuses = new GlobalStatus[] {
         GlobalStatus.TimeoutRollbacking,
         GlobalStatus.TimeoutRollbackRetrying, GlobalStatus.RollbackRetrying};
@@ -191,6 +221,8 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
     private final GlobalStatus[] rollbackingStatuses = new GlobalStatus[] {GlobalStatus.Rollbacking};
     private final GlobalStatus[] committingStatuses = new GlobalStatus[] {GlobalStatus.Committing};
 
+    private final Object timeoutCheckLock = new Object();
+
     private final ThreadPoolExecutor branchRemoveExecutor;
 
     private RemotingServer remotingServer;
@@ -281,6 +313,18 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
         }
     }
 
+    @Override
+    protected void doGlobalBeginLease(GlobalBeginLeaseRequest request, GlobalBeginLeaseResponse response,
+                                      RpcContext rpcContext) throws TransactionException {
+        response.setXids(core.beginLease(rpcContext.getApplicationId(), rpcContext.getTransactionServiceGroup(),
+                request.getTimeout(), request.getSize()));
+        response.setLeaseTime(core.getXidLeaseManager().getLeaseTime());
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Lease xids applicationId: {},transactionServiceGroup: {},timeout:{},size:{}",
+                    rpcContext.getApplicationId(), rpcContext.getTransactionServiceGroup(), request.getTimeout(), response.getXids().size());
+        }
+    }
+
     @Override
     protected void doGlobalCommit(GlobalCommitRequest request, GlobalCommitResponse response, RpcContext rpcContext)
             throws TransactionException {
@@ -315,7 +359,8 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
         MDC.put(RootContext.MDC_KEY_XID, request.getXid());
         response.setBranchId(
                 core.branchRegister(request.getBranchType(), request.getResourceId(), rpcContext.getClientId(),
-                        request.getXid(), request.getApplicationData(), request.getLockKey()));
+                        request.getXid(), request.getApplicationData(), request.getLockKey(),
+                        request.getStructuredLockKey()));
     }
 
     @Override
@@ -339,10 +384,29 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
      * Timeout check.
      */
     protected void timeoutCheck() {
-        SessionCondition sessionCondition = new SessionCondition(GlobalStatus.Begin);
-        sessionCondition.setLazyLoadBranch(true);
-        Collection<GlobalSession> beginGlobalsessions =
-            SessionHolder.getRootSessionManager().findGlobalSessions(sessionCondition);
+        SessionManager rootSessionManager = SessionHolder.getRootSessionManager();
+        if (rootSessionManager instanceof FileSessionManager) {
+            // expired sessions leave the index once taken, a concurrent check waits until they are handled
+            synchronized (timeoutCheckLock) {
+                timeoutCheck(rootSessionManager);
+            }
+        } else {
+            timeoutCheck(rootSessionManager);
+        }
+    }
+
+    private void timeoutCheck(SessionManager rootSessionManager) {
+        FileSessionManager fileSessionManager = null;
+        Collection<GlobalSession> beginGlobalsessions;
+        if (rootSessionManager instanceof FileSessionManager) {
+            // the in-memory sessions are indexed by timeout deadline, only the expired ones are visited
+            fileSessionManager = (FileSessionManager)rootSessionManager;
+            beginGlobalsessions = fileSessionManager.findTimeoutSessions();
+        } else {
+            SessionCondition sessionCondition = new SessionCondition(GlobalStatus.Begin);
+            sessionCondition.setLazyLoadBranch(true);
+            beginGlobalsessions = rootSessionManager.findGlobalSessions(sessionCondition);
+        }
         if (CollectionUtils.isEmpty(beginGlobalsessions)) {
             return;
         }
@@ -372,6 +436,10 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
                 return true;
             });
         });
+        if (fileSessionManager != null) {
+            // the sessions still begin, e.g. failed to change the status, are checked again next time
+            beginGlobalsessions.forEach(fileSessionManager::rescheduleTimeout);
+        }
         if (!beginGlobalsessions.isEmpty() && LOGGER.isDebugEnabled()) {
             LOGGER.debug("Global transaction timeout check end. ");
         }
@@ -391,25 +459,45 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
             return;
         }
         long now = System.currentTimeMillis();
-        SessionHelper.forEach(rollbackingSessions, rollbackingSession -> {
-            try {
-                if (isRetryTimeout(now, MAX_ROLLBACK_RETRY_TIMEOUT, rollbackingSession.getBeginTime())) {
-                    if (ROLLBACK_RETRY_TIMEOUT_UNLOCK_ENABLE) {
-                        rollbackingSession.clean();
+        if (RECOVERY_ASYNC_BRANCH_COMMIT) {
+            retryRollbackingShards.dispatchAsync(rollbackingSessions, (rollbackingSession, callbackExecutor) -> {
+                try {
+                    if (endRollbackRetryTimeout(now, rollbackingSession)) {
+                        return CompletableFuture.completedFuture(true);
                     }
-
-                    SessionHelper.endRollbackFailed(rollbackingSession, true, true);
-
+                } catch (TransactionException ex) {
+                    LOGGER.error("Failed to retry rollbacking [{}] {} {}", rollbackingSession.getXid(), ex.getCode(), ex.getMessage());
+                    return CompletableFuture.completedFuture(false);
+                }
+                return core.doGlobalRollbackAsync(rollbackingSession, callbackExecutor);
+            });
+            return;
+        }
+        retryRollbackingShards.dispatch(rollbackingSessions, rollbackingSession -> {
+            try {
+                if (endRollbackRetryTimeout(now, rollbackingSession)) {
                     //The function of this 'return' is 'continue'.
-                    return;
+                    return true;
                 }
-                core.doGlobalRollback(rollbackingSession, true);
+                return core.doGlobalRollback(rollbackingSession, true);
             } catch (TransactionException ex) {
                 LOGGER.error("Failed to retry rollbacking [{}] {} {}", rollbackingSession.getXid(), ex.getCode(), ex.getMessage());
+                return false;
             }
         });
     }
 
+    private boolean endRollbackRetryTimeout(long now, GlobalSession rollbackingSession) throws TransactionException {
+        if (!isRetryTimeout(now, MAX_ROLLBACK_RETRY_TIMEOUT, rollbackingSession.getBeginTime())) {
+            return false;
+        }
+        if (ROLLBACK_RETRY_TIMEOUT_UNLOCK_ENABLE) {
+            rollbackingSession.clean();
+        }
+        SessionHelper.endRollbackFailed(rollbackingSession, true, true);
+        return true;
+    }
+
     /**
      * Handle retry committing.
      */
@@ -422,27 +510,47 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
             return;
         }
         long now = System.currentTimeMillis();
-        SessionHelper.forEach(committingSessions, committingSession -> {
+        if (RECOVERY_ASYNC_BRANCH_COMMIT) {
+            retryCommittingShards.dispatchAsync(committingSessions, (committingSession, callbackExecutor) -> {
+                try {
+                    if (endCommitRetryTimeout(now, committingSession)) {
+                        return CompletableFuture.completedFuture(true);
+                    }
+                } catch (TransactionException ex) {
+                    LOGGER.error("Failed to retry committing [{}] {} {}", committingSession.getXid(), ex.getCode(), ex.getMessage());
+                    return CompletableFuture.completedFuture(false);
+                }
+                return core.doGlobalCommitAsync(committingSession, callbackExecutor);
+            });
+            return;
+        }
+        retryCommittingShards.dispatch(committingSessions, committingSession -> {
             try {
-                if (isRetryTimeout(now, MAX_COMMIT_RETRY_TIMEOUT, committingSession.getBeginTime())) {
-
-                    // commit retry timeout event
-                    SessionHelper.endCommitFailed(committingSession, true, true);
-
+                if (endCommitRetryTimeout(now, committingSession)) {
                     //The function of this 'return' is 'continue'.
-                    return;
-                }
-                if (GlobalStatus.Committed.equals(committingSession.getStatus())
-                    && committingSession.getBranchSessions().isEmpty()) {
-                    SessionHelper.endCommitted(committingSession,true);
+                    return true;
                 }
-                core.doGlobalCommit(committingSession, true);
+                return core.doGlobalCommit(committingSession, true);
             } catch (TransactionException ex) {
                 LOGGER.error("Failed to retry committing [{}] {} {}", committingSession.getXid(), ex.getCode(), ex.getMessage());
+                return false;
             }
         });
     }
 
+    private boolean endCommitRetryTimeout(long now, GlobalSession committingSession) throws TransactionException {
+        if (isRetryTimeout(now, MAX_COMMIT_RETRY_TIMEOUT, committingSession.getBeginTime())) {
+            // commit retry timeout event
+            SessionHelper.endCommitFailed(committingSession, true, true);
+            return true;
+        }
+        if (GlobalStatus.Committed.equals(committingSession.getStatus())
+            && committingSession.getBranchSessions().isEmpty()) {
+            SessionHelper.endCommitted(committingSession, true);
+        }
+        return false;
+    }
+
     /**
      * Handle async committing.
      */
@@ -453,11 +561,17 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
         if (CollectionUtils.isEmpty(asyncCommittingSessions)) {
             return;
         }
-        SessionHelper.forEach(asyncCommittingSessions, asyncCommittingSession -> {
+        if (RECOVERY_ASYNC_BRANCH_COMMIT) {
+            // the branch commits are in flight after this tick, their responses finish the sessions
+            asyncCommittingShards.dispatchAsync(asyncCommittingSessions, core::doGlobalCommitAsync);
+            return;
+        }
+        asyncCommittingShards.dispatch(asyncCommittingSessions, asyncCommittingSession -> {
             try {
-                core.doGlobalCommit(asyncCommittingSession, true);
+                return core.doGlobalCommit(asyncCommittingSession, true);
             } catch (TransactionException ex) {
                 LOGGER.error("Failed to async committing [{}] {} {}", asyncCommittingSession.getXid(), ex.getCode(), ex.getMessage(), ex);
+                return false;
             }
         });
     }
@@ -658,6 +772,10 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
         asyncCommitting.shutdown();
         timeoutCheck.shutdown();
         undoLogDelete.shutdown();
+        retryRollbackingShards.destroy();
+        retryCommittingShards.destroy();
+        asyncCommittingShards.destroy();
+        BranchDispatcher.shutdown();
         if (branchRemoveExecutor != null) {
             branchRemoveExecutor.shutdown();
         }
@@ -667,6 +785,9 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
             asyncCommitting.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS, TimeUnit.MILLISECONDS);
             timeoutCheck.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS, TimeUnit.MILLISECONDS);
             undoLogDelete.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS, TimeUnit.MILLISECONDS);
+            retryRollbackingShards.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS);
+            retryCommittingShards.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS);
+            asyncCommittingShards.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS);
             if (branchRemoveExecutor != null) {
                 branchRemoveExecutor.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS, TimeUnit.MILLISECONDS);
             }
@@ -16,9 +16,17 @@
  */
 package org.apache.seata.server.coordinator;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.apache.seata.common.DefaultValues;
 import org.apache.seata.common.exception.NotSupportYetException;
@@ -27,7 +35,9 @@ import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.context.RootContext;
 import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.exception.TransactionExceptionCode;
 import org.apache.seata.core.logger.StackTraceLogger;
+import org.apache.seata.core.lock.StructuredLockKey;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.core.model.GlobalStatus;
@@ -37,12 +47,15 @@ import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
 import org.apache.seata.server.session.SessionHelper;
 import org.apache.seata.server.session.SessionHolder;
+import org.apache.seata.server.store.StoreConfig;
+import org.apache.seata.server.store.StoreConfig.SessionMode;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 import static org.apache.seata.common.ConfigurationKeys.ENABLE_PARALLEL_HANDLE_BRANCH_KEY;
+import static org.apache.seata.common.ConfigurationKeys.SERVER_XID_LEASE_TIME;
 import static org.apache.seata.common.ConfigurationKeys.XAER_NOTA_RETRY_TIMEOUT;
 import static org.apache.seata.server.session.BranchSessionHandler.CONTINUE;
 
@@ -62,6 +75,9 @@ public class DefaultCore implements Core {
     private static final boolean PARALLEL_HANDLE_BRANCH =
             ConfigurationFactory.getInstance().getBoolean(ENABLE_PARALLEL_HANDLE_BRANCH_KEY, false);
 
+    private final XidLeaseManager xidLeaseManager = new XidLeaseManager(
+            ConfigurationFactory.getInstance().getLong(SERVER_XID_LEASE_TIME, DefaultValues.DEFAULT_SERVER_XID_LEASE_TIME));
+
     /**
      * get the Default core.
      *
@@ -104,10 +120,20 @@ public class DefaultCore implements Core {
     @Override
     public Long branchRegister(BranchType branchType, String resourceId, String clientId, String xid,
                                String applicationData, String lockKeys) throws TransactionException {
+        xidLeaseManager.materialize(xid);
         return getCore(branchType).branchRegister(branchType, resourceId, clientId, xid,
             applicationData, lockKeys);
     }
 
+    @Override
+    public Long branchRegister(BranchType branchType, String resourceId, String clientId, String xid,
+                               String applicationData, String lockKeys, StructuredLockKey structuredLockKey)
+        throws TransactionException {
+        xidLeaseManager.materialize(xid);
+        return getCore(branchType).branchRegister(branchType, resourceId, clientId, xid,
+            applicationData, lockKeys, structuredLockKey);
+    }
+
     @Override
     public void branchReport(BranchType branchType, String xid, long branchId, BranchStatus status,
                              String applicationData) throws TransactionException {
@@ -125,11 +151,22 @@ public class DefaultCore implements Core {
         return getCore(branchSession.getBranchType()).branchCommit(globalSession, branchSession);
     }
 
+    @Override
+    public CompletableFuture<BranchStatus> branchCommitAsync(GlobalSession globalSession, BranchSession branchSession) {
+        return getCore(branchSession.getBranchType()).branchCommitAsync(globalSession, branchSession);
+    }
+
     @Override
     public BranchStatus branchRollback(GlobalSession globalSession, BranchSession branchSession) throws TransactionException {
         return getCore(branchSession.getBranchType()).branchRollback(globalSession, branchSession);
     }
 
+    @Override
+    public CompletableFuture<BranchStatus> branchRollbackAsync(GlobalSession globalSession,
+                                                               BranchSession branchSession) {
+        return getCore(branchSession.getBranchType()).branchRollbackAsync(globalSession, branchSession);
+    }
+
     @Override
     public String begin(String applicationId, String transactionServiceGroup, String name, int timeout)
         throws TransactionException {
@@ -144,10 +181,42 @@ public class DefaultCore implements Core {
         return session.getXid();
     }
 
+    /**
+     * Lease a block of xids the TM begins global transactions with locally, the session of a leased xid is
+     * registered when its first branch registers. Leases are held in the memory of this TC, so leasing is only
+     * supported in file mode, a raft follower taking over or a TC sharing the session store would not know them.
+     *
+     * @param applicationId           the application id
+     * @param transactionServiceGroup the transaction service group
+     * @param timeout                 the timeout of the global transactions
+     * @param size                    the number of xids
+     * @return the leased xids
+     * @throws TransactionException the transaction exception
+     */
+    public List<String> beginLease(String applicationId, String transactionServiceGroup, int timeout, int size)
+        throws TransactionException {
+        SessionMode sessionMode = StoreConfig.getSessionMode();
+        if (sessionMode != SessionMode.FILE) {
+            throw new TransactionException(TransactionExceptionCode.BeginFailed,
+                "xid lease is not supported in session mode " + sessionMode.getName());
+        }
+        return xidLeaseManager.lease(applicationId, transactionServiceGroup, timeout, size);
+    }
 
+    /**
+     * Gets xid lease manager.
+     *
+     * @return the xid lease manager
+     */
+    public XidLeaseManager getXidLeaseManager() {
+        return xidLeaseManager;
+    }
 
     @Override
     public GlobalStatus commit(String xid) throws TransactionException {
+        if (xidLeaseManager.release(xid)) {
+            return GlobalStatus.Committed;
+        }
         GlobalSession globalSession = SessionHolder.findGlobalSession(xid);
         if (globalSession == null) {
             return GlobalStatus.Finished;
@@ -283,8 +352,239 @@ public class DefaultCore implements Core {
         return success;
     }
 
+    /**
+     * Retry the commit of a committing session without waiting for the RMs. The branches of an async committing
+     * session are all sent at once, the others one after another in the callback of the previous branch, and every
+     * result is applied on the callback executor.
+     *
+     * @param globalSession    the global session
+     * @param callbackExecutor the executor applying the branch results
+     * @return the future completed with true once the global session is committed
+     */
+    public CompletableFuture<Boolean> doGlobalCommitAsync(GlobalSession globalSession, Executor callbackExecutor) {
+        if (globalSession.isSaga()) {
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            try {
+                future.complete(doGlobalCommit(globalSession, true));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+            return future;
+        }
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        Executor executor = rejectTo(callbackExecutor, result);
+        MetricsPublisher.postSessionDoingEvent(globalSession, true);
+        List<BranchSession> branchSessions = globalSession.getSortedBranches();
+        CompletableFuture<Boolean> committed;
+        if (globalSession.canBeCommittedAsync()) {
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>(branchSessions.size());
+            for (BranchSession branchSession : branchSessions) {
+                futures.add(commitBranchAsync(globalSession, branchSession, executor));
+            }
+            committed = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> CONTINUE);
+        } else {
+            committed = forEachAsync(branchSessions.iterator(),
+                branchSession -> commitBranchAsync(globalSession, branchSession, executor));
+        }
+        committed.thenApplyAsync(stop -> {
+            if (stop != null) {
+                return stop;
+            }
+            if (!globalSession.getBranchSessions().isEmpty()) {
+                LOGGER.info("Committing global transaction is NOT done, xid = {}.", globalSession.getXid());
+                return false;
+            }
+            try {
+                SessionHelper.endCommitted(globalSession, true);
+            } catch (TransactionException e) {
+                throw new CompletionException(e);
+            }
+            LOGGER.info("Committing global transaction is successfully done, xid = {}.", globalSession.getXid());
+            return true;
+        }, executor).whenComplete(completeTo(result));
+        return result;
+    }
+
+    private CompletableFuture<Boolean> commitBranchAsync(GlobalSession globalSession, BranchSession branchSession,
+                                                         Executor executor) {
+        BranchStatus currentStatus = branchSession.getStatus();
+        if (currentStatus == BranchStatus.PhaseOne_Failed || (currentStatus == BranchStatus.PhaseOne_RDONLY
+            && branchSession.getBranchType() == BranchType.XA)) {
+            return CompletableFuture.supplyAsync(() -> {
+                removeBranch(globalSession, branchSession);
+                return CONTINUE;
+            }, executor);
+        }
+        return branchCommitAsync(globalSession, branchSession).handleAsync(
+            (branchStatus, ex) -> onBranchCommitted(globalSession, branchSession, branchStatus, ex), executor);
+    }
+
+    private Boolean onBranchCommitted(GlobalSession globalSession, BranchSession branchSession,
+                                      BranchStatus branchStatus, Throwable ex) {
+        if (ex != null) {
+            StackTraceLogger.error(LOGGER, ex, "Committing branch transaction exception:retrying=true, {}, {}",
+                new String[] {branchSession.toString(), "Global commit continue"});
+            return CONTINUE;
+        }
+        if (isXaerNotaTimeout(globalSession, branchStatus)) {
+            LOGGER.info("Commit branch XAER_NOTA retry timeout, xid = {} branchId = {}", globalSession.getXid(), branchSession.getBranchId());
+            branchStatus = BranchStatus.PhaseTwo_Committed;
+        }
+        switch (branchStatus) {
+            case PhaseTwo_Committed:
+                removeBranch(globalSession, branchSession);
+                LOGGER.info("Commit branch transaction successfully, xid = {} branchId = {}", globalSession.getXid(), branchSession.getBranchId());
+                return CONTINUE;
+            case PhaseTwo_CommitFailed_Unretryable:
+                try {
+                    SessionHelper.endCommitFailed(globalSession, true);
+                } catch (TransactionException e) {
+                    throw new CompletionException(e);
+                }
+                LOGGER.error("Committing global transaction[{}] finally failed, caused by branch transaction[{}] commit failed.", globalSession.getXid(), branchSession.getBranchId());
+                return false;
+            default:
+                if (globalSession.canBeCommittedAsync()) {
+                    LOGGER.error("Committing branch transaction[{}], status:{} and will retry later",
+                        branchSession.getBranchId(), branchStatus);
+                    return CONTINUE;
+                }
+                LOGGER.error(
+                    "Committing global transaction[{}] failed, caused by branch transaction[{}] commit failed, will retry later.", globalSession.getXid(), branchSession.getBranchId());
+                return false;
+        }
+    }
+
+    /**
+     * Retry the rollback of a rollbacking session without waiting for the RMs. The branches are rolled back in
+     * reverse order, each one sent in the callback of the previous branch, and every result is applied on the
+     * callback executor.
+     *
+     * @param globalSession    the global session
+     * @param callbackExecutor the executor applying the branch results
+     * @return the future completed with true once the global session is rollbacked
+     */
+    public CompletableFuture<Boolean> doGlobalRollbackAsync(GlobalSession globalSession, Executor callbackExecutor) {
+        if (globalSession.isSaga()) {
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            try {
+                future.complete(doGlobalRollback(globalSession, true));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+            return future;
+        }
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        Executor executor = rejectTo(callbackExecutor, result);
+        MetricsPublisher.postSessionDoingEvent(globalSession, true);
+        forEachAsync(globalSession.getReverseSortedBranches().iterator(),
+            branchSession -> rollbackBranchAsync(globalSession, branchSession, executor)).thenApplyAsync(stop -> {
+                if (stop != null) {
+                    return stop;
+                }
+                try {
+                    SessionHelper.endRollbacked(globalSession, true);
+                } catch (TransactionException e) {
+                    throw new CompletionException(e);
+                }
+                LOGGER.info("Rollback global transaction successfully, xid = {}.", globalSession.getXid());
+                return true;
+            }, executor).whenComplete(completeTo(result));
+        return result;
+    }
+
+    private CompletableFuture<Boolean> rollbackBranchAsync(GlobalSession globalSession, BranchSession branchSession,
+                                                           Executor executor) {
+        if (branchSession.getStatus() == BranchStatus.PhaseOne_Failed) {
+            return CompletableFuture.supplyAsync(() -> {
+                removeBranch(globalSession, branchSession);
+                return CONTINUE;
+            }, executor);
+        }
+        return branchRollbackAsync(globalSession, branchSession).handleAsync(
+            (branchStatus, ex) -> onBranchRollbacked(globalSession, branchSession, branchStatus, ex), executor);
+    }
+
+    private Boolean onBranchRollbacked(GlobalSession globalSession, BranchSession branchSession,
+                                       BranchStatus branchStatus, Throwable ex) {
+        if (ex != null) {
+            StackTraceLogger.error(LOGGER, ex,
+                "Rollback branch transaction exception, xid = {} ,branchId = {} ,retrying={} ,exception = {}, global rollback failed",
+                new String[] {globalSession.getXid(), String.valueOf(branchSession.getBranchId()), "true", ex.getMessage()});
+            return false;
+        }
+        if (isXaerNotaTimeout(globalSession, branchStatus)) {
+            LOGGER.info("Rollback branch XAER_NOTA retry timeout, xid = {} branchId = {}", globalSession.getXid(), branchSession.getBranchId());
+            branchStatus = BranchStatus.PhaseTwo_Rollbacked;
+        }
+        switch (branchStatus) {
+            case PhaseTwo_Rollbacked:
+                removeBranch(globalSession, branchSession);
+                LOGGER.info("Rollback branch transaction successfully, xid = {} branchId = {}", globalSession.getXid(), branchSession.getBranchId());
+                return CONTINUE;
+            case PhaseTwo_RollbackFailed_Unretryable:
+                try {
+                    SessionHelper.endRollbackFailed(globalSession, true);
+                } catch (TransactionException e) {
+                    throw new CompletionException(e);
+                }
+                LOGGER.error("Rollback branch transaction fail and stop retry, xid = {} branchId = {}", globalSession.getXid(), branchSession.getBranchId());
+                return false;
+            default:
+                LOGGER.error("Rollback branch transaction fail and will retry, xid = {} branchId = {}", globalSession.getXid(), branchSession.getBranchId());
+                return false;
+        }
+    }
+
+    /**
+     * Handle the branches one after another, the next branch is only sent once the previous one has continued.
+     */
+    private static CompletableFuture<Boolean> forEachAsync(Iterator<BranchSession> branchSessions,
+                                                           Function<BranchSession, CompletableFuture<Boolean>> handler) {
+        if (!branchSessions.hasNext()) {
+            return CompletableFuture.completedFuture(CONTINUE);
+        }
+        return handler.apply(branchSessions.next()).thenCompose(stop -> stop != null
+            ? CompletableFuture.completedFuture(stop) : forEachAsync(branchSessions, handler));
+    }
+
+    /**
+     * Fail the result when the callback executor rejects a continuation, which would otherwise never complete it.
+     */
+    private static Executor rejectTo(Executor executor, CompletableFuture<Boolean> result) {
+        return command -> {
+            try {
+                executor.execute(command);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+        };
+    }
+
+    private static BiConsumer<Boolean, Throwable> completeTo(CompletableFuture<Boolean> result) {
+        return (success, ex) -> {
+            if (ex != null) {
+                result.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null
+                    ? ex.getCause() : ex);
+            } else {
+                result.complete(success);
+            }
+        };
+    }
+
+    private static void removeBranch(GlobalSession globalSession, BranchSession branchSession) {
+        try {
+            SessionHelper.removeBranch(globalSession, branchSession, false);
+        } catch (TransactionException e) {
+            throw new CompletionException(e);
+        }
+    }
+
     @Override
     public GlobalStatus rollback(String xid) throws TransactionException {
+        if (xidLeaseManager.release(xid)) {
+            return GlobalStatus.Rollbacked;
+        }
         GlobalSession globalSession = SessionHolder.findGlobalSession(xid);
         if (globalSession == null) {
             return GlobalStatus.Finished;
@@ -371,6 +671,9 @@ public class DefaultCore implements Core {
 
     @Override
     public GlobalStatus getStatus(String xid) throws TransactionException {
+        if (xidLeaseManager.isLeased(xid)) {
+            return GlobalStatus.Begin;
+        }
         GlobalSession globalSession = SessionHolder.findGlobalSession(xid, false);
         if (globalSession == null) {
             return GlobalStatus.Finished;
@@ -0,0 +1,415 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.coordinator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.common.util.CollectionUtils;
+import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.core.constants.ConfigurationKeys;
+import org.apache.seata.core.context.RootContext;
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.rpc.Disposable;
+import org.apache.seata.metrics.Id;
+import org.apache.seata.metrics.IdConstants;
+import org.apache.seata.metrics.registry.Registry;
+import org.apache.seata.server.cluster.raft.context.SeataClusterContext;
+import org.apache.seata.server.metrics.MetricsManager;
+import org.apache.seata.server.session.GlobalSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import static org.apache.seata.common.DefaultValues.DEFAULT_SEATA_GROUP;
+
+/**
+ * Runs one kind of recovery (retry commit, retry rollback, async commit) on a fixed set of
+ * single-threaded shards. Sessions are routed by xid hash, so a session is never handled by two
+ * workers at once, each shard takes at most {@code batchSize} sessions per tick and a session
+ * whose attempt failed is skipped until its exponential backoff has elapsed.
+ */
+public class RecoveryShardExecutor implements Disposable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecoveryShardExecutor.class);
+
+    private static final String GROUP = ConfigurationFactory.getInstance()
+        .getConfig(ConfigurationKeys.SERVER_RAFT_GROUP, DEFAULT_SEATA_GROUP);
+
+    private static final int MAX_BACKOFF_SHIFT = 16;
+
+    private static final String SHARD_KEY = "shard";
+
+    private final String name;
+
+    private final int batchSize;
+
+    private final long baseBackoff;
+
+    private final long maxBackoff;
+
+    private final ThreadPoolExecutor[] workers;
+
+    private final AtomicInteger[] backlogs;
+
+    private final Map<String, Backoff> backoffs = new ConcurrentHashMap<>();
+
+    private final Map<String, GlobalSession> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicInteger[] inFlightCounts;
+
+    /**
+     * Instantiates a new Recovery shard executor.
+     *
+     * @param name        the name of the recovery, used for thread names and metrics
+     * @param shardCount  the number of worker shards
+     * @param batchSize   the max sessions a shard handles per tick
+     * @param baseBackoff the delay after the first failed attempt, in milliseconds
+     * @param maxBackoff  the upper bound of the delay between attempts, in milliseconds
+     */
+    public RecoveryShardExecutor(String name, int shardCount, int batchSize, long baseBackoff, long maxBackoff) {
+        if (shardCount <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("shardCount and batchSize must be positive");
+        }
+        this.name = name;
+        this.batchSize = batchSize;
+        this.baseBackoff = Math.max(baseBackoff, 1);
+        this.maxBackoff = Math.max(maxBackoff, this.baseBackoff);
+        this.workers = new ThreadPoolExecutor[shardCount];
+        this.backlogs = new AtomicInteger[shardCount];
+        this.inFlightCounts = new AtomicInteger[shardCount];
+        NamedThreadFactory threadFactory = new NamedThreadFactory(name + "Shard", shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            workers[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                threadFactory);
+            backlogs[i] = new AtomicInteger();
+            inFlightCounts[i] = new AtomicInteger();
+        }
+        registerGauges();
+    }
+
+    /**
+     * Route the due sessions to their shards and wait until this tick's batches are handled.
+     *
+     * @param sessions the candidate sessions of this tick
+     * @param handler  the recovery handler
+     */
+    @SuppressWarnings("unchecked")
+    public void dispatch(Collection<GlobalSession> sessions, RecoveryHandler handler) {
+        if (CollectionUtils.isEmpty(sessions)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        expireBackoffs(now);
+        List<GlobalSession>[] batches = new List[workers.length];
+        int[] deferred = new int[workers.length];
+        for (GlobalSession session : sessions) {
+            Backoff backoff = backoffs.get(session.getXid());
+            if (backoff != null && backoff.nextAttemptTime > now) {
+                continue;
+            }
+            int shard = shardOf(session.getXid());
+            List<GlobalSession> batch = batches[shard];
+            if (batch == null) {
+                batch = batches[shard] = new ArrayList<>(Math.min(batchSize, sessions.size()));
+            }
+            if (batch.size() < batchSize) {
+                batch.add(session);
+            } else {
+                deferred[shard]++;
+            }
+        }
+        int busyShards = 0;
+        for (int i = 0; i < workers.length; i++) {
+            int size = batches[i] == null ? 0 : batches[i].size();
+            backlogs[i].set(size + deferred[i]);
+            if (size > 0) {
+                busyShards++;
+            }
+        }
+        if (busyShards == 0) {
+            return;
+        }
+        CountDownLatch latch = new CountDownLatch(busyShards);
+        for (int i = 0; i < workers.length; i++) {
+            List<GlobalSession> batch = batches[i];
+            if (batch == null || batch.isEmpty()) {
+                continue;
+            }
+            AtomicInteger backlog = backlogs[i];
+            try {
+                workers[i].execute(() -> {
+                    try {
+                        for (GlobalSession session : batch) {
+                            handle(session, handler);
+                            backlog.decrementAndGet();
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                latch.countDown();
+            }
+        }
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Start the due sessions on their shards without waiting for them. A session stays out of the
+     * following ticks until its future completes, and a shard keeps at most {@code batchSize} sessions
+     * in flight.
+     *
+     * @param sessions the candidate sessions of this tick
+     * @param handler  the async recovery handler
+     */
+    public void dispatchAsync(Collection<GlobalSession> sessions, AsyncRecoveryHandler handler) {
+        if (CollectionUtils.isEmpty(sessions)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        expireBackoffs(now);
+        int[] deferred = new int[workers.length];
+        for (GlobalSession session : sessions) {
+            String xid = session.getXid();
+            Backoff backoff = backoffs.get(xid);
+            if (inFlight.containsKey(xid) || backoff != null && backoff.nextAttemptTime > now) {
+                continue;
+            }
+            int shard = shardOf(xid);
+            if (inFlightCounts[shard].get() >= batchSize) {
+                deferred[shard]++;
+                continue;
+            }
+            inFlight.put(xid, session);
+            inFlightCounts[shard].incrementAndGet();
+            try {
+                workers[shard].execute(() -> start(session, shard, handler));
+            } catch (RejectedExecutionException e) {
+                finish(session, shard, false);
+            }
+        }
+        for (int i = 0; i < workers.length; i++) {
+            backlogs[i].set(inFlightCounts[i].get() + deferred[i]);
+        }
+    }
+
+    private void start(GlobalSession session, int shard, AsyncRecoveryHandler handler) {
+        String xid = session.getXid();
+        Executor callbackExecutor = command -> workers[shard].execute(() -> runBound(xid, command));
+        CompletableFuture<Boolean> future;
+        SeataClusterContext.bindGroup(GROUP);
+        try {
+            MDC.put(RootContext.MDC_KEY_XID, xid);
+            future = handler.handle(session, callbackExecutor);
+        } catch (Throwable th) {
+            LOGGER.error("handle global session failed: {}", xid, th);
+            finish(session, shard, false);
+            return;
+        } finally {
+            SeataClusterContext.unbindGroup();
+            MDC.remove(RootContext.MDC_KEY_XID);
+        }
+        future.whenComplete((success, th) -> {
+            if (th != null) {
+                LOGGER.error("handle global session failed: {}", xid, th);
+            }
+            finish(session, shard, th == null && Boolean.TRUE.equals(success));
+        });
+    }
+
+    private void runBound(String xid, Runnable command) {
+        SeataClusterContext.bindGroup(GROUP);
+        try {
+            MDC.put(RootContext.MDC_KEY_XID, xid);
+            command.run();
+        } finally {
+            SeataClusterContext.unbindGroup();
+            MDC.remove(RootContext.MDC_KEY_XID);
+        }
+    }
+
+    private void finish(GlobalSession session, int shard, boolean success) {
+        recordAttempt(session.getXid(), success);
+        inFlight.remove(session.getXid(), session);
+        inFlightCounts[shard].decrementAndGet();
+        backlogs[shard].decrementAndGet();
+    }
+
+    private void handle(GlobalSession session, RecoveryHandler handler) {
+        String xid = session.getXid();
+        boolean success = false;
+        SeataClusterContext.bindGroup(GROUP);
+        try {
+            MDC.put(RootContext.MDC_KEY_XID, xid);
+            success = handler.handle(session);
+        } catch (Throwable th) {
+            LOGGER.error("handle global session failed: {}", xid, th);
+        } finally {
+            SeataClusterContext.unbindGroup();
+            MDC.remove(RootContext.MDC_KEY_XID);
+        }
+        recordAttempt(xid, success);
+    }
+
+    private void recordAttempt(String xid, boolean success) {
+        if (success) {
+            backoffs.remove(xid);
+        } else {
+            backoffs.compute(xid, (k, backoff) -> {
+                int failures = backoff == null ? 1 : backoff.failures + 1;
+                long delay = Math.min(baseBackoff << Math.min(failures - 1, MAX_BACKOFF_SHIFT), maxBackoff);
+                return new Backoff(failures, System.currentTimeMillis() + delay);
+            });
+        }
+    }
+
+    /**
+     * Sessions that ended elsewhere never come back to clear their entry, so drop the ones that
+     * have been due for longer than the max backoff.
+     */
+    private void expireBackoffs(long now) {
+        Iterator<Backoff> iterator = backoffs.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().nextAttemptTime > maxBackoff) {
+                iterator.remove();
+            }
+        }
+    }
+
+    int shardOf(String xid) {
+        int h = xid.hashCode();
+        return ((h ^ (h >>> 16)) & Integer.MAX_VALUE) % workers.length;
+    }
+
+    private void registerGauges() {
+        Registry registry = MetricsManager.get().getRegistry();
+        if (registry == null) {
+            return;
+        }
+        for (int i = 0; i < backlogs.length; i++) {
+            AtomicInteger backlog = backlogs[i];
+            registry.getGauge(new Id(IdConstants.SEATA_TRANSACTION)
+                .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+                .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_GAUGE)
+                .withTag(IdConstants.NAME_KEY, name)
+                .withTag(SHARD_KEY, String.valueOf(i)), backlog::get);
+        }
+    }
+
+    /**
+     * Gets the number of sessions routed to the shard in the latest tick that are not handled yet.
+     *
+     * @param shard the shard index
+     * @return the backlog
+     */
+    public int getBacklog(int shard) {
+        return backlogs[shard].get();
+    }
+
+    /**
+     * Gets the number of sessions currently waiting for a backoff.
+     *
+     * @return the backoff size
+     */
+    public int getBackoffSize() {
+        return backoffs.size();
+    }
+
+    public int getShardCount() {
+        return workers.length;
+    }
+
+    @Override
+    public void destroy() {
+        for (ThreadPoolExecutor worker : workers) {
+            worker.shutdown();
+        }
+    }
+
+    /**
+     * Await the workers termination.
+     *
+     * @param timeoutMills the max wait time in milliseconds
+     * @throws InterruptedException the interrupted exception
+     */
+    public void awaitTermination(long timeoutMills) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMills;
+        for (ThreadPoolExecutor worker : workers) {
+            worker.awaitTermination(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static final class Backoff {
+        private final int failures;
+        private final long nextAttemptTime;
+
+        private Backoff(int failures, long nextAttemptTime) {
+            this.failures = failures;
+            this.nextAttemptTime = nextAttemptTime;
+        }
+    }
+
+    /**
+     * Starts a single session of a recovery tick.
+     */
+    @FunctionalInterface
+    public interface AsyncRecoveryHandler {
+
+        /**
+         * Start handling the session.
+         *
+         * @param globalSession    the global session
+         * @param callbackExecutor runs the callbacks of the session on its shard
+         * @return the future completed with false if the attempt did not finish and the session should back off
+         */
+        CompletableFuture<Boolean> handle(GlobalSession globalSession, Executor callbackExecutor);
+    }
+
+    /**
+     * Handles a single session of a recovery tick.
+     */
+    @FunctionalInterface
+    public interface RecoveryHandler {
+
+        /**
+         * Handle the session.
+         *
+         * @param globalSession the global session
+         * @return false if the attempt did not finish and the session should back off
+         * @throws TransactionException the transaction exception
+         */
+        boolean handle(GlobalSession globalSession) throws TransactionException;
+    }
+}
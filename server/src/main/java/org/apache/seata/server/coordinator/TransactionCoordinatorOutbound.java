@@ -16,6 +16,8 @@
  */
 package org.apache.seata.server.coordinator;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.server.session.BranchSession;
@@ -39,6 +41,23 @@ public interface TransactionCoordinatorOutbound {
      */
     BranchStatus branchCommit(GlobalSession globalSession, BranchSession branchSession) throws TransactionException;
 
+    /**
+     * Commit a branch transaction without waiting for the RM.
+     *
+     * @param globalSession the global session
+     * @param branchSession the branch session
+     * @return the future of the branch status after committing, failed with the cause of the failure.
+     */
+    default CompletableFuture<BranchStatus> branchCommitAsync(GlobalSession globalSession, BranchSession branchSession) {
+        CompletableFuture<BranchStatus> future = new CompletableFuture<>();
+        try {
+            future.complete(branchCommit(globalSession, branchSession));
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
     /**
      * Rollback a branch transaction.
      *
@@ -50,5 +69,23 @@ public interface TransactionCoordinatorOutbound {
      */
     BranchStatus branchRollback(GlobalSession globalSession, BranchSession branchSession) throws TransactionException;
 
+    /**
+     * Rollback a branch transaction without waiting for the RM.
+     *
+     * @param globalSession the global session
+     * @param branchSession the branch session
+     * @return the future of the branch status after rollbacking, failed with the cause of the failure.
+     */
+    default CompletableFuture<BranchStatus> branchRollbackAsync(GlobalSession globalSession,
+                                                                BranchSession branchSession) {
+        CompletableFuture<BranchStatus> future = new CompletableFuture<>();
+        try {
+            future.complete(branchRollback(globalSession, branchSession));
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
 
 }
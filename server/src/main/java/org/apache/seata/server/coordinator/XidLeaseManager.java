@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.coordinator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.seata.common.XID;
+import org.apache.seata.common.util.UUIDGenerator;
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.server.metrics.MetricsPublisher;
+import org.apache.seata.server.session.GlobalSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The type Xid lease manager.
+ * <p>
+ * Reserves blocks of xids a TM begins global transactions with locally. The session of a leased xid is registered
+ * when its first branch registers, a leased xid committed or rolled back without branches never gets a session.
+ * Reservations are held in memory, so leased xids are only valid on the TC that issued them and only until it restarts,
+ * the TM drops its leased xids when it registers to a TC again.
+ *
+ */
+public class XidLeaseManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(XidLeaseManager.class);
+
+    /**
+     * The max number of xids leased at once.
+     */
+    public static final int MAX_LEASE_SIZE = 1000;
+
+    private final long leaseTime;
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    private final Queue<LeaseBlock> blocks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Instantiates a new Xid lease manager.
+     *
+     * @param leaseTime the milliseconds a leased xid stays reserved
+     */
+    public XidLeaseManager(long leaseTime) {
+        this.leaseTime = leaseTime;
+    }
+
+    /**
+     * Gets lease time.
+     *
+     * @return the lease time
+     */
+    public long getLeaseTime() {
+        return leaseTime;
+    }
+
+    /**
+     * Lease a block of xids.
+     *
+     * @param applicationId           the application id
+     * @param transactionServiceGroup the transaction service group
+     * @param timeout                 the timeout of the global transactions
+     * @param size                    the number of xids
+     * @return the leased xids
+     */
+    public List<String> lease(String applicationId, String transactionServiceGroup, int timeout, int size) {
+        long now = System.currentTimeMillis();
+        expire(now);
+        long expireTime = now + leaseTime;
+        size = Math.max(0, Math.min(size, MAX_LEASE_SIZE));
+        List<String> xids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long transactionId = UUIDGenerator.generateUUID();
+            String xid = XID.generateXID(transactionId);
+            leases.put(xid, new Lease(transactionId, applicationId, transactionServiceGroup, timeout, expireTime));
+            xids.add(xid);
+        }
+        blocks.offer(new LeaseBlock(expireTime, xids));
+        return xids;
+    }
+
+    /**
+     * Register the session of a leased xid if it is not registered yet, nothing happens for other xids.
+     *
+     * @param xid the xid
+     * @throws TransactionException the transaction exception
+     */
+    public void materialize(String xid) throws TransactionException {
+        Lease lease = leases.get(xid);
+        if (lease == null) {
+            return;
+        }
+        synchronized (lease) {
+            if (lease.state == LeaseState.RESERVED) {
+                if (lease.expireTime < System.currentTimeMillis()) {
+                    lease.state = LeaseState.RELEASED;
+                } else {
+                    GlobalSession session = GlobalSession.createGlobalSession(lease.applicationId,
+                        lease.transactionServiceGroup, null, lease.timeout);
+                    session.setTransactionId(lease.transactionId);
+                    session.setXid(xid);
+                    session.begin();
+                    MetricsPublisher.postSessionDoingEvent(session, false);
+                    lease.state = LeaseState.CLAIMED;
+                    if (LOGGER.isInfoEnabled()) {
+                        LOGGER.info("Register leased global transaction applicationId: {}, transactionServiceGroup: {}, timeout: {}, xid: {}",
+                            lease.applicationId, lease.transactionServiceGroup, lease.timeout, xid);
+                    }
+                }
+            }
+        }
+        leases.remove(xid, lease);
+    }
+
+    /**
+     * Release a leased xid whose session is not registered, its session then never registers.
+     *
+     * @param xid the xid
+     * @return true if the xid was leased and its session not registered
+     */
+    public boolean release(String xid) {
+        Lease lease = leases.get(xid);
+        if (lease == null) {
+            return false;
+        }
+        boolean released;
+        synchronized (lease) {
+            released = lease.state == LeaseState.RESERVED;
+            if (released) {
+                lease.state = LeaseState.RELEASED;
+            }
+        }
+        leases.remove(xid, lease);
+        return released;
+    }
+
+    /**
+     * Whether the xid is leased and its session not registered yet.
+     *
+     * @param xid the xid
+     * @return the boolean
+     */
+    public boolean isLeased(String xid) {
+        Lease lease = leases.get(xid);
+        return lease != null && lease.state == LeaseState.RESERVED
+            && lease.expireTime >= System.currentTimeMillis();
+    }
+
+    /**
+     * Drop the reservations of expired leases.
+     *
+     * @param now the current time
+     */
+    void expire(long now) {
+        LeaseBlock block;
+        while ((block = blocks.peek()) != null && block.expireTime < now) {
+            if (blocks.remove(block)) {
+                block.xids.forEach(this::release);
+            }
+        }
+    }
+
+    private enum LeaseState {
+        RESERVED, CLAIMED, RELEASED
+    }
+
+    private static final class Lease {
+
+        private final long transactionId;
+
+        private final String applicationId;
+
+        private final String transactionServiceGroup;
+
+        private final int timeout;
+
+        private final long expireTime;
+
+        private volatile LeaseState state = LeaseState.RESERVED;
+
+        private Lease(long transactionId, String applicationId, String transactionServiceGroup, int timeout,
+                      long expireTime) {
+            this.transactionId = transactionId;
+            this.applicationId = applicationId;
+            this.transactionServiceGroup = transactionServiceGroup;
+            this.timeout = timeout;
+            this.expireTime = expireTime;
+        }
+    }
+
+    private static final class LeaseBlock {
+
+        private final long expireTime;
+
+        private final List<String> xids;
+
+        private LeaseBlock(long expireTime, List<String> xids) {
+            this.expireTime = expireTime;
+            this.xids = xids;
+        }
+    }
+}
@@ -19,12 +19,15 @@ package org.apache.seata.server.lock;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.seata.common.XID;
 import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.lock.Locker;
 import org.apache.seata.core.lock.RowLock;
+import org.apache.seata.core.lock.StructuredLockKey;
 import org.apache.seata.core.model.LockStatus;
 import org.apache.seata.server.session.BranchSession;
 import org.slf4j.Logger;
@@ -129,9 +132,44 @@ public abstract class AbstractLockManager implements LockManager {
         long transactionId = branchSession.getTransactionId();
         long branchId = branchSession.getBranchId();
 
+        StructuredLockKey structuredLockKey = branchSession.getStructuredLockKey();
+        if (structuredLockKey != null) {
+            return collectRowLocks(structuredLockKey, resourceId, xid, transactionId, branchId);
+        }
         return collectRowLocks(lockKey, resourceId, xid, transactionId, branchId);
     }
 
+    /**
+     * Collect row locks list straight from the structured lock key, without parsing the lock key string.
+     *
+     * @param structuredLockKey the structured lock key
+     * @param resourceId        the resource id
+     * @param xid               the xid
+     * @param transactionId     the transaction id
+     * @param branchID          the branch id
+     * @return the list
+     */
+    protected List<RowLock> collectRowLocks(StructuredLockKey structuredLockKey, String resourceId, String xid,
+        Long transactionId, Long branchID) {
+        List<RowLock> locks = new ArrayList<>(structuredLockKey.getRowCount());
+        for (Map.Entry<String, Set<String>> table : structuredLockKey.getTables().entrySet()) {
+            String tableName = table.getKey();
+            for (String pk : table.getValue()) {
+                if (StringUtils.isNotBlank(pk)) {
+                    RowLock rowLock = new RowLock();
+                    rowLock.setXid(xid);
+                    rowLock.setTransactionId(transactionId);
+                    rowLock.setBranchId(branchID);
+                    rowLock.setTableName(tableName);
+                    rowLock.setPk(pk);
+                    rowLock.setResourceId(resourceId);
+                    locks.add(rowLock);
+                }
+            }
+        }
+        return locks;
+    }
+
     /**
      * Collect row locks list.
      *
@@ -0,0 +1,317 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.seata.common.ConfigurationKeys;
+import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.config.Configuration;
+import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.rpc.Disposable;
+import org.apache.seata.metrics.Id;
+import org.apache.seata.metrics.IdConstants;
+import org.apache.seata.metrics.Timer;
+import org.apache.seata.metrics.registry.Registry;
+import org.apache.seata.server.metrics.MetricsManager;
+
+import static org.apache.seata.common.DefaultValues.DEFAULT_BRANCH_DISPATCH_QUEUE_SIZE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_BRANCH_DISPATCH_RESOURCE_CONCURRENCY;
+import static org.apache.seata.common.DefaultValues.DEFAULT_BRANCH_DISPATCH_THREADS;
+
+/**
+ * Fans the branches of one global session out to a bounded worker pool, one task per resource.
+ * Branches of the same resource keep their order, at most {@code resourceConcurrency} tasks of a
+ * resource run at the same time across all global sessions, and a saturated pool makes the caller
+ * run the task itself.
+ */
+public class BranchDispatcher implements Disposable {
+
+    private static final Configuration CONFIG = ConfigurationFactory.getInstance();
+
+    private static final String NAME = "branchDispatch";
+
+    private static final String STAGE_KEY = "stage";
+
+    /**
+     * the cached groups of a thread are dropped when it has seen more resources than this
+     */
+    private static final int MAX_CACHED_GROUPS = 256;
+
+    private static volatile BranchDispatcher instance;
+
+    private final ThreadPoolExecutor workers;
+
+    private final int resourceConcurrency;
+
+    private final Map<String, Semaphore> resourcePermits = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Dispatch> dispatches = ThreadLocal.withInitial(Dispatch::new);
+
+    private Timer waitTimer;
+
+    private Timer executeTimer;
+
+    /**
+     * Instantiates a new Branch dispatcher.
+     *
+     * @param threads             the worker count
+     * @param queueSize           the max tasks waiting for a worker
+     * @param resourceConcurrency the max running tasks per resource
+     */
+    public BranchDispatcher(int threads, int queueSize, int resourceConcurrency) {
+        if (threads <= 0 || queueSize <= 0 || resourceConcurrency <= 0) {
+            throw new IllegalArgumentException("threads, queueSize and resourceConcurrency must be positive");
+        }
+        this.resourceConcurrency = resourceConcurrency;
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize), new NamedThreadFactory(NAME, threads),
+            // unlike CallerRunsPolicy this also runs the task once the pool is shut down
+            (task, executor) -> task.run());
+        registerMetrics();
+    }
+
+    /**
+     * Gets the dispatcher shared by the TC.
+     *
+     * @return the branch dispatcher
+     */
+    public static BranchDispatcher get() {
+        if (instance == null) {
+            synchronized (BranchDispatcher.class) {
+                if (instance == null) {
+                    instance = new BranchDispatcher(
+                        CONFIG.getInt(ConfigurationKeys.BRANCH_DISPATCH_THREADS, DEFAULT_BRANCH_DISPATCH_THREADS),
+                        CONFIG.getInt(ConfigurationKeys.BRANCH_DISPATCH_QUEUE_SIZE, DEFAULT_BRANCH_DISPATCH_QUEUE_SIZE),
+                        CONFIG.getInt(ConfigurationKeys.BRANCH_DISPATCH_RESOURCE_CONCURRENCY,
+                            DEFAULT_BRANCH_DISPATCH_RESOURCE_CONCURRENCY));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Shut down the shared dispatcher, a later {@link #get()} creates a new one.
+     */
+    public static void shutdown() {
+        synchronized (BranchDispatcher.class) {
+            if (instance != null) {
+                instance.destroy();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Handle the branches grouped by resource and wait for all groups.
+     *
+     * @param sessions the branch sessions
+     * @param handler  the handler
+     * @return the first non-null result in the order the resources were met, or null
+     * @throws TransactionException the first exception in the same order
+     */
+    public Boolean dispatch(Collection<BranchSession> sessions, BranchSessionHandler handler)
+        throws TransactionException {
+        Dispatch dispatch = dispatches.get();
+        if (dispatch.inUse) {
+            // a handler dispatching again on the caller thread
+            dispatch = new Dispatch();
+        }
+        dispatch.inUse = true;
+        try {
+            for (BranchSession session : sessions) {
+                dispatch.group(session.getResourceId()).branches.add(session);
+            }
+            submit(dispatch, handler);
+            return dispatch.result();
+        } finally {
+            dispatch.reset();
+        }
+    }
+
+    private void submit(Dispatch dispatch, BranchSessionHandler handler) throws TransactionException {
+        List<Group> active = dispatch.active;
+        dispatch.owner = Thread.currentThread();
+        dispatch.pending.set(active.size());
+        int submitted = 0;
+        try {
+            for (; submitted < active.size(); submitted++) {
+                Group group = active.get(submitted);
+                group.handler = handler;
+                group.permit = resourcePermits.computeIfAbsent(group.resourceId,
+                    k -> new Semaphore(resourceConcurrency));
+                group.permit.acquire();
+                group.enqueueTime = System.nanoTime();
+                workers.execute(group);
+            }
+        } catch (InterruptedException e) {
+            dispatch.pending.addAndGet(submitted - active.size());
+            awaitGroups(dispatch);
+            throw new TransactionException(e);
+        }
+        awaitGroups(dispatch);
+    }
+
+    private void awaitGroups(Dispatch dispatch) {
+        boolean interrupted = false;
+        while (dispatch.pending.get() > 0) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void registerMetrics() {
+        Registry registry = MetricsManager.get().getRegistry();
+        if (registry == null) {
+            return;
+        }
+        registry.getGauge(newId(IdConstants.METER_VALUE_GAUGE).withTag(STAGE_KEY, "queued"),
+            () -> workers.getQueue().size());
+        registry.getGauge(newId(IdConstants.METER_VALUE_GAUGE).withTag(STAGE_KEY, "active"),
+            workers::getActiveCount);
+        waitTimer = registry.getTimer(newId(IdConstants.METER_VALUE_TIMER).withTag(STAGE_KEY, "wait"));
+        executeTimer = registry.getTimer(newId(IdConstants.METER_VALUE_TIMER).withTag(STAGE_KEY, "execute"));
+    }
+
+    private static Id newId(String meter) {
+        return new Id(IdConstants.SEATA_TRANSACTION)
+            .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+            .withTag(IdConstants.METER_KEY, meter)
+            .withTag(IdConstants.NAME_KEY, NAME);
+    }
+
+    /**
+     * Gets the number of tasks waiting for a worker.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return workers.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdown();
+    }
+
+    /**
+     * The grouping state of one caller thread, reused by its following dispatches.
+     */
+    private final class Dispatch {
+        private final Map<String, Group> groups = new HashMap<>();
+        private final List<Group> active = new ArrayList<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile Thread owner;
+        private boolean inUse;
+
+        private Group group(String resourceId) {
+            Group group = groups.get(resourceId);
+            if (group == null) {
+                group = new Group(this, resourceId);
+                groups.put(resourceId, group);
+            }
+            if (group.branches.isEmpty()) {
+                active.add(group);
+            }
+            return group;
+        }
+
+        private Boolean result() throws TransactionException {
+            for (Group group : active) {
+                if (group.error != null) {
+                    if (group.error instanceof TransactionException) {
+                        throw (TransactionException)group.error;
+                    }
+                    throw new TransactionException(group.error);
+                }
+                if (group.result != null) {
+                    return group.result;
+                }
+            }
+            return null;
+        }
+
+        private void reset() {
+            for (Group group : active) {
+                group.branches.clear();
+                group.handler = null;
+                group.permit = null;
+                group.result = null;
+                group.error = null;
+            }
+            active.clear();
+            if (groups.size() > MAX_CACHED_GROUPS) {
+                groups.clear();
+            }
+            inUse = false;
+        }
+    }
+
+    private final class Group implements Runnable {
+        private final Dispatch dispatch;
+        private final String resourceId;
+        private final List<BranchSession> branches = new ArrayList<>();
+        private BranchSessionHandler handler;
+        private Semaphore permit;
+        private long enqueueTime;
+        private Boolean result;
+        private Throwable error;
+
+        private Group(Dispatch dispatch, String resourceId) {
+            this.dispatch = dispatch;
+            this.resourceId = resourceId;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            try {
+                result = SessionHelper.forEach(branches, handler, false);
+            } catch (Throwable th) {
+                error = th;
+            } finally {
+                permit.release();
+                long end = System.nanoTime();
+                if (waitTimer != null) {
+                    waitTimer.record(start - enqueueTime, TimeUnit.NANOSECONDS);
+                    executeTimer.record(end - start, TimeUnit.NANOSECONDS);
+                }
+                if (dispatch.pending.decrementAndGet() == 0) {
+                    LockSupport.unpark(dispatch.owner);
+                }
+            }
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.seata.common.util.BufferUtils;
 import org.apache.seata.common.util.CompressUtil;
+import org.apache.seata.core.lock.StructuredLockKey;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
@@ -32,6 +33,7 @@ import org.apache.seata.core.model.LockStatus;
 import org.apache.seata.server.lock.LockManager;
 import org.apache.seata.server.lock.LockerManagerFactory;
 import org.apache.seata.server.storage.file.lock.FileLocker;
+import org.apache.seata.server.storage.file.lock.StripedFileLocker;
 import org.apache.seata.server.store.SessionStorable;
 import org.apache.seata.server.store.StoreConfig;
 import org.slf4j.Logger;
@@ -64,6 +66,8 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
 
     private String lockKey;
 
+    private StructuredLockKey structuredLockKey;
+
     private BranchType branchType;
 
     private BranchStatus status = BranchStatus.Unknown;
@@ -76,6 +80,8 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
 
     private final Map<FileLocker.BucketLockMap, Set<String>> lockHolder;
 
+    private volatile StripedFileLocker.LockIndex stripedLockIndex;
+
     private final LockManager lockManager = LockerManagerFactory.getLockManager();
 
     public BranchSession() {
@@ -177,6 +183,24 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
         this.lockKey = lockKey;
     }
 
+    /**
+     * Gets the structured lock key the branch was registered with, it is not persisted.
+     *
+     * @return the structured lock key, null when only the lock key string is known
+     */
+    public StructuredLockKey getStructuredLockKey() {
+        return structuredLockKey;
+    }
+
+    /**
+     * Sets structured lock key.
+     *
+     * @param structuredLockKey the structured lock key
+     */
+    public void setStructuredLockKey(StructuredLockKey structuredLockKey) {
+        this.structuredLockKey = structuredLockKey;
+    }
+
     /**
      * Gets branch type.
      *
@@ -290,6 +314,34 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
         return lockHolder;
     }
 
+    /**
+     * Gets the lock index of the striped lock engine.
+     *
+     * @return the striped lock index
+     */
+    public StripedFileLocker.LockIndex getStripedLockIndex() {
+        StripedFileLocker.LockIndex lockIndex = stripedLockIndex;
+        if (lockIndex == null) {
+            synchronized (this) {
+                lockIndex = stripedLockIndex;
+                if (lockIndex == null) {
+                    stripedLockIndex = lockIndex = new StripedFileLocker.LockIndex();
+                }
+            }
+        }
+        return lockIndex;
+    }
+
+    /**
+     * Whether the branch holds any row lock in the file/raft lock store.
+     *
+     * @return true if any row lock is held
+     */
+    public boolean hasHeldLocks() {
+        StripedFileLocker.LockIndex lockIndex = stripedLockIndex;
+        return !lockHolder.isEmpty() || (lockIndex != null && !lockIndex.isEmpty());
+    }
+
     @Override
     public boolean lock() throws TransactionException {
         return this.lock(true, false);
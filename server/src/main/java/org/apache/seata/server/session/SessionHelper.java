@@ -16,14 +16,9 @@
  */
 package org.apache.seata.server.session;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -33,6 +28,7 @@ import org.apache.seata.config.Configuration;
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.context.RootContext;
 import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.lock.StructuredLockKey;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.core.model.GlobalStatus;
@@ -96,6 +92,23 @@ public class SessionHelper {
      */
     public static BranchSession newBranchByGlobal(GlobalSession globalSession, BranchType branchType, String resourceId,
             String applicationData, String lockKeys, String clientId) {
+        return newBranchByGlobal(globalSession, branchType, resourceId, applicationData, lockKeys, null, clientId);
+    }
+
+    /**
+     * New branch by global branch session.
+     *
+     * @param globalSession     the global session
+     * @param branchType        the branch type
+     * @param resourceId        the resource id
+     * @param applicationData   the application data
+     * @param lockKeys          the lock keys
+     * @param structuredLockKey the structured lock keys, may be null
+     * @param clientId          the client id
+     * @return the branch session
+     */
+    public static BranchSession newBranchByGlobal(GlobalSession globalSession, BranchType branchType, String resourceId,
+            String applicationData, String lockKeys, StructuredLockKey structuredLockKey, String clientId) {
         BranchSession branchSession = new BranchSession(branchType);
 
         branchSession.setXid(globalSession.getXid());
@@ -103,6 +116,7 @@ public class SessionHelper {
         branchSession.setBranchId(UUIDGenerator.generateUUID());
         branchSession.setResourceId(resourceId);
         branchSession.setLockKey(lockKeys);
+        branchSession.setStructuredLockKey(structuredLockKey);
         branchSession.setClientId(clientId);
         branchSession.setApplicationData(applicationData);
         branchSession.setStatus(BranchStatus.Registered);
@@ -342,38 +356,7 @@ public class SessionHelper {
         if (CollectionUtils.isNotEmpty(sessions)) {
             Boolean result;
             if (parallel) {
-                Map<String, List<BranchSession>> map = new HashMap<>(4);
-                for (BranchSession session : sessions) {
-                    map.computeIfAbsent(session.getResourceId(), k -> new ArrayList<>()).add(session);
-                }
-                List<CompletableFuture<Boolean>> completableFutures = new ArrayList<>(map.size());
-                map.forEach((k, v) -> completableFutures.add(CompletableFuture.supplyAsync(() -> {
-                    try {
-                        return SessionHelper.forEach(v, handler, false);
-                    } catch (TransactionException e) {
-                        throw new RuntimeException(e);
-                    }
-                })));
-                try {
-                    for (CompletableFuture<Boolean> completableFuture : completableFutures) {
-                        result = completableFuture.get();
-                        if (result == null) {
-                            continue;
-                        }
-                        return result;
-                    }
-                } catch (InterruptedException e) {
-                    throw new TransactionException(e);
-                } catch (ExecutionException e) {
-                    Throwable throwable = e.getCause();
-                    if (throwable instanceof RuntimeException) {
-                        Throwable cause = throwable.getCause();
-                        if (cause instanceof TransactionException) {
-                            throw (TransactionException)cause;
-                        }
-                    }
-                    throw new TransactionException(e);
-                }
+                return BranchDispatcher.get().dispatch(sessions, handler);
             } else {
                 for (BranchSession branchSession : sessions) {
                     try {
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.session;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A hashed timing wheel indexing the global sessions by their timeout deadline.
+ * <p>
+ * Every session sits in the slot of the tick its deadline falls in, so an expiry check only visits the slots
+ * of the ticks elapsed since the previous check instead of every open session. Deadlines further away than one
+ * revolution simply stay in their slot until the round they belong to comes up. Sessions whose tick has
+ * already been passed when they are added are kept apart and handed out by the next check.
+ */
+public class SessionTimeoutWheel {
+
+    private final long tickMillis;
+
+    private final int mask;
+
+    private final Map<String, GlobalSession>[] slots;
+
+    private final Map<String, GlobalSession> overdue = new ConcurrentHashMap<>();
+
+    private volatile long lastTick;
+
+    /**
+     * Instantiates a new session timeout wheel.
+     *
+     * @param tickMillis the duration of one tick
+     * @param slotCount  the number of slots, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public SessionTimeoutWheel(long tickMillis, int slotCount) {
+        this.tickMillis = Math.max(1, tickMillis);
+        int size = Integer.highestOneBit(Math.max(1, slotCount - 1)) << 1;
+        this.mask = size - 1;
+        this.slots = new Map[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ConcurrentHashMap<>();
+        }
+        this.lastTick = System.currentTimeMillis() / this.tickMillis - 1;
+    }
+
+    /**
+     * Register the session.
+     *
+     * @param session the global session
+     */
+    public void add(GlobalSession session) {
+        long tick = tickOf(session);
+        String xid = session.getXid();
+        if (tick > lastTick) {
+            Map<String, GlobalSession> slot = slots[(int)(tick & mask)];
+            slot.put(xid, session);
+            // the tick may have been passed meanwhile, whoever takes the entry out of the slot handles it
+            if (tick > lastTick || !slot.remove(xid, session)) {
+                return;
+            }
+        }
+        overdue.put(xid, session);
+    }
+
+    /**
+     * Unregister the session.
+     *
+     * @param session the global session
+     */
+    public void remove(GlobalSession session) {
+        String xid = session.getXid();
+        slots[(int)(tickOf(session) & mask)].remove(xid, session);
+        overdue.remove(xid, session);
+    }
+
+    /**
+     * Take out the sessions whose deadline has passed, expected to be called by a single thread.
+     *
+     * @param now the current time millis
+     * @return the expired sessions
+     */
+    public List<GlobalSession> expire(long now) {
+        List<GlobalSession> expired = new ArrayList<>();
+        long currentTick = now / tickMillis;
+        long from = lastTick + 1;
+        if (currentTick - from > mask) {
+            // more than one revolution behind, every slot is visited once
+            from = currentTick - mask;
+        }
+        for (long tick = from; tick <= currentTick; tick++) {
+            lastTick = tick;
+            expireSlot(slots[(int)(tick & mask)], now, expired);
+        }
+        // the deadlines inside the ongoing tick are due as well, the slot stays to be visited again
+        expireSlot(slots[(int)((currentTick + 1) & mask)], now, expired);
+        if (!overdue.isEmpty()) {
+            expireSlot(overdue, Long.MAX_VALUE, expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Gets the number of registered sessions.
+     *
+     * @return the size
+     */
+    public int size() {
+        int size = overdue.size();
+        for (Map<String, GlobalSession> slot : slots) {
+            size += slot.size();
+        }
+        return size;
+    }
+
+    /**
+     * Unregister all the sessions.
+     */
+    public void clear() {
+        for (Map<String, GlobalSession> slot : slots) {
+            slot.clear();
+        }
+        overdue.clear();
+    }
+
+    private void expireSlot(Map<String, GlobalSession> slot, long now, List<GlobalSession> expired) {
+        Iterator<Map.Entry<String, GlobalSession>> iterator = slot.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, GlobalSession> entry = iterator.next();
+            GlobalSession session = entry.getValue();
+            if (deadlineOf(session) <= now && slot.remove(entry.getKey(), session)) {
+                expired.add(session);
+            }
+        }
+    }
+
+    private long tickOf(GlobalSession session) {
+        // the first tick starting at or after the deadline
+        return (deadlineOf(session) + tickMillis - 1) / tickMillis;
+    }
+
+    private static long deadlineOf(GlobalSession session) {
+        // GlobalSession#isTimeout holds from one milli after begin time plus timeout
+        return session.getBeginTime() + session.getTimeout() + 1;
+    }
+
+}
@@ -26,7 +26,11 @@ public enum FlushDiskMode {
     /**
      * async flush disk
      */
-    ASYNC_MODEL("async");
+    ASYNC_MODEL("async"),
+    /**
+     * group commit, one write and one flush for a batch of sessions
+     */
+    GROUP_MODEL("group");
 
     private String modeStr;
 
@@ -38,6 +42,9 @@ public enum FlushDiskMode {
         if (SYNC_MODEL.modeStr.equals(modeStr)) {
             return SYNC_MODEL;
         }
+        if (GROUP_MODEL.modeStr.equals(modeStr)) {
+            return GROUP_MODEL;
+        }
         return ASYNC_MODEL;
     }
 }
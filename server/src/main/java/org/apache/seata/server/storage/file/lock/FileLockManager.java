@@ -25,6 +25,7 @@ import org.apache.seata.server.lock.AbstractLockManager;
 import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
 import org.apache.seata.server.storage.raft.lock.RaftLockManager;
+import org.apache.seata.server.store.StoreConfig;
 import org.slf4j.MDC;
 
 import static org.apache.seata.core.context.RootContext.MDC_KEY_BRANCH_ID;
@@ -36,9 +37,16 @@ import static org.apache.seata.core.context.RootContext.MDC_KEY_BRANCH_ID;
 @LoadLevel(name = "file")
 public class FileLockManager extends AbstractLockManager {
 
+    /**
+     * The lock engine backed by {@link StripedLockTable}.
+     */
+    public static final String STRIPED_LOCK_ENGINE = "striped";
+
+    private final boolean stripedLockEngine = STRIPED_LOCK_ENGINE.equalsIgnoreCase(StoreConfig.getFileLockEngine());
+
     @Override
     public Locker getLocker(BranchSession branchSession) {
-        return new FileLocker(branchSession);
+        return stripedLockEngine ? new StripedFileLocker(branchSession) : new FileLocker(branchSession);
     }
 
     @Override
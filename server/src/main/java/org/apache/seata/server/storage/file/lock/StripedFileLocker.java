@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file.lock;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.seata.common.exception.FrameworkException;
+import org.apache.seata.common.exception.StoreException;
+import org.apache.seata.common.util.CollectionUtils;
+import org.apache.seata.core.exception.BranchTransactionException;
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.lock.AbstractLocker;
+import org.apache.seata.core.lock.RowLock;
+import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.server.session.BranchSession;
+
+import static org.apache.seata.core.exception.TransactionExceptionCode.LockKeyConflictFailFast;
+
+/**
+ * The locker of the striped lock engine, an alternative of {@link FileLocker} that keeps the row locks in
+ * the {@link StripedLockTable} and the locks held by a branch in a compact {@link LockIndex}.
+ *
+ */
+public class StripedFileLocker extends AbstractLocker {
+
+    private final StripedLockTable lockTable;
+
+    /**
+     * The Branch session.
+     */
+    protected BranchSession branchSession;
+
+    /**
+     * Instantiates a new striped file locker.
+     *
+     * @param branchSession the branch session
+     */
+    public StripedFileLocker(BranchSession branchSession) {
+        this(branchSession, StripedLockTable.getInstance());
+    }
+
+    StripedFileLocker(BranchSession branchSession, StripedLockTable lockTable) {
+        this.branchSession = branchSession;
+        this.lockTable = lockTable;
+    }
+
+    @Override
+    public boolean acquireLock(List<RowLock> rowLocks) {
+        return acquireLock(rowLocks, true, false);
+    }
+
+    @Override
+    public boolean acquireLock(List<RowLock> rowLocks, boolean autoCommit, boolean skipCheckLock) {
+        if (CollectionUtils.isEmpty(rowLocks)) {
+            // no lock
+            return true;
+        }
+        String resourceId = branchSession.getResourceId();
+        long transactionId = branchSession.getTransactionId();
+        LockIndex lockIndex = branchSession.getStripedLockIndex();
+        boolean failFast = false;
+        boolean canLock = true;
+        String lastTableName = null;
+        StripedLockTable.TableRef table = null;
+        try {
+            for (RowLock lock : rowLocks) {
+                String tableName = lock.getTableName();
+                String pk = lock.getPk();
+                if (!tableName.equals(lastTableName)) {
+                    if (table != null) {
+                        lockTable.release(table);
+                    }
+                    table = lockTable.retain(resourceId, tableName);
+                    lastTableName = tableName;
+                }
+                int hash = StripedLockTable.hash(table, pk);
+                BranchSession previousLockBranchSession = lockTable.putIfAbsent(table, pk, hash, branchSession);
+                if (previousLockBranchSession == null) {
+                    // No existing lock, and now locked by myself
+                    lockIndex.add(table, pk, hash);
+                } else if (previousLockBranchSession.getTransactionId() == transactionId) {
+                    // Locked by me before
+                } else {
+                    LOGGER.info("Global lock on [" + tableName + ":" + pk + "] is holding by " + previousLockBranchSession.getBranchId());
+                    try {
+                        // Release all acquired locks.
+                        branchSession.unlock();
+                    } catch (TransactionException e) {
+                        throw new FrameworkException(e);
+                    }
+                    if (!autoCommit && previousLockBranchSession.getLockStatus() == LockStatus.Rollbacking) {
+                        failFast = true;
+                        break;
+                    }
+                    if (canLock) {
+                        canLock = false;
+                        if (autoCommit) {
+                            break;
+                        }
+                    }
+                }
+            }
+        } finally {
+            if (table != null) {
+                lockTable.release(table);
+            }
+        }
+        if (failFast) {
+            throw new StoreException(new BranchTransactionException(LockKeyConflictFailFast));
+        }
+        return canLock;
+    }
+
+    @Override
+    public boolean releaseLock(List<RowLock> rowLock) {
+        if (CollectionUtils.isEmpty(rowLock)) {
+            //no lock
+            return true;
+        }
+        LockIndex lockIndex = branchSession.getStripedLockIndex();
+        if (lockIndex.isEmpty()) {
+            return true;
+        }
+        lockIndex.drain((table, pk, hash) -> {
+            // remove lock only if it locked by myself
+            lockTable.remove(table, pk, hash, branchSession);
+        });
+        return true;
+    }
+
+    @Override
+    public boolean isLockable(List<RowLock> rowLocks) {
+        if (CollectionUtils.isEmpty(rowLocks)) {
+            //no lock
+            return true;
+        }
+        Long transactionId = rowLocks.get(0).getTransactionId();
+        String resourceId = rowLocks.get(0).getResourceId();
+        for (RowLock rowLock : rowLocks) {
+            String tableName = rowLock.getTableName();
+            String pk = rowLock.getPk();
+            StripedLockTable.TableRef table = lockTable.find(resourceId, tableName);
+            if (table == null) {
+                continue;
+            }
+            BranchSession branchSession = lockTable.get(table, pk, StripedLockTable.hash(table, pk));
+            Long lockingTransactionId = branchSession != null ? branchSession.getTransactionId() : null;
+            if (lockingTransactionId == null || lockingTransactionId.longValue() == transactionId) {
+                // Locked by me
+                continue;
+            } else {
+                LOGGER.info("Global lock on [" + tableName + ":" + pk + "] is holding by " + lockingTransactionId);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void updateLockStatus(String xid, LockStatus lockStatus) {
+    }
+
+    @Override
+    public void cleanAllLocks() {
+        lockTable.clear();
+    }
+
+    /**
+     * The row locks held by a branch, kept as parallel arrays instead of a map of sets.
+     */
+    public static class LockIndex {
+
+        private StripedLockTable.TableRef[] tables;
+
+        private String[] pks;
+
+        private int[] hashes;
+
+        private int size;
+
+        synchronized void add(StripedLockTable.TableRef table, String pk, int hash) {
+            if (pks == null) {
+                tables = new StripedLockTable.TableRef[8];
+                pks = new String[8];
+                hashes = new int[8];
+            } else if (size == pks.length) {
+                int capacity = size << 1;
+                tables = Arrays.copyOf(tables, capacity);
+                pks = Arrays.copyOf(pks, capacity);
+                hashes = Arrays.copyOf(hashes, capacity);
+            }
+            tables[size] = table;
+            pks[size] = pk;
+            hashes[size] = hash;
+            size++;
+        }
+
+        synchronized void drain(RowConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(tables[i], pks[i], hashes[i]);
+            }
+            tables = null;
+            pks = null;
+            hashes = null;
+            size = 0;
+        }
+
+        /**
+         * Get the number of row locks held.
+         *
+         * @return the size
+         */
+        public synchronized int size() {
+            return size;
+        }
+
+        public synchronized boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    @FunctionalInterface
+    interface RowConsumer {
+        void accept(StripedLockTable.TableRef table, String pk, int hash);
+    }
+}
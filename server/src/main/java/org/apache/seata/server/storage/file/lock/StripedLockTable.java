@@ -0,0 +1,432 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file.lock;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.seata.server.session.BranchSession;
+
+/**
+ * The striped row lock table used by {@link StripedFileLocker}.
+ * <p>
+ * Resource ids and table names are interned into a {@link TableRef}, so a row is identified by the table ref plus
+ * the pk string and its precomputed hash. Rows are spread over a fixed number of stripes, and every
+ * stripe is an open-addressing (linear probing) table guarded by its own monitor, which keeps the
+ * lock table free of per-row map entries and boxed keys.
+ * <p>
+ * A table ref is counted by the rows locked with it and by the lockers using it, and leaves the table once
+ * the count drops to zero. Stripes shrink back as their rows are released.
+ */
+public final class StripedLockTable {
+
+    private static final int DEFAULT_STRIPES = 64;
+
+    private static final int INITIAL_STRIPE_CAPACITY = 16;
+
+    private static final StripedLockTable INSTANCE = new StripedLockTable(DEFAULT_STRIPES);
+
+    private final ConcurrentMap<TableName, TableRef> tables = new ConcurrentHashMap<>();
+
+    private final Stripe[] stripes;
+
+    private final int stripeMask;
+
+    /**
+     * Instantiates a new striped lock table.
+     *
+     * @param stripes the stripe count, rounded up to a power of two
+     */
+    StripedLockTable(int stripes) {
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe(Integer.numberOfTrailingZeros(size));
+        }
+        this.stripeMask = size - 1;
+    }
+
+    public static StripedLockTable getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Intern the resource id and the table name into a table ref, which stays interned until it is released.
+     *
+     * @param resourceId the resource id
+     * @param tableName  the table name
+     * @return the table ref
+     * @see #release(TableRef)
+     */
+    TableRef retain(String resourceId, String tableName) {
+        TableName name = new TableName(resourceId, tableName);
+        for (;;) {
+            TableRef table = tables.get(name);
+            if (table == null) {
+                TableRef created = new TableRef(name);
+                table = tables.putIfAbsent(name, created);
+                if (table == null) {
+                    return created;
+                }
+            }
+            if (table.tryRetain()) {
+                return table;
+            }
+            // released by its last user, which is removing it
+            tables.remove(name, table);
+        }
+    }
+
+    /**
+     * Release a table ref retained before.
+     *
+     * @param table the table ref
+     */
+    void release(TableRef table) {
+        if (table.refs.decrementAndGet() == 0 && table.refs.compareAndSet(0, -1)) {
+            tables.remove(table.name, table);
+        }
+    }
+
+    /**
+     * Get the table ref without interning.
+     *
+     * @param resourceId the resource id
+     * @param tableName  the table name
+     * @return the table ref, null if no row of the table is locked
+     */
+    TableRef find(String resourceId, String tableName) {
+        return tables.get(new TableName(resourceId, tableName));
+    }
+
+    /**
+     * Mix the table and the pk hash into the row hash.
+     *
+     * @param table the table ref
+     * @param pk    the pk
+     * @return the row hash
+     */
+    static int hash(TableRef table, String pk) {
+        long h = table.hash * 0x9E3779B97F4A7C15L + pk.hashCode();
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (int) (h ^ (h >>> 33));
+    }
+
+    /**
+     * Lock the row if it is free.
+     *
+     * @param table the table ref, retained by the caller
+     * @param pk    the pk
+     * @param hash  the row hash
+     * @param owner the branch session acquiring the lock
+     * @return null if the lock is acquired by the owner, otherwise the branch session holding the lock
+     */
+    BranchSession putIfAbsent(TableRef table, String pk, int hash, BranchSession owner) {
+        return stripe(hash).putIfAbsent(table, pk, hash, owner);
+    }
+
+    /**
+     * Get the branch session holding the row lock.
+     *
+     * @param table the table ref
+     * @param pk    the pk
+     * @param hash  the row hash
+     * @return the branch session, null if not locked
+     */
+    BranchSession get(TableRef table, String pk, int hash) {
+        return stripe(hash).get(table, pk, hash);
+    }
+
+    /**
+     * Unlock the row only if it is held by the owner.
+     *
+     * @param table the table ref
+     * @param pk    the pk
+     * @param hash  the row hash
+     * @param owner the branch session releasing the lock
+     * @return true if the lock is released
+     */
+    boolean remove(TableRef table, String pk, int hash, BranchSession owner) {
+        if (!stripe(hash).remove(table, pk, hash, owner)) {
+            return false;
+        }
+        release(table);
+        return true;
+    }
+
+    /**
+     * Get the number of locked rows.
+     *
+     * @return the size
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Get the number of interned tables.
+     *
+     * @return the table count
+     */
+    int tableCount() {
+        return tables.size();
+    }
+
+    /**
+     * Get the number of slots of all stripes.
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        int capacity = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                capacity += stripe.owners.length;
+            }
+        }
+        return capacity;
+    }
+
+    /**
+     * Release all row locks.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+        // the cleared rows never release their table refs
+        tables.clear();
+    }
+
+    private Stripe stripe(int hash) {
+        return stripes[hash & stripeMask];
+    }
+
+    private static final class TableName {
+
+        private final String resourceId;
+
+        private final String tableName;
+
+        private final int hash;
+
+        TableName(String resourceId, String tableName) {
+            this.resourceId = resourceId;
+            this.tableName = tableName;
+            this.hash = 31 * resourceId.hashCode() + tableName.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TableName)) {
+                return false;
+            }
+            TableName that = (TableName) o;
+            return hash == that.hash && resourceId.equals(that.resourceId) && tableName.equals(that.tableName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * An interned table. Rows are matched by the identity of their table ref, a table interned again after its
+     * ref has been released gets a new one.
+     */
+    static final class TableRef {
+
+        private final TableName name;
+
+        private final int hash;
+
+        /**
+         * The locked rows plus the lockers using the ref, -1 once released.
+         */
+        private final AtomicInteger refs = new AtomicInteger(1);
+
+        TableRef(TableName name) {
+            this.name = name;
+            this.hash = name.hash;
+        }
+
+        private boolean tryRetain() {
+            for (;;) {
+                int count = refs.get();
+                if (count < 0) {
+                    return false;
+                }
+                if (refs.compareAndSet(count, count + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * The open-addressing table of a stripe. The low bits of the row hash select the stripe, so the slot
+     * is taken from the bits above them.
+     */
+    private static final class Stripe {
+
+        private final int shift;
+
+        private int[] hashes;
+
+        private TableRef[] tables;
+
+        private String[] pks;
+
+        private BranchSession[] owners;
+
+        private int size;
+
+        Stripe(int shift) {
+            this.shift = shift;
+            allocate(INITIAL_STRIPE_CAPACITY);
+        }
+
+        synchronized BranchSession putIfAbsent(TableRef table, String pk, int hash, BranchSession owner) {
+            int index = indexOf(table, pk, hash);
+            if (owners[index] != null) {
+                return owners[index];
+            }
+            // counted before the row is visible, so that its release never drops the ref to zero early
+            table.refs.incrementAndGet();
+            hashes[index] = hash;
+            tables[index] = table;
+            pks[index] = pk;
+            owners[index] = owner;
+            if (++size * 4 >= owners.length * 3) {
+                rehash(owners.length << 1);
+            }
+            return null;
+        }
+
+        synchronized BranchSession get(TableRef table, String pk, int hash) {
+            return owners[indexOf(table, pk, hash)];
+        }
+
+        synchronized boolean remove(TableRef table, String pk, int hash, BranchSession owner) {
+            int index = indexOf(table, pk, hash);
+            if (owners[index] != owner) {
+                return false;
+            }
+            delete(index);
+            if (owners.length > INITIAL_STRIPE_CAPACITY && size * 8 < owners.length) {
+                rehash(owners.length >> 1);
+            }
+            return true;
+        }
+
+        synchronized void clear() {
+            allocate(INITIAL_STRIPE_CAPACITY);
+            size = 0;
+        }
+
+        /**
+         * Find the slot of the row, or the empty slot terminating its probe sequence.
+         */
+        private int indexOf(TableRef table, String pk, int hash) {
+            int mask = owners.length - 1;
+            int index = slotOf(hash, mask);
+            while (owners[index] != null) {
+                if (hashes[index] == hash && tables[index] == table && pks[index].equals(pk)) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+
+        /**
+         * Backward shift deletion, so that no tombstone is left in the probe sequences.
+         */
+        private void delete(int index) {
+            int mask = owners.length - 1;
+            int hole = index;
+            int next = (hole + 1) & mask;
+            while (owners[next] != null) {
+                int home = slotOf(hashes[next], mask);
+                // move the entry into the hole unless its home slot lies cyclically in (hole, next]
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    move(next, hole);
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            tables[hole] = null;
+            pks[hole] = null;
+            owners[hole] = null;
+            size--;
+        }
+
+        private int slotOf(int hash, int mask) {
+            return (hash >>> shift) & mask;
+        }
+
+        private void move(int from, int to) {
+            hashes[to] = hashes[from];
+            tables[to] = tables[from];
+            pks[to] = pks[from];
+            owners[to] = owners[from];
+        }
+
+        private void allocate(int capacity) {
+            hashes = new int[capacity];
+            tables = new TableRef[capacity];
+            pks = new String[capacity];
+            owners = new BranchSession[capacity];
+        }
+
+        private void rehash(int capacity) {
+            int[] oldHashes = hashes;
+            TableRef[] oldTables = tables;
+            String[] oldPks = pks;
+            BranchSession[] oldOwners = owners;
+            allocate(capacity);
+            int mask = capacity - 1;
+            for (int i = 0; i < oldOwners.length; i++) {
+                if (oldOwners[i] != null) {
+                    int index = slotOf(oldHashes[i], mask);
+                    while (owners[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    hashes[index] = oldHashes[i];
+                    tables[index] = oldTables[i];
+                    pks[index] = oldPks[i];
+                    owners[index] = oldOwners[i];
+                }
+            }
+        }
+    }
+}
@@ -43,6 +43,7 @@ import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
 import org.apache.seata.server.session.Reloadable;
 import org.apache.seata.server.session.SessionCondition;
+import org.apache.seata.server.session.SessionTimeoutWheel;
 import org.apache.seata.server.storage.file.ReloadableStore;
 import org.apache.seata.server.storage.file.TransactionWriteStore;
 import org.apache.seata.server.storage.file.store.FileTransactionStoreManager;
@@ -51,6 +52,7 @@ import org.apache.seata.server.store.SessionStorable;
 import org.apache.seata.server.store.TransactionStoreManager;
 
 import static org.apache.seata.common.DefaultValues.DEFAULT_SERVICE_SESSION_RELOAD_READ_SIZE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_TIMEOUT_RETRY_PERIOD;
 
 
 /**
@@ -68,6 +70,14 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
      */
     private Map<String, GlobalSession> sessionMap = new ConcurrentHashMap<>(64);
 
+    private static final int TIMEOUT_WHEEL_SLOTS = 512;
+
+    /**
+     * The begin sessions indexed by timeout deadline, ticking at the timeout check period.
+     */
+    private final SessionTimeoutWheel timeoutWheel = new SessionTimeoutWheel(ConfigurationFactory.getInstance()
+        .getLong(ConfigurationKeys.TIMEOUT_RETRY_PERIOD, DEFAULT_TIMEOUT_RETRY_PERIOD), TIMEOUT_WHEEL_SLOTS);
+
 
     /**
      * Instantiates a new File based session manager.
@@ -109,6 +119,7 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
     @Override
     public void reload() {
         restoreSessions();
+        rebuildTimeoutIndex();
     }
 
     @Override
@@ -119,6 +130,9 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
             } catch (TransactionException e) {
                 LOGGER.error("addGlobalSession fail, msg: {}", e.getMessage());
             }
+            if (session.getStatus() == GlobalStatus.Begin) {
+                timeoutWheel.add(session);
+            }
             return session;
         });
     }
@@ -137,10 +151,51 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
     @Override
     public void removeGlobalSession(GlobalSession session) throws TransactionException {
         if (sessionMap.remove(session.getXid()) != null) {
+            timeoutWheel.remove(session);
             super.removeGlobalSession(session);
         }
     }
 
+    /**
+     * Find the begin sessions whose timeout deadline has passed, only the expired entries of the timeout
+     * index are visited. A session handed out is no longer indexed, call {@link #rescheduleTimeout} if it
+     * is still to be checked.
+     *
+     * @return the timeout sessions
+     */
+    public List<GlobalSession> findTimeoutSessions() {
+        List<GlobalSession> expired = timeoutWheel.expire(System.currentTimeMillis());
+        if (!expired.isEmpty()) {
+            expired.removeIf(session -> session.getStatus() != GlobalStatus.Begin
+                || sessionMap.get(session.getXid()) != session);
+        }
+        return expired;
+    }
+
+    /**
+     * Put the session back to the timeout index, e.g. when the timeout handling of it failed.
+     *
+     * @param session the global session
+     */
+    public void rescheduleTimeout(GlobalSession session) {
+        if (session.getStatus() == GlobalStatus.Begin && sessionMap.get(session.getXid()) == session) {
+            timeoutWheel.add(session);
+        }
+    }
+
+    /**
+     * Index the begin sessions of the session map again, for the sessions put into the map directly,
+     * e.g. restored from the store or loaded from a snapshot.
+     */
+    public void rebuildTimeoutIndex() {
+        timeoutWheel.clear();
+        sessionMap.values().forEach(session -> {
+            if (session.getStatus() == GlobalStatus.Begin) {
+                timeoutWheel.add(session);
+            }
+        });
+    }
+
     @Override
     public Collection<GlobalSession> allSessions() {
         return sessionMap.values();
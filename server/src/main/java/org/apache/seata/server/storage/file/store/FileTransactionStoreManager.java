@@ -25,12 +25,15 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 import org.apache.seata.common.exception.StoreException;
 import org.apache.seata.common.thread.NamedThreadFactory;
@@ -112,6 +115,8 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
 
     private WriteDataFileRunnable writeDataFileRunnable;
 
+    private GroupCommitRunnable groupCommitRunnable;
+
     private ReentrantLock writeSessionLock = new ReentrantLock();
 
     private volatile long lastModifiedTime;
@@ -120,7 +125,9 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
 
     private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(MAX_WRITE_BUFFER_SIZE);
 
-    private static final FlushDiskMode FLUSH_DISK_MODE = StoreConfig.getFlushDiskMode();
+    private final FlushDiskMode flushDiskMode;
+
+    private static final int MAX_GROUP_COMMIT_SIZE = 512;
 
     private static final int MAX_WAIT_FOR_FLUSH_TIME_MILLS = 2 * 1000;
 
@@ -136,13 +143,32 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
      * @throws IOException the io exception
      */
     public FileTransactionStoreManager(String fullFileName, SessionManager sessionManager) throws IOException {
+        this(fullFileName, sessionManager, StoreConfig.getFlushDiskMode());
+    }
+
+    /**
+     * Instantiates a new File transaction store manager.
+     *
+     * @param fullFileName   the dir path
+     * @param sessionManager the session manager
+     * @param flushDiskMode  the flush disk mode
+     * @throws IOException the io exception
+     */
+    public FileTransactionStoreManager(String fullFileName, SessionManager sessionManager, FlushDiskMode flushDiskMode)
+        throws IOException {
+        this.flushDiskMode = flushDiskMode;
         initFile(fullFileName);
         fileWriteExecutor = new ThreadPoolExecutor(MAX_THREAD_WRITE, MAX_THREAD_WRITE, Integer.MAX_VALUE,
             TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
             new NamedThreadFactory("fileTransactionStore", MAX_THREAD_WRITE, true));
-        writeDataFileRunnable = new WriteDataFileRunnable();
-        fileWriteExecutor.submit(writeDataFileRunnable);
         this.sessionManager = sessionManager;
+        if (flushDiskMode == FlushDiskMode.GROUP_MODEL) {
+            groupCommitRunnable = new GroupCommitRunnable();
+            fileWriteExecutor.submit(groupCommitRunnable);
+        } else {
+            writeDataFileRunnable = new WriteDataFileRunnable();
+            fileWriteExecutor.submit(writeDataFileRunnable);
+        }
     }
 
     private void initFile(String fullFileName) throws IOException {
@@ -172,6 +198,9 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
 
     @Override
     public boolean writeSession(LogOperation logOperation, SessionStorable session) {
+        if (flushDiskMode == FlushDiskMode.GROUP_MODEL) {
+            return groupCommit(logOperation, session);
+        }
         long curFileTrxNum;
         writeSessionLock.lock();
         try {
@@ -194,9 +223,29 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         return true;
     }
 
+    /**
+     * Encode the session on the caller thread, hand it over to the group commit thread and wait until
+     * the batch containing it is written and flushed.
+     */
+    private boolean groupCommit(LogOperation logOperation, SessionStorable session) {
+        byte[] data;
+        try {
+            data = new TransactionWriteStore(session, logOperation).encode();
+        } catch (Exception exx) {
+            LOGGER.error("writeSession error, {}", exx.getMessage(), exx);
+            return false;
+        }
+        if (data == null || data.length >= Integer.MAX_VALUE - 3) {
+            return false;
+        }
+        GroupCommitRequest request = new GroupCommitRequest(data);
+        groupCommitRunnable.putRequest(request);
+        return request.waitForCommit(MAX_WAIT_FOR_FLUSH_TIME_MILLS);
+    }
+
     private void flushDisk(long curFileNum, FileChannel currFileChannel) {
 
-        if (FLUSH_DISK_MODE == FlushDiskMode.SYNC_MODEL) {
+        if (flushDiskMode == FlushDiskMode.SYNC_MODEL) {
             SyncFlushRequest syncFlushRequest = new SyncFlushRequest(curFileNum, currFileChannel);
             writeDataFileRunnable.putRequest(syncFlushRequest);
             syncFlushRequest.waitForFlush(MAX_WAIT_FOR_FLUSH_TIME_MILLS);
@@ -228,6 +277,26 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         return result;
     }
 
+    /**
+     * Same as {@link #saveHistory()}, but called on the group commit thread which owns the data file.
+     */
+    private void saveHistoryOnGroupCommit() {
+        try {
+            findTimeoutAndSave();
+            currFileChannel.force(false);
+            closeFile(currRaf);
+            Files.move(currDataFile.toPath(), new File(hisFullFileName).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException exx) {
+            LOGGER.error("save history data file error, {}", exx.getMessage(), exx);
+        } finally {
+            try {
+                initFile(currFullFileName);
+            } catch (IOException exx) {
+                LOGGER.error("init data file error, {}", exx.getMessage(), exx);
+            }
+        }
+    }
+
     private boolean writeDataFrame(byte[] data) {
         if (data == null || data.length <= 0) {
             return true;
@@ -323,6 +392,9 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         if (fileWriteExecutor != null) {
             fileWriteExecutor.shutdown();
             stopping = true;
+            if (groupCommitRunnable != null) {
+                groupCommitRunnable.wakeup();
+            }
             int retry = 0;
             while (!fileWriteExecutor.isTerminated() && retry < MAX_SHUTDOWN_RETRY) {
                 ++retry;
@@ -562,6 +634,156 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         }
     }
 
+    static class GroupCommitRequest implements StoreRequest {
+
+        private final byte[] data;
+
+        private final CountDownLatch countDownLatch = new CountDownLatch(1);
+
+        private volatile boolean result = false;
+
+        public GroupCommitRequest(byte[] data) {
+            this.data = data;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        public void wakeup(boolean result) {
+            this.result = result;
+            this.countDownLatch.countDown();
+        }
+
+        /**
+         * Wait until the batch of the request is written and flushed.
+         *
+         * @param timeout the timeout in milliseconds
+         * @return true only if the record is durable, false on a write failure, a timeout or an interrupt
+         */
+        public boolean waitForCommit(long timeout) {
+            try {
+                if (!this.countDownLatch.await(timeout, TimeUnit.MILLISECONDS)) {
+                    LOGGER.warn("wait for group commit more than {} ms", timeout);
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                LOGGER.error("Interrupted", e);
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The group commit writer. Producers append requests to a lock-free queue, and the single writer thread
+     * drains them in batches: every batch is written with one gathering write and made durable with one
+     * force, which then wakes up all the waiters of the batch.
+     */
+    class GroupCommitRunnable implements Runnable {
+
+        private final Queue<GroupCommitRequest> requests = new ConcurrentLinkedQueue<>();
+
+        private final List<GroupCommitRequest> batch = new ArrayList<>(MAX_GROUP_COMMIT_SIZE);
+
+        private volatile Thread writerThread;
+
+        private volatile boolean waiting;
+
+        public void putRequest(final GroupCommitRequest request) {
+            requests.offer(request);
+            if (waiting) {
+                wakeup();
+            }
+        }
+
+        public void wakeup() {
+            Thread thread = writerThread;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            writerThread = Thread.currentThread();
+            while (!stopping) {
+                try {
+                    if (!drainAndCommit()) {
+                        waiting = true;
+                        if (requests.isEmpty() && !stopping) {
+                            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_TIME_MILLS));
+                        }
+                        waiting = false;
+                    }
+                } catch (Exception exx) {
+                    LOGGER.error("group commit error: {}", exx.getMessage(), exx);
+                }
+            }
+            // handle the rest requests when stopping is true
+            while (drainAndCommit()) {
+                // drain until empty
+            }
+        }
+
+        private boolean drainAndCommit() {
+            GroupCommitRequest request;
+            while (batch.size() < MAX_GROUP_COMMIT_SIZE && (request = requests.poll()) != null) {
+                batch.add(request);
+            }
+            if (batch.isEmpty()) {
+                return false;
+            }
+            try {
+                boolean result = writeBatch();
+                if (result) {
+                    lastModifiedTime = System.currentTimeMillis();
+                    long before = FILE_TRX_NUM.getAndAdd(batch.size());
+                    long after = before + batch.size();
+                    FILE_FLUSH_NUM.set(after);
+                    if (after / PER_FILE_BLOCK_SIZE != before / PER_FILE_BLOCK_SIZE
+                        && (System.currentTimeMillis() - trxStartTimeMills) > MAX_TRX_TIMEOUT_MILLS) {
+                        saveHistoryOnGroupCommit();
+                    }
+                }
+                for (GroupCommitRequest committed : batch) {
+                    committed.wakeup(result);
+                }
+            } finally {
+                batch.clear();
+            }
+            return true;
+        }
+
+        private boolean writeBatch() {
+            int size = batch.size();
+            byte[] lengths = new byte[size * INT_BYTE_SIZE];
+            ByteBuffer lengthBuffer = ByteBuffer.wrap(lengths);
+            ByteBuffer[] buffers = new ByteBuffer[size * 2];
+            for (int i = 0; i < size; i++) {
+                byte[] data = batch.get(i).getData();
+                lengthBuffer.putInt(i * INT_BYTE_SIZE, data.length);
+                buffers[i * 2] = ByteBuffer.wrap(lengths, i * INT_BYTE_SIZE, INT_BYTE_SIZE);
+                buffers[i * 2 + 1] = ByteBuffer.wrap(data);
+            }
+            ByteBuffer last = buffers[buffers.length - 1];
+            for (int retry = 0; retry < MAX_WRITE_RETRY; retry++) {
+                try {
+                    while (last.hasRemaining()) {
+                        currFileChannel.write(buffers);
+                    }
+                    currFileChannel.force(false);
+                    return true;
+                } catch (Exception exx) {
+                    LOGGER.error("write data file error:{}", exx.getMessage(), exx);
+                }
+            }
+            LOGGER.error("write dataFile failed,retry more than :{}", MAX_WRITE_RETRY);
+            return false;
+        }
+    }
+
     /**
      * The type Write data file runnable.
      */
@@ -632,7 +854,7 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         }
 
         private void flushOnCondition(FileChannel fileChannel) {
-            if (FLUSH_DISK_MODE == FlushDiskMode.SYNC_MODEL) {
+            if (flushDiskMode == FlushDiskMode.SYNC_MODEL) {
                 return;
             }
             long diff = FILE_TRX_NUM.get() - FILE_FLUSH_NUM.get();
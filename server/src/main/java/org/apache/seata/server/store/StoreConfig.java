@@ -23,6 +23,7 @@ import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.server.env.ContainerHelper;
 import org.apache.seata.server.storage.file.FlushDiskMode;
 
+import static org.apache.seata.common.DefaultValues.DEFAULT_STORE_FILE_LOCK_ENGINE;
 import static org.apache.seata.common.DefaultValues.SERVER_DEFAULT_STORE_MODE;
 import static org.apache.seata.core.constants.ConfigurationKeys.STORE_FILE_PREFIX;
 
@@ -85,6 +86,10 @@ public class StoreConfig {
         return FlushDiskMode.findDiskMode(CONFIGURATION.getConfig(STORE_FILE_PREFIX + "flushDiskMode"));
     }
 
+    public static String getFileLockEngine() {
+        return CONFIGURATION.getConfig(ConfigurationKeys.STORE_FILE_LOCK_ENGINE, DEFAULT_STORE_FILE_LOCK_ENGINE);
+    }
+
     /**
      * only for inner call
      *
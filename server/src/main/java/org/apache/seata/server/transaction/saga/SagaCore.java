@@ -18,6 +18,7 @@ package org.apache.seata.server.transaction.saga;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 import io.netty.channel.Channel;
 import org.apache.seata.common.util.CollectionUtils;
@@ -77,6 +78,20 @@ public class SagaCore extends AbstractCore {
         return response.getBranchStatus();
     }
 
+    @Override
+    protected CompletableFuture<BranchStatus> branchCommitSendAsync(BranchCommitRequest request,
+                                                                    GlobalSession globalSession,
+                                                                    BranchSession branchSession) {
+        // the saga channel is picked by the state machine resource, stay on the sync path
+        CompletableFuture<BranchStatus> future = new CompletableFuture<>();
+        try {
+            future.complete(branchCommitSend(request, globalSession, branchSession));
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
     @Override
     public BranchStatus branchRollbackSend(BranchRollbackRequest request, GlobalSession globalSession,
                                            BranchSession branchSession) throws IOException, TimeoutException {
@@ -96,6 +111,20 @@ public class SagaCore extends AbstractCore {
         return response.getBranchStatus();
     }
 
+    @Override
+    protected CompletableFuture<BranchStatus> branchRollbackSendAsync(BranchRollbackRequest request,
+                                                                      GlobalSession globalSession,
+                                                                      BranchSession branchSession) {
+        // the saga channel is picked by the state machine resource, stay on the sync path
+        CompletableFuture<BranchStatus> future = new CompletableFuture<>();
+        try {
+            future.complete(branchRollbackSend(request, globalSession, branchSession));
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
     @Override
     public boolean doGlobalCommit(GlobalSession globalSession, boolean retrying) throws TransactionException {
         try {
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.cluster.raft.snapshot.session;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.server.lock.LockManager;
+import org.apache.seata.server.lock.LockerManagerFactory;
+import org.apache.seata.server.session.BranchSession;
+import org.apache.seata.server.session.GlobalSession;
+import org.apache.seata.server.session.SessionHelper;
+import org.apache.seata.server.session.SessionHolder;
+import org.apache.seata.server.store.StoreConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * The type Session snapshot file test.
+ */
+@SpringBootTest
+public class SessionSnapshotFileTest {
+
+    private static final String RESOURCE_ID = "jdbc:mysql://127.0.0.1:3306/seata";
+
+    @BeforeAll
+    public static void setUp(ApplicationContext context) {
+        SessionHolder.init(StoreConfig.SessionMode.FILE);
+    }
+
+    @AfterAll
+    public static void destroy() {
+        SessionHolder.destroy();
+    }
+
+    @Test
+    public void testLoadBinaryHoldsLocks() throws Exception {
+        LockManager lockManager = LockerManagerFactory.getLockManager();
+        lockManager.cleanAllLocks();
+        GlobalSession globalSession = newGlobalSession("t_order:1,2");
+        File file = File.createTempFile("session", ".snapshot");
+        try {
+            Assertions.assertEquals(1, SessionSnapshotCodec.save(file, Collections.singletonList(globalSession)));
+            Map<String, GlobalSession> sessionMap = new ConcurrentHashMap<>();
+            Assertions.assertEquals(1, SessionSnapshotFile.loadBinary(file, sessionMap));
+            GlobalSession loaded = sessionMap.get(globalSession.getXid());
+            Assertions.assertNotNull(loaded);
+            BranchSession branchSession = loaded.getBranchSessions().get(0);
+            Assertions.assertTrue(branchSession.hasHeldLocks());
+            Assertions.assertFalse(lockManager.isLockable("127.0.0.1:8091:1", RESOURCE_ID, "t_order:1"));
+            Assertions.assertFalse(lockManager.isLockable("127.0.0.1:8091:1", RESOURCE_ID, "t_order:2"));
+        } finally {
+            lockManager.cleanAllLocks();
+            Assertions.assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void testLoadTruncatedBinaryKeepsCurrentData() throws Exception {
+        LockManager lockManager = LockerManagerFactory.getLockManager();
+        lockManager.cleanAllLocks();
+        GlobalSession current = newGlobalSession("t_order:3");
+        current.getBranchSessions().get(0).lock();
+        Map<String, GlobalSession> sessionMap = new ConcurrentHashMap<>();
+        sessionMap.put(current.getXid(), current);
+
+        GlobalSession snapshot = newGlobalSession("t_order:4");
+        File file = File.createTempFile("session", ".snapshot");
+        try {
+            SessionSnapshotCodec.save(file, Collections.singletonList(snapshot));
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 8));
+            Assertions.assertThrows(IOException.class, () -> SessionSnapshotFile.loadBinary(file, sessionMap));
+            Assertions.assertEquals(1, sessionMap.size());
+            Assertions.assertSame(current, sessionMap.get(current.getXid()));
+            Assertions.assertFalse(lockManager.isLockable("127.0.0.1:8091:1", RESOURCE_ID, "t_order:3"));
+            Assertions.assertTrue(lockManager.isLockable("127.0.0.1:8091:1", RESOURCE_ID, "t_order:4"));
+        } finally {
+            lockManager.cleanAllLocks();
+            Assertions.assertTrue(file.delete());
+        }
+    }
+
+    private static GlobalSession newGlobalSession(String lockKeys) {
+        GlobalSession globalSession = GlobalSession.createGlobalSession("test", "test", "test", 60000);
+        BranchSession branchSession = SessionHelper.newBranchByGlobal(globalSession, BranchType.AT, RESOURCE_ID,
+            null, lockKeys, "test:127.0.0.1");
+        globalSession.add(branchSession);
+        return globalSession;
+    }
+}
@@ -17,12 +17,19 @@
 package org.apache.seata.server.coordinator;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.core.model.GlobalStatus;
+import org.apache.seata.core.protocol.transaction.BranchCommitRequest;
+import org.apache.seata.core.protocol.transaction.BranchRollbackRequest;
 import org.apache.seata.core.rpc.RemotingServer;
 import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
@@ -66,6 +73,8 @@ public class DefaultCoreTest {
 
     private static final String lockKeys_2 = "tb_12:12";
 
+    private static final String lockKeys_3 = "tb_13:13";
+
     private static final String applicationData = "{\"data\":\"test\"}";
 
     private GlobalSession globalSession;
@@ -160,6 +169,49 @@ public class DefaultCoreTest {
 
     }
 
+    /**
+     * Begin lease test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void beginLeaseTest() throws Exception {
+        List<String> xids = core.beginLease(applicationId, txServiceGroup, timeout, 2);
+        Assertions.assertEquals(2, xids.size());
+        String xid = xids.get(0);
+        Assertions.assertNull(SessionHolder.findGlobalSession(xid));
+        Assertions.assertEquals(GlobalStatus.Begin, core.getStatus(xid));
+
+        core.branchRegister(BranchType.AT, resourceId, clientId, xid, "abc", lockKeys_3);
+        globalSession = SessionHolder.findGlobalSession(xid);
+        Assertions.assertNotNull(globalSession);
+        Assertions.assertEquals(applicationId, globalSession.getApplicationId());
+        Assertions.assertEquals(timeout, globalSession.getTimeout());
+        Assertions.assertEquals(1, globalSession.getSortedBranches().size());
+
+        String unusedXid = xids.get(1);
+        Assertions.assertEquals(GlobalStatus.Rollbacked, core.rollback(unusedXid));
+        Assertions.assertThrows(TransactionException.class,
+            () -> core.branchRegister(BranchType.AT, resourceId, clientId, unusedXid, "abc", lockKeys_3));
+        Assertions.assertEquals(GlobalStatus.Finished, core.getStatus(unusedXid));
+    }
+
+    /**
+     * Expired lease test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void expiredLeaseTest() throws Exception {
+        XidLeaseManager xidLeaseManager = new XidLeaseManager(0L);
+        String xid = xidLeaseManager.lease(applicationId, txServiceGroup, timeout, 1).get(0);
+        Thread.sleep(5);
+        Assertions.assertFalse(xidLeaseManager.isLeased(xid));
+        xidLeaseManager.materialize(xid);
+        Assertions.assertNull(SessionHolder.findGlobalSession(xid));
+        Assertions.assertFalse(xidLeaseManager.release(xid));
+    }
+
     /**
      * Commit test.
      *
@@ -193,6 +245,77 @@ public class DefaultCoreTest {
         Assertions.assertEquals(globalSession.getStatus(), GlobalStatus.Committed);
     }
 
+    /**
+     * Do global commit async test.
+     *
+     * @param xid the xid
+     * @throws Exception the exception
+     */
+    @ParameterizedTest
+    @MethodSource("xidProvider")
+    public void doGlobalCommitAsyncTest(String xid) throws Exception {
+        globalSession = SessionHolder.findGlobalSession(xid);
+        for (int i = 0; i < 3; i++) {
+            BranchSession branchSession = SessionHelper.newBranchByGlobal(globalSession, BranchType.AT, resourceId,
+                applicationData, "t1:" + i, clientId);
+            globalSession.addBranch(branchSession);
+            globalSession.changeBranchStatus(branchSession, BranchStatus.PhaseOne_Done);
+        }
+        globalSession.changeGlobalStatus(GlobalStatus.AsyncCommitting);
+        core.mockCore(BranchType.AT, new MockCore(BranchStatus.PhaseTwo_Committed, BranchStatus.PhaseOne_Done));
+        Assertions.assertTrue(core.doGlobalCommitAsync(globalSession, Runnable::run).get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(globalSession.getBranchSessions().isEmpty());
+        Assertions.assertEquals(GlobalStatus.Committed, globalSession.getStatus());
+    }
+
+    /**
+     * Do global commit async test of a session whose branches are committed one after another.
+     *
+     * @param xid the xid
+     * @throws Exception the exception
+     */
+    @ParameterizedTest
+    @MethodSource("xidProvider")
+    public void doGlobalCommitAsyncRetryingTest(String xid) throws Exception {
+        globalSession = SessionHolder.findGlobalSession(xid);
+        for (int i = 0; i < 3; i++) {
+            BranchSession branchSession = SessionHelper.newBranchByGlobal(globalSession, BranchType.XA, resourceId,
+                applicationData, "t1:" + i, clientId);
+            globalSession.addBranch(branchSession);
+            globalSession.changeBranchStatus(branchSession, BranchStatus.PhaseOne_Done);
+        }
+        globalSession.changeGlobalStatus(GlobalStatus.CommitRetrying);
+        core.mockCore(BranchType.XA, new MockCore(BranchStatus.PhaseTwo_Committed, BranchStatus.PhaseOne_Done));
+        Assertions.assertTrue(core.doGlobalCommitAsync(globalSession, Runnable::run).get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(globalSession.getBranchSessions().isEmpty());
+        Assertions.assertEquals(GlobalStatus.Committed, globalSession.getStatus());
+    }
+
+    /**
+     * Do global commit async test with a callback executor rejecting the branch results.
+     *
+     * @param xid the xid
+     * @throws Exception the exception
+     */
+    @ParameterizedTest
+    @MethodSource("xidProvider")
+    public void doGlobalCommitAsyncRejectedTest(String xid) throws Exception {
+        globalSession = SessionHolder.findGlobalSession(xid);
+        BranchSession branchSession = SessionHelper.newBranchByGlobal(globalSession, BranchType.AT, resourceId,
+            applicationData, "t1:1", clientId);
+        globalSession.addBranch(branchSession);
+        globalSession.changeBranchStatus(branchSession, BranchStatus.PhaseOne_Done);
+        globalSession.changeGlobalStatus(GlobalStatus.AsyncCommitting);
+        core.mockCore(BranchType.AT, new MockCore(BranchStatus.PhaseTwo_Committed, BranchStatus.PhaseOne_Done));
+        CompletableFuture<Boolean> future = core.doGlobalCommitAsync(globalSession, command -> {
+            throw new RejectedExecutionException("shutdown");
+        });
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+            () -> future.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(e.getCause() instanceof RejectedExecutionException);
+        Assertions.assertEquals(1, globalSession.getBranchSessions().size());
+    }
+
     /**
      * Do global commit test.
      *
@@ -306,6 +429,51 @@ public class DefaultCoreTest {
         Assertions.assertEquals(globalSession.getStatus(), GlobalStatus.RollbackRetrying);
     }
 
+    /**
+     * Do global roll back async test.
+     *
+     * @param xid the xid
+     * @throws Exception the exception
+     */
+    @ParameterizedTest
+    @MethodSource("xidProvider")
+    public void doGlobalRollBackAsyncTest(String xid) throws Exception {
+        globalSession = SessionHolder.findGlobalSession(xid);
+        for (int i = 0; i < 3; i++) {
+            BranchSession branchSession = SessionHelper.newBranchByGlobal(globalSession, BranchType.AT, resourceId,
+                applicationData, "t1:" + i, clientId);
+            globalSession.addBranch(branchSession);
+            globalSession.changeBranchStatus(branchSession, BranchStatus.PhaseOne_Done);
+        }
+        globalSession.changeGlobalStatus(GlobalStatus.RollbackRetrying);
+        core.mockCore(BranchType.AT, new MockCore(BranchStatus.PhaseTwo_Committed, BranchStatus.PhaseTwo_Rollbacked));
+        Assertions.assertTrue(core.doGlobalRollbackAsync(globalSession, Runnable::run).get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(globalSession.getBranchSessions().isEmpty());
+        Assertions.assertEquals(GlobalStatus.Rollbacked, globalSession.getStatus());
+    }
+
+    /**
+     * Do global roll back async test with a retryable branch, which stops the rollback.
+     *
+     * @param xid the xid
+     * @throws Exception the exception
+     */
+    @ParameterizedTest
+    @MethodSource("xidProvider")
+    public void doGlobalRollBackAsyncRetryableTest(String xid) throws Exception {
+        globalSession = SessionHolder.findGlobalSession(xid);
+        BranchSession branchSession = SessionHelper.newBranchByGlobal(globalSession, BranchType.AT, resourceId,
+            applicationData, "t1:1", clientId);
+        globalSession.addBranch(branchSession);
+        globalSession.changeBranchStatus(branchSession, BranchStatus.PhaseOne_Done);
+        globalSession.changeGlobalStatus(GlobalStatus.RollbackRetrying);
+        core.mockCore(BranchType.AT, new MockCore(BranchStatus.PhaseTwo_Committed,
+            BranchStatus.PhaseTwo_RollbackFailed_Retryable));
+        Assertions.assertFalse(core.doGlobalRollbackAsync(globalSession, Runnable::run).get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, globalSession.getBranchSessions().size());
+        Assertions.assertEquals(GlobalStatus.RollbackRetrying, globalSession.getStatus());
+    }
+
     /**
      * Xid provider object [ ] [ ].
      *
@@ -380,6 +548,20 @@ public class DefaultCoreTest {
             return rollbackStatus;
         }
 
+        @Override
+        protected CompletableFuture<BranchStatus> branchCommitSendAsync(BranchCommitRequest request,
+                                                                        GlobalSession globalSession,
+                                                                        BranchSession branchSession) {
+            return CompletableFuture.completedFuture(commitStatus);
+        }
+
+        @Override
+        protected CompletableFuture<BranchStatus> branchRollbackSendAsync(BranchRollbackRequest request,
+                                                                          GlobalSession globalSession,
+                                                                          BranchSession branchSession) {
+            return CompletableFuture.completedFuture(rollbackStatus);
+        }
+
         @Override
         public BranchType getHandleBranchType() {
             return BranchType.AT;
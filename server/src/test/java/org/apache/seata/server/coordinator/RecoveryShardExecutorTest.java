@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.coordinator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.apache.seata.server.session.GlobalSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Recovery shard executor test.
+ */
+public class RecoveryShardExecutorTest {
+
+    private RecoveryShardExecutor executor;
+
+    @BeforeEach
+    public void init() {
+        executor = new RecoveryShardExecutor("recoveryTest", 4, 10, 60000, 60000);
+    }
+
+    @AfterEach
+    public void destroy() {
+        executor.destroy();
+    }
+
+    @Test
+    public void testSessionStaysOnItsShard() {
+        List<GlobalSession> sessions = newSessions(30);
+        Map<String, String> threads = new ConcurrentHashMap<>();
+        Set<String> names = ConcurrentHashMap.newKeySet();
+        executor.dispatch(sessions, session -> {
+            threads.put(session.getXid(), Thread.currentThread().getName());
+            names.add(Thread.currentThread().getName());
+            return true;
+        });
+        Assertions.assertEquals(30, threads.size());
+        AtomicInteger moved = new AtomicInteger();
+        executor.dispatch(sessions, session -> {
+            if (!threads.get(session.getXid()).equals(Thread.currentThread().getName())) {
+                moved.incrementAndGet();
+            }
+            return true;
+        });
+        Assertions.assertEquals(0, moved.get());
+        Assertions.assertTrue(names.size() > 1);
+    }
+
+    @Test
+    public void testBatchSizeBoundsEachShard() {
+        List<GlobalSession> sessions = newSessions(200);
+        int[] routed = new int[executor.getShardCount()];
+        for (GlobalSession session : sessions) {
+            routed[executor.shardOf(session.getXid())]++;
+        }
+        AtomicInteger handled = new AtomicInteger();
+        executor.dispatch(sessions, session -> {
+            handled.incrementAndGet();
+            return true;
+        });
+        int expected = 0;
+        for (int i = 0; i < routed.length; i++) {
+            expected += Math.min(routed[i], 10);
+            Assertions.assertEquals(Math.max(routed[i] - 10, 0), executor.getBacklog(i));
+        }
+        Assertions.assertEquals(expected, handled.get());
+    }
+
+    @Test
+    public void testFailedSessionBacksOff() {
+        List<GlobalSession> sessions = newSessions(5);
+        AtomicInteger attempts = new AtomicInteger();
+        executor.dispatch(sessions, session -> {
+            attempts.incrementAndGet();
+            return false;
+        });
+        Assertions.assertEquals(5, attempts.get());
+        Assertions.assertEquals(5, executor.getBackoffSize());
+
+        executor.dispatch(sessions, session -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("must be backing off");
+        });
+        Assertions.assertEquals(5, attempts.get());
+    }
+
+    @Test
+    public void testSuccessClearsBackoff() {
+        RecoveryShardExecutor fast = new RecoveryShardExecutor("recoveryFastTest", 2, 10, 1, 1);
+        try {
+            List<GlobalSession> sessions = newSessions(5);
+            fast.dispatch(sessions, session -> {
+                throw new IllegalStateException("fail");
+            });
+            Assertions.assertEquals(5, fast.getBackoffSize());
+            sleep(5);
+            fast.dispatch(sessions, session -> true);
+            Assertions.assertEquals(0, fast.getBackoffSize());
+        } finally {
+            fast.destroy();
+        }
+    }
+
+    @Test
+    public void testInFlightSessionSkipped() throws Exception {
+        List<GlobalSession> sessions = newSessions(3);
+        Map<String, CompletableFuture<Boolean>> pending = new ConcurrentHashMap<>();
+        AtomicInteger callbacks = new AtomicInteger();
+        executor.dispatchAsync(sessions, (session, callbackExecutor) -> {
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            pending.put(session.getXid(), future);
+            return future.thenApplyAsync(success -> {
+                callbacks.incrementAndGet();
+                return success;
+            }, callbackExecutor);
+        });
+        waitUntil(() -> pending.size() == 3);
+        AtomicInteger attempts = new AtomicInteger();
+        executor.dispatchAsync(sessions, (session, callbackExecutor) -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture(true);
+        });
+        Assertions.assertEquals(0, attempts.get());
+
+        pending.get(sessions.get(0).getXid()).complete(true);
+        pending.get(sessions.get(1).getXid()).complete(false);
+        pending.get(sessions.get(2).getXid()).complete(true);
+        waitUntil(() -> callbacks.get() == 3);
+        waitUntil(() -> executor.getBackoffSize() == 1);
+        executor.dispatchAsync(sessions, (session, callbackExecutor) -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture(true);
+        });
+        // the failed session is backing off
+        waitUntil(() -> attempts.get() == 2);
+        sleep(50);
+        Assertions.assertEquals(2, attempts.get());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline);
+            sleep(5);
+        }
+    }
+
+    private static List<GlobalSession> newSessions(int count) {
+        List<GlobalSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sessions.add(new GlobalSession("app", "group", "name", 60000));
+        }
+        return sessions;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ignore) {
+        }
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.seata.server.lock;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -29,6 +30,8 @@ import javax.annotation.Resource;
 import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.common.result.PageResult;
 import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.lock.RowLock;
+import org.apache.seata.core.lock.StructuredLockKey;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.common.util.UUIDGenerator;
 import org.apache.seata.server.console.param.GlobalLockParam;
@@ -73,6 +76,29 @@ public class LockManagerTest {
      * @param branchSession the branch session
      * @throws Exception the exception
      */
+    /**
+     * Row locks collected from the structured lock key match those parsed from the lock key string.
+     *
+     * @param branchSession the branch session
+     */
+    @ParameterizedTest
+    @MethodSource("branchSessionProvider")
+    public void collectRowLocks_structured(BranchSession branchSession) {
+        LockManager lockManager = new FileLockManagerForTest();
+        branchSession.setLockKey("t:0,1;t2:2_a");
+        List<RowLock> expected = lockManager.collectRowLocks(branchSession);
+
+        branchSession.setStructuredLockKey(StructuredLockKey.parse(branchSession.getLockKey()));
+        List<RowLock> actual = lockManager.collectRowLocks(branchSession);
+        Assertions.assertEquals(3, actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(expected.get(i).getTableName(), actual.get(i).getTableName());
+            Assertions.assertEquals(expected.get(i).getPk(), actual.get(i).getPk());
+            Assertions.assertEquals(expected.get(i).getResourceId(), actual.get(i).getResourceId());
+            Assertions.assertEquals(expected.get(i).getBranchId(), actual.get(i).getBranchId());
+        }
+    }
+
     @ParameterizedTest
     @MethodSource("branchSessionProvider")
     public void acquireLock_success(BranchSession branchSession) throws Exception {
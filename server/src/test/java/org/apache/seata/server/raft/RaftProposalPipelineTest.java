@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.raft;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alipay.sofa.jraft.Node;
+import com.alipay.sofa.jraft.Status;
+import com.alipay.sofa.jraft.entity.Task;
+import com.alipay.sofa.jraft.error.RaftError;
+import org.apache.seata.server.cluster.raft.RaftProposalPipeline;
+import org.apache.seata.server.cluster.raft.sync.RaftSyncMessageSerializer;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBaseMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBatchSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftGlobalSessionSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMessage;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMsgType;
+import org.apache.seata.server.cluster.raft.sync.msg.dto.GlobalTransactionDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ */
+public class RaftProposalPipelineTest {
+
+    @Test
+    public void testSingleProposal() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        Node node = mockNode(tasks);
+        RaftProposalPipeline pipeline = new RaftProposalPipeline(node, 32);
+        AtomicInteger done = new AtomicInteger();
+        pipeline.propose(encode("xid-1"), status -> done.incrementAndGet());
+        Assertions.assertEquals(1, tasks.size());
+        RaftBaseMsg msg = decode(tasks.get(0).getData());
+        Assertions.assertEquals(RaftSyncMsgType.ADD_GLOBAL_SESSION, msg.getMsgType());
+        tasks.get(0).getDone().run(Status.OK());
+        Assertions.assertEquals(1, done.get());
+    }
+
+    @Test
+    public void testConcurrentProposalsAreCoalesced() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        CountDownLatch applyEntered = new CountDownLatch(1);
+        CountDownLatch releaseApply = new CountDownLatch(1);
+        Node node = Mockito.mock(Node.class);
+        Mockito.doAnswer(invocation -> {
+            synchronized (tasks) {
+                tasks.add(invocation.getArgument(0));
+            }
+            if (applyEntered.getCount() > 0) {
+                // hold the first drainer so the other proposals pile up in the queue
+                applyEntered.countDown();
+                releaseApply.await(10, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(node).apply(Mockito.any(Task.class));
+        RaftProposalPipeline pipeline = new RaftProposalPipeline(node, 4);
+        AtomicInteger ok = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            executor.submit(() -> {
+                pipeline.propose(encode("xid-0"), status -> ok.incrementAndGet());
+                return null;
+            });
+            Assertions.assertTrue(applyEntered.await(10, TimeUnit.SECONDS));
+            int others = 10;
+            for (int i = 1; i <= others; i++) {
+                pipeline.propose(encode("xid-" + i), status -> ok.incrementAndGet());
+            }
+            releaseApply.countDown();
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            // the first proposal alone, then the ten queued ones split by the max batch size
+            Assertions.assertEquals(4, tasks.size());
+            List<String> xids = new ArrayList<>();
+            for (Task task : tasks) {
+                RaftBaseMsg msg = decode(task.getData());
+                if (msg instanceof RaftBatchSyncMsg) {
+                    for (byte[] data : ((RaftBatchSyncMsg)msg).getMsgs()) {
+                        xids.add(((RaftGlobalSessionSyncMsg)RaftSyncMessageSerializer.decode(data).getBody())
+                            .getGlobalSession().getXid());
+                    }
+                } else {
+                    xids.add(((RaftGlobalSessionSyncMsg)msg).getGlobalSession().getXid());
+                }
+                task.getDone().run(Status.OK());
+            }
+            for (int i = 0; i <= others; i++) {
+                Assertions.assertEquals("xid-" + i, xids.get(i));
+            }
+            Assertions.assertEquals(others + 1, ok.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBatchFailureReachesEveryProposal() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        CountDownLatch applyEntered = new CountDownLatch(1);
+        CountDownLatch releaseApply = new CountDownLatch(1);
+        Node node = Mockito.mock(Node.class);
+        Mockito.doAnswer(invocation -> {
+            synchronized (tasks) {
+                tasks.add(invocation.getArgument(0));
+            }
+            if (applyEntered.getCount() > 0) {
+                applyEntered.countDown();
+                releaseApply.await(10, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(node).apply(Mockito.any(Task.class));
+        RaftProposalPipeline pipeline = new RaftProposalPipeline(node, 4);
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> {
+                pipeline.propose(encode("xid-0"), status -> {
+                });
+                return null;
+            });
+            Assertions.assertTrue(applyEntered.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i <= 3; i++) {
+                pipeline.propose(encode("xid-" + i), status -> {
+                    if (!status.isOk()) {
+                        failed.incrementAndGet();
+                    }
+                });
+            }
+            releaseApply.countDown();
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            // the lone first proposal, then the three queued ones in one batch entry
+            Assertions.assertEquals(2, tasks.size());
+            Assertions.assertTrue(decode(tasks.get(1).getData()) instanceof RaftBatchSyncMsg);
+            tasks.get(1).getDone().run(new Status(RaftError.EPERM, "not leader"));
+            Assertions.assertEquals(3, failed.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Node mockNode(List<Task> tasks) {
+        Node node = Mockito.mock(Node.class);
+        Mockito.doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(node).apply(Mockito.any(Task.class));
+        return node;
+    }
+
+    private static byte[] encode(String xid) throws Exception {
+        RaftSyncMessage raftSyncMessage = new RaftSyncMessage();
+        raftSyncMessage.setBody(new RaftGlobalSessionSyncMsg(RaftSyncMsgType.ADD_GLOBAL_SESSION,
+            new GlobalTransactionDTO(xid)));
+        return RaftSyncMessageSerializer.encode(raftSyncMessage);
+    }
+
+    private static RaftBaseMsg decode(ByteBuffer byteBuffer) {
+        return (RaftBaseMsg)RaftSyncMessageSerializer.decode(byteBuffer.array()).getBody();
+    }
+
+}
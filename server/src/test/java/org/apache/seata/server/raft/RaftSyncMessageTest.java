@@ -17,6 +17,7 @@
 package org.apache.seata.server.raft;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
@@ -37,6 +38,10 @@ import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMessage;
 import org.apache.seata.server.cluster.raft.sync.RaftSyncMessageSerializer;
 import org.apache.seata.server.cluster.raft.snapshot.RaftSnapshotSerializer;
 import org.apache.seata.server.cluster.raft.snapshot.session.RaftSessionSnapshot;
+import org.apache.seata.server.cluster.raft.snapshot.session.SessionSnapshotCodec;
+import org.apache.seata.server.cluster.raft.sync.RaftSyncMessageCodec;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBatchSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMsgType;
 import org.apache.seata.server.cluster.raft.sync.msg.dto.BranchTransactionDTO;
 import org.apache.seata.server.cluster.raft.sync.msg.dto.GlobalTransactionDTO;
 import org.apache.seata.server.cluster.raft.sync.msg.dto.RaftClusterMetadata;
@@ -97,6 +102,47 @@ public class RaftSyncMessageTest {
         Assertions.assertEquals(1234, ((RaftBranchSessionSyncMsg) raftSyncMessageByBranch.getBody()).getBranchSession().getBranchId());
     }
 
+    @Test
+    public void testBinaryMsgSerialize() throws IOException {
+        GlobalTransactionDTO globalTransactionDTO = new GlobalTransactionDTO("123:123");
+        globalTransactionDTO.setTransactionId(123L);
+        globalTransactionDTO.setStatus(1);
+        globalTransactionDTO.setApplicationId("app");
+        globalTransactionDTO.setTransactionServiceGroup("group");
+        globalTransactionDTO.setTimeout(60000);
+        globalTransactionDTO.setBeginTime(System.currentTimeMillis());
+        RaftSyncMessage raftSyncMessage = new RaftSyncMessage();
+        raftSyncMessage.setBody(new RaftGlobalSessionSyncMsg(RaftSyncMsgType.ADD_GLOBAL_SESSION, globalTransactionDTO));
+        byte[] msg = RaftSyncMessageCodec.encode(raftSyncMessage);
+        Assertions.assertTrue(RaftSyncMessageCodec.isBinary(msg));
+        RaftGlobalSessionSyncMsg globalMsg = (RaftGlobalSessionSyncMsg)RaftSyncMessageSerializer.decode(msg).getBody();
+        Assertions.assertEquals(RaftSyncMsgType.ADD_GLOBAL_SESSION, globalMsg.getMsgType());
+        Assertions.assertEquals("123:123", globalMsg.getGlobalSession().getXid());
+        Assertions.assertEquals(123L, globalMsg.getGlobalSession().getTransactionId());
+        Assertions.assertEquals("app", globalMsg.getGlobalSession().getApplicationId());
+        Assertions.assertEquals(globalTransactionDTO.getBeginTime(), globalMsg.getGlobalSession().getBeginTime());
+        Assertions.assertNull(globalMsg.getGlobalSession().getTransactionName());
+
+        BranchTransactionDTO branchTransactionDTO = new BranchTransactionDTO("123:123", 1234);
+        branchTransactionDTO.setLockKey("t:1,2");
+        branchTransactionDTO.setBranchType(BranchType.AT.name());
+        RaftSyncMessage branchMessage = new RaftSyncMessage();
+        branchMessage.setBody(new RaftBranchSessionSyncMsg(RaftSyncMsgType.ADD_BRANCH_SESSION, branchTransactionDTO));
+        List<byte[]> msgs = new ArrayList<>();
+        msgs.add(RaftSyncMessageCodec.encode(branchMessage));
+        msgs.add(msg);
+        RaftSyncMessage batchMessage = new RaftSyncMessage();
+        batchMessage.setBody(new RaftBatchSyncMsg(msgs));
+        RaftBatchSyncMsg batchMsg =
+            (RaftBatchSyncMsg)RaftSyncMessageSerializer.decode(RaftSyncMessageCodec.encode(batchMessage)).getBody();
+        Assertions.assertEquals(2, batchMsg.getMsgs().size());
+        RaftBranchSessionSyncMsg branchMsg =
+            (RaftBranchSessionSyncMsg)RaftSyncMessageSerializer.decode(batchMsg.getMsgs().get(0)).getBody();
+        Assertions.assertEquals(1234, branchMsg.getBranchSession().getBranchId());
+        Assertions.assertEquals("t:1,2", branchMsg.getBranchSession().getLockKey());
+        Assertions.assertEquals(BranchType.AT.name(), branchMsg.getBranchSession().getBranchType());
+    }
+
     @Test
     public void testMsgSerializeCompatible() throws IOException {
         io.seata.server.cluster.raft.sync.msg.RaftSyncMessage raftSyncMessage = new io.seata.server.cluster.raft.sync.msg.RaftSyncMessage();
@@ -148,6 +194,29 @@ public class RaftSyncMessageTest {
         Assertions.assertEquals(1, map.get(globalSession.getXid()).getBranchSessions().size());
     }
 
+    @Test
+    public void testBinarySnapshotSerialize() throws IOException, TransactionException {
+        Map<String, GlobalSession> sessionMap = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            GlobalSession globalSession = GlobalSession.createGlobalSession("123", "123", "123", 11111);
+            globalSession.addBranch(
+                SessionHelper.newBranchByGlobal(globalSession, BranchType.AT, "!23", null, "123", "123"));
+            sessionMap.put(globalSession.getXid(), globalSession);
+        }
+        File file = File.createTempFile("session", ".snapshot");
+        try {
+            Assertions.assertEquals(10, SessionSnapshotCodec.save(file, sessionMap.values()));
+            Assertions.assertTrue(SessionSnapshotCodec.isBinary(file));
+            Map<String, GlobalSession> map = new HashMap<>();
+            Assertions.assertEquals(10,
+                SessionSnapshotCodec.load(file, globalSession -> map.put(globalSession.getXid(), globalSession)));
+            Assertions.assertEquals(sessionMap.keySet(), map.keySet());
+            map.values().forEach(globalSession -> Assertions.assertEquals(1, globalSession.getBranchSessions().size()));
+        } finally {
+            Assertions.assertTrue(file.delete());
+        }
+    }
+
     @Test
     public void testSnapshotCompatible() throws IOException, TransactionException {
         Map<String, GlobalSession> sessionMap = new HashMap<>();
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.model.BranchType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Branch dispatcher test.
+ */
+public class BranchDispatcherTest {
+
+    private BranchDispatcher dispatcher;
+
+    @BeforeEach
+    public void init() {
+        dispatcher = new BranchDispatcher(8, 16, 2);
+    }
+
+    @AfterEach
+    public void destroy() {
+        dispatcher.destroy();
+    }
+
+    @Test
+    public void testBranchesOfResourceKeepOrder() throws TransactionException {
+        List<BranchSession> branches = newBranches(30, 3);
+        Map<String, List<Long>> handled = new ConcurrentHashMap<>();
+        Boolean result = dispatcher.dispatch(branches, branch -> {
+            handled.computeIfAbsent(branch.getResourceId(), k -> new ArrayList<>()).add(branch.getBranchId());
+            return null;
+        });
+        Assertions.assertNull(result);
+        Assertions.assertEquals(3, handled.size());
+        handled.forEach((resourceId, ids) -> {
+            Assertions.assertEquals(10, ids.size());
+            for (int i = 1; i < ids.size(); i++) {
+                Assertions.assertTrue(ids.get(i - 1) < ids.get(i));
+            }
+        });
+
+        // the cached groups of the thread are reused by the next dispatch
+        AtomicInteger count = new AtomicInteger();
+        dispatcher.dispatch(branches, branch -> {
+            count.incrementAndGet();
+            return null;
+        });
+        Assertions.assertEquals(30, count.get());
+    }
+
+    @Test
+    public void testFirstResultAndException() {
+        List<BranchSession> branches = newBranches(4, 2);
+        Assertions.assertDoesNotThrow(() -> Assertions.assertEquals(Boolean.FALSE,
+            dispatcher.dispatch(branches, branch -> "r0".equals(branch.getResourceId()) ? Boolean.FALSE : null)));
+
+        TransactionException ex = Assertions.assertThrows(TransactionException.class,
+            () -> dispatcher.dispatch(branches, branch -> {
+                if ("r1".equals(branch.getResourceId())) {
+                    throw new TransactionException("failed");
+                }
+                return null;
+            }));
+        Assertions.assertEquals("failed", ex.getMessage());
+    }
+
+    @Test
+    public void testResourceConcurrencyLimit() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        int callers = 6;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch done = new CountDownLatch(callers);
+        for (int i = 0; i < callers; i++) {
+            executor.execute(() -> {
+                try {
+                    dispatcher.dispatch(newBranches(2, 1), branch -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        sleep(20);
+                        running.decrementAndGet();
+                        return null;
+                    });
+                } catch (TransactionException e) {
+                    Assertions.fail(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        Assertions.assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assertions.assertTrue(maxRunning.get() <= 2);
+        Assertions.assertEquals(0, dispatcher.getQueueDepth());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ignore) {
+        }
+    }
+
+    private static List<BranchSession> newBranches(int count, int resources) {
+        List<BranchSession> branches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BranchSession branch = new BranchSession(BranchType.AT);
+            branch.setBranchId(i);
+            branch.setResourceId("r" + (i % resources));
+            branches.add(branch);
+        }
+        return branches;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.session;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Session timeout wheel test.
+ */
+public class SessionTimeoutWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    public void testExpireOnlyDueSessions() {
+        SessionTimeoutWheel wheel = new SessionTimeoutWheel(TICK, 8);
+        long now = System.currentTimeMillis();
+        GlobalSession soon = newSession(now, 500);
+        GlobalSession later = newSession(now, 3500);
+        GlobalSession nextRound = newSession(now, 20 * TICK);
+        wheel.add(soon);
+        wheel.add(later);
+        wheel.add(nextRound);
+        Assertions.assertEquals(3, wheel.size());
+
+        Assertions.assertTrue(wheel.expire(now + 400).isEmpty());
+        List<GlobalSession> expired = wheel.expire(now + 501);
+        Assertions.assertEquals(1, expired.size());
+        Assertions.assertSame(soon, expired.get(0));
+
+        expired = wheel.expire(now + 3501);
+        Assertions.assertEquals(1, expired.size());
+        Assertions.assertSame(later, expired.get(0));
+
+        // the slot of the next round session has been visited meanwhile, it must not expire early
+        Assertions.assertTrue(wheel.expire(now + 10 * TICK).isEmpty());
+        expired = wheel.expire(now + 20 * TICK + 1);
+        Assertions.assertEquals(1, expired.size());
+        Assertions.assertSame(nextRound, expired.get(0));
+        Assertions.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testRemovedSessionNotExpired() {
+        SessionTimeoutWheel wheel = new SessionTimeoutWheel(TICK, 8);
+        long now = System.currentTimeMillis();
+        GlobalSession session = newSession(now, 100);
+        wheel.add(session);
+        wheel.remove(session);
+        Assertions.assertEquals(0, wheel.size());
+        Assertions.assertTrue(wheel.expire(now + 2 * TICK).isEmpty());
+    }
+
+    @Test
+    public void testOverdueSession() {
+        SessionTimeoutWheel wheel = new SessionTimeoutWheel(TICK, 8);
+        long now = System.currentTimeMillis();
+        wheel.expire(now + 5 * TICK);
+        // the tick of this deadline has already been passed
+        GlobalSession overdue = newSession(now, 2 * TICK);
+        wheel.add(overdue);
+        List<GlobalSession> expired = wheel.expire(now + 5 * TICK);
+        Assertions.assertEquals(1, expired.size());
+        Assertions.assertSame(overdue, expired.get(0));
+    }
+
+    @Test
+    public void testFarBehindCheck() {
+        SessionTimeoutWheel wheel = new SessionTimeoutWheel(TICK, 8);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 100; i++) {
+            wheel.add(newSession(now, i * 100L));
+        }
+        Assertions.assertEquals(100, wheel.expire(now + 100 * TICK).size());
+    }
+
+    private static GlobalSession newSession(long beginTime, long timeout) {
+        GlobalSession session = new GlobalSession("app", "group", "name", (int)timeout);
+        session.setBeginTime(beginTime);
+        return session;
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file.lock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.seata.core.lock.RowLock;
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.server.session.BranchSession;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Striped lock table test.
+ */
+public class StripedLockTableTest {
+
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        StripedLockTable table = new StripedLockTable(4);
+        Map<String, BranchSession> expected = new HashMap<>();
+        BranchSession[] owners = {newBranchSession(1L, 1L), newBranchSession(2L, 2L)};
+        StripedLockTable.TableRef tableRef = table.retain("jdbc:mysql://127.0.0.1:3306/seata", "t_order");
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            String pk = String.valueOf(random.nextInt(2000));
+            BranchSession owner = owners[random.nextInt(owners.length)];
+            int hash = StripedLockTable.hash(tableRef, pk);
+            if (random.nextBoolean()) {
+                BranchSession previous = table.putIfAbsent(tableRef, pk, hash, owner);
+                Assertions.assertSame(expected.get(pk), previous);
+                expected.putIfAbsent(pk, owner);
+            } else {
+                boolean removed = table.remove(tableRef, pk, hash, owner);
+                Assertions.assertEquals(expected.get(pk) == owner, removed);
+                expected.remove(pk, owner);
+            }
+        }
+        Assertions.assertEquals(expected.size(), table.size());
+        for (int i = 0; i < 2000; i++) {
+            String pk = String.valueOf(i);
+            Assertions.assertSame(expected.get(pk), table.get(tableRef, pk, StripedLockTable.hash(tableRef, pk)));
+        }
+        table.clear();
+        Assertions.assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testTableRef() {
+        StripedLockTable table = new StripedLockTable(4);
+        Assertions.assertNull(table.find("r1", "t1"));
+        StripedLockTable.TableRef tableRef = table.retain("r1", "t1");
+        Assertions.assertSame(tableRef, table.retain("r1", "t1"));
+        Assertions.assertSame(tableRef, table.find("r1", "t1"));
+        StripedLockTable.TableRef otherResource = table.retain("r2", "t1");
+        StripedLockTable.TableRef otherTable = table.retain("r1", "t2");
+        Assertions.assertNotSame(tableRef, otherResource);
+        Assertions.assertNotSame(tableRef, otherTable);
+        Assertions.assertEquals(3, table.tableCount());
+
+        table.release(otherResource);
+        table.release(otherTable);
+        table.release(tableRef);
+        Assertions.assertSame(tableRef, table.find("r1", "t1"));
+        table.release(tableRef);
+        Assertions.assertNull(table.find("r1", "t1"));
+        Assertions.assertEquals(0, table.tableCount());
+        Assertions.assertNotSame(tableRef, table.retain("r1", "t1"));
+    }
+
+    @Test
+    public void testReleasedRowsEvicted() {
+        StripedLockTable table = new StripedLockTable(4);
+        int initialCapacity = table.capacity();
+        BranchSession owner = newBranchSession(1L, 1L);
+        StripedLockTable.TableRef tableRef = table.retain("r1", "t1");
+        for (int i = 0; i < 10000; i++) {
+            String pk = String.valueOf(i);
+            Assertions.assertNull(table.putIfAbsent(tableRef, pk, StripedLockTable.hash(tableRef, pk), owner));
+        }
+        table.release(tableRef);
+        Assertions.assertSame(tableRef, table.find("r1", "t1"));
+        Assertions.assertTrue(table.capacity() > initialCapacity);
+        for (int i = 0; i < 10000; i++) {
+            String pk = String.valueOf(i);
+            Assertions.assertTrue(table.remove(tableRef, pk, StripedLockTable.hash(tableRef, pk), owner));
+        }
+        Assertions.assertEquals(0, table.size());
+        Assertions.assertEquals(initialCapacity, table.capacity());
+        Assertions.assertNull(table.find("r1", "t1"));
+    }
+
+    @Test
+    public void testAcquireAndRelease() {
+        StripedLockTable table = new StripedLockTable(4);
+        BranchSession branchSession1 = newBranchSession(1L, 11L);
+        BranchSession branchSession2 = newBranchSession(2L, 21L);
+        StripedFileLocker locker1 = new StripedFileLocker(branchSession1, table);
+        StripedFileLocker locker2 = new StripedFileLocker(branchSession2, table);
+
+        List<RowLock> rowLocks1 = rowLocks(branchSession1, "1", "2", "3");
+        Assertions.assertTrue(locker1.acquireLock(rowLocks1));
+        Assertions.assertEquals(3, branchSession1.getStripedLockIndex().size());
+        // re-entry of the same transaction
+        Assertions.assertTrue(locker1.acquireLock(rowLocks1));
+        Assertions.assertEquals(3, branchSession1.getStripedLockIndex().size());
+        Assertions.assertTrue(branchSession1.hasHeldLocks());
+
+        Assertions.assertFalse(locker2.isLockable(rowLocks(branchSession2, "3", "4")));
+        Assertions.assertTrue(locker2.isLockable(rowLocks(branchSession2, "4", "5")));
+        Assertions.assertTrue(locker1.isLockable(rowLocks(branchSession1, "3")));
+
+        Assertions.assertTrue(locker1.releaseLock(rowLocks1));
+        Assertions.assertFalse(branchSession1.hasHeldLocks());
+        Assertions.assertEquals(0, table.size());
+        Assertions.assertEquals(0, table.tableCount());
+        Assertions.assertTrue(locker2.isLockable(rowLocks(branchSession2, "3", "4")));
+
+        // a conflicting acquire releases the table it interned
+        Assertions.assertTrue(locker1.acquireLock(rowLocks1));
+        Assertions.assertFalse(locker2.acquireLock(rowLocks(branchSession2, "3", "4")));
+        Assertions.assertEquals(1, table.tableCount());
+        Assertions.assertTrue(locker1.releaseLock(rowLocks1));
+        Assertions.assertEquals(0, table.tableCount());
+    }
+
+    private static List<RowLock> rowLocks(BranchSession branchSession, String... pks) {
+        List<RowLock> rowLocks = new ArrayList<>();
+        for (String pk : pks) {
+            RowLock rowLock = new RowLock();
+            rowLock.setXid(branchSession.getXid());
+            rowLock.setTransactionId(branchSession.getTransactionId());
+            rowLock.setBranchId(branchSession.getBranchId());
+            rowLock.setResourceId(branchSession.getResourceId());
+            rowLock.setTableName("t_order");
+            rowLock.setPk(pk);
+            rowLocks.add(rowLock);
+        }
+        return rowLocks;
+    }
+
+    private static BranchSession newBranchSession(long transactionId, long branchId) {
+        BranchSession branchSession = new BranchSession(BranchType.AT);
+        branchSession.setXid("127.0.0.1:8091:" + transactionId);
+        branchSession.setTransactionId(transactionId);
+        branchSession.setBranchId(branchId);
+        branchSession.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        return branchSession;
+    }
+}
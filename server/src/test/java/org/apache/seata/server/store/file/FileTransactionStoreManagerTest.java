@@ -22,6 +22,11 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.seata.server.session.SessionHolder;
 import org.assertj.core.util.Files;
@@ -37,6 +42,7 @@ import org.apache.seata.common.util.UUIDGenerator;
 import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
 import org.apache.seata.server.session.SessionManager;
+import org.apache.seata.server.storage.file.FlushDiskMode;
 import org.apache.seata.server.storage.file.TransactionWriteStore;
 import org.apache.seata.server.storage.file.session.FileSessionManager;
 import org.apache.seata.server.storage.file.store.FileTransactionStoreManager;
@@ -92,6 +98,51 @@ public class FileTransactionStoreManagerTest {
         }
     }
 
+    @Test
+    public void testGroupCommit() throws Exception {
+        File seataFile = Files.newTemporaryFile();
+        FileTransactionStoreManager fileTransactionStoreManager = null;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            fileTransactionStoreManager = new FileTransactionStoreManager(seataFile.getAbsolutePath(), null,
+                FlushDiskMode.GROUP_MODEL);
+            FileTransactionStoreManager storeManager = fileTransactionStoreManager;
+            int threads = 8;
+            int perThread = 50;
+            AtomicInteger success = new AtomicInteger();
+            CountDownLatch latch = new CountDownLatch(threads);
+            for (int i = 0; i < threads; i++) {
+                executor.submit(() -> {
+                    try {
+                        for (int j = 0; j < perThread; j++) {
+                            GlobalSession globalSession = new GlobalSession("app", "group", "name", 60000);
+                            if (storeManager.writeSession(TransactionStoreManager.LogOperation.GLOBAL_ADD,
+                                globalSession)) {
+                                success.incrementAndGet();
+                            }
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            Assertions.assertTrue(latch.await(30, TimeUnit.SECONDS));
+            Assertions.assertEquals(threads * perThread, success.get());
+            List<TransactionWriteStore> list = fileTransactionStoreManager.readWriteStore(2000, false);
+            Assertions.assertEquals(threads * perThread, list.size());
+            for (TransactionWriteStore store : list) {
+                Assertions.assertEquals(TransactionStoreManager.LogOperation.GLOBAL_ADD, store.getOperate());
+                Assertions.assertEquals("app", ((GlobalSession) store.getSessionRequest()).getApplicationId());
+            }
+        } finally {
+            executor.shutdownNow();
+            if (fileTransactionStoreManager != null) {
+                fileTransactionStoreManager.shutdown();
+            }
+            Assertions.assertTrue(seataFile.delete());
+        }
+    }
+
     @Test
     public void testFindTimeoutAndSave() throws Exception {
         File seataFile = Files.newTemporaryFile();
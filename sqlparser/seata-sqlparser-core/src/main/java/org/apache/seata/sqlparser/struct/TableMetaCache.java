@@ -17,6 +17,7 @@
 package org.apache.seata.sqlparser.struct;
 
 import java.sql.Connection;
+import java.util.Collection;
 
 /**
  * The type Table meta cache.
@@ -42,4 +43,15 @@ public interface TableMetaCache {
      */
     void refresh(Connection connection, String resourceId);
 
+    /**
+     * Refresh the table meta cache, the given tables are fetched again even if they look unchanged
+     *
+     * @param connection      the connection
+     * @param resourceId      the resource id
+     * @param staleTableNames the names of the tables known to be stale
+     */
+    default void refresh(Connection connection, String resourceId, Collection<String> staleTableNames) {
+        refresh(connection, resourceId);
+    }
+
 }
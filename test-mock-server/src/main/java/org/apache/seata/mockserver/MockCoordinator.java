@@ -22,6 +22,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 
+import org.apache.seata.common.DefaultValues;
 import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.exception.TransactionExceptionCode;
@@ -35,6 +36,8 @@ import org.apache.seata.core.protocol.transaction.BranchRegisterRequest;
 import org.apache.seata.core.protocol.transaction.BranchRegisterResponse;
 import org.apache.seata.core.protocol.transaction.BranchReportRequest;
 import org.apache.seata.core.protocol.transaction.BranchReportResponse;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseRequest;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseResponse;
 import org.apache.seata.core.protocol.transaction.GlobalBeginRequest;
 import org.apache.seata.core.protocol.transaction.GlobalBeginResponse;
 import org.apache.seata.core.protocol.transaction.GlobalCommitRequest;
@@ -129,6 +132,21 @@ public class MockCoordinator extends AbstractTCInboundHandler implements Transac
     }
 
 
+    @Override
+    protected void doGlobalBeginLease(GlobalBeginLeaseRequest request, GlobalBeginLeaseResponse response, RpcContext rpcContext) throws TransactionException {
+        checkMockActionFail(AllBeginFailXid);
+        List<String> xids = new ArrayList<>(request.getSize());
+        for (int i = 0; i < request.getSize(); i++) {
+            GlobalSession session = GlobalSession.createGlobalSession(rpcContext.getApplicationId(),
+                    rpcContext.getTransactionServiceGroup(), null, request.getTimeout());
+            globalStatusMap.putIfAbsent(session.getXid(), GlobalStatus.Begin);
+            xids.add(session.getXid());
+        }
+        response.setXids(xids);
+        response.setLeaseTime(DefaultValues.DEFAULT_SERVER_XID_LEASE_TIME);
+        response.setResultCode(ResultCode.Success);
+    }
+
     @Override
     protected void doGlobalCommit(GlobalCommitRequest request, GlobalCommitResponse response, RpcContext rpcContext) throws TransactionException {
         checkMockActionFail(request.getXid());
@@ -16,6 +16,9 @@
  */
 package org.apache.seata.tm;
 
+import org.apache.seata.common.ConfigurationKeys;
+import org.apache.seata.config.Configuration;
+import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.exception.TmTransactionException;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.exception.TransactionExceptionCode;
@@ -24,6 +27,8 @@ import org.apache.seata.core.model.TransactionManager;
 import org.apache.seata.core.protocol.ResultCode;
 import org.apache.seata.core.protocol.transaction.AbstractTransactionRequest;
 import org.apache.seata.core.protocol.transaction.AbstractTransactionResponse;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseRequest;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseResponse;
 import org.apache.seata.core.protocol.transaction.GlobalBeginRequest;
 import org.apache.seata.core.protocol.transaction.GlobalBeginResponse;
 import org.apache.seata.core.protocol.transaction.GlobalCommitRequest;
@@ -35,18 +40,57 @@ import org.apache.seata.core.protocol.transaction.GlobalRollbackResponse;
 import org.apache.seata.core.protocol.transaction.GlobalStatusRequest;
 import org.apache.seata.core.protocol.transaction.GlobalStatusResponse;
 import org.apache.seata.core.rpc.netty.TmNettyRemotingClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeoutException;
 
+import static org.apache.seata.common.DefaultValues.DEFAULT_TM_XID_LEASE_ENABLE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_TM_XID_LEASE_SIZE;
+
 /**
  * The type Default transaction manager.
  *
  */
 public class DefaultTransactionManager implements TransactionManager {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultTransactionManager.class);
+
+    /**
+     * The leased xids, null unless the xid lease mode is enabled.
+     */
+    private final XidLeasePool xidLeasePool;
+
+    /**
+     * Instantiates a new Default transaction manager.
+     */
+    public DefaultTransactionManager() {
+        Configuration config = ConfigurationFactory.getInstance();
+        if (config.getBoolean(ConfigurationKeys.CLIENT_TM_XID_LEASE_ENABLE, DEFAULT_TM_XID_LEASE_ENABLE)) {
+            int leaseSize = config.getInt(ConfigurationKeys.CLIENT_TM_XID_LEASE_SIZE, DEFAULT_TM_XID_LEASE_SIZE);
+            this.xidLeasePool = new XidLeasePool(leaseSize, this::lease);
+            // a TC keeps leases in memory, after a reconnect it may have restarted and lost them
+            TmNettyRemotingClient.getInstance().addRegisterListener(serverAddress -> xidLeasePool.clear());
+        } else {
+            this.xidLeasePool = null;
+        }
+    }
+
     @Override
     public String begin(String applicationId, String transactionServiceGroup, String name, int timeout)
         throws TransactionException {
+        if (xidLeasePool != null) {
+            try {
+                String xid = xidLeasePool.acquire(timeout);
+                if (xid != null) {
+                    return xid;
+                }
+            } catch (TransactionException e) {
+                LOGGER.warn("Failed to lease xids, begin the global transaction directly: {}", e.getMessage());
+            }
+        }
         GlobalBeginRequest request = new GlobalBeginRequest();
         request.setTransactionName(name);
         request.setTimeout(timeout);
@@ -62,7 +106,7 @@ public class DefaultTransactionManager implements TransactionManager {
         GlobalCommitRequest globalCommit = new GlobalCommitRequest();
         globalCommit.setXid(xid);
         GlobalCommitResponse response = (GlobalCommitResponse) syncCall(globalCommit);
-        return response.getGlobalStatus();
+        return checkLease(xid, response.getGlobalStatus());
     }
 
     @Override
@@ -70,7 +114,7 @@ public class DefaultTransactionManager implements TransactionManager {
         GlobalRollbackRequest globalRollback = new GlobalRollbackRequest();
         globalRollback.setXid(xid);
         GlobalRollbackResponse response = (GlobalRollbackResponse) syncCall(globalRollback);
-        return response.getGlobalStatus();
+        return checkLease(xid, response.getGlobalStatus());
     }
 
     @Override
@@ -90,6 +134,86 @@ public class DefaultTransactionManager implements TransactionManager {
         return response.getGlobalStatus();
     }
 
+    @Override
+    public CompletableFuture<String> beginAsync(String applicationId, String transactionServiceGroup, String name,
+                                                int timeout) {
+        if (xidLeasePool != null) {
+            // never wait for a lease here, a missing xid is begun asynchronously as usual
+            String xid = xidLeasePool.poll(timeout);
+            if (xid != null) {
+                return CompletableFuture.completedFuture(xid);
+            }
+        }
+        GlobalBeginRequest request = new GlobalBeginRequest();
+        request.setTransactionName(name);
+        request.setTimeout(timeout);
+        return asyncCall(request).thenApply(response -> {
+            if (response.getResultCode() == ResultCode.Failed) {
+                throw new CompletionException(
+                    new TmTransactionException(TransactionExceptionCode.BeginFailed, response.getMsg()));
+            }
+            return ((GlobalBeginResponse) response).getXid();
+        });
+    }
+
+    @Override
+    public CompletableFuture<GlobalStatus> commitAsync(String xid) {
+        GlobalCommitRequest globalCommit = new GlobalCommitRequest();
+        globalCommit.setXid(xid);
+        return asyncCall(globalCommit)
+            .thenApply(response -> checkLease(xid, ((GlobalCommitResponse) response).getGlobalStatus()));
+    }
+
+    @Override
+    public CompletableFuture<GlobalStatus> rollbackAsync(String xid) {
+        GlobalRollbackRequest globalRollback = new GlobalRollbackRequest();
+        globalRollback.setXid(xid);
+        return asyncCall(globalRollback)
+            .thenApply(response -> checkLease(xid, ((GlobalRollbackResponse) response).getGlobalStatus()));
+    }
+
+    @Override
+    public CompletableFuture<GlobalStatus> getStatusAsync(String xid) {
+        GlobalStatusRequest queryGlobalStatus = new GlobalStatusRequest();
+        queryGlobalStatus.setXid(xid);
+        return asyncCall(queryGlobalStatus).thenApply(response -> ((GlobalStatusResponse) response).getGlobalStatus());
+    }
+
+    /**
+     * A TC that finds no transaction to end has lost it, a leased xid among them means the TC lost its leases,
+     * the pooled xids would fail to register branches as well.
+     */
+    private GlobalStatus checkLease(String xid, GlobalStatus status) {
+        if (xidLeasePool != null && status == GlobalStatus.Finished) {
+            LOGGER.warn("The TC does not know the global transaction {}, drop the leased xids", xid);
+            xidLeasePool.clear();
+        }
+        return status;
+    }
+
+    private GlobalBeginLeaseResponse lease(int timeout, int size) throws TransactionException {
+        GlobalBeginLeaseRequest request = new GlobalBeginLeaseRequest();
+        request.setTimeout(timeout);
+        request.setSize(size);
+        return (GlobalBeginLeaseResponse) syncCall(request);
+    }
+
+    private CompletableFuture<AbstractTransactionResponse> asyncCall(AbstractTransactionRequest request) {
+        CompletableFuture<AbstractTransactionResponse> future = new CompletableFuture<>();
+        TmNettyRemotingClient.getInstance().sendSyncRequestAsync(request).whenComplete((response, t) -> {
+            if (t == null) {
+                future.complete((AbstractTransactionResponse) response);
+            } else if (t instanceof TimeoutException) {
+                future.completeExceptionally(new TmTransactionException(TransactionExceptionCode.IO, "RPC timeout", t));
+            } else if (t instanceof TransactionException) {
+                future.completeExceptionally(t);
+            } else {
+                future.completeExceptionally(new TmTransactionException(TransactionExceptionCode.IO, t.getMessage(), t));
+            }
+        });
+        return future;
+    }
+
     private AbstractTransactionResponse syncCall(AbstractTransactionRequest request) throws TransactionException {
         try {
             return (AbstractTransactionResponse) TmNettyRemotingClient.getInstance().sendSyncRequest(request);
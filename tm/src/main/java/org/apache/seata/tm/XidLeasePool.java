@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.tm;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.exception.TransactionExceptionCode;
+import org.apache.seata.core.protocol.ResultCode;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the xids leased from the TC, so a global transaction can begin without a round trip.
+ * The xids are pooled per timeout, because the TC creates the session of a leased xid with the timeout it was
+ * leased for. A leased xid is only handed out while the lease outlives the whole transaction.
+ * <p>
+ * Leasing stops for good only when the TC answers it does not lease xids, other failures pause it for a while.
+ * The TC keeps leases in memory, so the pool is cleared whenever the TC may have lost them.
+ *
+ */
+class XidLeasePool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(XidLeasePool.class);
+
+    /**
+     * A lease has to outlive a transaction by this margin, it covers the lease request itself.
+     */
+    static final long LEASE_TIME_MARGIN = 1000L;
+
+    /**
+     * The milliseconds leasing pauses after a failed lease request.
+     */
+    static final long LEASE_RETRY_INTERVAL = 10000L;
+
+    private final int leaseSize;
+
+    private final Leaser leaser;
+
+    private final Map<Integer, Queue<LeasedXid>> pools = new ConcurrentHashMap<>();
+
+    private volatile boolean unsupported;
+
+    private volatile long leaseTime;
+
+    private volatile long pausedUntil;
+
+    /**
+     * Instantiates a new Xid lease pool.
+     *
+     * @param leaseSize the number of xids leased in one request
+     * @param leaser    sends the lease request to the TC
+     */
+    XidLeasePool(int leaseSize, Leaser leaser) {
+        this.leaseSize = leaseSize;
+        this.leaser = leaser;
+    }
+
+    /**
+     * Takes a leased xid, leasing a new block from the TC when none is left.
+     *
+     * @param timeout the global transaction timeout
+     * @return the xid, or null if the TC does not lease xids and the transaction has to begin as usual
+     * @throws TransactionException the transaction exception
+     */
+    String acquire(int timeout) throws TransactionException {
+        if (!leasable(timeout)) {
+            return null;
+        }
+        Queue<LeasedXid> pool = pools.computeIfAbsent(timeout, k -> new ConcurrentLinkedQueue<>());
+        String xid = poll(pool, timeout);
+        if (xid != null) {
+            return xid;
+        }
+        synchronized (pool) {
+            xid = poll(pool, timeout);
+            if (xid != null || !leasable(timeout)) {
+                return xid;
+            }
+            long requestTime = System.currentTimeMillis();
+            GlobalBeginLeaseResponse response;
+            try {
+                response = leaser.lease(timeout, leaseSize);
+            } catch (TransactionException e) {
+                pausedUntil = System.currentTimeMillis() + LEASE_RETRY_INTERVAL;
+                throw e;
+            }
+            if (response.getResultCode() == ResultCode.Failed
+                && response.getTransactionExceptionCode() == TransactionExceptionCode.BeginFailed) {
+                unsupported = true;
+                LOGGER.warn("The TC does not lease xids, begin global transactions one by one: {}", response.getMsg());
+                return null;
+            }
+            if (response.getResultCode() == ResultCode.Failed || response.getXids().isEmpty()) {
+                pausedUntil = System.currentTimeMillis() + LEASE_RETRY_INTERVAL;
+                LOGGER.warn("Failed to lease xids, retry in {} ms: {}", LEASE_RETRY_INTERVAL, response.getMsg());
+                return null;
+            }
+            leaseTime = response.getLeaseTime();
+            // measured from the request, the TC started the lease after it
+            long expireTime = requestTime + response.getLeaseTime();
+            for (String leased : response.getXids()) {
+                pool.offer(new LeasedXid(leased, expireTime));
+            }
+            return poll(pool, timeout);
+        }
+    }
+
+    /**
+     * Takes a leased xid without contacting the TC.
+     *
+     * @param timeout the global transaction timeout
+     * @return the xid, or null if none is left
+     */
+    String poll(int timeout) {
+        if (!leasable(timeout)) {
+            return null;
+        }
+        Queue<LeasedXid> pool = pools.get(timeout);
+        return pool == null ? null : poll(pool, timeout);
+    }
+
+    /**
+     * Drops every pooled xid, the next transactions lease new ones. A paused leasing resumes.
+     */
+    void clear() {
+        pools.values().forEach(Queue::clear);
+        pausedUntil = 0;
+    }
+
+    private boolean leasable(int timeout) {
+        if (unsupported || pausedUntil > System.currentTimeMillis()) {
+            return false;
+        }
+        // a transaction outliving the lease would get a stale xid only, the lease request is wasted
+        long leaseTime = this.leaseTime;
+        return leaseTime <= 0 || timeout + LEASE_TIME_MARGIN < leaseTime;
+    }
+
+    private String poll(Queue<LeasedXid> pool, int timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        LeasedXid leased;
+        while ((leased = pool.poll()) != null) {
+            // a stale xid is dropped, the TC releases it when the lease expires
+            if (deadline < leased.expireTime) {
+                return leased.xid;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sends the lease request to the TC.
+     */
+    @FunctionalInterface
+    interface Leaser {
+
+        /**
+         * Lease a block of xids.
+         *
+         * @param timeout the global transaction timeout
+         * @param size    the number of xids
+         * @return the response
+         * @throws TransactionException the transaction exception
+         */
+        GlobalBeginLeaseResponse lease(int timeout, int size) throws TransactionException;
+    }
+
+    private static class LeasedXid {
+
+        private final String xid;
+
+        private final long expireTime;
+
+        LeasedXid(String xid, long expireTime) {
+            this.xid = xid;
+            this.expireTime = expireTime;
+        }
+    }
+}
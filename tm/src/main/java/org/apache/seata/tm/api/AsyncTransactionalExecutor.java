@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.tm.api;
+
+import java.util.concurrent.CompletionStage;
+
+import org.apache.seata.tm.api.transaction.TransactionInfo;
+
+/**
+ * Callback for executing non-blocking business logic in a global transaction.
+ * The transaction is handed over explicitly instead of being bound to the calling thread,
+ * so the business propagates {@link GlobalTransaction#getXid()} to the branches itself.
+ *
+ * @see TransactionalTemplate#executeAsync(AsyncTransactionalExecutor)
+ */
+public interface AsyncTransactionalExecutor {
+
+    /**
+     * Execute the business logic here.
+     *
+     * @param tx the global transaction, null if the business runs without one
+     * @return the stage of what the business logic returns, completed exceptionally on failure
+     * @throws Throwable Any throwable raised before the business stage is returned.
+     */
+    CompletionStage<?> execute(GlobalTransaction tx) throws Throwable;
+
+    /**
+     * transaction conf or other attr
+     * @return transaction info
+     */
+    TransactionInfo getTransactionInfo();
+}
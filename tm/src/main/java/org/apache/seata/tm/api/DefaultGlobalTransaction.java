@@ -16,6 +16,12 @@
  */
 package org.apache.seata.tm.api;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.core.context.RootContext;
@@ -118,6 +124,97 @@ public class DefaultGlobalTransaction implements GlobalTransaction {
         }
     }
 
+    @Override
+    public CompletionStage<Void> beginAsync(int timeout, String name) {
+        this.createTime = System.currentTimeMillis();
+        if (role != GlobalTransactionRole.Launcher) {
+            if (xid == null) {
+                return failedStage(new IllegalStateException());
+            }
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Ignore Begin(): just involved in global transaction [{}]", xid);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        if (xid != null) {
+            return failedStage(new IllegalStateException());
+        }
+        return transactionManager.beginAsync(null, null, name, timeout).thenAccept(newXid -> {
+            xid = newXid;
+            status = GlobalStatus.Begin;
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("Begin new global transaction [{}]", xid);
+            }
+        });
+    }
+
+    @Override
+    public CompletionStage<Void> commitAsync() {
+        if (role == GlobalTransactionRole.Participant) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Ignore Commit(): just involved in global transaction [{}]", xid);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        if (xid == null) {
+            return failedStage(new IllegalStateException());
+        }
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("transaction {} will be commit", xid);
+        }
+        int retry = COMMIT_RETRY_COUNT <= 0 ? DEFAULT_TM_COMMIT_RETRY_COUNT : COMMIT_RETRY_COUNT;
+        return reportAsync(() -> transactionManager.commitAsync(xid), "commit", retry);
+    }
+
+    @Override
+    public CompletionStage<Void> rollbackAsync() {
+        if (role == GlobalTransactionRole.Participant) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Ignore Rollback(): just involved in global transaction [{}]", xid);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        if (xid == null) {
+            return failedStage(new IllegalStateException());
+        }
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("transaction {} will be rollback", xid);
+        }
+        int retry = ROLLBACK_RETRY_COUNT <= 0 ? DEFAULT_TM_ROLLBACK_RETRY_COUNT : ROLLBACK_RETRY_COUNT;
+        return reportAsync(() -> transactionManager.rollbackAsync(xid), "rollback", retry);
+    }
+
+    /**
+     * Report the end of the transaction and retry on failure like the blocking commit and rollback do,
+     * without waiting between the attempts either.
+     */
+    private CompletionStage<Void> reportAsync(Supplier<CompletableFuture<GlobalStatus>> report, String action,
+                                              int retry) {
+        return report.get().handle((globalStatus, ex) -> {
+            if (ex == null) {
+                status = globalStatus;
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("[{}] {} status: {}", xid, action, status);
+                }
+                return CompletableFuture.<Void>completedFuture(null);
+            }
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            LOGGER.error("Failed to report global {} [{}],Retry Countdown: {}, reason: {}", action, xid, retry - 1,
+                cause.getMessage());
+            if (retry - 1 <= 0) {
+                return DefaultGlobalTransaction.<Void>failedStage(
+                    new TransactionException("Failed to report global " + action, cause));
+            }
+            return reportAsync(report, action, retry - 1);
+        }).thenCompose(Function.identity());
+    }
+
+    private static <T> CompletionStage<T> failedStage(Throwable t) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(t);
+        return future;
+    }
+
     @SuppressWarnings("lgtm[java/constant-comparison]")
     @Override
     public void commit() throws TransactionException {
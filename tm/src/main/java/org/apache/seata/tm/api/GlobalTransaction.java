@@ -16,6 +16,9 @@
  */
 package org.apache.seata.tm.api;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.model.GlobalStatus;
 import org.apache.seata.tm.api.transaction.SuspendedResourcesHolder;
@@ -53,6 +56,62 @@ public interface GlobalTransaction extends BaseTransaction {
      */
     void begin(int timeout, String name) throws TransactionException;
 
+    /**
+     * Begin a new global transaction without blocking the caller while waiting on the TC. Unlike
+     * {@link #begin(int, String)} the XID is not bound to the {@link org.apache.seata.core.context.RootContext}
+     * of the calling thread, the caller propagates {@link #getXid()} itself.
+     *
+     * @param timeout Given timeout in MILLISECONDS.
+     * @param name    Given name.
+     * @return the stage completed once the transaction began, exceptionally with a TransactionException on failure
+     */
+    default CompletionStage<Void> beginAsync(int timeout, String name) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            begin(timeout, name);
+            if (getGlobalTransactionRole() == GlobalTransactionRole.Launcher) {
+                // begin bound the new XID to the calling thread
+                suspend(true);
+            }
+            future.complete(null);
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
+    /**
+     * Commit the global transaction without blocking the caller while waiting on the TC.
+     *
+     * @return the stage completed once the transaction committed, exceptionally with a TransactionException on failure
+     */
+    default CompletionStage<Void> commitAsync() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            commit();
+            future.complete(null);
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
+    /**
+     * Rollback the global transaction without blocking the caller while waiting on the TC.
+     *
+     * @return the stage completed once the transaction rolled back, exceptionally with a TransactionException on failure
+     */
+    default CompletionStage<Void> rollbackAsync() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            rollback();
+            future.complete(null);
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
     /**
      * Commit the global transaction.
      *
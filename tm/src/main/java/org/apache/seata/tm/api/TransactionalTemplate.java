@@ -17,6 +17,11 @@
 package org.apache.seata.tm.api;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 import org.apache.seata.common.exception.FrameworkErrorCode;
 import org.apache.seata.common.exception.FrameworkException;
@@ -152,6 +157,140 @@ public class TransactionalTemplate {
         }
     }
 
+    /**
+     * Execute the business with a global transaction without holding a thread while waiting on the TC.
+     * <p>
+     * The transaction is never bound to a thread: {@link org.apache.seata.core.context.RootContext} is neither read
+     * nor written, the business gets the transaction explicitly and propagates its XID itself. So there is no
+     * existing transaction to join or suspend: REQUIRED and REQUIRES_NEW begin a new transaction, SUPPORTS,
+     * NOT_SUPPORTED and NEVER run the business without one and MANDATORY fails. The thread bound transaction hooks
+     * and global lock config are not applied either.
+     *
+     * <p>
+     * The business and the continuations run on the response callback threads of the TM, never on the netty I/O
+     * threads. Use {@link #executeAsync(AsyncTransactionalExecutor, Executor)} to run them on an own executor.
+     *
+     * @param business the business
+     * @return the stage of what the business returns, completed exceptionally with the business exception or a
+     * {@link TransactionalExecutor.ExecutionException} like {@link #execute(TransactionalExecutor)} throws them
+     */
+    public CompletionStage<Object> executeAsync(AsyncTransactionalExecutor business) {
+        return executeAsync(business, Runnable::run);
+    }
+
+    /**
+     * Execute the business like {@link #executeAsync(AsyncTransactionalExecutor)}, the business is started and the
+     * returned stage is completed on the given executor.
+     *
+     * @param business the business
+     * @param executor the executor running the business and completing the returned stage
+     * @return the stage of what the business returns
+     */
+    public CompletionStage<Object> executeAsync(AsyncTransactionalExecutor business, Executor executor) {
+        TransactionInfo txInfo = business.getTransactionInfo();
+        if (txInfo == null) {
+            return failedStage(new ShouldNeverHappenException("transactionInfo does not exist"));
+        }
+        Propagation propagation = txInfo.getPropagation();
+        switch (propagation) {
+            case SUPPORTS:
+            case NOT_SUPPORTED:
+            case NEVER:
+                return CompletableFuture.supplyAsync(() -> executeBusinessAsync(business, null), executor)
+                    .thenCompose(Function.identity()).whenCompleteAsync((rs, ex) -> { }, executor);
+            case MANDATORY:
+                return failedStage(new TransactionException(
+                    "No existing transaction found for transaction marked with propagation 'mandatory'"));
+            case REQUIRED:
+            case REQUIRES_NEW:
+                break;
+            default:
+                return failedStage(new TransactionException("Not Supported Propagation:" + propagation));
+        }
+
+        GlobalTransaction tx = GlobalTransactionContext.createNew();
+        return tx.beginAsync(txInfo.getTimeOut(), txInfo.getName()).handleAsync((ignore, beginEx) -> {
+            if (beginEx != null) {
+                Throwable cause = unwrap(beginEx);
+                return TransactionalTemplate.<Object>failedStage(cause instanceof TransactionException
+                    ? new TransactionalExecutor.ExecutionException(tx, cause, TransactionalExecutor.Code.BeginFailure)
+                    : cause);
+            }
+            return executeBusinessAsync(business, tx).handle((rs, ex) -> ex == null
+                ? commitTransactionAsync(tx, txInfo).thenApply(v -> rs)
+                : completeTransactionAfterThrowingAsync(txInfo, tx, unwrap(ex))).thenCompose(Function.identity());
+        }, executor).thenCompose(Function.identity()).whenCompleteAsync((rs, ex) -> { }, executor);
+    }
+
+    private CompletionStage<Object> executeBusinessAsync(AsyncTransactionalExecutor business, GlobalTransaction tx) {
+        try {
+            CompletionStage<?> stage = business.execute(tx);
+            return stage == null ? CompletableFuture.completedFuture(null) : stage.thenApply(rs -> rs);
+        } catch (Throwable t) {
+            return failedStage(t);
+        }
+    }
+
+    private CompletionStage<Object> completeTransactionAfterThrowingAsync(TransactionInfo txInfo,
+                                                                          GlobalTransaction tx,
+                                                                          Throwable originalException) {
+        CompletionStage<Void> end = txInfo.rollbackOn(originalException)
+            ? rollbackTransactionAsync(tx, originalException) : commitTransactionAsync(tx, txInfo);
+        return end.thenCompose(v -> failedStage(originalException));
+    }
+
+    private CompletionStage<Void> commitTransactionAsync(GlobalTransaction tx, TransactionInfo txInfo) {
+        if (tx.getGlobalTransactionRole() != GlobalTransactionRole.Launcher) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (isTimeout(tx.getCreateTime(), txInfo)) {
+            // business execution timeout
+            Exception exx = new TmTransactionException(TransactionExceptionCode.TransactionTimeout,
+                String.format("client detected transaction timeout before commit, so change to rollback, xid = %s", tx.getXid()));
+            return rollbackTransactionAsync(tx, exx);
+        }
+        return tx.commitAsync().handle((ignore, ex) -> {
+            if (ex != null) {
+                Throwable cause = unwrap(ex);
+                return TransactionalTemplate.<Void>failedStage(cause instanceof TransactionException
+                    ? new TransactionalExecutor.ExecutionException(tx, cause, TransactionalExecutor.Code.CommitFailure)
+                    : cause);
+            }
+            TransactionalExecutor.ExecutionException statusException = commitStatusException(tx);
+            return statusException == null ? CompletableFuture.<Void>completedFuture(null)
+                : TransactionalTemplate.<Void>failedStage(statusException);
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * rollback without blocking, the returned stage fails like {@link #rollbackTransaction} throws
+     */
+    private CompletionStage<Void> rollbackTransactionAsync(GlobalTransaction tx, Throwable originalException) {
+        if (tx.getGlobalTransactionRole() != GlobalTransactionRole.Launcher) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return tx.rollbackAsync().handle((ignore, ex) -> {
+            if (ex == null) {
+                return TransactionalTemplate.<Void>failedStage(rollbackStatusException(tx, originalException));
+            }
+            Throwable cause = unwrap(ex);
+            return TransactionalTemplate.<Void>failedStage(cause instanceof TransactionException
+                ? new TransactionalExecutor.ExecutionException(tx, cause, TransactionalExecutor.Code.RollbackFailure,
+                    originalException)
+                : cause);
+        }).thenCompose(Function.identity());
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    }
+
+    private static <T> CompletionStage<T> failedStage(Throwable t) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(t);
+        return future;
+    }
+
     /**
      * Judge whether timeout
      *
@@ -219,30 +358,9 @@ public class TransactionalTemplate {
         try {
             triggerBeforeCommit();
             tx.commit();
-            GlobalStatus afterCommitStatus = tx.getLocalStatus();
-            TransactionalExecutor.Code code = TransactionalExecutor.Code.Unknown;
-            switch (afterCommitStatus) {
-                case TimeoutRollbacking:
-                    code = TransactionalExecutor.Code.Rollbacking;
-                    break;
-                case TimeoutRollbacked:
-                    code = TransactionalExecutor.Code.RollbackDone;
-                    break;
-                case Finished:
-                    code = TransactionalExecutor.Code.CommitFailure;
-                    break;
-                default:
-            }
-            Exception statusException = null;
-            if (GlobalStatus.isTwoPhaseHeuristic(afterCommitStatus)) {
-                statusException = new TmTransactionException(TransactionExceptionCode.CommitHeuristic,
-                    String.format("Global transaction[%s] not found, may be rollbacked.", tx.getXid()));
-            } else if (GlobalStatus.isOnePhaseTimeout(afterCommitStatus)) {
-                statusException = new TmTransactionException(TransactionExceptionCode.TransactionTimeout,
-                    String.format("Global transaction[%s] is timeout and will be rollback[TC].", tx.getXid()));
-            }
+            TransactionalExecutor.ExecutionException statusException = commitStatusException(tx);
             if (null != statusException) {
-                throw new TransactionalExecutor.ExecutionException(tx, statusException, code);
+                throw statusException;
             }
             triggerAfterCommit();
         } catch (TransactionException txe) {
@@ -252,6 +370,38 @@ public class TransactionalTemplate {
         }
     }
 
+    /**
+     * check the status after committing
+     *
+     * @param tx the committed transaction
+     * @return the exception to throw, null if the transaction committed
+     */
+    private TransactionalExecutor.ExecutionException commitStatusException(GlobalTransaction tx) {
+        GlobalStatus afterCommitStatus = tx.getLocalStatus();
+        TransactionalExecutor.Code code = TransactionalExecutor.Code.Unknown;
+        switch (afterCommitStatus) {
+            case TimeoutRollbacking:
+                code = TransactionalExecutor.Code.Rollbacking;
+                break;
+            case TimeoutRollbacked:
+                code = TransactionalExecutor.Code.RollbackDone;
+                break;
+            case Finished:
+                code = TransactionalExecutor.Code.CommitFailure;
+                break;
+            default:
+        }
+        Exception statusException = null;
+        if (GlobalStatus.isTwoPhaseHeuristic(afterCommitStatus)) {
+            statusException = new TmTransactionException(TransactionExceptionCode.CommitHeuristic,
+                String.format("Global transaction[%s] not found, may be rollbacked.", tx.getXid()));
+        } else if (GlobalStatus.isOnePhaseTimeout(afterCommitStatus)) {
+            statusException = new TmTransactionException(TransactionExceptionCode.TransactionTimeout,
+                String.format("Global transaction[%s] is timeout and will be rollback[TC].", tx.getXid()));
+        }
+        return statusException == null ? null : new TransactionalExecutor.ExecutionException(tx, statusException, code);
+    }
+
     private void rollbackTransaction(GlobalTransaction tx, Throwable originalException) throws TransactionException, TransactionalExecutor.ExecutionException {
         if (tx.getGlobalTransactionRole() != GlobalTransactionRole.Launcher) {
             if (LOGGER.isDebugEnabled()) {
@@ -269,6 +419,18 @@ public class TransactionalTemplate {
                     TransactionalExecutor.Code.RollbackFailure, originalException);
         }
 
+        throw rollbackStatusException(tx, originalException);
+    }
+
+    /**
+     * map the status after rollbacking, a rolled back transaction still fails the business
+     *
+     * @param tx                the rolled back transaction
+     * @param originalException the exception which caused the rollback
+     * @return the exception to throw
+     */
+    private TransactionalExecutor.ExecutionException rollbackStatusException(GlobalTransaction tx,
+                                                                             Throwable originalException) {
         //# fix #5231
         TransactionalExecutor.Code code;
         switch (tx.getLocalStatus()) {
@@ -293,8 +455,7 @@ public class TransactionalTemplate {
                 code = TransactionalExecutor.Code.Unknown;
                 LOGGER.warn("{} rollback in the state {}", tx.getXid(), tx.getLocalStatus());
         }
-        throw new TransactionalExecutor.ExecutionException(tx, code, originalException);
-
+        return new TransactionalExecutor.ExecutionException(tx, code, originalException);
     }
 
     private void beginTransaction(TransactionInfo txInfo, GlobalTransaction tx) throws TransactionalExecutor.ExecutionException {
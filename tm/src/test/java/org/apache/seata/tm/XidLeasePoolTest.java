@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.tm;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.exception.TransactionExceptionCode;
+import org.apache.seata.core.protocol.ResultCode;
+import org.apache.seata.core.protocol.transaction.GlobalBeginLeaseResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class XidLeasePoolTest {
+
+    @Test
+    void acquireTest() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        XidLeasePool pool = new XidLeasePool(2, (timeout, size) -> {
+            int block = requests.incrementAndGet();
+            return response(60000, "xid-" + block + "-1", "xid-" + block + "-2");
+        });
+        Assertions.assertNull(pool.poll(1000));
+        Assertions.assertEquals("xid-1-1", pool.acquire(1000));
+        Assertions.assertEquals("xid-1-2", pool.poll(1000));
+        Assertions.assertEquals("xid-2-1", pool.acquire(1000));
+        Assertions.assertEquals(2, requests.get());
+        // xids are leased per timeout
+        Assertions.assertNull(pool.poll(2000));
+        Assertions.assertEquals("xid-3-1", pool.acquire(2000));
+        Assertions.assertEquals("xid-2-2", pool.acquire(1000));
+    }
+
+    @Test
+    void expiredLeaseTest() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        XidLeasePool pool = new XidLeasePool(2, (timeout, size) -> {
+            requests.incrementAndGet();
+            return response(10000, "xid-1", "xid-2");
+        });
+        // the lease ends before a transaction of this timeout would
+        Assertions.assertNull(pool.acquire(60000));
+        Assertions.assertEquals(1, requests.get());
+        // the lease time is known now, such transactions no longer lease
+        Assertions.assertNull(pool.acquire(60000));
+        Assertions.assertNull(pool.acquire(9500));
+        Assertions.assertEquals(1, requests.get());
+        Assertions.assertEquals("xid-1", pool.acquire(1000));
+    }
+
+    @Test
+    void unsupportedTest() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        XidLeasePool pool = new XidLeasePool(2, (timeout, size) -> {
+            requests.incrementAndGet();
+            return failure(TransactionExceptionCode.BeginFailed);
+        });
+        Assertions.assertNull(pool.acquire(1000));
+        pool.clear();
+        Assertions.assertNull(pool.acquire(1000));
+        Assertions.assertEquals(1, requests.get());
+    }
+
+    @Test
+    void failedLeaseTest() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        XidLeasePool pool = new XidLeasePool(2, (timeout, size) -> {
+            if (requests.incrementAndGet() == 1) {
+                return failure(TransactionExceptionCode.Unknown);
+            }
+            throw new TransactionException(TransactionExceptionCode.IO, "RPC timeout");
+        });
+        Assertions.assertNull(pool.acquire(1000));
+        // a transient failure pauses leasing only
+        Assertions.assertNull(pool.acquire(1000));
+        Assertions.assertEquals(1, requests.get());
+        pool.clear();
+        Assertions.assertThrows(TransactionException.class, () -> pool.acquire(1000));
+        Assertions.assertNull(pool.acquire(1000));
+        Assertions.assertEquals(2, requests.get());
+    }
+
+    @Test
+    void clearTest() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        XidLeasePool pool = new XidLeasePool(2, (timeout, size) -> {
+            int block = requests.incrementAndGet();
+            return response(60000, "xid-" + block + "-1", "xid-" + block + "-2");
+        });
+        Assertions.assertEquals("xid-1-1", pool.acquire(1000));
+        pool.clear();
+        Assertions.assertNull(pool.poll(1000));
+        Assertions.assertEquals("xid-2-1", pool.acquire(1000));
+    }
+
+    private static GlobalBeginLeaseResponse failure(TransactionExceptionCode code) {
+        GlobalBeginLeaseResponse response = new GlobalBeginLeaseResponse();
+        response.setResultCode(ResultCode.Failed);
+        response.setTransactionExceptionCode(code);
+        return response;
+    }
+
+    private static GlobalBeginLeaseResponse response(long leaseTime, String... xids) {
+        GlobalBeginLeaseResponse response = new GlobalBeginLeaseResponse();
+        response.setResultCode(ResultCode.Success);
+        response.setLeaseTime(leaseTime);
+        response.setXids(Arrays.asList(xids));
+        return response;
+    }
+}
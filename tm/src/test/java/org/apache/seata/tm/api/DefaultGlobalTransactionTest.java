@@ -16,6 +16,7 @@
  */
 package org.apache.seata.tm.api;
 
+import java.util.concurrent.CompletionException;
 
 import org.apache.seata.core.context.RootContext;
 import org.apache.seata.core.exception.TransactionException;
@@ -72,6 +73,24 @@ class DefaultGlobalTransactionTest {
         Assertions.assertThrows(TransactionException.class, tx::commit);
     }
 
+    @Test
+    public void commitAsyncRetryExceptionTest() {
+        RootContext.unbind();
+        GlobalTransaction tx = GlobalTransactionContext.createNew();
+        tx.beginAsync(60000, "test").toCompletableFuture().join();
+        Assertions.assertEquals(DEFAULT_XID, tx.getXid());
+        Assertions.assertEquals(GlobalStatus.Begin, tx.getLocalStatus());
+        // the XID is not bound to the calling thread
+        Assertions.assertNull(RootContext.getXID());
+
+        CompletionException commitEx = Assertions.assertThrows(CompletionException.class,
+            () -> tx.commitAsync().toCompletableFuture().join());
+        Assertions.assertTrue(commitEx.getCause() instanceof TransactionException);
+        CompletionException rollbackEx = Assertions.assertThrows(CompletionException.class,
+            () -> tx.rollbackAsync().toCompletableFuture().join());
+        Assertions.assertTrue(rollbackEx.getCause() instanceof TransactionException);
+    }
+
     @Test
     public void commitNoXIDExceptionTest() throws TransactionException {
         RootContext.unbind();
@@ -18,8 +18,13 @@ package org.apache.seata.tm.api;
 
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.seata.core.context.RootContext;
+import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.model.GlobalStatus;
 import org.apache.seata.core.model.TransactionManager;
 import org.apache.seata.tm.TransactionManagerHolder;
@@ -34,7 +39,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -120,6 +130,93 @@ public class TransactionTemplateTest {
         verifyRollBack(transactionHook);
     }
 
+    @Test
+    public void testExecuteAsyncCommit() throws Throwable {
+        TransactionManager transactionManager = TransactionManagerHolder.get();
+        when(transactionManager.beginAsync(null, null, DEFAULT_NAME, DEFAULT_TIME_OUT))
+            .thenReturn(CompletableFuture.completedFuture(DEFAULT_XID));
+        when(transactionManager.commitAsync(DEFAULT_XID))
+            .thenReturn(CompletableFuture.completedFuture(GlobalStatus.Committed));
+        TransactionInfo txInfo = transactionalExecutor.getTransactionInfo();
+        AsyncTransactionalExecutor business = mock(AsyncTransactionalExecutor.class);
+        when(business.getTransactionInfo()).thenReturn(txInfo);
+        when(business.execute(any())).thenAnswer(invocation -> {
+            GlobalTransaction tx = invocation.getArgument(0);
+            assertThat(tx.getXid()).isEqualTo(DEFAULT_XID);
+            assertThat(RootContext.getXID()).isNull();
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        Object result = new TransactionalTemplate().executeAsync(business).toCompletableFuture().join();
+        assertThat(result).isEqualTo("ok");
+        verify(transactionManager).commitAsync(DEFAULT_XID);
+        verify(transactionManager, never()).begin(any(), any(), any(), anyInt());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    public void testExecuteAsyncOnExecutor() throws Throwable {
+        TransactionManager transactionManager = TransactionManagerHolder.get();
+        when(transactionManager.beginAsync(null, null, DEFAULT_NAME, DEFAULT_TIME_OUT))
+            .thenReturn(CompletableFuture.completedFuture(DEFAULT_XID));
+        when(transactionManager.commitAsync(DEFAULT_XID))
+            .thenReturn(CompletableFuture.completedFuture(GlobalStatus.Committed));
+        TransactionInfo txInfo = transactionalExecutor.getTransactionInfo();
+        AsyncTransactionalExecutor business = mock(AsyncTransactionalExecutor.class);
+        when(business.getTransactionInfo()).thenReturn(txInfo);
+        when(business.execute(any())).thenAnswer(
+            invocation -> CompletableFuture.completedFuture(Thread.currentThread().getName()));
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "business"));
+        try {
+            CompletableFuture<String> completedOn = new TransactionalTemplate().executeAsync(business, executor)
+                .thenApply(rs -> rs + "/" + Thread.currentThread().getName()).toCompletableFuture();
+            assertThat(completedOn.join()).isEqualTo("business/business");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testExecuteAsyncRollback() throws Throwable {
+        TransactionManager transactionManager = TransactionManagerHolder.get();
+        when(transactionManager.beginAsync(null, null, DEFAULT_NAME, DEFAULT_TIME_OUT))
+            .thenReturn(CompletableFuture.completedFuture(DEFAULT_XID));
+        when(transactionManager.rollbackAsync(DEFAULT_XID))
+            .thenReturn(CompletableFuture.completedFuture(GlobalStatus.Rollbacked));
+        TransactionInfo txInfo = transactionalExecutor.getTransactionInfo();
+        AsyncTransactionalExecutor business = mock(AsyncTransactionalExecutor.class);
+        when(business.getTransactionInfo()).thenReturn(txInfo);
+        RuntimeException businessEx = new RuntimeException("business");
+        CompletableFuture<Object> failed = new CompletableFuture<>();
+        failed.completeExceptionally(businessEx);
+        doReturn(failed).when(business).execute(any());
+
+        CompletionException ex = assertThrows(CompletionException.class,
+            () -> new TransactionalTemplate().executeAsync(business).toCompletableFuture().join());
+        assertThat(ex.getCause()).isInstanceOf(TransactionalExecutor.ExecutionException.class);
+        TransactionalExecutor.ExecutionException executionEx = (TransactionalExecutor.ExecutionException) ex.getCause();
+        assertThat(executionEx.getCode()).isEqualTo(TransactionalExecutor.Code.RollbackDone);
+        assertThat(executionEx.getOriginalException()).isSameAs(businessEx);
+        verify(transactionManager).rollbackAsync(DEFAULT_XID);
+    }
+
+    @Test
+    public void testExecuteAsyncBeginFailure() throws Throwable {
+        TransactionManager transactionManager = TransactionManagerHolder.get();
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new TransactionException("begin failed"));
+        when(transactionManager.beginAsync(null, null, DEFAULT_NAME, DEFAULT_TIME_OUT)).thenReturn(failed);
+        TransactionInfo txInfo = transactionalExecutor.getTransactionInfo();
+        AsyncTransactionalExecutor business = mock(AsyncTransactionalExecutor.class);
+        when(business.getTransactionInfo()).thenReturn(txInfo);
+
+        CompletionException ex = assertThrows(CompletionException.class,
+            () -> new TransactionalTemplate().executeAsync(business).toCompletableFuture().join());
+        assertThat(((TransactionalExecutor.ExecutionException) ex.getCause()).getCode())
+            .isEqualTo(TransactionalExecutor.Code.BeginFailure);
+        verify(business, never()).execute(any());
+    }
+
     private TransactionHook testRollBackRules(Set<RollbackRule> rollbackRules, Throwable throwable) throws Throwable {
         TransactionHook transactionHook = Mockito.mock(TransactionHook.class);
         // mock  txInfo